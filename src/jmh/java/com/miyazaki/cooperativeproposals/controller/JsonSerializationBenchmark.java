@@ -0,0 +1,101 @@
+package com.miyazaki.cooperativeproposals.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.miyazaki.cooperativeproposals.controller.dto.response.PagedResponse;
+import com.miyazaki.cooperativeproposals.controller.dto.response.ProposalStatusEnum;
+import com.miyazaki.cooperativeproposals.controller.dto.response.ProposalSummary;
+import com.miyazaki.cooperativeproposals.controller.dto.response.mobile.MobileSelectionScreen;
+import com.miyazaki.cooperativeproposals.controller.dto.response.mobile.SelectionOption;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures Jackson serialization of the response bodies written on the busiest endpoints,
+ * with an {@link ObjectMapper} configured like the one Spring MVC uses.
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JsonSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter pageWriter;
+    private ProposalSummary summary;
+    private PagedResponse<ProposalSummary> page;
+    private MobileSelectionScreen selectionScreen;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        pageWriter = objectMapper.writerFor(PagedResponse.class);
+
+        final List<ProposalSummary> summaries = IntStream.range(0, pageSize)
+                .mapToObj(i -> ProposalSummary.builder()
+                        .id(UUID.randomUUID())
+                        .title("Pauta " + i)
+                        .description("Descrição da pauta " + i)
+                        .status(ProposalStatusEnum.OPENED)
+                        .build())
+                .toList();
+        summary = summaries.getFirst();
+        page = PagedResponse.<ProposalSummary>builder()
+                .content(summaries)
+                .page(0)
+                .size(pageSize)
+                .totalElements(10_000)
+                .totalPages(10_000 / pageSize)
+                .build();
+        selectionScreen = MobileSelectionScreen.builder()
+                .tipo("SELECAO")
+                .titulo("Selecione uma Pauta")
+                .descricao("Escolha uma pauta para visualizar ou votar")
+                .opcoes(summaries.stream()
+                        .map(s -> SelectionOption.builder()
+                                .texto(s.getTitle())
+                                .valor(s.getId().toString())
+                                .descricao(s.getDescription())
+                                .url("http://localhost:8080/api/v1/mobile/proposal/" + s.getId())
+                                .metodo("GET")
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    @Benchmark
+    public byte[] proposalSummary() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summary);
+    }
+
+    @Benchmark
+    public byte[] pagedResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] pagedResponsePrebuiltWriter() throws JsonProcessingException {
+        return pageWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] mobileSelectionScreen() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(selectionScreen);
+    }
+}
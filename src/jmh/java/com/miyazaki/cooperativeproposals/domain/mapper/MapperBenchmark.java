@@ -0,0 +1,78 @@
+package com.miyazaki.cooperativeproposals.domain.mapper;
+
+import com.miyazaki.cooperativeproposals.controller.dto.request.CreateProposalRequest;
+import com.miyazaki.cooperativeproposals.controller.dto.response.ProposalDetailsResponse;
+import com.miyazaki.cooperativeproposals.controller.dto.response.ProposalStatusEnum;
+import com.miyazaki.cooperativeproposals.controller.dto.response.VoteResponse;
+import com.miyazaki.cooperativeproposals.domain.entity.Proposal;
+import com.miyazaki.cooperativeproposals.domain.entity.Vote;
+import com.miyazaki.cooperativeproposals.service.ProposalView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the MapStruct generated {@link VoteMapper} and {@link ProposalMapper} on the request path.
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+
+    private VoteMapper voteMapper;
+    private ProposalMapper proposalMapper;
+    private Vote vote;
+    private Proposal proposal;
+    private ProposalView view;
+    private CreateProposalRequest request;
+
+    @Setup
+    public void setUp() {
+        voteMapper = new VoteMapperImpl();
+        proposalMapper = new ProposalMapperImpl();
+
+        proposal = Proposal.builder()
+                .id(UUID.randomUUID())
+                .title("Prestação de contas")
+                .description("Descrição da pauta")
+                .build();
+        vote = Vote.builder()
+                .id(UUID.randomUUID())
+                .associateId(UUID.randomUUID())
+                .proposal(proposal)
+                .votedAt(LocalDateTime.now())
+                .vote(true)
+                .build();
+        view = ProposalView.of(proposal);
+        request = new CreateProposalRequest("Prestação de contas", "Descrição da pauta");
+    }
+
+    @Benchmark
+    public VoteResponse voteResponse() {
+        return voteMapper.toVoteResponse(vote);
+    }
+
+    @Benchmark
+    public Proposal proposalEntity() {
+        return proposalMapper.toEntity(request);
+    }
+
+    @Benchmark
+    public ProposalDetailsResponse proposalDetailsFromEntity() {
+        return proposalMapper.toProposalDetailsResponse(proposal, ProposalStatusEnum.WAITING);
+    }
+
+    @Benchmark
+    public ProposalDetailsResponse proposalDetailsFromView() {
+        return proposalMapper.toProposalDetailsResponse(view);
+    }
+}
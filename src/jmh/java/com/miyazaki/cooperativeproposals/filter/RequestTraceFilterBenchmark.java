@@ -0,0 +1,39 @@
+package com.miyazaki.cooperativeproposals.filter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how {@link RequestTraceFilter} resolves the trace id: propagating the caller's
+ * {@code X-Request-Id} versus generating a random one when the header is absent.
+ * Run with {@code ./gradlew jmh}; the generated case is bound by {@code SecureRandom}, so also try more threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RequestTraceFilterBenchmark {
+
+    @Param({"absent", "present"})
+    private String traceHeader;
+
+    private String header;
+
+    @Setup
+    public void setUp() {
+        header = "present".equals(traceHeader) ? UUID.randomUUID().toString() : null;
+    }
+
+    @Benchmark
+    public String resolveTraceId() {
+        return RequestTraceFilter.resolveTraceId(header);
+    }
+}
@@ -0,0 +1,41 @@
+package com.miyazaki.cooperativeproposals.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the regex normalization previously used by {@link AssociateValidationService}
+ * with the in-place parser in {@link CpfChecksum}.
+ * Run with {@code ./gradlew jmh}; add {@code -prof gc} through {@code jmh.profilers} to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CpfChecksumBenchmark {
+
+    @Param({"529.982.247-25", "52998224725", "529.982.247-26"})
+    private String cpf;
+
+    @Benchmark
+    public String regexNormalization() {
+        return cpf.replaceAll("[^0-9]", "");
+    }
+
+    @Benchmark
+    public long checksumParse() {
+        return CpfChecksum.parse(cpf);
+    }
+
+    @Benchmark
+    public String checksumParseAndFormat() {
+        final long digits = CpfChecksum.parse(cpf);
+        return digits == CpfChecksum.INVALID ? null : CpfChecksum.format(digits);
+    }
+}
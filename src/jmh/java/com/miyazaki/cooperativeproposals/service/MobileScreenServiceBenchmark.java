@@ -0,0 +1,95 @@
+package com.miyazaki.cooperativeproposals.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.miyazaki.cooperativeproposals.controller.dto.response.mobile.MobileFormScreen;
+import com.miyazaki.cooperativeproposals.controller.dto.response.mobile.MobileSelectionScreen;
+import com.miyazaki.cooperativeproposals.domain.entity.Proposal;
+import com.miyazaki.cooperativeproposals.domain.entity.VotingSession;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures building the mobile screens in {@link MobileScreenService},
+ * against serving the same screen from {@link MobileScreenCache}.
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MobileScreenServiceBenchmark {
+
+    @Param({"10", "100"})
+    private int proposalCount;
+
+    private MobileScreenService service;
+    private MobileScreenCache cache;
+    private List<Proposal> proposals;
+    private Proposal proposal;
+    private VotingSession session;
+
+    @Setup
+    public void setUp() {
+        service = new MobileScreenService();
+        setField("contextPath", "/api/v1");
+        setField("baseUrl", "http://localhost:8080");
+        cache = new MobileScreenCache(new ObjectMapper(), new SimpleMeterRegistry(), 10_000, 600_000);
+
+        proposals = IntStream.range(0, proposalCount)
+                .mapToObj(i -> Proposal.builder()
+                        .id(UUID.randomUUID())
+                        .title("Pauta " + i)
+                        .description("Descrição da pauta " + i)
+                        .build())
+                .toList();
+        proposal = proposals.getFirst();
+        session = VotingSession.builder().id(UUID.randomUUID()).proposal(proposal).build();
+        cache.get(MobileScreenCache.ScreenKey.votingOptions(proposal.getId()),
+                () -> service.createVotingOptions(proposal));
+    }
+
+    @Benchmark
+    public MobileSelectionScreen proposalList() {
+        return service.createProposalList(proposals);
+    }
+
+    @Benchmark
+    public MobileSelectionScreen votingOptions() {
+        return service.createVotingOptions(proposal);
+    }
+
+    @Benchmark
+    public MobileFormScreen votingForm() {
+        return service.createVotingForm(proposal, session);
+    }
+
+    @Benchmark
+    public SerializedScreen votingOptionsSerialized() {
+        return cache.serialize(service.createVotingOptions(proposal));
+    }
+
+    @Benchmark
+    public SerializedScreen votingOptionsCached() {
+        return cache.get(MobileScreenCache.ScreenKey.votingOptions(proposal.getId()),
+                () -> service.createVotingOptions(proposal));
+    }
+
+    private void setField(final String name, final String value) {
+        final Field field = ReflectionUtils.findField(MobileScreenService.class, name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, service, value);
+    }
+}
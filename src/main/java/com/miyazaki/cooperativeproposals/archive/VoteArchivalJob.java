@@ -0,0 +1,79 @@
+package com.miyazaki.cooperativeproposals.archive;
+
+import com.miyazaki.cooperativeproposals.domain.entity.VotingSession;
+import com.miyazaki.cooperativeproposals.domain.enums.SessionStatus;
+import com.miyazaki.cooperativeproposals.domain.repository.VotingSessionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.OptionalInt;
+
+/**
+ * Periodically archives the votes of sessions that have been closed for at least
+ * {@code app.vote-archive.min-age-ms}, a few sessions per run.
+ * Every node runs the job; a session claimed by another node is skipped and not counted.
+ */
+@Service
+@Slf4j
+public class VoteArchivalJob {
+
+    private final VotingSessionRepository votingSessionRepository;
+    private final VoteArchiveWriter voteArchiveWriter;
+    private final boolean enabled;
+    private final long minAgeMs;
+    private final int sessionsPerRun;
+    private final Counter sessionsCounter;
+    private final Counter votesCounter;
+
+    public VoteArchivalJob(final VotingSessionRepository votingSessionRepository,
+                           final VoteArchiveWriter voteArchiveWriter,
+                           final MeterRegistry meterRegistry,
+                           @Value("${app.vote-archive.enabled:true}") final boolean enabled,
+                           @Value("${app.vote-archive.min-age-ms:3600000}") final long minAgeMs,
+                           @Value("${app.vote-archive.sessions-per-run:20}") final int sessionsPerRun) {
+        this.votingSessionRepository = votingSessionRepository;
+        this.voteArchiveWriter = voteArchiveWriter;
+        this.enabled = enabled;
+        this.minAgeMs = minAgeMs;
+        this.sessionsPerRun = sessionsPerRun;
+        this.sessionsCounter = Counter.builder("vote.archive.sessions")
+                .description("Closed sessions whose votes were moved to the archive")
+                .register(meterRegistry);
+        this.votesCounter = Counter.builder("vote.archive.votes")
+                .description("Votes moved to the archive")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.vote-archive.interval-ms:300000}",
+               initialDelayString = "${app.vote-archive.initial-delay-ms:120000}")
+    public int archiveClosedSessions() {
+        if (!enabled) {
+            return 0;
+        }
+
+        final List<VotingSession> sessions = votingSessionRepository.findArchivable(SessionStatus.CLOSED,
+                LocalDateTime.now().minus(minAgeMs, ChronoUnit.MILLIS), PageRequest.of(0, sessionsPerRun));
+        int archived = 0;
+        for (final VotingSession session : sessions) {
+            try {
+                final OptionalInt votes = voteArchiveWriter.archive(session);
+                if (votes.isPresent()) {
+                    sessionsCounter.increment();
+                    votesCounter.increment(votes.getAsInt());
+                    archived++;
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to archive votes of session {}: {}", session.getId(), e.getMessage());
+            }
+        }
+        return archived;
+    }
+}
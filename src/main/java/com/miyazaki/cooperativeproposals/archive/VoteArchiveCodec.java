@@ -0,0 +1,117 @@
+package com.miyazaki.cooperativeproposals.archive;
+
+import com.miyazaki.cooperativeproposals.domain.repository.projection.ArchivedVote;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodes a block of archived votes column by column and gzip-compresses it.
+ * Ids are written as all most-significant halves followed by all least-significant halves, votes as a bitset
+ * and timestamps as deltas from the previous row, so neighbouring values look alike and compress well.
+ */
+public final class VoteArchiveCodec {
+
+    static final int FORMAT_VERSION = 1;
+
+    private VoteArchiveCodec() {
+    }
+
+    public static byte[] encode(final List<ArchivedVote> votes) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(votes.size());
+            writeUuids(out, votes.stream().map(ArchivedVote::id).toList());
+            writeUuids(out, votes.stream().map(ArchivedVote::associateId).toList());
+
+            final byte[] bits = new byte[(votes.size() + 7) / 8];
+            for (int i = 0; i < votes.size(); i++) {
+                if (votes.get(i).vote()) {
+                    bits[i >> 3] |= (byte) (1 << (i & 7));
+                }
+            }
+            out.write(bits);
+
+            long previous = 0;
+            for (final ArchivedVote vote : votes) {
+                final long millis = vote.votedAt().toEpochMilli();
+                out.writeLong(millis - previous);
+                previous = millis;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static List<ArchivedVote> decode(final byte[] payload) {
+        final List<ArchivedVote> votes = new ArrayList<>();
+        decode(payload, votes::add);
+        return votes;
+    }
+
+    /**
+     * Decodes a block row by row, handing each vote to the consumer as soon as its timestamp is read.
+     * Only the id columns are held while decoding, never a list of votes.
+     *
+     * @param payload the compressed block
+     * @param consumer receives each vote, in archive order
+     * @return the number of votes decoded
+     */
+    public static int decode(final byte[] payload, final Consumer<ArchivedVote> consumer) {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(payload)))) {
+            final int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalStateException("Unsupported vote archive format " + version);
+            }
+            final int size = in.readInt();
+            final UUID[] ids = readUuids(in, size);
+            final UUID[] associateIds = readUuids(in, size);
+            final byte[] bits = new byte[(size + 7) / 8];
+            in.readFully(bits);
+
+            long millis = 0;
+            for (int i = 0; i < size; i++) {
+                millis += in.readLong();
+                final boolean vote = (bits[i >> 3] & (1 << (i & 7))) != 0;
+                consumer.accept(new ArchivedVote(ids[i], associateIds[i], vote, Instant.ofEpochMilli(millis)));
+            }
+            return size;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeUuids(final DataOutputStream out, final List<UUID> uuids) throws IOException {
+        for (final UUID uuid : uuids) {
+            out.writeLong(uuid.getMostSignificantBits());
+        }
+        for (final UUID uuid : uuids) {
+            out.writeLong(uuid.getLeastSignificantBits());
+        }
+    }
+
+    private static UUID[] readUuids(final DataInputStream in, final int size) throws IOException {
+        final long[] most = new long[size];
+        for (int i = 0; i < size; i++) {
+            most[i] = in.readLong();
+        }
+        final UUID[] uuids = new UUID[size];
+        for (int i = 0; i < size; i++) {
+            uuids[i] = new UUID(most[i], in.readLong());
+        }
+        return uuids;
+    }
+}
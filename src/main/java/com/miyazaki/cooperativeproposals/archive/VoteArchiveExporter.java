@@ -0,0 +1,100 @@
+package com.miyazaki.cooperativeproposals.archive;
+
+import com.miyazaki.cooperativeproposals.domain.repository.VoteArchiveBlockRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.VotingSessionRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.ArchivedVote;
+import com.miyazaki.cooperativeproposals.exception.NotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Service
+@RequiredArgsConstructor
+public class VoteArchiveExporter {
+
+    static final String CSV_HEADER = VoteExportFormat.CSV_HEADER;
+
+    private final VoteArchiveBlockRepository voteArchiveBlockRepository;
+    private final VotingSessionRepository votingSessionRepository;
+
+    /**
+     * Lists the archive blocks of a proposal, failing before any output is written
+     * when the proposal has not been archived.
+     *
+     * @param proposalId the archived proposal
+     * @return the block numbers, in order
+     */
+    public List<Integer> blocksOf(final UUID proposalId) {
+        final List<Integer> blocks = voteArchiveBlockRepository.findBlockNumbers(proposalId);
+        if (blocks.isEmpty() && votingSessionRepository.findByProposalId(proposalId)
+                .map(session -> Objects.isNull(session.getArchivedAt()))
+                .orElse(true)) {
+            throw new NotFoundException("Archived votes not found");
+        }
+        return blocks;
+    }
+
+    /**
+     * Writes the archived votes as CSV, decoding each block row by row into the writer.
+     *
+     * @param proposalId the archived proposal
+     * @param blocks the block numbers returned by {@link #blocksOf(UUID)}
+     * @param output the response body
+     */
+    public void writeCsv(final UUID proposalId, final List<Integer> blocks, final OutputStream output)
+            throws IOException {
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        VoteExportFormat.CSV.writeHeader(writer);
+        try {
+            for (final Integer blockNo : blocks) {
+                decode(proposalId, blockNo, vote -> writeRow(writer, vote));
+                writer.flush();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    /**
+     * Hands every archived vote of a proposal to the consumer as it is decoded, reading one block payload
+     * at a time with plain JDBC so neither entities nor decoded blocks accumulate over a long export.
+     * Proposals without archive blocks yield nothing.
+     *
+     * @param proposalId the proposal
+     * @param consumer receives each vote
+     * @return the number of votes read
+     */
+    public int forEachArchived(final UUID proposalId, final Consumer<ArchivedVote> consumer) {
+        int count = 0;
+        for (final Integer blockNo : voteArchiveBlockRepository.findBlockNumbers(proposalId)) {
+            count += decode(proposalId, blockNo, consumer);
+        }
+        return count;
+    }
+
+    private int decode(final UUID proposalId, final Integer blockNo, final Consumer<ArchivedVote> consumer) {
+        final byte[] payload = voteArchiveBlockRepository.findPayload(proposalId, blockNo)
+                .orElseThrow(() -> new IllegalStateException("Archive block " + blockNo + " disappeared"));
+        return VoteArchiveCodec.decode(payload, consumer);
+    }
+
+    private static void writeRow(final Writer writer, final ArchivedVote vote) {
+        try {
+            VoteExportFormat.CSV.writeRow(writer, vote);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
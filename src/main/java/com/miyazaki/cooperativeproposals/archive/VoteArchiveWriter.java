@@ -0,0 +1,109 @@
+package com.miyazaki.cooperativeproposals.archive;
+
+import com.miyazaki.cooperativeproposals.domain.entity.VoteArchiveBlock;
+import com.miyazaki.cooperativeproposals.domain.entity.VotingSession;
+import com.miyazaki.cooperativeproposals.domain.repository.VoteArchiveBlockRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.VoteRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.VotingSessionRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.ArchivedVote;
+import com.miyazaki.cooperativeproposals.service.VoteTallyService;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.UUID;
+
+@Component
+@Slf4j
+public class VoteArchiveWriter {
+
+    private final VoteRepository voteRepository;
+    private final VoteArchiveBlockRepository voteArchiveBlockRepository;
+    private final VotingSessionRepository votingSessionRepository;
+    private final VoteTallyService voteTallyService;
+    private final int blockSize;
+
+    public VoteArchiveWriter(final VoteRepository voteRepository,
+                             final VoteArchiveBlockRepository voteArchiveBlockRepository,
+                             final VotingSessionRepository votingSessionRepository,
+                             final VoteTallyService voteTallyService,
+                             @Value("${app.vote-archive.block-size:10000}") final int blockSize) {
+        this.voteRepository = voteRepository;
+        this.voteArchiveBlockRepository = voteArchiveBlockRepository;
+        this.votingSessionRepository = votingSessionRepository;
+        this.voteTallyService = voteTallyService;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Moves the votes of a closed session to the archive in a single transaction.
+     * The session row is claimed first with {@code FOR UPDATE SKIP LOCKED}, so when the job runs on several
+     * nodes only one of them archives a given session. The tally is then rebuilt from the vote table, so it
+     * becomes the frozen final result, and the votes are streamed into compressed blocks inserted with plain JDBC
+     * and deleted from the hot table.
+     * If the number of deleted rows differs from the number archived, the whole move is rolled back.
+     *
+     * @param session a closed session whose votes are still in the vote table
+     * @return the number of votes archived, or empty if another node archived or is archiving the session
+     */
+    @Transactional
+    public OptionalInt archive(final VotingSession session) {
+        if (!votingSessionRepository.claimForArchive(session.getId())) {
+            log.info("Session {} is archived or being archived by another node, skipping", session.getId());
+            return OptionalInt.empty();
+        }
+        final UUID proposalId = session.getProposal().getId();
+        voteTallyService.rebuild(proposalId);
+
+        final BlockBuffer buffer = new BlockBuffer(proposalId);
+        final int archived = voteRepository.forEachByProposal(proposalId, blockSize, buffer::add);
+        buffer.flush();
+
+        final int deleted = voteRepository.deleteByProposal(proposalId);
+        if (deleted != archived) {
+            throw new IllegalStateException("Archived " + archived + " votes of proposal " + proposalId
+                    + " but deleted " + deleted);
+        }
+
+        session.setArchivedAt(LocalDateTime.now());
+        votingSessionRepository.save(session);
+        log.info("Archived {} votes of proposal {} in {} blocks", archived, proposalId, buffer.blocks);
+        return OptionalInt.of(archived);
+    }
+
+    private final class BlockBuffer {
+        private final UUID proposalId;
+        private final List<ArchivedVote> votes = new ArrayList<>(blockSize);
+        private int blocks;
+
+        private BlockBuffer(final UUID proposalId) {
+            this.proposalId = proposalId;
+        }
+
+        void add(final ArchivedVote vote) {
+            votes.add(vote);
+            if (votes.size() == blockSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (votes.isEmpty()) {
+                return;
+            }
+            voteArchiveBlockRepository.insert(VoteArchiveBlock.builder()
+                    .proposalId(proposalId)
+                    .blockNo(blocks++)
+                    .rowCount(votes.size())
+                    .payload(VoteArchiveCodec.encode(votes))
+                    .archivedAt(LocalDateTime.now())
+                    .build());
+            votes.clear();
+        }
+    }
+}
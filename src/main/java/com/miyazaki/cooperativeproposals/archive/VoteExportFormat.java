@@ -0,0 +1,92 @@
+package com.miyazaki.cooperativeproposals.archive;
+
+import com.miyazaki.cooperativeproposals.domain.repository.projection.ArchivedVote;
+import com.miyazaki.cooperativeproposals.exception.InvalidExportFormatException;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Line formats of a vote export. Rows are written field by field, without building an object per vote;
+ * every field is a UUID, a boolean or an ISO-8601 instant, so nothing needs escaping.
+ */
+public enum VoteExportFormat {
+
+    CSV("text/csv", "csv") {
+        @Override
+        public void writeHeader(final Writer writer) throws IOException {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        @Override
+        public void writeRow(final Writer writer, final ArchivedVote vote) throws IOException {
+            writer.write(vote.id().toString());
+            writer.write(',');
+            writer.write(vote.associateId().toString());
+            writer.write(',');
+            writer.write(Boolean.toString(vote.vote()));
+            writer.write(',');
+            writer.write(vote.votedAt().toString());
+            writer.write('\n');
+        }
+    },
+
+    NDJSON("application/x-ndjson", "ndjson") {
+        @Override
+        public void writeHeader(final Writer writer) {
+            // one self-describing object per line, no header
+        }
+
+        @Override
+        public void writeRow(final Writer writer, final ArchivedVote vote) throws IOException {
+            writer.write("{\"id\":\"");
+            writer.write(vote.id().toString());
+            writer.write("\",\"associateId\":\"");
+            writer.write(vote.associateId().toString());
+            writer.write("\",\"vote\":");
+            writer.write(Boolean.toString(vote.vote()));
+            writer.write(",\"votedAt\":\"");
+            writer.write(vote.votedAt().toString());
+            writer.write("\"}\n");
+        }
+    };
+
+    static final String CSV_HEADER = "id,associate_id,vote,voted_at";
+
+    private final String mediaType;
+    private final String extension;
+
+    VoteExportFormat(final String mediaType, final String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    /**
+     * Resolves a format from its extension, ignoring case.
+     *
+     * @param extension the requested format, such as {@code ndjson} or {@code csv}
+     * @return the matching format
+     * @throws InvalidExportFormatException when no format has that extension
+     */
+    public static VoteExportFormat fromExtension(final String extension) {
+        for (final VoteExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(extension)) {
+                return format;
+            }
+        }
+        throw new InvalidExportFormatException("Export format must be ndjson or csv");
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public abstract void writeHeader(Writer writer) throws IOException;
+
+    public abstract void writeRow(Writer writer, ArchivedVote vote) throws IOException;
+}
@@ -0,0 +1,82 @@
+package com.miyazaki.cooperativeproposals.archive;
+
+import com.miyazaki.cooperativeproposals.domain.repository.VoteRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.ArchivedVote;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Streams every vote of a proposal, live and archived, to an output stream.
+ * Live votes come from a forward-only cursor over the vote table and archived votes one block at a time,
+ * both read in the same repeatable-read snapshot, so a session archived during the export is neither
+ * skipped nor written twice. Each row is written as it is read, and a slow client blocks the cursor
+ * instead of letting rows pile up in memory.
+ */
+@Service
+@Slf4j
+public class VoteExporter {
+
+    private final VoteRepository voteRepository;
+    private final VoteArchiveExporter voteArchiveExporter;
+    private final TransactionTemplate readSnapshot;
+    private final int fetchSize;
+
+    public VoteExporter(final VoteRepository voteRepository,
+                        final VoteArchiveExporter voteArchiveExporter,
+                        final PlatformTransactionManager transactionManager,
+                        @Value("${app.vote-export.fetch-size:1000}") final int fetchSize) {
+        this.voteRepository = voteRepository;
+        this.voteArchiveExporter = voteArchiveExporter;
+        this.readSnapshot = new TransactionTemplate(transactionManager);
+        this.readSnapshot.setReadOnly(true);
+        this.readSnapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Writes the votes of a proposal in the given format.
+     *
+     * @param proposalId the proposal
+     * @param format the line format
+     * @param output the response body
+     * @return the number of votes written
+     * @throws IOException when the client goes away
+     */
+    public int export(final UUID proposalId, final VoteExportFormat format, final OutputStream output)
+            throws IOException {
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        format.writeHeader(writer);
+        final int exported;
+        try {
+            exported = readSnapshot.execute(status ->
+                    voteRepository.forEachByProposal(proposalId, fetchSize, vote -> write(format, writer, vote))
+                            + voteArchiveExporter.forEachArchived(proposalId, vote -> write(format, writer, vote)));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        log.info("Exported {} votes of proposal {} as {}", exported, proposalId, format);
+        return exported;
+    }
+
+    private static void write(final VoteExportFormat format, final Writer writer, final ArchivedVote vote) {
+        try {
+            format.writeRow(writer, vote);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.miyazaki.cooperativeproposals.client;
+
+/**
+ * The bulkhead a CPF validation goes through.
+ * Interactive votes fail fast when their permits are taken, while batch uploads wait a bounded time for permits
+ * of their own, so a large batch neither fails under load nor starves voters at the polls.
+ */
+public enum CpfValidationLane {
+    INTERACTIVE,
+    BATCH
+}
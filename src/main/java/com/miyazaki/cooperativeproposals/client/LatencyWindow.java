@@ -0,0 +1,41 @@
+package com.miyazaki.cooperativeproposals.client;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size ring of the most recent call latencies, used to derive the hedge delay.
+ */
+final class LatencyWindow {
+
+    private final long[] samples;
+    private int next;
+    private int size;
+
+    LatencyWindow(final int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    synchronized void record(final long latencyMs) {
+        samples[next] = latencyMs;
+        next = (next + 1) % samples.length;
+        size = Math.min(size + 1, samples.length);
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @param quantile a value between 0 and 1
+     * @return the latency at the given quantile, or -1 when no sample was recorded
+     */
+    synchronized long percentile(final double quantile) {
+        if (size == 0) {
+            return -1L;
+        }
+        final long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        final int index = (int) Math.ceil(quantile * size) - 1;
+        return sorted[Math.max(0, Math.min(index, size - 1))];
+    }
+}
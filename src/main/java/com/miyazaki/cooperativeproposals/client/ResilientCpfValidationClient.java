@@ -0,0 +1,329 @@
+package com.miyazaki.cooperativeproposals.client;
+
+import com.miyazaki.cooperativeproposals.client.dto.CpfValidationResponse;
+import com.miyazaki.cooperativeproposals.exception.CpfValidationUnavailableException;
+import feign.FeignException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Resilience layer around {@link CpfValidationClient}.
+ * Calls go through a circuit breaker; inside it each attempt has its own timeout and, when an attempt is slower
+ * than the recent p95 latency, a hedged attempt is fired and the first successful answer wins.
+ * Every attempt holds its own bulkhead permit until the remote call actually returns, including attempts that
+ * were abandoned after a timeout or lost the hedge, so the bulkhead bounds the real number of in-flight requests.
+ * When no answer can be obtained a {@link CpfValidationUnavailableException} is thrown so the caller can apply
+ * its fallback policy.
+ */
+@Component
+@Slf4j
+public class ResilientCpfValidationClient {
+
+    private static final String NAME = "cpfValidation";
+    private static final String BATCH_NAME = NAME + "Batch";
+    private static final int LATENCY_WINDOW_SIZE = 256;
+    private static final int MIN_LATENCY_SAMPLES = 20;
+    private static final long MIN_HEDGE_DELAY_MS = 10L;
+    private static final double HEDGE_QUANTILE = 0.95;
+
+    private final CpfValidationClient cpfValidationClient;
+    private final ExecutorService executor;
+    private final CircuitBreaker circuitBreaker;
+    private final LanePermits interactivePermits;
+    private final LanePermits batchPermits;
+    private final LatencyWindow latencies = new LatencyWindow(LATENCY_WINDOW_SIZE);
+    private final Counter hedgeCounter;
+    private final long attemptTimeoutMs;
+    private final int maxAttempts;
+    private final long initialHedgeDelayMs;
+
+    public ResilientCpfValidationClient(
+            final CpfValidationClient cpfValidationClient,
+            @Qualifier("cpfValidationExecutor") final ExecutorService executor,
+            final MeterRegistry meterRegistry,
+            @Value("${app.cpf-validation.bulkhead.max-concurrent-calls:20}") final int maxConcurrentCalls,
+            @Value("${app.cpf-validation.batch-bulkhead.max-concurrent-calls:16}") final int batchMaxConcurrentCalls,
+            @Value("${app.cpf-validation.batch-bulkhead.max-wait-ms:2000}") final long batchMaxWaitMs,
+            @Value("${app.cpf-validation.circuit-breaker.failure-rate-threshold:50}") final float failureRateThreshold,
+            @Value("${app.cpf-validation.circuit-breaker.sliding-window-size:20}") final int slidingWindowSize,
+            @Value("${app.cpf-validation.circuit-breaker.wait-in-open-ms:30000}") final long waitInOpenMs,
+            @Value("${app.cpf-validation.attempt-timeout-ms:2000}") final long attemptTimeoutMs,
+            @Value("${app.cpf-validation.hedge.max-attempts:2}") final int maxAttempts,
+            @Value("${app.cpf-validation.hedge.initial-delay-ms:500}") final long initialHedgeDelayMs) {
+        this.cpfValidationClient = cpfValidationClient;
+        this.executor = executor;
+        this.attemptTimeoutMs = attemptTimeoutMs;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialHedgeDelayMs = initialHedgeDelayMs;
+
+        final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(Math.min(slidingWindowSize, 10))
+                .waitDurationInOpenState(Duration.ofMillis(waitInOpenMs))
+                .slowCallDurationThreshold(Duration.ofMillis(attemptTimeoutMs))
+                .ignoreExceptions(FeignException.FeignClientException.class, BulkheadFullException.class)
+                .build());
+        final BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(NAME);
+        this.interactivePermits = new LanePermits(bulkheadRegistry.bulkhead(NAME), 0L);
+        this.batchPermits = new LanePermits(bulkheadRegistry.bulkhead(BATCH_NAME, BulkheadConfig.custom()
+                .maxConcurrentCalls(batchMaxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build()), batchMaxWaitMs);
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+        this.hedgeCounter = Counter.builder("cpf.validation.hedged")
+                .description("CPF validation attempts fired because the previous one was slower than the p95")
+                .register(meterRegistry);
+        Gauge.builder("cpf.validation.hedge.delay", this, ResilientCpfValidationClient::hedgeDelayMs)
+                .description("Current delay before a hedged CPF validation attempt, in milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Validates a CPF against the remote service through the interactive lane.
+     *
+     * @see #validateCpf(String, CpfValidationLane)
+     */
+    public CpfValidationResponse validateCpf(final String cpf) {
+        return validateCpf(cpf, CpfValidationLane.INTERACTIVE);
+    }
+
+    /**
+     * Validates a CPF against the remote service.
+     * The first attempt of a batch call waits up to {@code batch-bulkhead.max-wait-ms} for a permit; hedged
+     * attempts and retries never wait, in either lane.
+     *
+     * @param cpf the normalized CPF
+     * @param lane the bulkhead the call goes through
+     * @return the remote answer
+     * @throws CpfValidationUnavailableException when the bulkhead is full, the circuit is open
+     *         or no attempt answered in time
+     * @throws FeignException.FeignClientException when the service rejects the request
+     */
+    public CpfValidationResponse validateCpf(final String cpf, final CpfValidationLane lane) {
+        final LanePermits permits = lane == CpfValidationLane.BATCH ? batchPermits : interactivePermits;
+        try {
+            return circuitBreaker.executeSupplier(() -> hedged(cpf, permits));
+        } catch (CallNotPermittedException e) {
+            log.warn("CPF validation circuit is {}, rejecting call", circuitBreaker.getState());
+            throw new CpfValidationUnavailableException("CPF validation circuit is open");
+        } catch (BulkheadFullException e) {
+            log.warn("CPF validation bulkhead {} is full, rejecting call", permits.bulkhead().getName());
+            throw new CpfValidationUnavailableException("CPF validation is saturated");
+        }
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    long hedgeDelayMs() {
+        if (latencies.size() < MIN_LATENCY_SAMPLES) {
+            return initialHedgeDelayMs;
+        }
+        return Math.max(MIN_HEDGE_DELAY_MS, Math.min(latencies.percentile(HEDGE_QUANTILE), attemptTimeoutMs));
+    }
+
+    private CpfValidationResponse hedged(final String cpf, final LanePermits permits) {
+        final BlockingQueue<Attempt> outcomes = new LinkedBlockingQueue<>();
+        final List<CompletableFuture<CpfValidationResponse>> attempts = new ArrayList<>(maxAttempts);
+        final long hedgeDelayMs = hedgeDelayMs();
+        Throwable lastFailure = null;
+        int failed = 0;
+        boolean permitFree = true;
+
+        if (!launch(cpf, permits, false, outcomes, attempts)) {
+            throw BulkheadFullException.createBulkheadFullException(permits.bulkhead());
+        }
+        try {
+            while (true) {
+                final Attempt outcome = permitFree && attempts.size() < maxAttempts
+                        ? outcomes.poll(hedgeDelayMs, TimeUnit.MILLISECONDS)
+                        : outcomes.take();
+                if (outcome == null) {
+                    if (launch(cpf, permits, true, outcomes, attempts)) {
+                        log.debug("CPF validation slower than {} ms, fired hedged attempt", hedgeDelayMs);
+                        hedgeCounter.increment();
+                    } else {
+                        log.debug("CPF validation slower than {} ms, but no permit is free to hedge", hedgeDelayMs);
+                        permitFree = false;
+                    }
+                    continue;
+                }
+                if (outcome.failure() == null) {
+                    return outcome.response();
+                }
+                if (outcome.failure() instanceof FeignException.FeignClientException clientError) {
+                    throw clientError;
+                }
+                lastFailure = outcome.failure();
+                failed++;
+                if (failed < attempts.size()) {
+                    continue;
+                }
+                if (attempts.size() < maxAttempts && launch(cpf, permits, true, outcomes, attempts)) {
+                    continue;
+                }
+                break;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw interrupted();
+        } finally {
+            attempts.forEach(attempt -> attempt.cancel(false));
+        }
+
+        log.warn("All {} CPF validation attempts failed: {}", attempts.size(), String.valueOf(lastFailure));
+        throw new CpfValidationUnavailableException("CPF validation did not answer in time");
+    }
+
+    /**
+     * Starts one attempt if a bulkhead permit is available. The permit is released by the attempt itself once the
+     * remote call returns, not when the caller stops waiting for it.
+     *
+     * @param followUp whether this is a hedge or retry, which only starts when a permit is free right away
+     * @return false when no permit was available or the executor refused the attempt
+     */
+    private boolean launch(final String cpf,
+                           final LanePermits permits,
+                           final boolean followUp,
+                           final BlockingQueue<Attempt> outcomes,
+                           final List<CompletableFuture<CpfValidationResponse>> attempts) {
+        final boolean acquired;
+        try {
+            acquired = followUp ? permits.tryAcquire() : permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw interrupted();
+        }
+        if (!acquired) {
+            return false;
+        }
+        final CompletableFuture<CpfValidationResponse> attempt;
+        try {
+            attempt = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return timed(cpf);
+                } finally {
+                    permits.release();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            log.warn("CPF validation executor is full, attempt not started");
+            return false;
+        }
+        attempt.orTimeout(attemptTimeoutMs, TimeUnit.MILLISECONDS)
+                .whenComplete((response, error) -> outcomes.add(new Attempt(response, unwrap(error))));
+        attempts.add(attempt);
+        return true;
+    }
+
+    private CpfValidationResponse timed(final String cpf) {
+        final long start = System.nanoTime();
+        final CpfValidationResponse response = cpfValidationClient.validateCpf(cpf);
+        latencies.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return response;
+    }
+
+    private static CpfValidationUnavailableException interrupted() {
+        return new CpfValidationUnavailableException("Interrupted while validating CPF");
+    }
+
+    private static Throwable unwrap(final Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private record Attempt(CpfValidationResponse response, Throwable failure) {
+    }
+
+    /**
+     * The permits of one lane. The bulkhead never waits, so a hedge or retry can take a permit without blocking;
+     * the first attempt of a lane with a wait waits here for a released permit instead, up to that wait.
+     */
+    private static final class LanePermits {
+
+        private final Bulkhead bulkhead;
+        private final long maxWaitNanos;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition released = lock.newCondition();
+
+        LanePermits(final Bulkhead bulkhead, final long maxWaitMs) {
+            this.bulkhead = bulkhead;
+            this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        }
+
+        Bulkhead bulkhead() {
+            return bulkhead;
+        }
+
+        boolean tryAcquire() {
+            return bulkhead.tryAcquirePermission();
+        }
+
+        boolean acquire() throws InterruptedException {
+            if (tryAcquire()) {
+                return true;
+            }
+            long remainingNanos = maxWaitNanos;
+            lock.lock();
+            try {
+                while (!tryAcquire()) {
+                    if (remainingNanos <= 0) {
+                        return false;
+                    }
+                    remainingNanos = released.awaitNanos(remainingNanos);
+                }
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void release() {
+            bulkhead.onComplete();
+            if (maxWaitNanos > 0) {
+                lock.lock();
+                try {
+                    released.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+}
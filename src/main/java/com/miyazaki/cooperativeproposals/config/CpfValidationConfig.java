@@ -0,0 +1,69 @@
+package com.miyazaki.cooperativeproposals.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class CpfValidationConfig {
+
+    private static final String THREAD_PREFIX = "cpf-validation-";
+    private static final String BATCH_THREAD_PREFIX = "vote-batch-";
+    private static final long IDLE_THREAD_TIMEOUT_SECONDS = 60L;
+
+    /**
+     * Runs the individual CPF validation attempts so the caller can wait on them with a deadline
+     * and fire a hedged attempt without blocking on the first one.
+     * The pool is bounded by the permits of both bulkhead lanes: an attempt only starts after taking a permit and
+     * keeps it until the remote call returns, so the pool and its equally sized queue never hold more work than
+     * that. Anything beyond it is rejected rather than piling up threads behind a slow service.
+     * Attempts run on virtual threads when {@code spring.threads.virtual.enabled} is set.
+     *
+     * @param virtualThreads whether virtual threads are enabled
+     * @param maxConcurrentCalls the interactive bulkhead size
+     * @param batchMaxConcurrentCalls the batch bulkhead size
+     * @return the executor for CPF validation attempts
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService cpfValidationExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") final boolean virtualThreads,
+            @Value("${app.cpf-validation.bulkhead.max-concurrent-calls:20}") final int maxConcurrentCalls,
+            @Value("${app.cpf-validation.batch-bulkhead.max-concurrent-calls:16}") final int batchMaxConcurrentCalls) {
+        final ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name(THREAD_PREFIX, 1).factory()
+                : Thread.ofPlatform().name(THREAD_PREFIX, 1).daemon(true).factory();
+        final int size = Math.max(1, maxConcurrentCalls + batchMaxConcurrentCalls);
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(size, size,
+                IDLE_THREAD_TIMEOUT_SECONDS, TimeUnit.SECONDS, new ArrayBlockingQueue<>(size),
+                threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Runs the workers that validate the CPFs of a vote batch in parallel.
+     * They wait on CPF attempts, so they must not share the attempt pool: a few large batches would otherwise take
+     * every thread and leave none for the attempts they are waiting on.
+     *
+     * @param virtualThreads whether virtual threads are enabled
+     * @param cpfParallelism the number of workers a single batch uses
+     * @return the executor for batch CPF workers
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService voteBatchExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") final boolean virtualThreads,
+            @Value("${app.vote-batch.cpf-parallelism:16}") final int cpfParallelism) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(BATCH_THREAD_PREFIX, 1).factory());
+        }
+        return Executors.newFixedThreadPool(Math.max(1, cpfParallelism),
+                Thread.ofPlatform().name(BATCH_THREAD_PREFIX, 1).daemon(true).factory());
+    }
+}
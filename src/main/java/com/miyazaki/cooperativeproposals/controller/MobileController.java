@@ -2,26 +2,35 @@ package com.miyazaki.cooperativeproposals.controller;
 
 import com.miyazaki.cooperativeproposals.controller.dto.response.mobile.FormField;
 import com.miyazaki.cooperativeproposals.controller.dto.response.mobile.MobileFormScreen;
-import com.miyazaki.cooperativeproposals.controller.dto.response.mobile.MobileScreenResponse;
 import com.miyazaki.cooperativeproposals.controller.dto.response.mobile.MobileSelectionScreen;
 import com.miyazaki.cooperativeproposals.domain.entity.Proposal;
 import com.miyazaki.cooperativeproposals.domain.entity.VotingSession;
 import com.miyazaki.cooperativeproposals.exception.NotFoundException;
+import com.miyazaki.cooperativeproposals.service.MobileScreenCache;
+import com.miyazaki.cooperativeproposals.service.MobileScreenCache.ScreenKey;
 import com.miyazaki.cooperativeproposals.service.MobileScreenService;
 import com.miyazaki.cooperativeproposals.service.ProposalService;
+import com.miyazaki.cooperativeproposals.service.SerializedScreen;
 import com.miyazaki.cooperativeproposals.service.VotingSessionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -38,87 +47,128 @@ public final class MobileController {
     private final MobileScreenService mobileScreenService;
     private final ProposalService proposalService;
     private final VotingSessionService votingSessionService;
+    private final MobileScreenCache mobileScreenCache;
+
+    private static final String NO_ACTIVE_SESSION = "No active voting session for this proposal";
     
     @Operation(summary = "Get proposals list as mobile selection screen")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Mobile selection screen with proposals list")
+            @ApiResponse(responseCode = "200", description = "Mobile selection screen with proposals list",
+                    content = @Content(schema = @Schema(implementation = MobileSelectionScreen.class))),
+            @ApiResponse(responseCode = "304", description = "The screen matches the ETag sent in If-None-Match")
     })
     @GetMapping("/proposals")
-    public ResponseEntity<MobileSelectionScreen> getProposalsList(
+    public ResponseEntity<byte[]> getProposalsList(
             @Parameter(description = "Page number", example = "0")
             @RequestParam(defaultValue = "0") final int page,
             @Parameter(description = "Page size", example = "20") 
-            @RequestParam(defaultValue = "20") final int size) {
+            @RequestParam(defaultValue = "20") final int size,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
         
         log.info("Getting proposals list for mobile - page: {}, size: {}", page, size);
         
-        Page<Proposal> proposals = proposalService.getAllProposalsPage(PageRequest.of(page, size));
+        Slice<Proposal> proposals = proposalService.getProposalsSlice(PageRequest.of(page, size));
         MobileSelectionScreen screen = mobileScreenService.createProposalList(proposals.getContent());
         
-        return ResponseEntity.ok(screen);
+        return respond(mobileScreenCache.serialize(screen), ifNoneMatch);
     }
     
     @Operation(summary = "Get proposal details and voting options")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Mobile screen for proposal voting"),
+            @ApiResponse(responseCode = "200", description = "Mobile screen for proposal voting",
+                    content = @Content(schema = @Schema(implementation = MobileSelectionScreen.class))),
+            @ApiResponse(responseCode = "304", description = "The screen matches the ETag sent in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Proposal not found")
     })
     @GetMapping("/proposal/{proposalId}")
-    public ResponseEntity<MobileScreenResponse> getProposalDetails(
+    public ResponseEntity<byte[]> getProposalDetails(
             @Parameter(description = "Proposal ID") 
-            @PathVariable final UUID proposalId) {
+            @PathVariable final UUID proposalId,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
         
         log.info("Getting proposal details for mobile: {}", proposalId);
         
-        Proposal proposal = proposalService.getProposal(proposalId);
+        Proposal proposal = proposalService.getProposalView(proposalId).toProposal();
         
         if (votingSessionService.hasVotingSessionOpened(proposalId)) {
-            MobileSelectionScreen screen = mobileScreenService.createVotingOptions(proposal);
-            return ResponseEntity.ok(screen);
+            SerializedScreen screen = mobileScreenCache.get(ScreenKey.votingOptions(proposalId),
+                    () -> mobileScreenService.createVotingOptions(proposal));
+            return respond(screen, ifNoneMatch);
         } else {
-            throw new NotFoundException("No active voting session for this proposal");
+            throw new NotFoundException(NO_ACTIVE_SESSION);
         }
     }
     
     @Operation(summary = "Get voting form for specific vote choice")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Mobile form screen for voting"),
+            @ApiResponse(responseCode = "200", description = "Mobile form screen for voting",
+                    content = @Content(schema = @Schema(implementation = MobileFormScreen.class))),
+            @ApiResponse(responseCode = "304", description = "The screen matches the ETag sent in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Proposal not found")
     })
     @GetMapping("/vote-form/{proposalId}/{voteChoice}")
-    public ResponseEntity<MobileFormScreen> getVoteForm(
+    public ResponseEntity<byte[]> getVoteForm(
             @Parameter(description = "Proposal ID") 
             @PathVariable final UUID proposalId,
             @Parameter(description = "Vote choice") 
-            @PathVariable final Boolean voteChoice) {
+            @PathVariable final Boolean voteChoice,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
         
         log.info("Getting vote form for proposal: {}, choice: {}", proposalId, voteChoice);
         
-        Proposal proposal = proposalService.getProposal(proposalId);
-        VotingSession session = votingSessionService.getSessionActiveByProposalId(proposalId);
+        Proposal proposal = proposalService.getProposalView(proposalId).toProposal();
         
-        MobileFormScreen screen = mobileScreenService.createVotingForm(proposal, session);
+        if (!votingSessionService.hasVotingSessionOpened(proposalId)) {
+            throw new NotFoundException(NO_ACTIVE_SESSION);
+        }
         
-        screen.getItens().add(
-                FormField.builder()
-                        .id("vote")
-                        .tipo("HIDDEN")
-                        .valor(voteChoice)
-                        .build()
-        );
+        SerializedScreen screen = mobileScreenCache.get(ScreenKey.voteForm(proposalId, voteChoice), () -> {
+            VotingSession session = votingSessionService.getSessionActiveByProposalId(proposalId);
+            MobileFormScreen form = mobileScreenService.createVotingForm(proposal, session);
+            form.getItens().add(
+                    FormField.builder()
+                            .id("vote")
+                            .tipo("HIDDEN")
+                            .valor(voteChoice)
+                            .build()
+            );
+            return form;
+        });
         
-        return ResponseEntity.ok(screen);
+        return respond(screen, ifNoneMatch);
     }
     
     @Operation(summary = "Get new proposal creation form")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Mobile form screen for creating new proposal")
+            @ApiResponse(responseCode = "200", description = "Mobile form screen for creating new proposal",
+                    content = @Content(schema = @Schema(implementation = MobileFormScreen.class))),
+            @ApiResponse(responseCode = "304", description = "The screen matches the ETag sent in If-None-Match")
     })
     @GetMapping("/new-proposal")
-    public ResponseEntity<MobileFormScreen> getNewProposalForm() {
+    public ResponseEntity<byte[]> getNewProposalForm(
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
         log.info("Getting new proposal form for mobile");
         
-        MobileFormScreen screen = mobileScreenService.createProposalForm();
-        return ResponseEntity.ok(screen);
+        SerializedScreen screen = mobileScreenCache.get(ScreenKey.NEW_PROPOSAL,
+                mobileScreenService::createProposalForm);
+        return respond(screen, ifNoneMatch);
+    }
+
+    /**
+     * Answers 304 when the client already holds the screen, and otherwise writes its cached bytes as they are.
+     * Clients may keep the screen but must revalidate it on every poll.
+     */
+    private static ResponseEntity<byte[]> respond(final SerializedScreen screen, final String ifNoneMatch) {
+        if (screen.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(screen.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(screen.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(screen.body());
     }
-}
\ No newline at end of file
+}
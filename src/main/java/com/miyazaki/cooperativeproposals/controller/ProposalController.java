@@ -1,13 +1,20 @@
 package com.miyazaki.cooperativeproposals.controller;
 
+import com.miyazaki.cooperativeproposals.archive.VoteArchiveExporter;
+import com.miyazaki.cooperativeproposals.archive.VoteExportFormat;
+import com.miyazaki.cooperativeproposals.archive.VoteExporter;
+import com.miyazaki.cooperativeproposals.controller.dto.request.BatchVoteRequest;
 import com.miyazaki.cooperativeproposals.controller.dto.request.CreateProposalRequest;
 import com.miyazaki.cooperativeproposals.controller.dto.request.OpenSessionRequest;
 import com.miyazaki.cooperativeproposals.controller.dto.request.VoteRequest;
+import com.miyazaki.cooperativeproposals.controller.dto.response.BatchVoteResponse;
+import com.miyazaki.cooperativeproposals.controller.dto.response.LiveResultResponse;
 import com.miyazaki.cooperativeproposals.controller.dto.response.PagedResponse;
 import com.miyazaki.cooperativeproposals.controller.dto.response.ProposalDetailsResponse;
 import com.miyazaki.cooperativeproposals.controller.dto.response.ProposalSummary;
 import com.miyazaki.cooperativeproposals.controller.dto.response.SessionResponse;
 import com.miyazaki.cooperativeproposals.controller.dto.response.VoteResponse;
+import com.miyazaki.cooperativeproposals.service.BatchVoteService;
 import com.miyazaki.cooperativeproposals.service.ProposalService;
 import com.miyazaki.cooperativeproposals.service.VoteService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -23,7 +30,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -32,7 +41,10 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
 import java.util.UUID;
 
 @RequiredArgsConstructor
@@ -44,6 +56,13 @@ public final class ProposalController {
 
     private final ProposalService proposalService;
     private final VoteService voteService;
+    private final BatchVoteService batchVoteService;
+    private final VoteArchiveExporter voteArchiveExporter;
+    private final VoteExporter voteExporter;
+
+    private static final String KEYSET = "keyset";
+    private static final String TEXT_CSV = "text/csv";
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
 
     @Operation(summary = "Create a new proposal")
     @ApiResponses({
@@ -79,7 +98,8 @@ public final class ProposalController {
     @Operation(summary = "Get a paginated list of all proposals")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Paginated list of proposals",
-                    content = @Content(schema = @Schema(implementation = PagedResponse.class)))
+                    content = @Content(schema = @Schema(implementation = PagedResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid keyset sort or cursor")
     })
     @GetMapping
     public ResponseEntity<PagedResponse<ProposalSummary>> getAllProposals(
@@ -93,14 +113,25 @@ public final class ProposalController {
             @RequestParam(defaultValue = "title") final String sortBy,
             
             @Parameter(description = "Sort direction (asc or desc)", example = "asc")
-            @RequestParam(defaultValue = "asc") final String sortDirection) {
+            @RequestParam(defaultValue = "asc") final String sortDirection,
+
+            @Parameter(description = "Pagination mode (offset or keyset). Keyset skips the total count "
+                    + "and supports sortBy title or id", example = "offset")
+            @RequestParam(defaultValue = "offset") final String pagination,
+
+            @Parameter(description = "Continuation token from the previous keyset page (implies keyset mode)")
+            @RequestParam(required = false) final String cursor) {
         
-        log.info("Retrieving proposals - page: {}, size: {}, sortBy: {}, sortDirection: {}", 
-                page, size, sortBy, sortDirection);
+        log.info("Retrieving proposals - page: {}, size: {}, sortBy: {}, sortDirection: {}, pagination: {}", 
+                page, size, sortBy, sortDirection, pagination);
         
         final Sort.Direction direction = sortDirection.equalsIgnoreCase("desc") 
                 ? Sort.Direction.DESC 
                 : Sort.Direction.ASC;
+
+        if (cursor != null || KEYSET.equalsIgnoreCase(pagination)) {
+            return ResponseEntity.ok(proposalService.getProposalsAfter(sortBy, direction, size, cursor));
+        }
         
         final Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
         final PagedResponse<ProposalSummary> response = proposalService.getAllProposals(pageable);
@@ -113,10 +144,13 @@ public final class ProposalController {
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "Vote successfully cast",
                     content = @Content(schema = @Schema(implementation = VoteResponse.class))),
+            @ApiResponse(responseCode = "202", description = "Vote accepted, its write has not committed yet",
+                    content = @Content(schema = @Schema(implementation = VoteResponse.class))),
             @ApiResponse(responseCode = "404", description = "Proposal not found or no active voting session"),
             @ApiResponse(responseCode = "409", description = "Associate has already voted or session is not active"),
             @ApiResponse(responseCode = "400", description = "Invalid request parameters"),
-            @ApiResponse(responseCode = "409", description = "Associate has not permission to vote")
+            @ApiResponse(responseCode = "409", description = "Associate has not permission to vote"),
+            @ApiResponse(responseCode = "503", description = "Vote buffer full or CPF validation unavailable")
     })
     @PostMapping("/{proposalId}/vote")
     public ResponseEntity<VoteResponse> castVote(
@@ -132,7 +166,30 @@ public final class ProposalController {
         log.info("Vote successfully processed - ID: {}, Proposal: {}, Associate: {}", 
                 response.getVoteId(), proposalId, voteRequest.associateId());
         
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return ResponseEntity.status(response.isPending() ? HttpStatus.ACCEPTED : HttpStatus.CREATED).body(response);
+    }
+
+    @Operation(summary = "Cast a batch of votes buffered by a device")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch processed, see the status of each vote",
+                    content = @Content(schema = @Schema(implementation = BatchVoteResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Proposal not found or no active voting session"),
+            @ApiResponse(responseCode = "400", description = "Invalid request parameters")
+    })
+    @PostMapping("/{proposalId}/votes/batch")
+    public ResponseEntity<BatchVoteResponse> castVotes(
+            @Parameter(description = "ID of the proposal to vote on", example = "123e4567-e89b-12d3-a456-426614174000")
+            @PathVariable final UUID proposalId,
+            @Valid @RequestBody final BatchVoteRequest batchVoteRequest) {
+
+        log.info("Processing vote batch for proposal: {}, votes: {}", proposalId, batchVoteRequest.votes().size());
+
+        final BatchVoteResponse response = batchVoteService.castVotes(proposalId, batchVoteRequest.votes());
+
+        log.info("Vote batch processed - Proposal: {}, accepted: {}, rejected: {}",
+                proposalId, response.getAccepted(), response.getRejected());
+
+        return ResponseEntity.ok(response);
     }
 
     @Operation(summary = "Get proposal details with result")
@@ -149,4 +206,62 @@ public final class ProposalController {
         final var proposalDetails = proposalService.getProposalDetail(proposalId);
         return ResponseEntity.ok(proposalDetails);
     }
+
+    @Operation(summary = "Stream the running result of a proposal as Server-Sent Events")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Stream of result snapshots",
+            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                    schema = @Schema(implementation = LiveResultResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Proposal not found")
+    })
+    @GetMapping(value = "/{proposalId}/results/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamResults(
+            @Parameter(description = "ID of the proposal to observe", example = "123e4567-e89b-12d3-a456-426614174000")
+            @PathVariable final UUID proposalId) {
+        log.info("Streaming results for proposal: {}", proposalId);
+        return proposalService.streamResults(proposalId);
+    }
+
+    @Operation(summary = "Export the archived votes of a closed proposal as CSV")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Archived votes",
+            content = @Content(mediaType = TEXT_CSV)),
+            @ApiResponse(responseCode = "404", description = "Proposal votes not archived")
+    })
+    @GetMapping(value = "/{proposalId}/votes/archive", produces = TEXT_CSV)
+    public ResponseEntity<StreamingResponseBody> exportArchivedVotes(
+            @Parameter(description = "ID of the archived proposal", example = "123e4567-e89b-12d3-a456-426614174000")
+            @PathVariable final UUID proposalId) {
+        log.info("Exporting archived votes for proposal: {}", proposalId);
+        final List<Integer> blocks = voteArchiveExporter.blocksOf(proposalId);
+        final StreamingResponseBody body = output -> voteArchiveExporter.writeCsv(proposalId, blocks, output);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"votes-" + proposalId + ".csv\"")
+                .contentType(MediaType.parseMediaType(TEXT_CSV))
+                .body(body);
+    }
+
+    @Operation(summary = "Export every vote of a proposal, live and archived, as NDJSON or CSV")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Votes of the proposal, one per line",
+            content = {@Content(mediaType = APPLICATION_NDJSON), @Content(mediaType = TEXT_CSV)}),
+            @ApiResponse(responseCode = "400", description = "Unknown export format"),
+            @ApiResponse(responseCode = "404", description = "Proposal not found")
+    })
+    @GetMapping("/{proposalId}/votes/export")
+    public ResponseEntity<StreamingResponseBody> exportVotes(
+            @Parameter(description = "ID of the proposal", example = "123e4567-e89b-12d3-a456-426614174000")
+            @PathVariable final UUID proposalId,
+            @Parameter(description = "Output format (ndjson or csv)", example = "ndjson")
+            @RequestParam(defaultValue = "ndjson") final String format) {
+        final VoteExportFormat exportFormat = VoteExportFormat.fromExtension(format);
+        log.info("Exporting votes for proposal: {} as {}", proposalId, exportFormat);
+        proposalService.getProposalView(proposalId);
+        final StreamingResponseBody body = output -> voteExporter.export(proposalId, exportFormat, output);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"votes-" + proposalId + "." + exportFormat.extension() + "\"")
+                .contentType(MediaType.parseMediaType(exportFormat.mediaType()))
+                .body(body);
+    }
 }
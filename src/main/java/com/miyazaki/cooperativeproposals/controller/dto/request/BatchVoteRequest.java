@@ -0,0 +1,18 @@
+package com.miyazaki.cooperativeproposals.controller.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Votes buffered by a device and uploaded together")
+public record BatchVoteRequest(
+        @Schema(description = "Votes to cast, in the order they were collected")
+        @NotEmpty(message = "At least one vote is required")
+        @Size(max = BatchVoteRequest.MAX_VOTES, message = "A batch accepts at most " + BatchVoteRequest.MAX_VOTES + " votes")
+        List<@Valid VoteRequest> votes
+) {
+    public static final int MAX_VOTES = 10000;
+}
@@ -0,0 +1,31 @@
+package com.miyazaki.cooperativeproposals.controller.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+@Schema(description = "Outcome of one vote of a batch")
+public class BatchVoteItemResult {
+
+    @Schema(description = "Position of the vote in the request")
+    private int index;
+
+    @Schema(description = "ID of the associate who cast the vote")
+    private UUID associateId;
+
+    @Schema(description = "Unique identifier of the vote, present when it was accepted")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private UUID voteId;
+
+    @Schema(description = "Whether the vote was recorded and, if not, why")
+    private BatchVoteItemStatus status;
+}
@@ -0,0 +1,10 @@
+package com.miyazaki.cooperativeproposals.controller.dto.response;
+
+public enum BatchVoteItemStatus {
+    ACCEPTED,
+    DUPLICATE_IN_BATCH, // same associate appears earlier in the batch
+    ALREADY_VOTED,
+    NOT_ELIGIBLE,
+    CPF_VALIDATION_UNAVAILABLE,
+    SESSION_CLOSED;
+}
@@ -0,0 +1,30 @@
+package com.miyazaki.cooperativeproposals.controller.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+@Schema(description = "Per-item outcome of a vote batch")
+public class BatchVoteResponse {
+
+    @Schema(description = "ID of the proposal that was voted on")
+    private UUID proposalId;
+
+    @Schema(description = "Number of votes recorded")
+    private int accepted;
+
+    @Schema(description = "Number of votes not recorded")
+    private int rejected;
+
+    @Schema(description = "Outcome of each vote, in request order")
+    private List<BatchVoteItemResult> items;
+}
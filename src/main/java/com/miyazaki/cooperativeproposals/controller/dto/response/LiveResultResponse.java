@@ -0,0 +1,27 @@
+package com.miyazaki.cooperativeproposals.controller.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+@Schema(description = "Snapshot of the running result of a proposal")
+public class LiveResultResponse {
+    @Schema(description = "Unique identifier of the proposal")
+    private UUID proposalId;
+    @Schema(description = "Current status of the proposal")
+    private ProposalStatusEnum status;
+    @Schema(description = "Count 'YES' vote")
+    private Long countYes;
+    @Schema(description = "Count 'NO' vote")
+    private Long countNo;
+    @Schema(description = "Count votes")
+    private Long totalVotes;
+}
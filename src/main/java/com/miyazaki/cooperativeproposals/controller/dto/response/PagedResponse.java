@@ -1,5 +1,6 @@
 package com.miyazaki.cooperativeproposals.controller.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,16 +19,24 @@ public class PagedResponse<T> {
     @Schema(description = "List of items for current page")
     private List<T> content;
     
-    @Schema(description = "Current page number (0-based)")
+    @Schema(description = "Current page number (0-based), -1 in keyset mode")
     private int page;
     
     @Schema(description = "Number of items per page")
     private int size;
     
-    @Schema(description = "Total number of elements across all pages")
+    @Schema(description = "Total number of elements across all pages, -1 in keyset mode")
     private long totalElements;
     
-    @Schema(description = "Total number of pages")
+    @Schema(description = "Total number of pages, -1 in keyset mode")
     private int totalPages;
-    
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Opaque token to read the next page in keyset mode, absent on the last page")
+    private String nextCursor;
+
+    public PagedResponse(final List<T> content, final int page, final int size,
+                         final long totalElements, final int totalPages) {
+        this(content, page, size, totalElements, totalPages, null);
+    }
 }
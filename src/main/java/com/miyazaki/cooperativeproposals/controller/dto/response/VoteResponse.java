@@ -30,4 +30,7 @@ public class VoteResponse {
     
     @Schema(description = "Timestamp when the vote was cast")
     private LocalDateTime votedAt;
+
+    @Schema(description = "True when the vote was accepted but its write had not committed yet")
+    private boolean pending;
 }
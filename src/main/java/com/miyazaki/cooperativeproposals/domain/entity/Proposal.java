@@ -4,7 +4,6 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToOne;
 import lombok.AllArgsConstructor;
@@ -12,7 +11,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
-import org.hibernate.annotations.UuidGenerator;
 
 import java.util.UUID;
 
@@ -24,8 +22,7 @@ import java.util.UUID;
 @ToString(exclude = "votingSession") 
 public class Proposal {
     @Id
-    @GeneratedValue
-    @UuidGenerator
+    @UuidV7
     private UUID id;
     private String title;
     private String description;
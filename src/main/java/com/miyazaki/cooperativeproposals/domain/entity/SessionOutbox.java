@@ -0,0 +1,43 @@
+package com.miyazaki.cooperativeproposals.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A session closure waiting to be published to RabbitMQ.
+ * The row is deleted once the broker confirms the message.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "session_outbox")
+public class SessionOutbox {
+    @Id
+    @UuidV7
+    private UUID id;
+
+    @Column(name = "voting_session_id", nullable = false)
+    private UUID votingSessionId;
+
+    @Column(name = "close_at", nullable = false)
+    private LocalDateTime closeAt;
+
+    @Column(name = "trace_id")
+    private String traceId;
+
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private int attempts;
+}
@@ -2,7 +2,6 @@ package com.miyazaki.cooperativeproposals.domain.entity;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -12,7 +11,6 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -27,8 +25,7 @@ uniqueConstraints = @UniqueConstraint(name = "uk_vote_proposal_associate",
         columnNames = {"proposal_id", "associate_id"}))
 public class Vote {
     @Id
-    @GeneratedValue
-    @UuidGenerator
+    @UuidV7
     private UUID id;
 
     private UUID associateId;
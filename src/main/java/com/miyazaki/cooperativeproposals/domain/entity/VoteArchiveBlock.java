@@ -0,0 +1,43 @@
+package com.miyazaki.cooperativeproposals.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A compressed block of archived votes of a proposal.
+ * Blocks are only ever inserted; the payload is decoded by {@code VoteArchiveCodec}.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "vote_block", schema = "archive")
+@IdClass(VoteArchiveBlockId.class)
+@ToString(exclude = "payload")
+public class VoteArchiveBlock {
+    @Id
+    private UUID proposalId;
+
+    @Id
+    private int blockNo;
+
+    private int rowCount;
+
+    @Column(nullable = false, updatable = false)
+    private byte[] payload;
+
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+}
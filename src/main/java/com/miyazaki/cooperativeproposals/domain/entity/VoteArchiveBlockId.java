@@ -0,0 +1,16 @@
+package com.miyazaki.cooperativeproposals.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class VoteArchiveBlockId implements Serializable {
+    private UUID proposalId;
+    private int blockNo;
+}
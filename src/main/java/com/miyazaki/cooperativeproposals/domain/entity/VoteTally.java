@@ -0,0 +1,35 @@
+package com.miyazaki.cooperativeproposals.domain.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * One shard of the running yes/no counters of a proposal.
+ * The proposal result is the sum of its shards.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "vote_tally")
+@IdClass(VoteTallyId.class)
+public class VoteTally {
+    @Id
+    private UUID proposalId;
+
+    @Id
+    private short shard;
+
+    private long yesCount;
+
+    private long noCount;
+}
@@ -7,7 +7,6 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -18,7 +17,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
-import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -32,8 +30,7 @@ import java.util.UUID;
 @ToString(exclude = "proposal") // Prevent toString loops
 public class VotingSession {
     @Id
-    @GeneratedValue
-    @UuidGenerator
+    @UuidV7
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -50,6 +47,9 @@ public class VotingSession {
     @Enumerated(EnumType.STRING)
     private SessionStatus status;
 
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
     @Version
     private Long version;
 
@@ -0,0 +1,10 @@
+package com.miyazaki.cooperativeproposals.domain.enums;
+
+/**
+ * What to answer when the CPF validation service cannot be reached.
+ */
+public enum CpfFallbackPolicy {
+    ERROR,
+    ALLOW,
+    DENY;
+}
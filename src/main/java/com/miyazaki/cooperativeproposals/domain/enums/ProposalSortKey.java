@@ -0,0 +1,34 @@
+package com.miyazaki.cooperativeproposals.domain.enums;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Proposal columns that can drive keyset pagination. Each one is backed by an index ending in {@code id}.
+ */
+public enum ProposalSortKey {
+    TITLE("title", "p.title"),
+    ID("id", "p.id");
+
+    private final String property;
+    private final String column;
+
+    ProposalSortKey(final String property, final String column) {
+        this.property = property;
+        this.column = column;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public static Optional<ProposalSortKey> fromProperty(final String property) {
+        return Arrays.stream(values())
+                .filter(key -> key.property.equals(property))
+                .findFirst();
+    }
+}
@@ -4,6 +4,7 @@ import com.miyazaki.cooperativeproposals.controller.dto.request.CreateProposalRe
 import com.miyazaki.cooperativeproposals.controller.dto.response.ProposalDetailsResponse;
 import com.miyazaki.cooperativeproposals.controller.dto.response.ProposalStatusEnum;
 import com.miyazaki.cooperativeproposals.domain.entity.Proposal;
+import com.miyazaki.cooperativeproposals.service.ProposalView;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -18,4 +19,8 @@ public interface ProposalMapper {
     @Mapping(target = "status", source = "status")
     @Mapping(target = "result", ignore = true)
     ProposalDetailsResponse toProposalDetailsResponse(Proposal proposal, ProposalStatusEnum status);
+
+    @Mapping(target = "proposalId", source = "id")
+    @Mapping(target = "result", ignore = true)
+    ProposalDetailsResponse toProposalDetailsResponse(ProposalView proposal);
 }
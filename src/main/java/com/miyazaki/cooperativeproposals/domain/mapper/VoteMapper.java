@@ -10,6 +10,7 @@ public interface VoteMapper {
     
     @Mapping(target = "voteId", source = "id")
     @Mapping(target = "proposalId", source = "proposal.id")
+    @Mapping(target = "pending", ignore = true)
     VoteResponse toVoteResponse(Vote vote);
 
 }
@@ -0,0 +1,26 @@
+package com.miyazaki.cooperativeproposals.domain.repository;
+
+import com.miyazaki.cooperativeproposals.domain.enums.ProposalSortKey;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.ProposalSummaryProjection;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ProposalKeysetRepository {
+
+    /**
+     * Reads proposal summaries ordered by {@code (sortKey, id)} that come strictly after the given position.
+     *
+     * @param sortKey the column to order by
+     * @param ascending whether the order is ascending
+     * @param afterValue the sort value of the last row already read, or {@code null} for the first page
+     * @param afterId the id of the last row already read, or {@code null} for the first page
+     * @param limit the maximum number of rows to read
+     * @return the next rows in order
+     */
+    List<ProposalSummaryProjection> findSummariesAfter(ProposalSortKey sortKey,
+                                                       boolean ascending,
+                                                       String afterValue,
+                                                       UUID afterId,
+                                                       int limit);
+}
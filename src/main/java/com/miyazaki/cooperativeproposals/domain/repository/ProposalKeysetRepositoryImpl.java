@@ -0,0 +1,76 @@
+package com.miyazaki.cooperativeproposals.domain.repository;
+
+import com.miyazaki.cooperativeproposals.domain.enums.ProposalSortKey;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.ProposalSummaryProjection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class ProposalKeysetRepositoryImpl implements ProposalKeysetRepository {
+
+    private static final String SELECT_SUMMARIES = """
+      SELECT p.id, p.title, p.description, COALESCE(s.status, 'WAITING') AS status
+      FROM proposal p
+      LEFT JOIN voting_session s ON s.proposal_id = p.id
+      """;
+
+    private static final RowMapper<ProposalSummaryProjection> SUMMARY_MAPPER = (rs, rowNum) -> new SummaryRow(
+            rs.getObject("id", UUID.class),
+            rs.getString("title"),
+            rs.getString("description"),
+            rs.getString("status"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<ProposalSummaryProjection> findSummariesAfter(final ProposalSortKey sortKey,
+                                                              final boolean ascending,
+                                                              final String afterValue,
+                                                              final UUID afterId,
+                                                              final int limit) {
+        final String direction = ascending ? "ASC" : "DESC";
+        final String comparison = ascending ? ">" : "<";
+        final String order = sortKey == ProposalSortKey.ID
+                ? " ORDER BY p.id " + direction
+                : " ORDER BY " + sortKey.getColumn() + " " + direction + ", p.id " + direction;
+
+        if (afterId == null) {
+            return jdbcTemplate.query(SELECT_SUMMARIES + order + " LIMIT ?", SUMMARY_MAPPER, limit);
+        }
+        if (sortKey == ProposalSortKey.ID) {
+            return jdbcTemplate.query(SELECT_SUMMARIES + " WHERE p.id " + comparison + " ?" + order + " LIMIT ?",
+                    SUMMARY_MAPPER, afterId, limit);
+        }
+        return jdbcTemplate.query(
+                SELECT_SUMMARIES + " WHERE (" + sortKey.getColumn() + ", p.id) " + comparison + " (?, ?)" + order + " LIMIT ?",
+                SUMMARY_MAPPER, afterValue, afterId, limit);
+    }
+
+    private record SummaryRow(UUID id, String title, String description, String status)
+            implements ProposalSummaryProjection {
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public String getTitle() {
+            return title;
+        }
+
+        @Override
+        public String getDescription() {
+            return description;
+        }
+
+        @Override
+        public String getStatus() {
+            return status;
+        }
+    }
+}
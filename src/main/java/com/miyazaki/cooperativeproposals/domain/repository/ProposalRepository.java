@@ -1,11 +1,31 @@
 package com.miyazaki.cooperativeproposals.domain.repository;
 
 import com.miyazaki.cooperativeproposals.domain.entity.Proposal;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.ProposalSummaryProjection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.UUID;
 
 @Repository
-public interface ProposalRepository extends JpaRepository<Proposal, UUID> {
+public interface ProposalRepository extends JpaRepository<Proposal, UUID>, ProposalKeysetRepository {
+
+    @Query(value = """
+      SELECT
+        p.id          AS id,
+        p.title       AS title,
+        p.description AS description,
+        COALESCE(s.status, 'WAITING') AS status
+      FROM proposal p
+      LEFT JOIN voting_session s ON s.proposal_id = p.id
+      """,
+      countQuery = "SELECT COUNT(*) FROM proposal",
+      nativeQuery = true)
+    Page<ProposalSummaryProjection> findAllSummaries(Pageable pageable);
+
+    Slice<Proposal> findAllBy(Pageable pageable);
 }
@@ -0,0 +1,32 @@
+package com.miyazaki.cooperativeproposals.domain.repository;
+
+import com.miyazaki.cooperativeproposals.domain.entity.SessionOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SessionOutboxRepository extends JpaRepository<SessionOutbox, UUID> {
+
+    /**
+     * Locks the oldest pending closures. Rows locked by another relay instance are skipped,
+     * so concurrent instances publish disjoint batches.
+     */
+    @Query(value = "SELECT * FROM session_outbox ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<SessionOutbox> lockNextBatch(@Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM SessionOutbox o WHERE o.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query("UPDATE SessionOutbox o SET o.attempts = o.attempts + 1 WHERE o.id IN :ids")
+    int incrementAttempts(@Param("ids") Collection<UUID> ids);
+}
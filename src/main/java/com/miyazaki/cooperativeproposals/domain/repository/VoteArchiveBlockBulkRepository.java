@@ -0,0 +1,27 @@
+package com.miyazaki.cooperativeproposals.domain.repository;
+
+import com.miyazaki.cooperativeproposals.domain.entity.VoteArchiveBlock;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface VoteArchiveBlockBulkRepository {
+
+    /**
+     * Inserts a block with plain JDBC instead of persisting an entity, so archiving a large session
+     * does not keep every payload managed until the transaction commits.
+     *
+     * @param block the block to insert
+     */
+    void insert(VoteArchiveBlock block);
+
+    /**
+     * Reads the compressed payload of one archive block with plain JDBC, so no entity is kept in the
+     * persistence context and a long export holds a single payload at a time.
+     *
+     * @param proposalId the archived proposal
+     * @param blockNo the block number
+     * @return the payload, or empty if the block does not exist
+     */
+    Optional<byte[]> findPayload(UUID proposalId, int blockNo);
+}
@@ -0,0 +1,36 @@
+package com.miyazaki.cooperativeproposals.domain.repository;
+
+import com.miyazaki.cooperativeproposals.domain.entity.VoteArchiveBlock;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.Optional;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class VoteArchiveBlockBulkRepositoryImpl implements VoteArchiveBlockBulkRepository {
+
+    private static final String INSERT_BLOCK = """
+      INSERT INTO archive.vote_block (proposal_id, block_no, row_count, payload, archived_at)
+      VALUES (?, ?, ?, ?, ?)
+      """;
+
+    private static final String SELECT_PAYLOAD =
+            "SELECT payload FROM archive.vote_block WHERE proposal_id = ? AND block_no = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insert(final VoteArchiveBlock block) {
+        jdbcTemplate.update(INSERT_BLOCK, block.getProposalId(), block.getBlockNo(), block.getRowCount(),
+                block.getPayload(), Timestamp.valueOf(block.getArchivedAt()));
+    }
+
+    @Override
+    public Optional<byte[]> findPayload(final UUID proposalId, final int blockNo) {
+        return jdbcTemplate.query(SELECT_PAYLOAD, (rs, rowNum) -> rs.getBytes(1), proposalId, blockNo)
+                .stream()
+                .findFirst();
+    }
+}
@@ -0,0 +1,19 @@
+package com.miyazaki.cooperativeproposals.domain.repository;
+
+import com.miyazaki.cooperativeproposals.domain.entity.VoteArchiveBlock;
+import com.miyazaki.cooperativeproposals.domain.entity.VoteArchiveBlockId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface VoteArchiveBlockRepository extends JpaRepository<VoteArchiveBlock, VoteArchiveBlockId>,
+        VoteArchiveBlockBulkRepository {
+
+    @Query("SELECT b.blockNo FROM VoteArchiveBlock b WHERE b.proposalId = :proposalId ORDER BY b.blockNo")
+    List<Integer> findBlockNumbers(@Param("proposalId") UUID proposalId);
+}
@@ -0,0 +1,33 @@
+package com.miyazaki.cooperativeproposals.domain.repository;
+
+import com.miyazaki.cooperativeproposals.domain.entity.Vote;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.ArchivedVote;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+public interface VoteBulkRepository {
+
+    /**
+     * Inserts all votes with a single multi-row statement.
+     * Rows that hit uk_vote_proposal_associate, or whose voting session is no longer OPENED,
+     * are skipped instead of failing the whole batch.
+     *
+     * @param votes the votes to insert, with their ids already assigned
+     * @return the ids of the rows that were actually inserted
+     */
+    Set<UUID> insertAll(List<Vote> votes);
+
+    /**
+     * Reads every vote of a proposal in id order, fetching {@code fetchSize} rows at a time
+     * instead of materializing the whole result. Must run inside a transaction for the fetch size to apply.
+     *
+     * @param proposalId the proposal whose votes are read
+     * @param fetchSize the number of rows fetched per round trip
+     * @param consumer receives each vote
+     * @return the number of votes read
+     */
+    int forEachByProposal(UUID proposalId, int fetchSize, Consumer<ArchivedVote> consumer);
+}
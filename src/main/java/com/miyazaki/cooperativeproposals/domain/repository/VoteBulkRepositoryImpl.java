@@ -0,0 +1,106 @@
+package com.miyazaki.cooperativeproposals.domain.repository;
+
+import com.miyazaki.cooperativeproposals.domain.entity.Vote;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.ArchivedVote;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class VoteBulkRepositoryImpl implements VoteBulkRepository {
+
+    /**
+     * Only inserts votes whose session is still open, holding a share lock on the session rows until commit.
+     * A closing UPDATE therefore waits for inserts already in flight, and an insert that waited on a closing
+     * UPDATE re-reads the session and finds it closed, so no vote can commit after its session was closed,
+     * whichever node or path wrote it. Sessions are locked in id order so concurrent batches do not deadlock.
+     */
+    private static final String INSERT_VOTES = """
+      WITH open_session AS MATERIALIZED (
+        SELECT id FROM voting_session
+        WHERE id = ANY(?::uuid[]) AND status = 'OPENED'
+        ORDER BY id
+        FOR SHARE
+      )
+      INSERT INTO vote (id, proposal_id, associate_id, voting_session_id, vote, voted_at)
+      SELECT v.id, v.proposal_id, v.associate_id, v.voting_session_id, v.vote, v.voted_at
+      FROM unnest(?::uuid[], ?::uuid[], ?::uuid[], ?::uuid[], ?::boolean[], ?::timestamp[])
+        AS v(id, proposal_id, associate_id, voting_session_id, vote, voted_at)
+      JOIN open_session s ON s.id = v.voting_session_id
+      ON CONFLICT (proposal_id, associate_id) DO NOTHING
+      RETURNING id
+      """;
+
+    private static final String SELECT_PROPOSAL_VOTES = """
+      SELECT id, associate_id, vote, voted_at
+      FROM vote
+      WHERE proposal_id = ?
+      ORDER BY id
+      """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Set<UUID> insertAll(final List<Vote> votes) {
+        if (votes.isEmpty()) {
+            return Set.of();
+        }
+
+        final int size = votes.size();
+        final UUID[] ids = new UUID[size];
+        final UUID[] proposalIds = new UUID[size];
+        final UUID[] associateIds = new UUID[size];
+        final UUID[] sessionIds = new UUID[size];
+        final Boolean[] values = new Boolean[size];
+        final Timestamp[] votedAt = new Timestamp[size];
+        for (int i = 0; i < size; i++) {
+            final Vote vote = votes.get(i);
+            ids[i] = vote.getId();
+            proposalIds[i] = vote.getProposal().getId();
+            associateIds[i] = vote.getAssociateId();
+            sessionIds[i] = vote.getVotingSession().getId();
+            values[i] = vote.isVote();
+            votedAt[i] = Timestamp.valueOf(vote.getVotedAt());
+        }
+
+        final List<UUID> inserted = jdbcTemplate.query(connection -> {
+            final PreparedStatement ps = connection.prepareStatement(INSERT_VOTES);
+            ps.setArray(1, connection.createArrayOf("uuid", sessionIds));
+            ps.setArray(2, connection.createArrayOf("uuid", ids));
+            ps.setArray(3, connection.createArrayOf("uuid", proposalIds));
+            ps.setArray(4, connection.createArrayOf("uuid", associateIds));
+            ps.setArray(5, connection.createArrayOf("uuid", sessionIds));
+            ps.setArray(6, connection.createArrayOf("boolean", values));
+            ps.setArray(7, connection.createArrayOf("timestamp", votedAt));
+            return ps;
+        }, (rs, rowNum) -> rs.getObject(1, UUID.class));
+
+        return new HashSet<>(inserted);
+    }
+
+    @Override
+    public int forEachByProposal(final UUID proposalId, final int fetchSize, final Consumer<ArchivedVote> consumer) {
+        final int[] count = {0};
+        jdbcTemplate.query(connection -> {
+            final PreparedStatement ps = connection.prepareStatement(SELECT_PROPOSAL_VOTES);
+            ps.setFetchSize(fetchSize);
+            ps.setObject(1, proposalId);
+            return ps;
+        }, rs -> {
+            consumer.accept(new ArchivedVote(
+                    rs.getObject(1, UUID.class),
+                    rs.getObject(2, UUID.class),
+                    rs.getBoolean(3),
+                    rs.getTimestamp(4).toInstant()));
+            count[0]++;
+        });
+        return count[0];
+    }
+}
@@ -3,23 +3,37 @@ package com.miyazaki.cooperativeproposals.domain.repository;
 import com.miyazaki.cooperativeproposals.domain.entity.Vote;
 import com.miyazaki.cooperativeproposals.domain.repository.projection.VoteSummaryProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface VoteRepository extends JpaRepository<Vote, UUID> {
+public interface VoteRepository extends JpaRepository<Vote, UUID>, VoteBulkRepository {
     
     boolean existsByProposalIdAndAssociateId(UUID proposalId, UUID associateId);
 
+    @Query("SELECT v.associateId FROM Vote v WHERE v.proposal.id = :proposalId")
+    List<UUID> findAssociateIdsByProposalId(@Param("proposalId") UUID proposalId);
+
+    @Query(value = "SELECT associate_id FROM vote WHERE proposal_id = :proposalId AND associate_id = ANY(:associateIds)",
+            nativeQuery = true)
+    List<UUID> findVotedAssociateIds(@Param("proposalId") UUID proposalId,
+                                     @Param("associateIds") UUID[] associateIds);
+
     @Query(value = """
       SELECT
         COUNT(*) FILTER (WHERE vote = true)  AS countYes,
         COUNT(*) FILTER (WHERE vote = false) AS countNo
       FROM vote
-      WHERE (:proposalId IS NULL OR proposal_id = :proposalId)
+      WHERE proposal_id = :proposalId
       """, nativeQuery = true)
     VoteSummaryProjection countVoteResults(@Param("proposalId") UUID proposalId);
+
+    @Modifying
+    @Query(value = "DELETE FROM vote WHERE proposal_id = :proposalId", nativeQuery = true)
+    int deleteByProposal(@Param("proposalId") UUID proposalId);
 }
@@ -0,0 +1,73 @@
+package com.miyazaki.cooperativeproposals.domain.repository;
+
+import com.miyazaki.cooperativeproposals.domain.entity.VoteTally;
+import com.miyazaki.cooperativeproposals.domain.entity.VoteTallyId;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.TallyDriftProjection;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.VoteSummaryProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface VoteTallyRepository extends JpaRepository<VoteTally, VoteTallyId> {
+
+    @Modifying
+    @Query(value = """
+      INSERT INTO vote_tally (proposal_id, shard, yes_count, no_count)
+      VALUES (:proposalId, :shard, :yes, :no)
+      ON CONFLICT (proposal_id, shard) DO UPDATE
+      SET yes_count = vote_tally.yes_count + EXCLUDED.yes_count,
+          no_count  = vote_tally.no_count + EXCLUDED.no_count
+      """, nativeQuery = true)
+    int increment(@Param("proposalId") UUID proposalId,
+                  @Param("shard") short shard,
+                  @Param("yes") long yes,
+                  @Param("no") long no);
+
+    @Query(value = """
+      SELECT
+        CAST(COALESCE(SUM(yes_count), 0) AS INTEGER) AS countYes,
+        CAST(COALESCE(SUM(no_count), 0) AS INTEGER)  AS countNo
+      FROM vote_tally
+      WHERE proposal_id = :proposalId
+      """, nativeQuery = true)
+    VoteSummaryProjection sumByProposalId(@Param("proposalId") UUID proposalId);
+
+    @Query(value = """
+      SELECT
+        COALESCE(t.proposal_id, v.proposal_id) AS proposalId,
+        COALESCE(t.yes, 0) AS tallyYes,
+        COALESCE(t.no, 0)  AS tallyNo,
+        COALESCE(v.yes, 0) AS actualYes,
+        COALESCE(v.no, 0)  AS actualNo
+      FROM (
+        SELECT proposal_id, CAST(SUM(yes_count) AS BIGINT) AS yes, CAST(SUM(no_count) AS BIGINT) AS no
+        FROM vote_tally
+        WHERE NOT EXISTS (
+          SELECT 1 FROM voting_session s
+          WHERE s.proposal_id = vote_tally.proposal_id AND s.archived_at IS NOT NULL
+        )
+        GROUP BY proposal_id
+      ) t
+      FULL JOIN (
+        SELECT proposal_id, COUNT(*) FILTER (WHERE vote = true) AS yes, COUNT(*) FILTER (WHERE vote = false) AS no
+        FROM vote
+        GROUP BY proposal_id
+      ) v ON v.proposal_id = t.proposal_id
+      WHERE COALESCE(t.yes, 0) <> COALESCE(v.yes, 0)
+         OR COALESCE(t.no, 0) <> COALESCE(v.no, 0)
+      """, nativeQuery = true)
+    List<TallyDriftProjection> findDrift();
+
+    @Query(value = "SELECT shard FROM vote_tally WHERE proposal_id = :proposalId FOR UPDATE", nativeQuery = true)
+    List<Short> lockShards(@Param("proposalId") UUID proposalId);
+
+    @Modifying
+    @Query(value = "DELETE FROM vote_tally WHERE proposal_id = :proposalId", nativeQuery = true)
+    int deleteByProposal(@Param("proposalId") UUID proposalId);
+}
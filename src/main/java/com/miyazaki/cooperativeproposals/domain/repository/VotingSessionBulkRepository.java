@@ -0,0 +1,27 @@
+package com.miyazaki.cooperativeproposals.domain.repository;
+
+import com.miyazaki.cooperativeproposals.domain.repository.projection.ClosedSession;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface VotingSessionBulkRepository {
+
+    /**
+     * Closes up to {@code limit} OPENED sessions whose deadline has passed with a single UPDATE,
+     * oldest deadline first. Rows locked by a concurrent closer are skipped rather than waited on.
+     *
+     * @param limit the maximum number of sessions closed
+     * @return the sessions that were closed
+     */
+    List<ClosedSession> closeExpired(int limit);
+
+    /**
+     * Locks a closed, not yet archived session for the rest of the current transaction.
+     * A session already locked by another node's archival is skipped rather than waited on.
+     *
+     * @param sessionId the session to archive
+     * @return true if this transaction now owns the session, false if it is archived or being archived elsewhere
+     */
+    boolean claimForArchive(UUID sessionId);
+}
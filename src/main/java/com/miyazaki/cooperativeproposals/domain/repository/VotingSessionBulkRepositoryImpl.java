@@ -0,0 +1,45 @@
+package com.miyazaki.cooperativeproposals.domain.repository;
+
+import com.miyazaki.cooperativeproposals.domain.repository.projection.ClosedSession;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class VotingSessionBulkRepositoryImpl implements VotingSessionBulkRepository {
+
+    private static final String CLOSE_EXPIRED = """
+      UPDATE voting_session
+      SET status = 'CLOSED', version = version + 1
+      WHERE id IN (
+        SELECT id FROM voting_session
+        WHERE status = 'OPENED' AND closes_at <= now()
+        ORDER BY closes_at
+        LIMIT ?
+        FOR UPDATE SKIP LOCKED
+      )
+      RETURNING id, proposal_id
+      """;
+
+    private static final String CLAIM_FOR_ARCHIVE = """
+      SELECT id FROM voting_session
+      WHERE id = ? AND status = 'CLOSED' AND archived_at IS NULL
+      FOR UPDATE SKIP LOCKED
+      """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<ClosedSession> closeExpired(final int limit) {
+        return jdbcTemplate.query(CLOSE_EXPIRED,
+                (rs, rowNum) -> new ClosedSession(rs.getObject(1, UUID.class), rs.getObject(2, UUID.class)),
+                limit);
+    }
+
+    @Override
+    public boolean claimForArchive(final UUID sessionId) {
+        return !jdbcTemplate.queryForList(CLAIM_FOR_ARCHIVE, UUID.class, sessionId).isEmpty();
+    }
+}
@@ -2,16 +2,55 @@ package com.miyazaki.cooperativeproposals.domain.repository;
 
 import com.miyazaki.cooperativeproposals.domain.entity.VotingSession;
 import com.miyazaki.cooperativeproposals.domain.enums.SessionStatus;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.SessionDeadlineProjection;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.SessionResolutionProjection;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface VotingSessionRepository extends JpaRepository<VotingSession, UUID> {
+public interface VotingSessionRepository extends JpaRepository<VotingSession, UUID>, VotingSessionBulkRepository {
     Optional<VotingSession> findByProposalId(UUID proposalId);
 
     Optional<VotingSession> findByProposalIdAndStatus(UUID proposalId, SessionStatus status);
+
+    @Query("SELECT s.proposal.id FROM VotingSession s WHERE s.status = :status")
+    List<UUID> findProposalIdsByStatus(@Param("status") SessionStatus status);
+
+    @Query("""
+      SELECT s FROM VotingSession s JOIN FETCH s.proposal
+      WHERE s.status = :status AND s.archivedAt IS NULL AND s.closesAt < :closedBefore
+      ORDER BY s.closesAt
+      """)
+    List<VotingSession> findArchivable(@Param("status") SessionStatus status,
+                                       @Param("closedBefore") LocalDateTime closedBefore,
+                                       Pageable pageable);
+
+    @Query(value = """
+      SELECT id, proposal_id AS proposalId, closes_at AS closesAt
+      FROM voting_session
+      WHERE status = 'OPENED'
+      """, nativeQuery = true)
+    List<SessionDeadlineProjection> findOpenedDeadlines();
+
+    /**
+     * Resolves a proposal and its OPENED session in one statement.
+     * Empty when the proposal does not exist; the session columns are null when it has no open session.
+     */
+    @Query(value = """
+      SELECT p.id AS proposalId, s.id AS sessionId, s.closes_at AS closesAt
+      FROM proposal p
+      LEFT JOIN voting_session s ON s.proposal_id = p.id AND s.status = 'OPENED'
+      WHERE p.id = :proposalId
+      LIMIT 1
+      """, nativeQuery = true)
+    Optional<SessionResolutionProjection> resolveOpenSession(@Param("proposalId") UUID proposalId);
 }
@@ -0,0 +1,10 @@
+package com.miyazaki.cooperativeproposals.domain.repository.projection;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A vote row as it is kept in the archive: the proposal is implied by the block that holds it.
+ */
+public record ArchivedVote(UUID id, UUID associateId, boolean vote, Instant votedAt) {
+}
@@ -0,0 +1,6 @@
+package com.miyazaki.cooperativeproposals.domain.repository.projection;
+
+import java.util.UUID;
+
+public record ClosedSession(UUID sessionId, UUID proposalId) {
+}
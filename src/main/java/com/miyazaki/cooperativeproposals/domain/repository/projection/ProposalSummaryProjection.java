@@ -0,0 +1,10 @@
+package com.miyazaki.cooperativeproposals.domain.repository.projection;
+
+import java.util.UUID;
+
+public interface ProposalSummaryProjection {
+    UUID getId();
+    String getTitle();
+    String getDescription();
+    String getStatus();
+}
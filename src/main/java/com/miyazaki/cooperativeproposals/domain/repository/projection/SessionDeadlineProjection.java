@@ -0,0 +1,10 @@
+package com.miyazaki.cooperativeproposals.domain.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface SessionDeadlineProjection {
+    UUID getId();
+    UUID getProposalId();
+    LocalDateTime getClosesAt();
+}
@@ -0,0 +1,11 @@
+package com.miyazaki.cooperativeproposals.domain.repository.projection;
+
+import java.util.UUID;
+
+public interface TallyDriftProjection {
+    UUID getProposalId();
+    Long getTallyYes();
+    Long getTallyNo();
+    Long getActualYes();
+    Long getActualNo();
+}
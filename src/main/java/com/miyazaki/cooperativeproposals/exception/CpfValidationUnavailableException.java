@@ -0,0 +1,7 @@
+package com.miyazaki.cooperativeproposals.exception;
+
+public class CpfValidationUnavailableException extends RuntimeException {
+    public CpfValidationUnavailableException(final String message) {
+        super(message);
+    }
+}
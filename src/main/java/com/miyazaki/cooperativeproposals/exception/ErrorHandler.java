@@ -58,4 +58,34 @@ public final class ErrorHandler {
         return ResponseEntity.status(HttpStatus.FORBIDDEN)
                 .body(DefaultErrorResponse.builder().message(ex.getMessage()).build());
     }
+
+    @ExceptionHandler(VoteIngestionUnavailableException.class)
+    public ResponseEntity<DefaultErrorResponse> voteIngestionUnavailableHandler(
+            final VoteIngestionUnavailableException ex) {
+        log.warn("Vote ingestion unavailable: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(DefaultErrorResponse.builder().message(ex.getMessage()).build());
+    }
+
+    @ExceptionHandler(CpfValidationUnavailableException.class)
+    public ResponseEntity<DefaultErrorResponse> cpfValidationUnavailableHandler(
+            final CpfValidationUnavailableException ex) {
+        log.warn("CPF validation unavailable: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(DefaultErrorResponse.builder().message(ex.getMessage()).build());
+    }
+
+    @ExceptionHandler(InvalidPaginationException.class)
+    public ResponseEntity<DefaultErrorResponse> invalidPaginationHandler(final InvalidPaginationException ex) {
+        log.warn("Invalid pagination request: {}", ex.getMessage());
+        return ResponseEntity.badRequest()
+                .body(DefaultErrorResponse.builder().message(ex.getMessage()).build());
+    }
+
+    @ExceptionHandler(InvalidExportFormatException.class)
+    public ResponseEntity<DefaultErrorResponse> invalidExportFormatHandler(final InvalidExportFormatException ex) {
+        log.warn("Invalid export format: {}", ex.getMessage());
+        return ResponseEntity.badRequest()
+                .body(DefaultErrorResponse.builder().message(ex.getMessage()).build());
+    }
 }
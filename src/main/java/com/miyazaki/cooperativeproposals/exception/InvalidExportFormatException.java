@@ -0,0 +1,7 @@
+package com.miyazaki.cooperativeproposals.exception;
+
+public class InvalidExportFormatException extends RuntimeException {
+    public InvalidExportFormatException(final String message) {
+        super(message);
+    }
+}
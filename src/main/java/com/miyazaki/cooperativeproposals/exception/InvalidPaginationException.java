@@ -0,0 +1,8 @@
+package com.miyazaki.cooperativeproposals.exception;
+
+
+public class InvalidPaginationException extends RuntimeException {
+    public InvalidPaginationException(final String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,7 @@
+package com.miyazaki.cooperativeproposals.exception;
+
+public class VoteIngestionUnavailableException extends RuntimeException {
+    public VoteIngestionUnavailableException(final String message) {
+        super(message);
+    }
+}
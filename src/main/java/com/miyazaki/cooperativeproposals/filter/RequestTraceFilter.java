@@ -25,10 +25,7 @@ public final class RequestTraceFilter extends OncePerRequestFilter {
             final HttpServletRequest request,
             final HttpServletResponse response,
             final FilterChain filterChain) throws ServletException, IOException {
-        String traceId = request.getHeader(TRACE_HEADER);
-        if (traceId == null || traceId.isBlank()) {
-            traceId = UUID.randomUUID().toString();
-        }
+        final String traceId = resolveTraceId(request.getHeader(TRACE_HEADER));
 
         MDC.put(TRACE_KEY, traceId);
         response.setHeader(TRACE_HEADER, traceId);
@@ -39,4 +36,14 @@ public final class RequestTraceFilter extends OncePerRequestFilter {
             MDC.remove(TRACE_KEY);
         }
     }
+
+    /**
+     * Keeps the caller's trace id, or generates one when the request did not carry it.
+     */
+    static String resolveTraceId(final String header) {
+        if (header == null || header.isBlank()) {
+            return UUID.randomUUID().toString();
+        }
+        return header;
+    }
 }
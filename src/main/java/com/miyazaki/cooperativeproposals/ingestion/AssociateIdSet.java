@@ -0,0 +1,233 @@
+package com.miyazaki.cooperativeproposals.ingestion;
+
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrent set of UUIDs stored as pairs of primitive longs.
+ * Keys are spread over lock-striped segments; each segment is an open-addressing table
+ * with linear probing and backward-shift deletion, so no boxing or tombstones are involved.
+ */
+public final class AssociateIdSet {
+
+    private static final int SEGMENT_BITS = 4;
+    private static final int SEGMENT_COUNT = 1 << SEGMENT_BITS;
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    public AssociateIdSet() {
+        this(0);
+    }
+
+    /**
+     * @param expectedSize number of ids the set is expected to hold, used to pre-size the segments
+     */
+    public AssociateIdSet(final int expectedSize) {
+        final int perSegment = (int) Math.ceil(expectedSize / (double) SEGMENT_COUNT / LOAD_FACTOR);
+        final int capacity = Integer.highestOneBit(Math.max(MIN_SEGMENT_CAPACITY, perSegment) - 1) << 1;
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(capacity);
+        }
+    }
+
+    /**
+     * @return true if the id was not present and has been added
+     */
+    public boolean add(final UUID id) {
+        final long msb = id.getMostSignificantBits();
+        final long lsb = id.getLeastSignificantBits();
+        final long hash = hash(msb, lsb);
+        return segmentFor(hash).add(msb, lsb, hash);
+    }
+
+    public boolean contains(final UUID id) {
+        final long msb = id.getMostSignificantBits();
+        final long lsb = id.getLeastSignificantBits();
+        final long hash = hash(msb, lsb);
+        return segmentFor(hash).contains(msb, lsb, hash);
+    }
+
+    /**
+     * @return true if the id was present and has been removed
+     */
+    public boolean remove(final UUID id) {
+        final long msb = id.getMostSignificantBits();
+        final long lsb = id.getLeastSignificantBits();
+        final long hash = hash(msb, lsb);
+        return segmentFor(hash).remove(msb, lsb, hash);
+    }
+
+    public int size() {
+        int size = 0;
+        for (final Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private Segment segmentFor(final long hash) {
+        return segments[(int) (hash >>> (Long.SIZE - SEGMENT_BITS))];
+    }
+
+    private static long hash(final long msb, final long lsb) {
+        long h = msb ^ Long.rotateLeft(lsb, 32);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * One open-addressing table. Slot i keeps its key at keys[2i] (msb) and keys[2i + 1] (lsb);
+     * the all-zero (nil) UUID marks an empty slot and is tracked apart in {@code containsNil}.
+     */
+    private static final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long[] keys;
+        private int mask;
+        private int size;
+        private int resizeThreshold;
+        private boolean containsNil;
+
+        Segment(final int capacity) {
+            allocate(capacity);
+        }
+
+        boolean add(final long msb, final long lsb, final long hash) {
+            lock.lock();
+            try {
+                if (isNil(msb, lsb)) {
+                    final boolean added = !containsNil;
+                    containsNil = true;
+                    return added;
+                }
+                int slot = (int) hash & mask;
+                while (!isEmpty(slot)) {
+                    if (keys[slot << 1] == msb && keys[(slot << 1) + 1] == lsb) {
+                        return false;
+                    }
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot << 1] = msb;
+                keys[(slot << 1) + 1] = lsb;
+                if (++size > resizeThreshold) {
+                    rehash(keys.length);
+                }
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean contains(final long msb, final long lsb, final long hash) {
+            lock.lock();
+            try {
+                if (isNil(msb, lsb)) {
+                    return containsNil;
+                }
+                return indexOf(msb, lsb, hash) >= 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean remove(final long msb, final long lsb, final long hash) {
+            lock.lock();
+            try {
+                if (isNil(msb, lsb)) {
+                    final boolean removed = containsNil;
+                    containsNil = false;
+                    return removed;
+                }
+                final int slot = indexOf(msb, lsb, hash);
+                if (slot < 0) {
+                    return false;
+                }
+                shiftBack(slot);
+                size--;
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return containsNil ? size + 1 : size;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int indexOf(final long msb, final long lsb, final long hash) {
+            int slot = (int) hash & mask;
+            while (!isEmpty(slot)) {
+                if (keys[slot << 1] == msb && keys[(slot << 1) + 1] == lsb) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        /**
+         * Backward-shift deletion: pulls later entries of the probe run into the freed slot
+         * so that lookups never stop early on a hole.
+         */
+        private void shiftBack(final int removed) {
+            int hole = removed;
+            int slot = (hole + 1) & mask;
+            while (!isEmpty(slot)) {
+                final int home = (int) hash(keys[slot << 1], keys[(slot << 1) + 1]) & mask;
+                final boolean homeOutsideRun = hole <= slot
+                        ? home <= hole || home > slot
+                        : home <= hole && home > slot;
+                if (homeOutsideRun) {
+                    keys[hole << 1] = keys[slot << 1];
+                    keys[(hole << 1) + 1] = keys[(slot << 1) + 1];
+                    hole = slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[hole << 1] = 0L;
+            keys[(hole << 1) + 1] = 0L;
+        }
+
+        private void rehash(final int newCapacity) {
+            final long[] old = keys;
+            allocate(newCapacity);
+            for (int i = 0; i < old.length; i += 2) {
+                final long msb = old[i];
+                final long lsb = old[i + 1];
+                if (isNil(msb, lsb)) {
+                    continue;
+                }
+                int slot = (int) hash(msb, lsb) & mask;
+                while (!isEmpty(slot)) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot << 1] = msb;
+                keys[(slot << 1) + 1] = lsb;
+            }
+        }
+
+        private void allocate(final int capacity) {
+            keys = new long[capacity << 1];
+            mask = capacity - 1;
+            resizeThreshold = (int) (capacity * LOAD_FACTOR);
+        }
+
+        private boolean isEmpty(final int slot) {
+            return isNil(keys[slot << 1], keys[(slot << 1) + 1]);
+        }
+
+        private static boolean isNil(final long msb, final long lsb) {
+            return msb == 0L && lsb == 0L;
+        }
+    }
+}
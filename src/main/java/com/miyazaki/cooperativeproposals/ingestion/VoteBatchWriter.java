@@ -0,0 +1,58 @@
+package com.miyazaki.cooperativeproposals.ingestion;
+
+import com.miyazaki.cooperativeproposals.domain.entity.Vote;
+import com.miyazaki.cooperativeproposals.domain.repository.VoteRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.VoteTallyRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Component
+public class VoteBatchWriter {
+
+    private final VoteRepository voteRepository;
+    private final VoteTallyRepository voteTallyRepository;
+    private final int tallyShards;
+
+    public VoteBatchWriter(final VoteRepository voteRepository,
+                           final VoteTallyRepository voteTallyRepository,
+                           @Value("${app.vote-tally.shards:8}") final int tallyShards) {
+        this.voteRepository = voteRepository;
+        this.voteTallyRepository = voteTallyRepository;
+        this.tallyShards = tallyShards;
+    }
+
+    /**
+     * Persists a batch of votes and adds them to the proposal tallies in a single transaction.
+     * Each proposal gets one tally upsert per batch, on a random shard so that
+     * concurrent writers rarely contend on the same counter row.
+     *
+     * @param votes the votes to persist
+     * @return the ids of the votes that were inserted; missing ids were rejected by the database
+     */
+    @Transactional
+    public Set<UUID> write(final List<Vote> votes) {
+        final Set<UUID> inserted = voteRepository.insertAll(votes);
+
+        final Map<UUID, long[]> deltas = new HashMap<>();
+        for (final Vote vote : votes) {
+            if (!inserted.contains(vote.getId())) {
+                continue;
+            }
+            final long[] delta = deltas.computeIfAbsent(vote.getProposal().getId(), id -> new long[2]);
+            delta[vote.isVote() ? 0 : 1]++;
+        }
+
+        final short shard = (short) ThreadLocalRandom.current().nextInt(tallyShards);
+        deltas.forEach((proposalId, delta) ->
+                voteTallyRepository.increment(proposalId, shard, delta[0], delta[1]));
+        return inserted;
+    }
+}
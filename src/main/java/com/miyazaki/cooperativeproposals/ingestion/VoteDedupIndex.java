@@ -0,0 +1,129 @@
+package com.miyazaki.cooperativeproposals.ingestion;
+
+import com.miyazaki.cooperativeproposals.domain.enums.SessionStatus;
+import com.miyazaki.cooperativeproposals.domain.repository.VoteRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.VotingSessionRepository;
+import com.miyazaki.cooperativeproposals.exception.NotFoundException;
+import com.miyazaki.cooperativeproposals.service.OpenSessionRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of the associates that already voted on each proposal with an open session.
+ * It answers the duplicate check without a database round trip; uk_vote_proposal_associate
+ * stays as the final guard for votes cast through other nodes.
+ * A proposal this node is not tracking is loaded from the vote table only while {@link OpenSessionRegistry}
+ * still reports its session open, so a vote that resolved the session just before it closed cannot rebuild
+ * the index of a closed session after {@link #drop} removed it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VoteDedupIndex {
+
+    private final VoteRepository voteRepository;
+    private final VotingSessionRepository votingSessionRepository;
+    private final OpenSessionRegistry openSessionRegistry;
+    private final Map<UUID, AssociateIdSet> votersByProposal = new ConcurrentHashMap<>();
+
+    /**
+     * Rebuilds the index for every open session after a restart.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmOpenSessions() {
+        final List<UUID> proposalIds = votingSessionRepository.findProposalIdsByStatus(SessionStatus.OPENED);
+        proposalIds.forEach(this::load);
+        log.info("Vote dedup index warmed for {} open sessions", proposalIds.size());
+    }
+
+    /**
+     * Starts an empty index for a session that has just been opened.
+     */
+    public void open(final UUID proposalId) {
+        votersByProposal.putIfAbsent(proposalId, new AssociateIdSet());
+    }
+
+    /**
+     * Marks the associate as having voted on the proposal.
+     *
+     * @return false if the associate was already marked, meaning the vote is a duplicate
+     * @throws NotFoundException when the proposal is not tracked and its session is no longer open
+     */
+    public boolean tryRegister(final UUID proposalId, final UUID associateId) {
+        return votersFor(proposalId).add(associateId);
+    }
+
+    /**
+     * Removes a mark whose vote was not persisted, so the associate can try again.
+     */
+    public void release(final UUID proposalId, final UUID associateId) {
+        final AssociateIdSet voters = votersByProposal.get(proposalId);
+        if (voters != null) {
+            voters.remove(associateId);
+        }
+    }
+
+    /**
+     * Drops the index of a closed session.
+     */
+    public void drop(final UUID proposalId) {
+        if (votersByProposal.remove(proposalId) != null) {
+            log.info("Vote dedup index dropped for proposal {}", proposalId);
+        }
+    }
+
+    public boolean isTracked(final UUID proposalId) {
+        return votersByProposal.containsKey(proposalId);
+    }
+
+    private AssociateIdSet votersFor(final UUID proposalId) {
+        final AssociateIdSet voters = votersByProposal.get(proposalId);
+        return voters != null ? voters : warm(proposalId);
+    }
+
+    /**
+     * Loads the index of a session opened on another node or before a restart.
+     * Every closure stops tracking the session in the registry before it drops the index, so checking the registry
+     * again after publishing the index catches a closure that ran while the voters were being loaded.
+     */
+    private AssociateIdSet warm(final UUID proposalId) {
+        if (!isOpen(proposalId)) {
+            throw sessionClosed();
+        }
+        final AssociateIdSet loaded = load(proposalId);
+        if (!isOpen(proposalId)) {
+            votersByProposal.remove(proposalId, loaded);
+            throw sessionClosed();
+        }
+        return loaded;
+    }
+
+    private boolean isOpen(final UUID proposalId) {
+        return openSessionRegistry.activeSession(proposalId).isPresent();
+    }
+
+    private static NotFoundException sessionClosed() {
+        return new NotFoundException("No active voting session found for this proposal");
+    }
+
+    private AssociateIdSet load(final UUID proposalId) {
+        final List<UUID> associateIds = voteRepository.findAssociateIdsByProposalId(proposalId);
+        final AssociateIdSet loaded = new AssociateIdSet(associateIds.size());
+        associateIds.forEach(loaded::add);
+
+        final AssociateIdSet current = votersByProposal.putIfAbsent(proposalId, loaded);
+        if (current != null) {
+            return current;
+        }
+        log.debug("Vote dedup index loaded {} voters for proposal {}", associateIds.size(), proposalId);
+        return loaded;
+    }
+}
@@ -0,0 +1,264 @@
+package com.miyazaki.cooperativeproposals.ingestion;
+
+import com.miyazaki.cooperativeproposals.domain.entity.Vote;
+import com.miyazaki.cooperativeproposals.domain.repository.VoteRepository;
+import com.miyazaki.cooperativeproposals.exception.DuplicateVoteException;
+import com.miyazaki.cooperativeproposals.exception.NotFoundException;
+import com.miyazaki.cooperativeproposals.exception.VoteIngestionUnavailableException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Write-behind buffer for votes.
+ * Request threads enqueue into a bounded ring buffer and wait for their acknowledgement,
+ * while a single writer thread drains the buffer in multi-row batches.
+ * A vote is only acknowledged after the batch that contains it has been committed.
+ * This is a group-commit buffer rather than a fire-and-forget write-behind: callers wait for their batch,
+ * bounded by the ack timeout. A vote that outlives the timeout while the writer already holds it is reported
+ * as pending, because its batch may still commit.
+ */
+@Component
+@Slf4j
+public class VoteIngestionQueue {
+
+    private static final long POLL_INTERVAL_MS = 100L;
+    private static final long SHUTDOWN_TIMEOUT_MS = 10000L;
+
+    private final VoteBatchWriter voteBatchWriter;
+    private final VoteRepository voteRepository;
+    private final VoteDedupIndex voteDedupIndex;
+    private final BlockingQueue<PendingWrite> buffer;
+    private final int batchSize;
+    private final long ackTimeoutMs;
+    private final Timer batchTimer;
+    private final DistributionSummary batchSizeSummary;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public VoteIngestionQueue(final VoteBatchWriter voteBatchWriter,
+                              final VoteRepository voteRepository,
+                              final VoteDedupIndex voteDedupIndex,
+                              final MeterRegistry meterRegistry,
+                              @Value("${app.vote-ingestion.queue-capacity:10000}") final int queueCapacity,
+                              @Value("${app.vote-ingestion.batch-size:500}") final int batchSize,
+                              @Value("${app.vote-ingestion.ack-timeout-ms:5000}") final long ackTimeoutMs) {
+        this.voteBatchWriter = voteBatchWriter;
+        this.voteRepository = voteRepository;
+        this.voteDedupIndex = voteDedupIndex;
+        this.buffer = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.ackTimeoutMs = ackTimeoutMs;
+
+        Gauge.builder("vote.ingestion.queue.depth", buffer, Collection::size)
+                .description("Votes waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder("vote.ingestion.queue.remaining", buffer, BlockingQueue::remainingCapacity)
+                .description("Free slots left in the vote buffer")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("vote.ingestion.batch.duration")
+                .description("Time spent writing a batch of votes")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("vote.ingestion.batch.size")
+                .description("Number of votes written per batch")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts the background writer thread.
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = Thread.ofPlatform()
+                .name("vote-writer")
+                .daemon(true)
+                .start(this::drainLoop);
+        log.info("Vote ingestion writer started");
+    }
+
+    /**
+     * Stops accepting new votes and lets the writer drain what is already buffered.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writerThread == null) {
+            return;
+        }
+        try {
+            writerThread.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while draining the vote buffer", e);
+        }
+        log.info("Vote ingestion writer stopped with {} votes left in buffer", buffer.size());
+    }
+
+    /**
+     * Enqueues a vote and blocks until it is durably written or the ack timeout expires.
+     * On timeout a vote still in the buffer is taken out and reported as unavailable, since it was never written.
+     * A vote the writer already took may still commit, so it is reported as pending instead and keeps its dedup
+     * mark; the mark is only released if that batch later fails.
+     *
+     * @param vote the vote to write, with its id already assigned
+     * @return true when the vote was committed, false when it is still being written
+     * @throws DuplicateVoteException when the associate has already voted on the proposal
+     * @throws NotFoundException when the voting session is no longer open
+     * @throws VoteIngestionUnavailableException when the buffer is full or the vote was dropped after timing out
+     */
+    public boolean write(final Vote vote) {
+        final var pending = new PendingWrite(vote, new CompletableFuture<>());
+        if (!running || !buffer.offer(pending)) {
+            log.warn("Vote buffer is full, rejecting vote {}", vote.getId());
+            throw new VoteIngestionUnavailableException("Vote buffer is full, try again later");
+        }
+        try {
+            await(pending.ack());
+            return true;
+        } catch (AckTimeoutException e) {
+            if (buffer.remove(pending)) {
+                throw new VoteIngestionUnavailableException("Timed out waiting for vote to be persisted");
+            }
+            log.warn("Vote {} is still being written after {} ms, acknowledging it as pending",
+                    vote.getId(), ackTimeoutMs);
+            pending.ack().whenComplete((ignored, failure) -> releaseIfLost(vote, failure));
+            return false;
+        }
+    }
+
+    /**
+     * Blocks until every vote enqueued before this call has been written.
+     */
+    public void flush() {
+        final var barrier = new PendingWrite(null, new CompletableFuture<>());
+        try {
+            buffer.put(barrier);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new VoteIngestionUnavailableException("Interrupted while flushing votes");
+        }
+        await(barrier.ack());
+    }
+
+    public int depth() {
+        return buffer.size();
+    }
+
+    private void await(final CompletableFuture<Void> ack) {
+        try {
+            ack.get(ackTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new VoteIngestionUnavailableException("Vote could not be persisted");
+        } catch (TimeoutException e) {
+            throw new AckTimeoutException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new VoteIngestionUnavailableException("Interrupted while waiting for vote to be persisted");
+        }
+    }
+
+    private void releaseIfLost(final Vote vote, final Throwable failure) {
+        if (failure == null || failure instanceof DuplicateVoteException) {
+            return;
+        }
+        log.warn("Pending vote {} was not persisted: {}", vote.getId(), failure.getMessage());
+        voteDedupIndex.release(vote.getProposal().getId(), vote.getAssociateId());
+    }
+
+    private void drainLoop() {
+        final List<PendingWrite> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                final PendingWrite first = buffer.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Vote writer interrupted with {} votes left in buffer", buffer.size());
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected failure in vote writer: {}", e.getMessage(), e);
+                final var failure = new VoteIngestionUnavailableException("Vote could not be persisted");
+                batch.forEach(pending -> pending.ack().completeExceptionally(failure));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(final List<PendingWrite> batch) {
+        final List<Vote> votes = batch.stream()
+                .filter(PendingWrite::isVote)
+                .map(PendingWrite::vote)
+                .toList();
+
+        final Set<UUID> inserted;
+        try {
+            inserted = votes.isEmpty() ? Set.of() : batchTimer.recordCallable(() -> voteBatchWriter.write(votes));
+        } catch (Exception e) {
+            log.error("Failed to write batch of {} votes: {}", votes.size(), e.getMessage(), e);
+            final var failure = new VoteIngestionUnavailableException("Vote could not be persisted");
+            batch.forEach(pending -> pending.ack().completeExceptionally(failure));
+            return;
+        }
+        batchSizeSummary.record(votes.size());
+        log.debug("Wrote {} of {} buffered votes", inserted.size(), votes.size());
+
+        for (final PendingWrite pending : batch) {
+            if (!pending.isVote() || inserted.contains(pending.vote().getId())) {
+                pending.ack().complete(null);
+            } else {
+                pending.ack().completeExceptionally(rejectionOf(pending.vote()));
+            }
+        }
+    }
+
+    private RuntimeException rejectionOf(final Vote vote) {
+        final UUID proposalId = vote.getProposal().getId();
+        if (voteRepository.existsByProposalIdAndAssociateId(proposalId, vote.getAssociateId())) {
+            log.warn("Associate {} has already voted on proposal {}", vote.getAssociateId(), proposalId);
+            return new DuplicateVoteException("Associate has already voted on this proposal");
+        }
+        log.warn("Voting session for proposal {} closed before vote {} was written", proposalId, vote.getId());
+        return new NotFoundException("No active voting session found for this proposal");
+    }
+
+    private static final class AckTimeoutException extends VoteIngestionUnavailableException {
+        AckTimeoutException() {
+            super("Timed out waiting for vote to be persisted");
+        }
+    }
+
+    private record PendingWrite(Vote vote, CompletableFuture<Void> ack) {
+        boolean isVote() {
+            return vote != null;
+        }
+    }
+}
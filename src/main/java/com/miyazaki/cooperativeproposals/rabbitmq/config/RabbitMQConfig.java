@@ -1,19 +1,23 @@
 package com.miyazaki.cooperativeproposals.rabbitmq.config;
 
+import org.springframework.amqp.core.AnonymousQueue;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.CustomExchange;
 import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.amqp.rabbit.retry.RejectAndDontRequeueRecoverer;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.HashMap;
@@ -28,9 +32,20 @@ public class RabbitMQConfig {
 
     public static final String EXCHANGE_DLX     = "session.dlx";
     public static final String QUEUE_CLOSE_DLQ  = "session.close.dlq";
-    
-    private static final int RETRY_INITIAL_INTERVAL = 1000;
-    private static final int RETRY_MAX_INTERVAL = 10000;
+
+    public static final String EXCHANGE_PROPOSAL_INVALIDATION = "proposal.invalidation";
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${app.session-consumer.concurrency:4}")
+    private int concurrency;
+
+    @Value("${app.session-consumer.max-concurrency:8}")
+    private int maxConcurrency;
+
+    @Value("${app.session-consumer.prefetch:50}")
+    private int prefetch;
 
     /**
      * Creates a delayed exchange for session messages.
@@ -106,33 +121,99 @@ public class RabbitMQConfig {
     }
 
     /**
-     * Creates the listener container factory with retry configuration.
-     * Configures retry attempts, backoff strategy, and concurrency settings.
+     * Creates the fanout exchange that broadcasts proposal cache invalidations to every node.
+     *
+     * @return the configured FanoutExchange
+     */
+    @Bean
+    public FanoutExchange proposalInvalidationExchange() {
+        return new FanoutExchange(EXCHANGE_PROPOSAL_INVALIDATION);
+    }
+
+    /**
+     * Creates this node's queue for proposal cache invalidations.
+     * The queue is exclusive and removed when the node disconnects; a node that was away has its entries
+     * bounded by the cache TTL instead.
+     *
+     * @return the configured Queue
+     */
+    @Bean
+    public Queue proposalInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
+    /**
+     * Creates binding between this node's invalidation queue and the invalidation exchange.
+     *
+     * @param proposalInvalidationQueue the queue to bind
+     * @param proposalInvalidationExchange the exchange to bind to
+     * @return the configured Binding
+     */
+    @Bean
+    public Binding proposalInvalidationBinding(final Queue proposalInvalidationQueue,
+                                               final FanoutExchange proposalInvalidationExchange) {
+        return BindingBuilder.bind(proposalInvalidationQueue).to(proposalInvalidationExchange);
+    }
+
+    /**
+     * Creates the listener container factory for proposal cache invalidations.
+     * A single consumer is enough for evictions, and a message that cannot be read is dropped rather than retried.
      *
      * @param cf the connection factory
      * @param conv the message converter
      * @return the configured SimpleRabbitListenerContainerFactory
      */
     @Bean
-    public SimpleRabbitListenerContainerFactory listenerFactory(
+    public SimpleRabbitListenerContainerFactory invalidationListenerFactory(
             final ConnectionFactory cf, final Jackson2JsonMessageConverter conv) {
 
+        var f = new SimpleRabbitListenerContainerFactory();
+        f.setConnectionFactory(cf);
+        f.setMessageConverter(conv);
+        f.setDefaultRequeueRejected(false);
+        f.setConcurrentConsumers(1);
+        f.setMaxConcurrentConsumers(1);
+        return f;
+    }
+
+    /**
+     * Creates the listener container factory.
+     * Concurrency and prefetch come from {@code app.session-consumer.*}. Each delivery is acknowledged on its own:
+     * acknowledging in groups would make a rejection nack every unacknowledged sibling with {@code multiple=true},
+     * dead-lettering closures that had already committed. A failed message is handed to the recoverer right away,
+     * which republishes it with a delay, so a failing closure never holds a consumer thread while it backs off.
+     * Consumers run on virtual threads when {@code spring.threads.virtual.enabled} is set.
+     *
+     * @param cf the connection factory
+     * @param conv the message converter
+     * @param retryRecoverer republishes failed messages for a delayed retry
+     * @return the configured SimpleRabbitListenerContainerFactory
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory listenerFactory(
+            final ConnectionFactory cf, final Jackson2JsonMessageConverter conv,
+            final MessageRecoverer retryRecoverer) {
+
         var f = new SimpleRabbitListenerContainerFactory();
         f.setConnectionFactory(cf);
         f.setMessageConverter(conv);
 
         f.setDefaultRequeueRejected(false);
-        
+
         f.setAdviceChain(
                 RetryInterceptorBuilder.stateless()
-                        .maxAttempts(4) 
-                        .backOffOptions(RETRY_INITIAL_INTERVAL, 2.0, RETRY_MAX_INTERVAL)
-                        .recoverer(new RejectAndDontRequeueRecoverer())
+                        .maxAttempts(1)
+                        .recoverer(retryRecoverer)
                         .build()
         );
-        
-        f.setConcurrentConsumers(1);
-        f.setMaxConcurrentConsumers(1);
+
+        f.setConcurrentConsumers(concurrency);
+        f.setMaxConcurrentConsumers(Math.max(concurrency, maxConcurrency));
+        f.setPrefetchCount(prefetch);
+
+        if (virtualThreads) {
+            f.setTaskExecutor(new VirtualThreadTaskExecutor("session-listener-"));
+        }
         
         return f;
     }
@@ -0,0 +1,47 @@
+package com.miyazaki.cooperativeproposals.rabbitmq.consumer;
+
+import com.miyazaki.cooperativeproposals.ingestion.VoteDedupIndex;
+import com.miyazaki.cooperativeproposals.rabbitmq.message.ProposalInvalidationMessage;
+import com.miyazaki.cooperativeproposals.service.LiveResultsService;
+import com.miyazaki.cooperativeproposals.service.MobileScreenCache;
+import com.miyazaki.cooperativeproposals.service.OpenSessionRegistry;
+import com.miyazaki.cooperativeproposals.service.ProposalViewCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies invalidations broadcast by any node, including this one, to the local {@link ProposalViewCache}
+ * and {@link MobileScreenCache}.
+ * Only the node that closes a session runs the closure, so a closure also drops the {@link VoteDedupIndex}
+ * entry this node may have built for the proposal and sends the final result to the observers connected here
+ * through {@link LiveResultsService}; on the closing node both are already gone.
+ * The {@link OpenSessionRegistry} stops tracking a closed session, and forgets that a proposal had no session
+ * once one opens, so sessions opened or closed on other nodes are seen here without waiting for a deadline or TTL.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProposalInvalidationListener {
+
+    private final ProposalViewCache proposalViewCache;
+    private final MobileScreenCache mobileScreenCache;
+    private final VoteDedupIndex voteDedupIndex;
+    private final LiveResultsService liveResultsService;
+    private final OpenSessionRegistry openSessionRegistry;
+
+    @RabbitListener(queues = "#{proposalInvalidationQueue.name}", containerFactory = "invalidationListenerFactory")
+    public void onMessage(final ProposalInvalidationMessage message) {
+        log.debug("Evicting {} proposals from the proposal and mobile screen caches", message.proposalIds().size());
+        proposalViewCache.invalidateAll(message.proposalIds());
+        mobileScreenCache.invalidateAll(message.proposalIds());
+        if (message.closed()) {
+            message.proposalIds().forEach(openSessionRegistry::close);
+            message.proposalIds().forEach(voteDedupIndex::drop);
+            message.proposalIds().forEach(liveResultsService::close);
+        } else {
+            message.proposalIds().forEach(openSessionRegistry::forgetMissingSession);
+        }
+    }
+}
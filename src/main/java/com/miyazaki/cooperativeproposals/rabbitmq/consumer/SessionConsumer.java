@@ -2,8 +2,10 @@ package com.miyazaki.cooperativeproposals.rabbitmq.consumer;
 
 import com.miyazaki.cooperativeproposals.exception.NotFoundException;
 import com.miyazaki.cooperativeproposals.filter.RequestTraceFilter;
+import com.miyazaki.cooperativeproposals.ingestion.VoteDedupIndex;
 import com.miyazaki.cooperativeproposals.rabbitmq.config.RabbitMQConfig;
 import com.miyazaki.cooperativeproposals.rabbitmq.message.SessionMessage;
+import com.miyazaki.cooperativeproposals.service.LiveResultsService;
 import com.miyazaki.cooperativeproposals.service.VotingSessionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,6 +22,8 @@ import jakarta.annotation.PreDestroy;
 @Slf4j
 public final class SessionConsumer {
     private final VotingSessionService votingSessionService;
+    private final VoteDedupIndex voteDedupIndex;
+    private final LiveResultsService liveResultsService;
 
     /**
      * Cleanup method called during application shutdown.
@@ -44,7 +48,9 @@ public final class SessionConsumer {
         
         try {
             log.info("Processing session closure  for SessionId: {}", payload.votingSessionId());
-            votingSessionService.closeSession(payload);
+            final var session = votingSessionService.closeSession(payload);
+            voteDedupIndex.drop(session.getProposal().getId());
+            liveResultsService.close(session.getProposal().getId());
             log.info("Successfully closed session {}", payload.votingSessionId());
         } catch (NotFoundException e) {
             log.error("Session not found for closure. SessionId: {}. Message will be retried.",
@@ -0,0 +1,71 @@
+package com.miyazaki.cooperativeproposals.rabbitmq.consumer;
+
+import com.miyazaki.cooperativeproposals.rabbitmq.config.RabbitMQConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.rabbit.retry.RejectAndDontRequeueRecoverer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Retries a failed session closure by publishing it back through the delayed exchange with an exponential delay,
+ * instead of sleeping on the consumer thread. The attempt number travels in the {@code x-retry-count} header;
+ * once {@code max-attempts} is reached the message is rejected and dead-lettered to the DLQ.
+ */
+@Component
+@Slf4j
+public class SessionRetryRecoverer implements MessageRecoverer {
+
+    public static final String RETRY_COUNT_HEADER = "x-retry-count";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final int maxAttempts;
+    private final long initialIntervalMs;
+    private final double multiplier;
+    private final long maxIntervalMs;
+    private final MessageRecoverer exhausted = new RejectAndDontRequeueRecoverer();
+
+    public SessionRetryRecoverer(
+            final RabbitTemplate rabbitTemplate,
+            @Value("${app.session-consumer.retry.max-attempts:4}") final int maxAttempts,
+            @Value("${app.session-consumer.retry.initial-interval-ms:1000}") final long initialIntervalMs,
+            @Value("${app.session-consumer.retry.multiplier:2.0}") final double multiplier,
+            @Value("${app.session-consumer.retry.max-interval-ms:10000}") final long maxIntervalMs) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.maxAttempts = maxAttempts;
+        this.initialIntervalMs = initialIntervalMs;
+        this.multiplier = multiplier;
+        this.maxIntervalMs = maxIntervalMs;
+    }
+
+    @Override
+    public void recover(final Message message, final Throwable cause) {
+        final int retries = retryCount(message);
+        if (retries + 1 >= maxAttempts) {
+            log.error("Session closure failed after {} attempts, sending it to the DLQ: {}",
+                    retries + 1, cause.getMessage());
+            exhausted.recover(message, cause);
+            return;
+        }
+
+        final long delayMs = delayMs(retries);
+        final MessageProperties properties = message.getMessageProperties();
+        properties.setHeader(RETRY_COUNT_HEADER, retries + 1);
+        properties.setHeader("x-delay", delayMs);
+        rabbitTemplate.send(RabbitMQConfig.EXCHANGE_DELAYED, RabbitMQConfig.ROUTE_KEY_CLOSE, message);
+        log.warn("Session closure failed (attempt {} of {}), retrying in {} ms: {}",
+                retries + 1, maxAttempts, delayMs, cause.getMessage());
+    }
+
+    long delayMs(final int retries) {
+        return Math.min(maxIntervalMs, Math.round(initialIntervalMs * Math.pow(multiplier, retries)));
+    }
+
+    private static int retryCount(final Message message) {
+        final Object header = message.getMessageProperties().getHeader(RETRY_COUNT_HEADER);
+        return header instanceof Number count ? count.intValue() : 0;
+    }
+}
@@ -0,0 +1,16 @@
+package com.miyazaki.cooperativeproposals.rabbitmq.message;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Proposals whose session opened or closed.
+ *
+ * @param proposalIds the proposals to invalidate
+ * @param closed whether their sessions closed, so per-node session state can be dropped as well
+ */
+public record ProposalInvalidationMessage(
+        List<UUID> proposalIds,
+        boolean closed
+) {
+}
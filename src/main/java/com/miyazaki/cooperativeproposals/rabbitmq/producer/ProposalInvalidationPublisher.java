@@ -0,0 +1,76 @@
+package com.miyazaki.cooperativeproposals.rabbitmq.producer;
+
+import com.miyazaki.cooperativeproposals.rabbitmq.config.RabbitMQConfig;
+import com.miyazaki.cooperativeproposals.rabbitmq.message.ProposalInvalidationMessage;
+import com.miyazaki.cooperativeproposals.service.MobileScreenCache;
+import com.miyazaki.cooperativeproposals.service.ProposalViewCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Evicts proposals from the {@link ProposalViewCache} and {@link MobileScreenCache} of every node
+ * when their session opens or closes. Closures are flagged so the other nodes also drop their per-session state.
+ * The local entry is evicted and the invalidation is broadcast once the caller's transaction commits,
+ * so no node can reload the old status in between.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProposalInvalidationPublisher {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final ProposalViewCache proposalViewCache;
+    private final MobileScreenCache mobileScreenCache;
+
+    /**
+     * Broadcasts that the sessions of the proposals were opened.
+     */
+    public void publish(final Collection<UUID> proposalIds) {
+        publish(proposalIds, false);
+    }
+
+    /**
+     * Broadcasts that the sessions of the proposals were closed.
+     */
+    public void publishClosed(final Collection<UUID> proposalIds) {
+        publish(proposalIds, true);
+    }
+
+    private void publish(final Collection<UUID> proposalIds, final boolean closed) {
+        if (proposalIds.isEmpty()) {
+            return;
+        }
+        final List<UUID> ids = List.copyOf(proposalIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(ids, closed);
+                }
+            });
+        } else {
+            invalidate(ids, closed);
+        }
+    }
+
+    private void invalidate(final List<UUID> proposalIds, final boolean closed) {
+        proposalViewCache.invalidateAll(proposalIds);
+        mobileScreenCache.invalidateAll(proposalIds);
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.EXCHANGE_PROPOSAL_INVALIDATION, "",
+                    new ProposalInvalidationMessage(proposalIds, closed));
+        } catch (AmqpException e) {
+            log.warn("Could not broadcast invalidation of {} proposals, other nodes keep them until the TTL: {}",
+                    proposalIds.size(), e.getMessage());
+        }
+    }
+}
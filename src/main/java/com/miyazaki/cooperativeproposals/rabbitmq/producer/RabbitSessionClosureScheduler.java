@@ -0,0 +1,35 @@
+package com.miyazaki.cooperativeproposals.rabbitmq.producer;
+
+import com.miyazaki.cooperativeproposals.domain.entity.SessionOutbox;
+import com.miyazaki.cooperativeproposals.domain.repository.SessionOutboxRepository;
+import com.miyazaki.cooperativeproposals.filter.RequestTraceFilter;
+import com.miyazaki.cooperativeproposals.scheduling.SessionClosureScheduler;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Schedules closures through the delayed RabbitMQ exchange.
+ * The closure is written to the session outbox in the caller's transaction;
+ * nothing reaches RabbitMQ until the transaction commits and the outbox relay publishes the row.
+ */
+@Component
+@ConditionalOnProperty(name = "app.session-closure.scheduler", havingValue = "rabbitmq", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RabbitSessionClosureScheduler implements SessionClosureScheduler {
+
+    private final SessionOutboxRepository sessionOutboxRepository;
+
+    @Override
+    public void schedule(final UUID sessionId, final LocalDateTime closeAt) {
+        sessionOutboxRepository.save(SessionOutbox.builder()
+                .votingSessionId(sessionId)
+                .closeAt(closeAt)
+                .traceId(MDC.get(RequestTraceFilter.TRACE_KEY))
+                .build());
+    }
+}
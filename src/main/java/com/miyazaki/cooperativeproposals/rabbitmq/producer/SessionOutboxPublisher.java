@@ -0,0 +1,78 @@
+package com.miyazaki.cooperativeproposals.rabbitmq.producer;
+
+import com.miyazaki.cooperativeproposals.domain.entity.SessionOutbox;
+import com.miyazaki.cooperativeproposals.domain.repository.SessionOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@Slf4j
+public class SessionOutboxPublisher {
+
+    private final SessionOutboxRepository sessionOutboxRepository;
+    private final SessionProducer sessionProducer;
+    private final int batchSize;
+    private final long confirmTimeoutMs;
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+
+    public SessionOutboxPublisher(final SessionOutboxRepository sessionOutboxRepository,
+                                  final SessionProducer sessionProducer,
+                                  final MeterRegistry meterRegistry,
+                                  @Value("${app.session-outbox.batch-size:100}") final int batchSize,
+                                  @Value("${app.session-outbox.confirm-timeout-ms:5000}") final long confirmTimeoutMs) {
+        this.sessionOutboxRepository = sessionOutboxRepository;
+        this.sessionProducer = sessionProducer;
+        this.batchSize = batchSize;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+        this.publishedCounter = Counter.builder("session.outbox.published")
+                .description("Session closures confirmed by the broker")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("session.outbox.failed")
+                .description("Outbox batches the broker did not confirm")
+                .register(meterRegistry);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Publishes the oldest pending closures and deletes them once the broker confirms the batch.
+     * If the batch is not confirmed, the rows stay in the outbox with their attempt count increased
+     * and are published again on the next run, so a closure may be delivered more than once.
+     *
+     * @return the number of closures published, zero when the outbox is empty or the batch failed
+     */
+    @Transactional
+    public int publishNextBatch() {
+        final List<SessionOutbox> batch = sessionOutboxRepository.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        final List<UUID> ids = batch.stream().map(SessionOutbox::getId).toList();
+        try {
+            sessionProducer.publishClosures(batch, confirmTimeoutMs);
+        } catch (AmqpException e) {
+            sessionOutboxRepository.incrementAttempts(ids);
+            failedCounter.increment();
+            log.warn("Failed to publish {} session closures, keeping them in the outbox: {}",
+                    batch.size(), e.getMessage());
+            return 0;
+        }
+
+        sessionOutboxRepository.deleteByIds(ids);
+        publishedCounter.increment(batch.size());
+        log.debug("Published {} session closures from the outbox", batch.size());
+        return batch.size();
+    }
+}
@@ -0,0 +1,29 @@
+package com.miyazaki.cooperativeproposals.rabbitmq.producer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the session outbox: full batches are published back to back, and the relay
+ * goes back to polling once a batch comes back partial or fails.
+ */
+@Component
+@ConditionalOnProperty(name = "app.session-closure.scheduler", havingValue = "rabbitmq", matchIfMissing = true)
+@RequiredArgsConstructor
+public class SessionOutboxRelay {
+
+    private final SessionOutboxPublisher sessionOutboxPublisher;
+
+    @Scheduled(fixedDelayString = "${app.session-outbox.poll-interval-ms:200}")
+    public int relay() {
+        int total = 0;
+        int published;
+        do {
+            published = sessionOutboxPublisher.publishNextBatch();
+            total += published;
+        } while (published == sessionOutboxPublisher.getBatchSize());
+        return total;
+    }
+}
@@ -1,29 +1,55 @@
 package com.miyazaki.cooperativeproposals.rabbitmq.producer;
 
+import com.miyazaki.cooperativeproposals.domain.entity.SessionOutbox;
 import com.miyazaki.cooperativeproposals.filter.RequestTraceFilter;
 import com.miyazaki.cooperativeproposals.rabbitmq.config.RabbitMQConfig;
 import com.miyazaki.cooperativeproposals.rabbitmq.message.SessionMessage;
 import lombok.RequiredArgsConstructor;
-import org.slf4j.MDC;
+import org.springframework.amqp.core.MessagePostProcessor;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Component;
 
-import java.util.UUID;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 public final class SessionProducer {
     private final RabbitTemplate rabbitTemplate;
-    public void schedulerSessionClosure(final UUID sessionId, final long delayMs) {
-        rabbitTemplate.convertAndSend(
-                RabbitMQConfig.EXCHANGE_DELAYED,
-                RabbitMQConfig.ROUTE_KEY_CLOSE,
-                new SessionMessage(sessionId),
-                msg -> {
-                    msg.getMessageProperties().setHeader("x-delay", delayMs);
-                    msg.getMessageProperties().setHeader(
-                            RequestTraceFilter.TRACE_KEY, MDC.get(RequestTraceFilter.TRACE_KEY));
-                    return msg; }
-        );
+
+    /**
+     * Publishes a batch of session closures on one channel and waits for the broker to confirm all of them.
+     * Each message is delayed until its {@code closeAt}, so time spent in the outbox does not extend the session.
+     *
+     * @param closures the pending closures
+     * @param confirmTimeoutMs how long to wait for the confirms
+     * @throws org.springframework.amqp.AmqpException if a message is nacked or not confirmed in time
+     */
+    public void publishClosures(final List<SessionOutbox> closures, final long confirmTimeoutMs) {
+        final LocalDateTime now = LocalDateTime.now();
+        rabbitTemplate.invoke(operations -> {
+            for (final SessionOutbox closure : closures) {
+                operations.convertAndSend(
+                        RabbitMQConfig.EXCHANGE_DELAYED,
+                        RabbitMQConfig.ROUTE_KEY_CLOSE,
+                        new SessionMessage(closure.getVotingSessionId()),
+                        closureHeaders(delayMs(now, closure.getCloseAt()), closure.getTraceId()));
+            }
+            operations.waitForConfirmsOrDie(confirmTimeoutMs);
+            return null;
+        });
+    }
+
+    private static long delayMs(final LocalDateTime now, final LocalDateTime closeAt) {
+        return Math.max(0L, Duration.between(now, closeAt).toMillis());
+    }
+
+    private static MessagePostProcessor closureHeaders(final long delayMs, final String traceId) {
+        return msg -> {
+            msg.getMessageProperties().setHeader("x-delay", delayMs);
+            msg.getMessageProperties().setHeader(RequestTraceFilter.TRACE_KEY, traceId);
+            return msg;
+        };
     }
 }
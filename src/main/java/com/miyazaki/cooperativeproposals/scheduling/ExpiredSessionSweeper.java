@@ -0,0 +1,72 @@
+package com.miyazaki.cooperativeproposals.scheduling;
+
+import com.miyazaki.cooperativeproposals.domain.repository.projection.ClosedSession;
+import com.miyazaki.cooperativeproposals.ingestion.VoteDedupIndex;
+import com.miyazaki.cooperativeproposals.service.LiveResultsService;
+import com.miyazaki.cooperativeproposals.service.VotingSessionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Periodically closes every session whose deadline has passed, a batch per statement, so a burst of
+ * simultaneous expirations costs a few round trips instead of one per session.
+ * It runs alongside the configured {@link SessionClosureScheduler}: whichever gets to a session first closes it,
+ * and a later closure of an already closed session is harmless.
+ */
+@Component
+@Slf4j
+public class ExpiredSessionSweeper {
+
+    private final VotingSessionService votingSessionService;
+    private final VoteDedupIndex voteDedupIndex;
+    private final LiveResultsService liveResultsService;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Counter closedCounter;
+
+    public ExpiredSessionSweeper(final VotingSessionService votingSessionService,
+                                 final VoteDedupIndex voteDedupIndex,
+                                 final LiveResultsService liveResultsService,
+                                 final MeterRegistry meterRegistry,
+                                 @Value("${app.session-sweeper.enabled:true}") final boolean enabled,
+                                 @Value("${app.session-sweeper.batch-size:500}") final int batchSize) {
+        this.votingSessionService = votingSessionService;
+        this.voteDedupIndex = voteDedupIndex;
+        this.liveResultsService = liveResultsService;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.closedCounter = Counter.builder("session.sweeper.closed")
+                .description("Expired sessions closed by the sweeper")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.session-sweeper.interval-ms:1000}")
+    public int sweep() {
+        if (!enabled) {
+            return 0;
+        }
+
+        int total = 0;
+        List<ClosedSession> closed;
+        do {
+            closed = votingSessionService.closeExpiredSessions(batchSize);
+            for (final ClosedSession session : closed) {
+                voteDedupIndex.drop(session.proposalId());
+                liveResultsService.close(session.proposalId());
+            }
+            closedCounter.increment(closed.size());
+            total += closed.size();
+        } while (closed.size() == batchSize);
+
+        if (total > 0) {
+            log.info("Closed {} expired sessions", total);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,107 @@
+package com.miyazaki.cooperativeproposals.scheduling;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hashed timing wheel: deadlines are hashed into {@code wheelSize} buckets of one tick each, and entries more than
+ * one revolution away carry the number of remaining rounds. Scheduling is O(1) and thread-safe; advancing the wheel
+ * is done by a single thread, which only visits the buckets of the ticks that elapsed.
+ * Deadlines are rounded up to the next tick, so an item never expires before its deadline.
+ *
+ * @param <T> the scheduled item
+ */
+final class HashedTimingWheel<T> {
+
+    private final long tickNanos;
+    private final long startNanos;
+    private final int mask;
+    private final List<ArrayDeque<Entry<T>>> buckets;
+    private final Queue<Entry<T>> pending = new ConcurrentLinkedQueue<>();
+    private long tick;
+    private int size;
+
+    HashedTimingWheel(final long tickNanos, final int wheelSize, final long startNanos) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        this.tickNanos = tickNanos;
+        this.startNanos = startNanos;
+        this.mask = wheelSize - 1;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Adds an item that expires at {@code deadlineNanos}, on the clock passed to {@link #advance(long)}.
+     * Deadlines already in the past expire on the next advance.
+     */
+    void schedule(final T item, final long deadlineNanos) {
+        pending.add(new Entry<>(item, deadlineNanos));
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowNanos}. Must always be called from the same thread.
+     *
+     * @return the items whose deadline has passed
+     */
+    List<T> advance(final long nowNanos) {
+        final List<T> expired = new ArrayList<>();
+        transferPending(expired);
+        final long lastTick = Math.floorDiv(nowNanos - startNanos, tickNanos);
+        while (tick <= lastTick) {
+            final Iterator<Entry<T>> entries = buckets.get((int) (tick & mask)).iterator();
+            while (entries.hasNext()) {
+                final Entry<T> entry = entries.next();
+                if (entry.remainingRounds <= 0) {
+                    entries.remove();
+                    size--;
+                    expired.add(entry.item);
+                } else {
+                    entry.remainingRounds--;
+                }
+            }
+            tick++;
+        }
+        return expired;
+    }
+
+    int size() {
+        return size + pending.size();
+    }
+
+    long tickNanos() {
+        return tickNanos;
+    }
+
+    private void transferPending(final List<T> expired) {
+        Entry<T> entry;
+        while ((entry = pending.poll()) != null) {
+            final long deadlineTick = Math.floorDiv(entry.deadlineNanos - startNanos + tickNanos - 1, tickNanos);
+            if (deadlineTick < tick) {
+                expired.add(entry.item);
+                continue;
+            }
+            entry.remainingRounds = (deadlineTick - tick) / buckets.size();
+            buckets.get((int) (deadlineTick & mask)).add(entry);
+            size++;
+        }
+    }
+
+    private static final class Entry<T> {
+        private final T item;
+        private final long deadlineNanos;
+        private long remainingRounds;
+
+        private Entry(final T item, final long deadlineNanos) {
+            this.item = item;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+}
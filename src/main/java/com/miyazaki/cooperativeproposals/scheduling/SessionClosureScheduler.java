@@ -0,0 +1,19 @@
+package com.miyazaki.cooperativeproposals.scheduling;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Arranges for a voting session to be closed once its deadline passes.
+ * The implementation is chosen with {@code app.session-closure.scheduler}.
+ */
+public interface SessionClosureScheduler {
+
+    /**
+     * Schedules the closure of a session. Called inside the transaction that opens the session.
+     *
+     * @param sessionId the session to close
+     * @param closeAt when the session closes
+     */
+    void schedule(UUID sessionId, LocalDateTime closeAt);
+}
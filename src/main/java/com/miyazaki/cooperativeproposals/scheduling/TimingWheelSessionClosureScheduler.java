@@ -0,0 +1,154 @@
+package com.miyazaki.cooperativeproposals.scheduling;
+
+import com.miyazaki.cooperativeproposals.domain.entity.VotingSession;
+import com.miyazaki.cooperativeproposals.domain.repository.VotingSessionRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.SessionDeadlineProjection;
+import com.miyazaki.cooperativeproposals.ingestion.VoteDedupIndex;
+import com.miyazaki.cooperativeproposals.service.LiveResultsService;
+import com.miyazaki.cooperativeproposals.service.VotingSessionService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Closes sessions from an in-process hashed timing wheel instead of delayed RabbitMQ messages.
+ * On startup every OPENED session is read back from the partial index on {@code voting_session.closes_at}
+ * and put on the wheel, so closures survive restarts; expired sessions are closed in batches.
+ * Closures are added to the wheel only after the transaction that opened the session commits.
+ * {@link VotingSessionService} is injected lazily because it depends on this scheduler.
+ */
+@Component
+@ConditionalOnProperty(name = "app.session-closure.scheduler", havingValue = "timing-wheel")
+@Slf4j
+public class TimingWheelSessionClosureScheduler implements SessionClosureScheduler {
+
+    private final VotingSessionRepository votingSessionRepository;
+    private final VotingSessionService votingSessionService;
+    private final VoteDedupIndex voteDedupIndex;
+    private final LiveResultsService liveResultsService;
+    private final HashedTimingWheel<UUID> wheel;
+    private final int batchSize;
+    private final long retryDelayMs;
+    private volatile Thread worker;
+
+    public TimingWheelSessionClosureScheduler(
+            final VotingSessionRepository votingSessionRepository,
+            @Lazy final VotingSessionService votingSessionService,
+            final VoteDedupIndex voteDedupIndex,
+            final LiveResultsService liveResultsService,
+            final MeterRegistry meterRegistry,
+            @Value("${app.session-closure.timing-wheel.tick-ms:100}") final long tickMs,
+            @Value("${app.session-closure.timing-wheel.wheel-size:512}") final int wheelSize,
+            @Value("${app.session-closure.timing-wheel.batch-size:500}") final int batchSize,
+            @Value("${app.session-closure.timing-wheel.retry-delay-ms:1000}") final long retryDelayMs) {
+        this.votingSessionRepository = votingSessionRepository;
+        this.votingSessionService = votingSessionService;
+        this.voteDedupIndex = voteDedupIndex;
+        this.liveResultsService = liveResultsService;
+        this.wheel = new HashedTimingWheel<>(TimeUnit.MILLISECONDS.toNanos(tickMs), wheelSize, System.nanoTime());
+        this.batchSize = batchSize;
+        this.retryDelayMs = retryDelayMs;
+        Gauge.builder("session.closure.pending", wheel, HashedTimingWheel::size)
+                .description("Session closures waiting on the timing wheel")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void schedule(final UUID sessionId, final LocalDateTime closeAt) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addToWheel(sessionId, closeAt);
+                }
+            });
+        } else {
+            addToWheel(sessionId, closeAt);
+        }
+    }
+
+    /**
+     * Puts every OPENED session back on the wheel and starts the wheel thread.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        final List<SessionDeadlineProjection> deadlines = votingSessionRepository.findOpenedDeadlines();
+        deadlines.forEach(deadline -> addToWheel(deadline.getId(), deadline.getClosesAt()));
+        log.info("Recovered {} pending session closures onto the timing wheel", deadlines.size());
+
+        worker = Thread.ofPlatform().name("session-closure-wheel").daemon().start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() {
+        final Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    /**
+     * Advances the wheel to {@code nowNanos} and closes whatever expired.
+     *
+     * @return the number of sessions closed
+     */
+    int tick(final long nowNanos) {
+        final List<UUID> expired = wheel.advance(nowNanos);
+        int closed = 0;
+        for (int from = 0; from < expired.size(); from += batchSize) {
+            closed += closeBatch(expired.subList(from, Math.min(from + batchSize, expired.size())));
+        }
+        return closed;
+    }
+
+    private void run() {
+        final long tickNanos = wheel.tickNanos();
+        while (!Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(tickNanos);
+            try {
+                tick(System.nanoTime());
+            } catch (RuntimeException e) {
+                log.error("Session closure wheel tick failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private int closeBatch(final List<UUID> sessionIds) {
+        try {
+            final List<VotingSession> closed = votingSessionService.closeSessions(sessionIds);
+            for (final VotingSession session : closed) {
+                voteDedupIndex.drop(session.getProposal().getId());
+                liveResultsService.close(session.getProposal().getId());
+            }
+            log.info("Closed {} expired sessions", closed.size());
+            return closed.size();
+        } catch (RuntimeException e) {
+            log.error("Failed to close {} expired sessions, retrying in {} ms: {}",
+                    sessionIds.size(), retryDelayMs, e.getMessage());
+            final long retryAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryDelayMs);
+            sessionIds.forEach(id -> wheel.schedule(id, retryAt));
+            return 0;
+        }
+    }
+
+    private void addToWheel(final UUID sessionId, final LocalDateTime closeAt) {
+        final long delayNanos = Duration.between(LocalDateTime.now(), closeAt).toNanos();
+        wheel.schedule(sessionId, System.nanoTime() + Math.max(0L, delayNanos));
+    }
+}
@@ -0,0 +1,10 @@
+package com.miyazaki.cooperativeproposals.service;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A proposal whose session is still accepting votes, as resolved by {@link OpenSessionRegistry}.
+ */
+public record ActiveSession(UUID proposalId, UUID sessionId, LocalDateTime closesAt) {
+}
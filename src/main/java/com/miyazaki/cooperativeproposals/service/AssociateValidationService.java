@@ -1,7 +1,10 @@
 package com.miyazaki.cooperativeproposals.service;
 
-import com.miyazaki.cooperativeproposals.client.CpfValidationClient;
+import com.miyazaki.cooperativeproposals.client.CpfValidationLane;
+import com.miyazaki.cooperativeproposals.client.ResilientCpfValidationClient;
 import com.miyazaki.cooperativeproposals.client.dto.CpfValidationResponse;
+import com.miyazaki.cooperativeproposals.domain.enums.CpfFallbackPolicy;
+import com.miyazaki.cooperativeproposals.exception.CpfValidationUnavailableException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,34 +17,66 @@ import java.util.Objects;
 @Slf4j
 public class AssociateValidationService {
 
-    private final CpfValidationClient cpfValidationClient;
+    private final ResilientCpfValidationClient cpfValidationClient;
+    private final CpfEligibilityCache cpfEligibilityCache;
     private static final String VALID_CPF_STATUS = "ABLE_TO_VOTE";
 
     @Value("${app.cpf-validation-enabled}")
     private boolean isCpfValidationEnabled;
 
+    @Value("${app.cpf-validation.fallback:ERROR}")
+    private CpfFallbackPolicy fallbackPolicy;
+
     public boolean isValidCpf(final String cpf) {
+        return isValidCpf(cpf, CpfValidationLane.INTERACTIVE);
+    }
+
+    /**
+     * Checks a CPF, going to the remote validator through the given bulkhead lane on a cache miss.
+     */
+    public boolean isValidCpf(final String cpf, final CpfValidationLane lane) {
         if (!isCpfValidationEnabled) {
             log.info("CPF validation is disabled. Considering CPF {} as valid", cpf);
             return true;
         }
         
+        final long digits = CpfChecksum.parse(cpf);
+        if (digits == CpfChecksum.INVALID) {
+            log.info("CPF {} rejected by local check digit validation", cpf);
+            return false;
+        }
+
         try {
-            String cleanCpf = cpf.replaceAll("[^0-9]", "");
+            String cleanCpf = CpfChecksum.format(digits);
             
             log.info("Validating CPF: {}", cpf);
             
-            CpfValidationResponse response = cpfValidationClient.validateCpf(cleanCpf);
-            
-            log.info("Validate result for CPF {}: status={}",
-                    cpf, response.getStatus());
-
-            return Objects.nonNull(response.getStatus()) && response.getStatus().equals(VALID_CPF_STATUS);
+            return cpfEligibilityCache.get(cleanCpf, key -> validateRemotely(key, lane));
             
+        } catch (CpfValidationUnavailableException e) {
+            return fallback(cpf, e);
         } catch (Exception e) {
             log.error("Error to validate CPF {}: {}", cpf, e.getMessage());
             throw new RuntimeException("Erro ao validar cpf");
         }
     }
 
+    private boolean validateRemotely(final String cleanCpf, final CpfValidationLane lane) {
+        CpfValidationResponse response = cpfValidationClient.validateCpf(cleanCpf, lane);
+
+        log.info("Validate result for CPF {}: status={}",
+                cleanCpf, response.getStatus());
+
+        return Objects.nonNull(response.getStatus()) && response.getStatus().equals(VALID_CPF_STATUS);
+    }
+
+    private boolean fallback(final String cpf, final CpfValidationUnavailableException e) {
+        log.warn("CPF validation unavailable for CPF {} ({}), applying fallback policy {}",
+                cpf, e.getMessage(), fallbackPolicy);
+        return switch (fallbackPolicy) {
+            case ALLOW -> true;
+            case DENY -> false;
+            case ERROR -> throw e;
+        };
+    }
 }
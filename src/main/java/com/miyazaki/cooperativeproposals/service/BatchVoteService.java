@@ -0,0 +1,256 @@
+package com.miyazaki.cooperativeproposals.service;
+
+import com.miyazaki.cooperativeproposals.client.CpfValidationLane;
+import com.miyazaki.cooperativeproposals.controller.dto.request.VoteRequest;
+import com.miyazaki.cooperativeproposals.controller.dto.response.BatchVoteItemResult;
+import com.miyazaki.cooperativeproposals.controller.dto.response.BatchVoteItemStatus;
+import com.miyazaki.cooperativeproposals.controller.dto.response.BatchVoteResponse;
+import com.miyazaki.cooperativeproposals.domain.entity.Proposal;
+import com.miyazaki.cooperativeproposals.domain.entity.UuidV7Generator;
+import com.miyazaki.cooperativeproposals.domain.entity.Vote;
+import com.miyazaki.cooperativeproposals.domain.entity.VotingSession;
+import com.miyazaki.cooperativeproposals.domain.repository.ProposalRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.VoteRepository;
+import com.miyazaki.cooperativeproposals.exception.NotFoundException;
+import com.miyazaki.cooperativeproposals.ingestion.VoteBatchWriter;
+import com.miyazaki.cooperativeproposals.ingestion.VoteDedupIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Casts a batch of votes buffered by a polling station in one pass.
+ * Duplicates inside the batch are dropped first, CPFs are validated in parallel through the batch bulkhead lane,
+ * the remaining associates are checked against the vote table with a single query and the accepted votes are
+ * written with one multi-row insert, bypassing the per-vote write-behind queue. The insert share-locks the session
+ * row, so a closure either waits for the batch to commit or makes it reject every vote as SESSION_CLOSED.
+ */
+@Service
+@Slf4j
+public class BatchVoteService {
+
+    private final ProposalRepository proposalRepository;
+    private final VoteRepository voteRepository;
+    private final VotingSessionService votingSessionService;
+    private final AssociateValidationService associateValidationService;
+    private final VoteDedupIndex voteDedupIndex;
+    private final VoteBatchWriter voteBatchWriter;
+    private final LiveResultsService liveResultsService;
+    private final ExecutorService executor;
+    private final int cpfParallelism;
+
+    public BatchVoteService(final ProposalRepository proposalRepository,
+                            final VoteRepository voteRepository,
+                            final VotingSessionService votingSessionService,
+                            final AssociateValidationService associateValidationService,
+                            final VoteDedupIndex voteDedupIndex,
+                            final VoteBatchWriter voteBatchWriter,
+                            final LiveResultsService liveResultsService,
+                            @Qualifier("voteBatchExecutor") final ExecutorService executor,
+                            @Value("${app.vote-batch.cpf-parallelism:16}") final int cpfParallelism) {
+        this.proposalRepository = proposalRepository;
+        this.voteRepository = voteRepository;
+        this.votingSessionService = votingSessionService;
+        this.associateValidationService = associateValidationService;
+        this.voteDedupIndex = voteDedupIndex;
+        this.voteBatchWriter = voteBatchWriter;
+        this.liveResultsService = liveResultsService;
+        this.executor = executor;
+        this.cpfParallelism = Math.max(1, cpfParallelism);
+    }
+
+    /**
+     * @param proposalId the proposal being voted on
+     * @param requests the votes, in the order they were collected
+     * @return the outcome of every vote, in request order
+     * @throws NotFoundException when the proposal does not exist or has no open session
+     */
+    public BatchVoteResponse castVotes(final UUID proposalId, final List<VoteRequest> requests) {
+        log.info("Processing batch of {} votes for proposal: {}", requests.size(), proposalId);
+
+        final ActiveSession session = votingSessionService.resolveActiveSession(proposalId);
+        final Proposal proposal = proposalRepository.getReferenceById(proposalId);
+        final VotingSession votingSession = votingSessionService.getReference(session.sessionId());
+
+        final BatchVoteItemStatus[] statuses = new BatchVoteItemStatus[requests.size()];
+        markDuplicatesInBatch(requests, statuses);
+        validateCpfs(requests, statuses);
+        markAlreadyVoted(proposalId, requests, statuses);
+
+        final List<Vote> votes = new ArrayList<>();
+        final Vote[] voteByIndex = new Vote[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            if (statuses[i] == null) {
+                voteByIndex[i] = createVote(proposal, votingSession, requests.get(i));
+                votes.add(voteByIndex[i]);
+            }
+        }
+
+        final Set<UUID> inserted = write(proposalId, votes);
+        resolveRejected(proposalId, requests, statuses, voteByIndex, inserted);
+
+        final List<BatchVoteItemResult> items = new ArrayList<>(requests.size());
+        int accepted = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            final Vote vote = voteByIndex[i];
+            final boolean ok = statuses[i] == BatchVoteItemStatus.ACCEPTED;
+            if (ok) {
+                accepted++;
+                liveResultsService.record(proposalId, vote.isVote());
+            }
+            items.add(BatchVoteItemResult.builder()
+                    .index(i)
+                    .associateId(requests.get(i).associateId())
+                    .voteId(ok ? vote.getId() : null)
+                    .status(statuses[i])
+                    .build());
+        }
+
+        log.info("Batch for proposal {} processed: {} accepted, {} rejected",
+                proposalId, accepted, requests.size() - accepted);
+        return BatchVoteResponse.builder()
+                .proposalId(proposalId)
+                .accepted(accepted)
+                .rejected(requests.size() - accepted)
+                .items(items)
+                .build();
+    }
+
+    private void markDuplicatesInBatch(final List<VoteRequest> requests, final BatchVoteItemStatus[] statuses) {
+        final Set<UUID> seen = new HashSet<>(requests.size() * 2);
+        for (int i = 0; i < requests.size(); i++) {
+            if (!seen.add(requests.get(i).associateId())) {
+                statuses[i] = BatchVoteItemStatus.DUPLICATE_IN_BATCH;
+            }
+        }
+    }
+
+    private void validateCpfs(final List<VoteRequest> requests, final BatchVoteItemStatus[] statuses) {
+        final AtomicInteger next = new AtomicInteger();
+        final int workers = Math.min(cpfParallelism, requests.size());
+        final CompletableFuture<?>[] tasks = new CompletableFuture<?>[workers];
+        for (int w = 0; w < workers; w++) {
+            tasks[w] = CompletableFuture.runAsync(() -> {
+                for (int i = next.getAndIncrement(); i < requests.size(); i = next.getAndIncrement()) {
+                    if (statuses[i] == null) {
+                        statuses[i] = eligibilityOf(requests.get(i).associateCpf());
+                    }
+                }
+            }, executor);
+        }
+        CompletableFuture.allOf(tasks).join();
+    }
+
+    private BatchVoteItemStatus eligibilityOf(final String cpf) {
+        try {
+            return associateValidationService.isValidCpf(cpf, CpfValidationLane.BATCH)
+                    ? null : BatchVoteItemStatus.NOT_ELIGIBLE;
+        } catch (RuntimeException e) {
+            return BatchVoteItemStatus.CPF_VALIDATION_UNAVAILABLE;
+        }
+    }
+
+    private void markAlreadyVoted(final UUID proposalId,
+                                  final List<VoteRequest> requests,
+                                  final BatchVoteItemStatus[] statuses) {
+        final UUID[] pending = pendingAssociateIds(requests, statuses);
+        if (pending.length == 0) {
+            return;
+        }
+        final Set<UUID> voted = new HashSet<>(voteRepository.findVotedAssociateIds(proposalId, pending));
+        for (int i = 0; i < requests.size(); i++) {
+            if (statuses[i] != null) {
+                continue;
+            }
+            final UUID associateId = requests.get(i).associateId();
+            try {
+                if (voted.contains(associateId) || !voteDedupIndex.tryRegister(proposalId, associateId)) {
+                    statuses[i] = BatchVoteItemStatus.ALREADY_VOTED;
+                }
+            } catch (NotFoundException e) {
+                statuses[i] = BatchVoteItemStatus.SESSION_CLOSED;
+            }
+        }
+    }
+
+    private Set<UUID> write(final UUID proposalId, final List<Vote> votes) {
+        if (votes.isEmpty()) {
+            return Set.of();
+        }
+        try {
+            return voteBatchWriter.write(votes);
+        } catch (RuntimeException e) {
+            votes.forEach(vote -> voteDedupIndex.release(proposalId, vote.getAssociateId()));
+            throw e;
+        }
+    }
+
+    private void resolveRejected(final UUID proposalId,
+                                 final List<VoteRequest> requests,
+                                 final BatchVoteItemStatus[] statuses,
+                                 final Vote[] voteByIndex,
+                                 final Set<UUID> inserted) {
+        final List<Integer> rejected = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (voteByIndex[i] == null) {
+                continue;
+            }
+            if (inserted.contains(voteByIndex[i].getId())) {
+                statuses[i] = BatchVoteItemStatus.ACCEPTED;
+            } else {
+                rejected.add(i);
+            }
+        }
+        if (rejected.isEmpty()) {
+            return;
+        }
+
+        final UUID[] associateIds = rejected.stream()
+                .map(i -> requests.get(i).associateId())
+                .toArray(UUID[]::new);
+        final Set<UUID> voted = new HashSet<>(voteRepository.findVotedAssociateIds(proposalId, associateIds));
+        for (final int i : rejected) {
+            final UUID associateId = requests.get(i).associateId();
+            if (voted.contains(associateId)) {
+                statuses[i] = BatchVoteItemStatus.ALREADY_VOTED;
+            } else {
+                voteDedupIndex.release(proposalId, associateId);
+                statuses[i] = BatchVoteItemStatus.SESSION_CLOSED;
+            }
+        }
+    }
+
+    private static UUID[] pendingAssociateIds(final List<VoteRequest> requests, final BatchVoteItemStatus[] statuses) {
+        final List<UUID> pending = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            if (statuses[i] == null) {
+                pending.add(requests.get(i).associateId());
+            }
+        }
+        return pending.toArray(UUID[]::new);
+    }
+
+    private static Vote createVote(final Proposal proposal,
+                                   final VotingSession votingSession,
+                                   final VoteRequest voteRequest) {
+        return Vote.builder()
+                .id(UuidV7Generator.next())
+                .proposal(proposal)
+                .votingSession(votingSession)
+                .associateId(voteRequest.associateId())
+                .vote(voteRequest.vote())
+                .votedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,86 @@
+package com.miyazaki.cooperativeproposals.service;
+
+/**
+ * Parses and validates CPF numbers in place, without regular expressions or intermediate strings.
+ * A CPF is accepted when it has exactly 11 digits, optionally separated by {@code .}, {@code -} or spaces,
+ * both mod-11 check digits match and the digits are not all the same.
+ */
+public final class CpfChecksum {
+
+    public static final long INVALID = -1L;
+
+    private static final int LENGTH = 11;
+    private static final int BASE_LENGTH = 9;
+
+    private CpfChecksum() {
+    }
+
+    /**
+     * Parses a raw CPF into its 11 digits packed in a {@code long}.
+     *
+     * @param raw the CPF as typed, formatted or not
+     * @return the packed digits, or {@link #INVALID} when the CPF is malformed or fails the check digits
+     */
+    public static long parse(final CharSequence raw) {
+        if (raw == null) {
+            return INVALID;
+        }
+        long digits = 0;
+        int count = 0;
+        int firstSum = 0;
+        int secondSum = 0;
+        int firstDigit = -1;
+        boolean repeated = true;
+
+        for (int i = 0; i < raw.length(); i++) {
+            final char c = raw.charAt(i);
+            if (c == '.' || c == '-' || c == ' ') {
+                continue;
+            }
+            if (c < '0' || c > '9' || count == LENGTH) {
+                return INVALID;
+            }
+            final int digit = c - '0';
+            if (count == BASE_LENGTH && digit != checkDigit(firstSum)) {
+                return INVALID;
+            }
+            if (count == LENGTH - 1 && digit != checkDigit(secondSum)) {
+                return INVALID;
+            }
+            if (count < BASE_LENGTH) {
+                firstSum += digit * (BASE_LENGTH + 1 - count);
+            }
+            secondSum += digit * (LENGTH - count);
+            if (firstDigit < 0) {
+                firstDigit = digit;
+            }
+            repeated &= digit == firstDigit;
+            digits = digits * 10 + digit;
+            count++;
+        }
+
+        return count == LENGTH && !repeated ? digits : INVALID;
+    }
+
+    public static boolean isValid(final CharSequence raw) {
+        return parse(raw) != INVALID;
+    }
+
+    /**
+     * Renders packed digits returned by {@link #parse(CharSequence)} as the 11-digit unformatted CPF.
+     */
+    public static String format(final long digits) {
+        final char[] chars = new char[LENGTH];
+        long remaining = digits;
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            chars[i] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        return new String(chars);
+    }
+
+    private static int checkDigit(final int sum) {
+        final int remainder = sum % LENGTH;
+        return remainder < 2 ? 0 : LENGTH - remainder;
+    }
+}
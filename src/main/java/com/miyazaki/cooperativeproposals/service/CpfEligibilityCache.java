@@ -0,0 +1,99 @@
+package com.miyazaki.cooperativeproposals.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Bounded cache of CPF eligibility answers.
+ * Eligible and ineligible answers expire after separate TTLs, failed lookups are not cached,
+ * and concurrent lookups of the same CPF share a single in-flight call.
+ */
+@Component
+public class CpfEligibilityCache {
+
+    private static final String CACHE_NAME = "cpf.eligibility";
+
+    private final AsyncCache<String, Boolean> cache;
+
+    public CpfEligibilityCache(final MeterRegistry meterRegistry,
+                               @Value("${app.cpf-cache.maximum-size:100000}") final long maximumSize,
+                               @Value("${app.cpf-cache.positive-ttl-ms:600000}") final long positiveTtlMs,
+                               @Value("${app.cpf-cache.negative-ttl-ms:60000}") final long negativeTtlMs) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new EligibilityExpiry(
+                        TimeUnit.MILLISECONDS.toNanos(positiveTtlMs),
+                        TimeUnit.MILLISECONDS.toNanos(negativeTtlMs)))
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), CACHE_NAME);
+        Gauge.builder(CACHE_NAME + ".hit.ratio", cache, c -> c.synchronous().stats().hitRate())
+                .description("Share of CPF lookups answered from the cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached answer for a normalized CPF, loading it on a miss.
+     * The loader runs on the calling thread; callers that arrive while it runs wait for its result.
+     *
+     * @param cpf the normalized CPF
+     * @param loader the remote lookup
+     * @return whether the CPF is able to vote
+     */
+    public boolean get(final String cpf, final Predicate<String> loader) {
+        final CompletableFuture<Boolean> created = new CompletableFuture<>();
+        final CompletableFuture<Boolean> answer = cache.get(cpf, (key, executor) -> created);
+        if (answer == created) {
+            try {
+                created.complete(loader.test(cpf));
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+            }
+        }
+
+        try {
+            return answer.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public void invalidate(final String cpf) {
+        cache.synchronous().invalidate(cpf);
+    }
+
+    private record EligibilityExpiry(long positiveTtlNanos, long negativeTtlNanos) implements Expiry<String, Boolean> {
+
+        @Override
+        public long expireAfterCreate(final String key, final Boolean eligible, final long currentTime) {
+            return Boolean.TRUE.equals(eligible) ? positiveTtlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key, final Boolean eligible,
+                                      final long currentTime, final long currentDuration) {
+            return expireAfterCreate(key, eligible, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(final String key, final Boolean eligible,
+                                    final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.miyazaki.cooperativeproposals.service;
+
+import com.miyazaki.cooperativeproposals.controller.dto.response.LiveResultResponse;
+import com.miyazaki.cooperativeproposals.controller.dto.response.ProposalStatusEnum;
+import com.miyazaki.cooperativeproposals.domain.repository.VoteTallyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps running yes/no counters of open sessions in memory and streams them to observers.
+ * Counters are striped {@link LongAdder}s updated on every accepted vote, and observers receive
+ * at most one snapshot per publish interval, however many votes arrived in between.
+ * Accepted votes only reach the counters of the node that took them, so the counters of observed proposals are
+ * periodically reseeded from the vote tally, which every node updates in the same transaction as its votes.
+ * The closing snapshot is read from the vote tally as well, and sent by every node once the closure is broadcast.
+ */
+@Service
+@Slf4j
+public class LiveResultsService {
+
+    private static final String EVENT_NAME = "result";
+
+    private final VoteTallyRepository voteTallyRepository;
+    private final long emitterTimeoutMs;
+    private final Map<UUID, LiveTally> tallies = new ConcurrentHashMap<>();
+
+    public LiveResultsService(final VoteTallyRepository voteTallyRepository,
+                              @Value("${app.live-results.emitter-timeout-ms:1800000}") final long emitterTimeoutMs) {
+        this.voteTallyRepository = voteTallyRepository;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+    }
+
+    /**
+     * Starts counting votes of a freshly opened session.
+     *
+     * @param proposalId the proposal whose session was opened
+     */
+    public void open(final UUID proposalId) {
+        tallies.compute(proposalId, (id, current) -> {
+            final LiveTally tally = current != null ? current : new LiveTally(0, 0, ProposalStatusEnum.OPENED);
+            tally.status = ProposalStatusEnum.OPENED;
+            tally.tracked = true;
+            return tally;
+        });
+    }
+
+    /**
+     * Adds an accepted vote to the live counters. Votes of proposals that are not being counted are ignored.
+     */
+    public void record(final UUID proposalId, final boolean vote) {
+        final LiveTally tally = tallies.get(proposalId);
+        if (tally != null) {
+            (vote ? tally.yes : tally.no).increment();
+        }
+    }
+
+    public Optional<LiveResultResponse> snapshot(final UUID proposalId) {
+        return Optional.ofNullable(tallies.get(proposalId))
+                .map(tally -> tally.snapshot(proposalId));
+    }
+
+    /**
+     * Registers an observer for the results of a proposal.
+     * The current snapshot is sent right away; a closed proposal gets its final result and the stream ends.
+     *
+     * @param proposalId the proposal to observe
+     * @param status the current status of the proposal
+     * @return the emitter the observer is attached to
+     */
+    public SseEmitter subscribe(final UUID proposalId, final ProposalStatusEnum status) {
+        final SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        if (status == ProposalStatusEnum.CLOSED) {
+            send(emitter, finalSnapshot(proposalId));
+            emitter.complete();
+            return emitter;
+        }
+
+        final LiveTally tally = tallies.compute(proposalId, (id, current) -> {
+            final LiveTally target = current != null ? current : seed(id, status);
+            target.emitters.add(emitter);
+            return target;
+        });
+        emitter.onCompletion(() -> tally.emitters.remove(emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> tally.emitters.remove(emitter));
+
+        if (!send(emitter, tally.snapshot(proposalId))) {
+            tally.emitters.remove(emitter);
+        }
+        log.debug("Observer subscribed to proposal {}, {} observers", proposalId, tally.emitters.size());
+        return emitter;
+    }
+
+    /**
+     * Sends one snapshot per changed proposal to all of its observers.
+     *
+     * @return the number of proposals whose snapshot was published
+     */
+    @Scheduled(fixedRateString = "${app.live-results.publish-interval-ms:250}")
+    public int publish() {
+        int published = 0;
+        for (final Map.Entry<UUID, LiveTally> entry : tallies.entrySet()) {
+            final UUID proposalId = entry.getKey();
+            final LiveTally tally = entry.getValue();
+            if (tally.emitters.isEmpty()) {
+                tallies.computeIfPresent(proposalId,
+                        (id, current) -> current.emitters.isEmpty() && !current.tracked ? null : current);
+                continue;
+            }
+
+            final LiveResultResponse snapshot = tally.snapshot(proposalId);
+            if (snapshot.getTotalVotes() == tally.lastPublishedTotal) {
+                continue;
+            }
+            tally.lastPublishedTotal = snapshot.getTotalVotes();
+            broadcast(tally.emitters, snapshot);
+            published++;
+        }
+        return published;
+    }
+
+    /**
+     * Reseeds the counters of every observed proposal from the vote tally, so observers also see the votes
+     * cast on other nodes. Proposals nobody observes are left alone and cost no query.
+     *
+     * @return the number of proposals whose counters were reseeded
+     */
+    @Scheduled(fixedDelayString = "${app.live-results.refresh-interval-ms:2000}")
+    public int refresh() {
+        int refreshed = 0;
+        for (final Map.Entry<UUID, LiveTally> entry : tallies.entrySet()) {
+            final LiveTally tally = entry.getValue();
+            if (tally.emitters.isEmpty()) {
+                continue;
+            }
+            final var result = voteTallyRepository.sumByProposalId(entry.getKey());
+            tally.reseed(result.getCountYes(), result.getCountNo());
+            refreshed++;
+        }
+        return refreshed;
+    }
+
+    /**
+     * Stops counting a proposal whose session closed, sends the final result to its observers and ends their streams.
+     *
+     * @param proposalId the proposal whose session was closed
+     */
+    public void close(final UUID proposalId) {
+        final LiveTally tally = tallies.remove(proposalId);
+        if (tally == null || tally.emitters.isEmpty()) {
+            return;
+        }
+        broadcast(tally.emitters, finalSnapshot(proposalId));
+        tally.emitters.forEach(SseEmitter::complete);
+        tally.emitters.clear();
+    }
+
+    private LiveTally seed(final UUID proposalId, final ProposalStatusEnum status) {
+        final var result = voteTallyRepository.sumByProposalId(proposalId);
+        return new LiveTally(result.getCountYes(), result.getCountNo(), status);
+    }
+
+    private LiveResultResponse finalSnapshot(final UUID proposalId) {
+        final var result = voteTallyRepository.sumByProposalId(proposalId);
+        final long countYes = result.getCountYes();
+        final long countNo = result.getCountNo();
+        return LiveResultResponse.builder()
+                .proposalId(proposalId)
+                .status(ProposalStatusEnum.CLOSED)
+                .countYes(countYes)
+                .countNo(countNo)
+                .totalVotes(countYes + countNo)
+                .build();
+    }
+
+    private void broadcast(final List<SseEmitter> emitters, final LiveResultResponse snapshot) {
+        for (final SseEmitter emitter : emitters) {
+            if (!send(emitter, snapshot)) {
+                emitters.remove(emitter);
+            }
+        }
+    }
+
+    private boolean send(final SseEmitter emitter, final LiveResultResponse snapshot) {
+        try {
+            emitter.send(SseEmitter.event().name(EVENT_NAME).data(snapshot));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping observer of proposal {}: {}", snapshot.getProposalId(), e.getMessage());
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private static final class LiveTally {
+        private final LongAdder yes = new LongAdder();
+        private final LongAdder no = new LongAdder();
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        private volatile ProposalStatusEnum status;
+        private volatile boolean tracked;
+        private long lastPublishedTotal = -1;
+
+        private LiveTally(final long yes, final long no, final ProposalStatusEnum status) {
+            this.yes.add(yes);
+            this.no.add(no);
+            this.status = status;
+        }
+
+        private void reseed(final long countYes, final long countNo) {
+            yes.reset();
+            yes.add(countYes);
+            no.reset();
+            no.add(countNo);
+        }
+
+        private LiveResultResponse snapshot(final UUID proposalId) {
+            final long countYes = yes.sum();
+            final long countNo = no.sum();
+            return LiveResultResponse.builder()
+                    .proposalId(proposalId)
+                    .status(status)
+                    .countYes(countYes)
+                    .countNo(countNo)
+                    .totalVotes(countYes + countNo)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.miyazaki.cooperativeproposals.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of serialized mobile screens, so screens that clients poll are built and written by Jackson once.
+ * Screens of a proposal are evicted with its {@link ProposalViewCache} entry when its session opens or closes;
+ * callers still check the session before serving one.
+ */
+@Component
+public class MobileScreenCache {
+
+    private static final String CACHE_NAME = "mobile.screen";
+
+    private final ObjectMapper objectMapper;
+    private final Cache<ScreenKey, SerializedScreen> cache;
+
+    public MobileScreenCache(final ObjectMapper objectMapper,
+                             final MeterRegistry meterRegistry,
+                             @Value("${app.mobile-screen-cache.maximum-size:10000}") final long maximumSize,
+                             @Value("${app.mobile-screen-cache.ttl-ms:600000}") final long ttlMs) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the serialized screen, building and serializing it on a miss.
+     *
+     * @param key the screen
+     * @param builder builds the screen; an exception it throws reaches the caller and nothing is cached
+     * @return the screen bytes and their ETag
+     */
+    public SerializedScreen get(final ScreenKey key, final Supplier<?> builder) {
+        return cache.get(key, k -> serialize(builder.get()));
+    }
+
+    /**
+     * Serializes a screen that is not cached, such as a page of the proposal list, to give it an ETag.
+     */
+    public SerializedScreen serialize(final Object screen) {
+        try {
+            final byte[] body = objectMapper.writeValueAsBytes(screen);
+            return new SerializedScreen(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize mobile screen", e);
+        }
+    }
+
+    public void invalidateAll(final Collection<UUID> proposalIds) {
+        final Set<UUID> ids = new HashSet<>(proposalIds);
+        cache.asMap().keySet().removeIf(key -> ids.contains(key.proposalId()));
+    }
+
+    public enum ScreenType {
+        VOTING_OPTIONS,
+        VOTE_FORM,
+        NEW_PROPOSAL
+    }
+
+    /**
+     * Identifies a cached screen; {@code proposalId} and {@code voteChoice} are {@code null} for screens
+     * that do not depend on them.
+     */
+    public record ScreenKey(ScreenType type, UUID proposalId, Boolean voteChoice) {
+
+        public static final ScreenKey NEW_PROPOSAL = new ScreenKey(ScreenType.NEW_PROPOSAL, null, null);
+
+        public static ScreenKey votingOptions(final UUID proposalId) {
+            return new ScreenKey(ScreenType.VOTING_OPTIONS, proposalId, null);
+        }
+
+        public static ScreenKey voteForm(final UUID proposalId, final boolean voteChoice) {
+            return new ScreenKey(ScreenType.VOTE_FORM, proposalId, voteChoice);
+        }
+    }
+}
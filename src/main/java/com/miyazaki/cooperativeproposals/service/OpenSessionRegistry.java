@@ -0,0 +1,136 @@
+package com.miyazaki.cooperativeproposals.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.miyazaki.cooperativeproposals.domain.repository.VotingSessionRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.SessionDeadlineProjection;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.SessionResolutionProjection;
+import com.miyazaki.cooperativeproposals.exception.NotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory deadlines of the open sessions, checked against the monotonic clock.
+ * A session stops accepting votes the moment its {@code closes_at} passes, without a query and without waiting
+ * for the closure to be processed; the closure only brings the stored status in line afterwards.
+ * Proposals this node has not seen, such as sessions opened on another node, are resolved with a single query
+ * on the proposal and its open session, and then cached.
+ * A proposal found without an open session is remembered only briefly, so repeated votes on it do not query
+ * every time while a session opened on another node is still picked up within the TTL.
+ * The invalidation fanout drops the session on every node when it closes, and the missing mark when one opens.
+ */
+@Component
+@Slf4j
+public class OpenSessionRegistry {
+
+    private final VotingSessionRepository votingSessionRepository;
+    private final LongSupplier nanoClock;
+    private final Map<UUID, OpenSession> sessionsByProposal = new ConcurrentHashMap<>();
+    private final Cache<UUID, Boolean> proposalsWithoutSession;
+
+    @Autowired
+    public OpenSessionRegistry(final VotingSessionRepository votingSessionRepository,
+                               @Value("${app.open-session-registry.negative-ttl-ms:1000}") final long negativeTtlMs,
+                               @Value("${app.open-session-registry.negative-maximum-size:100000}")
+                               final long negativeMaximumSize) {
+        this(votingSessionRepository, negativeTtlMs, negativeMaximumSize, System::nanoTime);
+    }
+
+    OpenSessionRegistry(final VotingSessionRepository votingSessionRepository, final long negativeTtlMs,
+                        final long negativeMaximumSize, final LongSupplier nanoClock) {
+        this.votingSessionRepository = votingSessionRepository;
+        this.nanoClock = nanoClock;
+        this.proposalsWithoutSession = Caffeine.newBuilder()
+                .maximumSize(negativeMaximumSize)
+                .expireAfterWrite(Duration.ofMillis(negativeTtlMs))
+                .ticker(nanoClock::getAsLong)
+                .build();
+    }
+
+    /**
+     * Loads the deadline of every open session after a restart.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmOpenSessions() {
+        final List<SessionDeadlineProjection> deadlines = votingSessionRepository.findOpenedDeadlines();
+        deadlines.forEach(deadline -> open(deadline.getProposalId(), deadline.getId(), deadline.getClosesAt()));
+        log.info("Open session registry warmed with {} sessions", deadlines.size());
+    }
+
+    /**
+     * Tracks a session that has just been opened.
+     */
+    public void open(final UUID proposalId, final UUID sessionId, final LocalDateTime closesAt) {
+        sessionsByProposal.put(proposalId, openSession(sessionId, closesAt));
+        proposalsWithoutSession.invalidate(proposalId);
+    }
+
+    /**
+     * Returns the session of the proposal that is still accepting votes.
+     *
+     * @param proposalId the proposal being voted on
+     * @return the open session, or empty when the proposal has no session or its deadline has passed
+     * @throws NotFoundException when the proposal does not exist
+     */
+    public Optional<ActiveSession> activeSession(final UUID proposalId) {
+        OpenSession session = sessionsByProposal.get(proposalId);
+        if (session == null) {
+            if (proposalsWithoutSession.getIfPresent(proposalId) != null) {
+                return Optional.empty();
+            }
+            session = load(proposalId);
+        }
+        if (session == null || nanoClock.getAsLong() - session.deadlineNanos() >= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new ActiveSession(proposalId, session.sessionId(), session.closesAt()));
+    }
+
+    /**
+     * Stops tracking a session whose closure has been stored.
+     */
+    public void close(final UUID proposalId) {
+        sessionsByProposal.remove(proposalId);
+    }
+
+    /**
+     * Forgets that the proposal had no open session, so the next vote resolves it again.
+     * Called on every node when a session opens, since only the opening node tracks it directly.
+     */
+    public void forgetMissingSession(final UUID proposalId) {
+        proposalsWithoutSession.invalidate(proposalId);
+    }
+
+    private OpenSession load(final UUID proposalId) {
+        final SessionResolutionProjection resolution = votingSessionRepository.resolveOpenSession(proposalId)
+                .orElseThrow(() -> new NotFoundException("Proposal not found!"));
+        if (resolution.getSessionId() == null) {
+            proposalsWithoutSession.put(proposalId, Boolean.TRUE);
+            return null;
+        }
+        final OpenSession loaded = openSession(resolution.getSessionId(), resolution.getClosesAt());
+        sessionsByProposal.putIfAbsent(proposalId, loaded);
+        return loaded;
+    }
+
+    private OpenSession openSession(final UUID sessionId, final LocalDateTime closesAt) {
+        final long remainingNanos = Duration.between(LocalDateTime.now(), closesAt).toNanos();
+        return new OpenSession(sessionId, closesAt, nanoClock.getAsLong() + remainingNanos);
+    }
+
+    private record OpenSession(UUID sessionId, LocalDateTime closesAt, long deadlineNanos) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.miyazaki.cooperativeproposals.service;
+
+import com.miyazaki.cooperativeproposals.domain.enums.ProposalSortKey;
+import com.miyazaki.cooperativeproposals.exception.InvalidPaginationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last proposal returned by a keyset page.
+ * Clients get it as an opaque token and send it back to read the following page.
+ * The sort it was produced with travels inside the token, so a token cannot be replayed under another sort.
+ */
+public record ProposalCursor(ProposalSortKey sortKey, boolean ascending, String value, UUID id) {
+
+    // PostgreSQL text cannot contain NUL, so it never collides with a title.
+    private static final String SEPARATOR = "\u0000";
+    private static final String INVALID_CURSOR = "Invalid pagination cursor";
+
+    public String encode() {
+        final String raw = String.join(SEPARATOR,
+                sortKey.name(), ascending ? "A" : "D", value, id.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProposalCursor decode(final String token) {
+        try {
+            final String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            final String[] parts = raw.split(SEPARATOR, -1);
+            if (parts.length != 4 || !("A".equals(parts[1]) || "D".equals(parts[1]))) {
+                throw new InvalidPaginationException(INVALID_CURSOR);
+            }
+            return new ProposalCursor(ProposalSortKey.valueOf(parts[0]), "A".equals(parts[1]),
+                    parts[2], UUID.fromString(parts[3]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPaginationException(INVALID_CURSOR);
+        }
+    }
+}
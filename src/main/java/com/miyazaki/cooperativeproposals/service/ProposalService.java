@@ -8,18 +8,25 @@ import com.miyazaki.cooperativeproposals.controller.dto.response.ProposalStatusE
 import com.miyazaki.cooperativeproposals.controller.dto.response.ProposalSummary;
 import com.miyazaki.cooperativeproposals.controller.dto.response.SessionResponse;
 import com.miyazaki.cooperativeproposals.domain.entity.Proposal;
+import com.miyazaki.cooperativeproposals.domain.enums.ProposalSortKey;
+import com.miyazaki.cooperativeproposals.exception.InvalidPaginationException;
 import com.miyazaki.cooperativeproposals.exception.NotFoundException;
 import com.miyazaki.cooperativeproposals.exception.SessionOpenedException;
 import com.miyazaki.cooperativeproposals.domain.mapper.ProposalMapper;
 import com.miyazaki.cooperativeproposals.domain.mapper.VotingSessionMapper;
 import com.miyazaki.cooperativeproposals.domain.repository.ProposalRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.ProposalSummaryProjection;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
@@ -33,7 +40,10 @@ public class ProposalService {
     private final VotingSessionMapper votingSessionMapper;
     private final ProposalMapper proposalMapper;
     private final VoteService voteService;
+    private final LiveResultsService liveResultsService;
+    private final ProposalViewCache proposalViewCache;
     private static final Integer DEFAULT_DURATION = 60;
+    private static final int UNCOUNTED = -1;
 
 
     @Transactional
@@ -51,7 +61,7 @@ public class ProposalService {
         final var proposal = getProposal(proposalId);
         log.info("Proposal found: {}", proposal.getTitle());
         
-        if (votingSessionService.hasVotingSessionOpened(proposalId)) {
+        if (votingSessionService.hasVotingSession(proposalId)) {
             log.warn("Attempted to open session for proposal {} but session already exists", proposalId);
             throw new SessionOpenedException("Session voting to proposal already opened");
         }
@@ -77,12 +87,23 @@ public class ProposalService {
         return proposalOptional.get();
     }
 
+    /**
+     * Returns the proposal and the status of its session from the near cache, loading it on a miss.
+     *
+     * @param proposalId the proposal
+     * @return the cached view of the proposal
+     * @throws NotFoundException when the proposal does not exist
+     */
+    public ProposalView getProposalView(final UUID proposalId) throws NotFoundException {
+        return proposalViewCache.get(proposalId, id -> ProposalView.of(getProposal(id)));
+    }
+
     public PagedResponse<ProposalSummary> getAllProposals(final Pageable pageable) {
         log.info("Retrieving proposals with pagination - page: {}, size: {}",
                 pageable.getPageNumber(),
                 pageable.getPageSize());
         
-        final Page<Proposal> proposalPage = proposalRepository.findAll(pageable);
+        final Page<ProposalSummaryProjection> proposalPage = proposalRepository.findAllSummaries(pageable);
         
         final var proposalSummaries = proposalPage.getContent().stream()
                 .map(this::mapToProposalSummary)
@@ -99,44 +120,85 @@ public class ProposalService {
                 .build();
     }
 
-    private ProposalSummary mapToProposalSummary(final Proposal proposal) {
-        final ProposalStatusEnum status = determineProposalStatus(proposal);
-        
+    /**
+     * Reads a page of proposals in keyset mode: rows are sought by {@code (sortBy, id)} from the cursor
+     * position instead of skipped by offset, and the total is not counted.
+     *
+     * @param sortBy the property to sort by, {@code title} or {@code id}
+     * @param direction the sort direction
+     * @param size the number of proposals per page
+     * @param cursor the token returned with the previous page, or {@code null} for the first page
+     * @return the page, with {@code nextCursor} set when more proposals follow
+     */
+    public PagedResponse<ProposalSummary> getProposalsAfter(final String sortBy,
+                                                            final Sort.Direction direction,
+                                                            final int size,
+                                                            final String cursor) {
+        final ProposalSortKey sortKey = ProposalSortKey.fromProperty(sortBy)
+                .orElseThrow(() -> new InvalidPaginationException("Keyset pagination supports sortBy title or id"));
+        if (size < 1) {
+            throw new InvalidPaginationException("Page size must be greater than zero");
+        }
+        final boolean ascending = direction.isAscending();
+        final ProposalCursor after = cursor == null ? null : ProposalCursor.decode(cursor);
+        if (after != null && (after.sortKey() != sortKey || after.ascending() != ascending)) {
+            throw new InvalidPaginationException("Cursor does not match the requested sort");
+        }
+        log.info("Retrieving proposals with keyset pagination - sortBy: {}, size: {}, first page: {}",
+                sortBy, size, after == null);
+
+        final List<ProposalSummaryProjection> rows = proposalRepository.findSummariesAfter(sortKey, ascending,
+                after == null ? null : after.value(),
+                after == null ? null : after.id(),
+                size + 1);
+        final boolean hasNext = rows.size() > size;
+        final List<ProposalSummaryProjection> pageRows = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            final var last = pageRows.get(pageRows.size() - 1);
+            final String lastValue = sortKey == ProposalSortKey.ID ? last.getId().toString() : last.getTitle();
+            nextCursor = new ProposalCursor(sortKey, ascending, lastValue, last.getId()).encode();
+        }
+
+        return PagedResponse.<ProposalSummary>builder()
+                .content(pageRows.stream().map(this::mapToProposalSummary).toList())
+                .page(UNCOUNTED)
+                .size(size)
+                .totalElements(UNCOUNTED)
+                .totalPages(UNCOUNTED)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private ProposalSummary mapToProposalSummary(final ProposalSummaryProjection proposal) {
         return ProposalSummary.builder()
                 .id(proposal.getId())
                 .title(proposal.getTitle())
                 .description(proposal.getDescription())
-                .status(status)
+                .status(ProposalStatusEnum.valueOf(proposal.getStatus()))
                 .build();
     }
 
-    private ProposalStatusEnum determineProposalStatus(final Proposal proposal) {
-        if (proposal.getVotingSession() == null) {
-            return ProposalStatusEnum.WAITING;
-        }
-        
-        return switch (proposal.getVotingSession().getStatus()) {
-            case OPENED -> ProposalStatusEnum.OPENED;
-            case CLOSED -> ProposalStatusEnum.CLOSED;
-        };
-    }
-
     public ProposalDetailsResponse getProposalDetail(final UUID proposalId) {
-        final var proposal = getProposal(proposalId);
-        final var proposalStatus = determineProposalStatus(proposal);
+        final var proposal = getProposalView(proposalId);
 
-        final var details = proposalMapper.toProposalDetailsResponse(proposal, proposalStatus);
+        final var details = proposalMapper.toProposalDetailsResponse(proposal);
 
-        if (proposalStatus.equals(ProposalStatusEnum.CLOSED)) {
+        if (proposal.status().equals(ProposalStatusEnum.CLOSED)) {
             final var result = voteService.getVoteResult(proposalId);
             details.setResult(result);
         }
         return details;
     }
 
-    public Page<Proposal> getAllProposalsPage(final Pageable pageable) {
-        log.info("Retrieving proposals page: {}", pageable);
-        return proposalRepository.findAll(pageable);
+    public SseEmitter streamResults(final UUID proposalId) {
+        return liveResultsService.subscribe(proposalId, getProposalView(proposalId).status());
+    }
+
+    public Slice<Proposal> getProposalsSlice(final Pageable pageable) {
+        log.info("Retrieving proposals slice: {}", pageable);
+        return proposalRepository.findAllBy(pageable);
     }
     
 }
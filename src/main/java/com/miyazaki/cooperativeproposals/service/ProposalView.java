@@ -0,0 +1,38 @@
+package com.miyazaki.cooperativeproposals.service;
+
+import com.miyazaki.cooperativeproposals.controller.dto.response.ProposalStatusEnum;
+import com.miyazaki.cooperativeproposals.domain.entity.Proposal;
+
+import java.util.UUID;
+
+/**
+ * A detached snapshot of a proposal and the status of its session, as kept by {@link ProposalViewCache}.
+ */
+public record ProposalView(UUID id, String title, String description, ProposalStatusEnum status) {
+
+    public static ProposalView of(final Proposal proposal) {
+        return new ProposalView(proposal.getId(), proposal.getTitle(), proposal.getDescription(), statusOf(proposal));
+    }
+
+    /**
+     * Rebuilds a transient proposal, without its session, for code that renders a {@link Proposal}.
+     */
+    public Proposal toProposal() {
+        return Proposal.builder()
+                .id(id)
+                .title(title)
+                .description(description)
+                .build();
+    }
+
+    private static ProposalStatusEnum statusOf(final Proposal proposal) {
+        if (proposal.getVotingSession() == null) {
+            return ProposalStatusEnum.WAITING;
+        }
+
+        return switch (proposal.getVotingSession().getStatus()) {
+            case OPENED -> ProposalStatusEnum.OPENED;
+            case CLOSED -> ProposalStatusEnum.CLOSED;
+        };
+    }
+}
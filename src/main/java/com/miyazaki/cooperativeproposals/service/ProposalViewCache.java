@@ -0,0 +1,63 @@
+package com.miyazaki.cooperativeproposals.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded near cache of proposals and the status of their sessions.
+ * Entries are evicted on every node when a session opens or closes, through the invalidation fanout;
+ * the TTL bounds how long a node that missed an invalidation can serve a stale status.
+ * Missing proposals are not cached.
+ */
+@Component
+public class ProposalViewCache {
+
+    private static final String CACHE_NAME = "proposal.view";
+
+    private final Cache<UUID, ProposalView> cache;
+
+    public ProposalViewCache(final MeterRegistry meterRegistry,
+                             @Value("${app.proposal-cache.maximum-size:10000}") final long maximumSize,
+                             @Value("${app.proposal-cache.ttl-ms:300000}") final long ttlMs) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder(CACHE_NAME + ".hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of proposal lookups answered from the cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached proposal, loading it on a miss.
+     * Callers that ask for the same proposal while it loads wait for the same load.
+     *
+     * @param proposalId the proposal
+     * @param loader the database lookup; an exception it throws reaches the caller and nothing is cached
+     * @return the proposal and the status of its session
+     */
+    public ProposalView get(final UUID proposalId, final Function<UUID, ProposalView> loader) {
+        return cache.get(proposalId, loader);
+    }
+
+    public void invalidate(final UUID proposalId) {
+        cache.invalidate(proposalId);
+    }
+
+    public void invalidateAll(final Collection<UUID> proposalIds) {
+        cache.invalidateAll(proposalIds);
+    }
+}
@@ -0,0 +1,29 @@
+package com.miyazaki.cooperativeproposals.service;
+
+import java.util.Arrays;
+
+/**
+ * A mobile screen already serialized to JSON, with the strong ETag of its bytes.
+ */
+public record SerializedScreen(byte[] body, String etag) {
+
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+
+    /**
+     * Tells whether an {@code If-None-Match} header names this screen, using the weak comparison
+     * that RFC 9110 prescribes for that header.
+     *
+     * @param ifNoneMatch the header value, or {@code null} when absent
+     * @return whether the client already holds these bytes
+     */
+    public boolean matches(final String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag)
+                .anyMatch(tag -> ANY.equals(tag) || etag.equals(tag));
+    }
+}
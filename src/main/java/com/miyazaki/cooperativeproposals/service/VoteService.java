@@ -4,22 +4,22 @@ import com.miyazaki.cooperativeproposals.controller.dto.request.VoteRequest;
 import com.miyazaki.cooperativeproposals.controller.dto.response.ProposalResultResponse;
 import com.miyazaki.cooperativeproposals.controller.dto.response.VoteResponse;
 import com.miyazaki.cooperativeproposals.domain.entity.Proposal;
+import com.miyazaki.cooperativeproposals.domain.entity.UuidV7Generator;
 import com.miyazaki.cooperativeproposals.domain.entity.Vote;
 import com.miyazaki.cooperativeproposals.domain.entity.VotingSession;
 import com.miyazaki.cooperativeproposals.domain.mapper.VoteMapper;
 import com.miyazaki.cooperativeproposals.domain.repository.ProposalRepository;
-import com.miyazaki.cooperativeproposals.domain.repository.VoteRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.VoteTallyRepository;
 
 import com.miyazaki.cooperativeproposals.exception.AssociatePermissionVoteException;
 import com.miyazaki.cooperativeproposals.exception.DuplicateVoteException;
-import com.miyazaki.cooperativeproposals.exception.NotFoundException;
-import jakarta.transaction.Transactional;
+import com.miyazaki.cooperativeproposals.ingestion.VoteDedupIndex;
+import com.miyazaki.cooperativeproposals.ingestion.VoteIngestionQueue;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -27,57 +27,84 @@ import java.util.UUID;
 @Slf4j
 public class VoteService {
     
-    private final VoteRepository voteRepository;
+    private final VoteTallyRepository voteTallyRepository;
     private final ProposalRepository proposalRepository;
     private final VotingSessionService votingSessionService;
     private final VoteMapper voteMapper;
     private final AssociateValidationService associateValidationService;
+    private final VoteIngestionQueue voteIngestionQueue;
+    private final VoteDedupIndex voteDedupIndex;
+    private final LiveResultsService liveResultsService;
     
-    @Transactional
+    /**
+     * Casts a vote in three phases so that no pooled JDBC connection is held while waiting on HTTP:
+     * the associate is validated against the CPF service without touching the database, the proposal
+     * and its open session are resolved from memory or with a single read, and the vote is handed to the
+     * write-behind queue, whose batch writer commits it in its own short transaction.
+     * The response is marked pending when the write outlived the queue's ack timeout but may still commit.
+     */
     public VoteResponse castVote(final UUID proposalId, final VoteRequest voteRequest) {
         log.info("Processing vote for proposal: {}, associate: {}, vote: {}", 
                 proposalId, voteRequest.associateId(), voteRequest.vote());
 
+        validateAssociate(voteRequest);
+
+        final Vote vote = prepareVote(proposalId, voteRequest);
+
+        final boolean committed = recordVote(vote);
+        
+        log.info("Vote successfully cast - ID: {}, Proposal: {}, Associate: {}, Vote: {}, Pending: {}", 
+                vote.getId(), proposalId, voteRequest.associateId(), voteRequest.vote(), !committed);
+        
+        final VoteResponse response = voteMapper.toVoteResponse(vote);
+        response.setPending(!committed);
+        return response;
+    }
+
+    private void validateAssociate(final VoteRequest voteRequest) {
         if (!associateValidationService.isValidCpf(voteRequest.associateCpf())) {
             throw new AssociatePermissionVoteException("Associado sem permissão para voltar");
         }
+    }
 
-        final Proposal proposal = getProposal(proposalId);
-        
-        final VotingSession votingSession = getActiveVotingSession(proposalId);
-        
-        validateNoDuplicateVote(proposalId, voteRequest.associateId());
+    private Vote prepareVote(final UUID proposalId, final VoteRequest voteRequest) {
+        final ActiveSession session = votingSessionService.resolveActiveSession(proposalId);
         
-        Vote vote = createVote(proposal, votingSession, voteRequest);
-        vote = voteRepository.save(vote);
+        registerVoter(proposalId, voteRequest.associateId());
         
-        log.info("Vote successfully cast - ID: {}, Proposal: {}, Associate: {}, Vote: {}", 
-                vote.getId(), proposalId, voteRequest.associateId(), voteRequest.vote());
-        
-        return voteMapper.toVoteResponse(vote);
+        return createVote(proposalRepository.getReferenceById(proposalId),
+                votingSessionService.getReference(session.sessionId()), voteRequest);
     }
-    
-    private VotingSession getActiveVotingSession(final UUID proposalId) {
-        
-        if (!votingSessionService.hasVotingSessionOpened(proposalId)) {
-            log.warn("No active voting session found for proposal: {}", proposalId);
-            throw new NotFoundException("No active voting session found for this proposal");
-        }
-        
-        return votingSessionService.getSessionActiveByProposalId(proposalId);
+
+    private boolean recordVote(final Vote vote) {
+        final boolean committed = write(vote);
+        liveResultsService.record(vote.getProposal().getId(), vote.isVote());
+        return committed;
     }
     
-    private void validateNoDuplicateVote(final UUID proposalId, final UUID associateId) {
-        if (voteRepository.existsByProposalIdAndAssociateId(proposalId, associateId)) {
+    private void registerVoter(final UUID proposalId, final UUID associateId) {
+        if (!voteDedupIndex.tryRegister(proposalId, associateId)) {
             log.warn("Associate {} has already voted on proposal {}", associateId, proposalId);
             throw new DuplicateVoteException("Associate has already voted on this proposal");
         }
     }
+
+    private boolean write(final Vote vote) {
+        try {
+            return voteIngestionQueue.write(vote);
+        } catch (DuplicateVoteException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            voteDedupIndex.release(vote.getProposal().getId(), vote.getAssociateId());
+            throw e;
+        }
+    }
     
     private Vote createVote(final Proposal proposal,
                             final VotingSession votingSession,
                             final VoteRequest voteRequest) {
         return Vote.builder()
+                .id(UuidV7Generator.next())
                 .proposal(proposal)
                 .votingSession(votingSession)
                 .associateId(voteRequest.associateId())
@@ -87,7 +114,7 @@ public class VoteService {
     }
 
     public ProposalResultResponse getVoteResult(final UUID proposalId) {
-        final var result = voteRepository.countVoteResults(proposalId);
+        final var result = voteTallyRepository.sumByProposalId(proposalId);
 
         return ProposalResultResponse.builder()
                 .countYes(result.getCountYes())
@@ -95,13 +122,4 @@ public class VoteService {
                 .totalVotes(result.getCountYes() + result.getCountNo())
                 .build();
     }
-    
-    private Proposal getProposal(final UUID proposalId) throws NotFoundException {
-        final Optional<Proposal> proposalOptional = proposalRepository.findById(proposalId);
-        if (proposalOptional.isEmpty()) {
-            throw new NotFoundException("Proposal not found!");
-        }
-        return proposalOptional.get();
-    }
-
 }
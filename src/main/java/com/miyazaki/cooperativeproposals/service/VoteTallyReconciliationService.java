@@ -0,0 +1,63 @@
+package com.miyazaki.cooperativeproposals.service;
+
+import com.miyazaki.cooperativeproposals.domain.repository.VoteTallyRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.TallyDriftProjection;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Periodically re-derives the vote tallies from the vote table and reports any drift.
+ * Repairing drifted tallies is opt-in through {@code app.vote-tally.reconciliation.repair}.
+ */
+@Service
+@Slf4j
+public class VoteTallyReconciliationService {
+
+    private final VoteTallyRepository voteTallyRepository;
+    private final VoteTallyService voteTallyService;
+    private final boolean repair;
+    private final AtomicInteger driftedProposals = new AtomicInteger();
+    private final Counter repairedCounter;
+
+    public VoteTallyReconciliationService(final VoteTallyRepository voteTallyRepository,
+                                          final VoteTallyService voteTallyService,
+                                          final MeterRegistry meterRegistry,
+                                          @Value("${app.vote-tally.reconciliation.repair:false}") final boolean repair) {
+        this.voteTallyRepository = voteTallyRepository;
+        this.voteTallyService = voteTallyService;
+        this.repair = repair;
+        meterRegistry.gauge("vote.tally.drift.proposals", driftedProposals);
+        this.repairedCounter = Counter.builder("vote.tally.repaired")
+                .description("Proposal tallies rebuilt by the reconciliation job")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.vote-tally.reconciliation.interval-ms:600000}",
+               initialDelayString = "${app.vote-tally.reconciliation.initial-delay-ms:60000}")
+    public List<TallyDriftProjection> reconcile() {
+        final List<TallyDriftProjection> drift = voteTallyRepository.findDrift();
+        driftedProposals.set(drift.size());
+        if (drift.isEmpty()) {
+            log.debug("Vote tallies are consistent with the vote table");
+            return drift;
+        }
+
+        for (final TallyDriftProjection entry : drift) {
+            log.warn("Vote tally drift on proposal {}: tally yes={} no={}, actual yes={} no={}",
+                    entry.getProposalId(), entry.getTallyYes(), entry.getTallyNo(),
+                    entry.getActualYes(), entry.getActualNo());
+            if (repair) {
+                voteTallyService.rebuild(entry.getProposalId());
+                repairedCounter.increment();
+            }
+        }
+        return drift;
+    }
+}
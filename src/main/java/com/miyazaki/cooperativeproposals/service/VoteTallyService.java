@@ -0,0 +1,36 @@
+package com.miyazaki.cooperativeproposals.service;
+
+import com.miyazaki.cooperativeproposals.domain.repository.VoteRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.VoteTallyRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VoteTallyService {
+
+    private final VoteRepository voteRepository;
+    private final VoteTallyRepository voteTallyRepository;
+
+    /**
+     * Replaces the shards of a proposal with a single shard recounted from the vote table.
+     * The existing shards are locked first, so a batch writer that already inserted votes
+     * but has not yet updated the tally waits and applies its increment on top of the rebuilt value.
+     *
+     * @param proposalId the proposal whose tally should be rebuilt
+     */
+    @Transactional
+    public void rebuild(final UUID proposalId) {
+        voteTallyRepository.lockShards(proposalId);
+        final var actual = voteRepository.countVoteResults(proposalId);
+        voteTallyRepository.deleteByProposal(proposalId);
+        voteTallyRepository.increment(proposalId, (short) 0, actual.getCountYes(), actual.getCountNo());
+        log.info("Rebuilt vote tally for proposal {}: yes={} no={}",
+                proposalId, actual.getCountYes(), actual.getCountNo());
+    }
+}
@@ -4,15 +4,23 @@ import com.miyazaki.cooperativeproposals.domain.entity.Proposal;
 import com.miyazaki.cooperativeproposals.domain.entity.VotingSession;
 import com.miyazaki.cooperativeproposals.domain.enums.SessionStatus;
 import com.miyazaki.cooperativeproposals.exception.NotFoundException;
+import com.miyazaki.cooperativeproposals.ingestion.VoteDedupIndex;
+import com.miyazaki.cooperativeproposals.ingestion.VoteIngestionQueue;
 import com.miyazaki.cooperativeproposals.rabbitmq.message.SessionMessage;
-import com.miyazaki.cooperativeproposals.rabbitmq.producer.SessionProducer;
+import com.miyazaki.cooperativeproposals.rabbitmq.producer.ProposalInvalidationPublisher;
 import com.miyazaki.cooperativeproposals.domain.repository.VotingSessionRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.ClosedSession;
+import com.miyazaki.cooperativeproposals.scheduling.SessionClosureScheduler;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,16 +30,56 @@ import java.util.UUID;
 @Slf4j
 public class VotingSessionService {
     private final VotingSessionRepository votingSessionRepository;
-    private final SessionProducer sessionProducer;
+    private final SessionClosureScheduler sessionClosureScheduler;
+    private final VoteIngestionQueue voteIngestionQueue;
+    private final VoteDedupIndex voteDedupIndex;
+    private final LiveResultsService liveResultsService;
+    private final OpenSessionRegistry openSessionRegistry;
+    private final ProposalInvalidationPublisher proposalInvalidationPublisher;
 
     private static final String SESSION_NOT_FOUND = "Sessão de voto nao encontrada";
-    private static final Long MILISECONDS_SEC = 1000L;
 
-    public boolean hasVotingSessionOpened(final UUID proposalId) {
+    /**
+     * Tells whether a session was ever opened for the proposal, whatever its status.
+     */
+    public boolean hasVotingSession(final UUID proposalId) {
         final Optional<VotingSession> optSession = votingSessionRepository.findByProposalId(proposalId);
         return optSession.isPresent();
     }
 
+    /**
+     * Tells whether the proposal has a session that is still accepting votes, judged by its deadline
+     * rather than by its stored status, which only changes once the closure is processed.
+     */
+    public boolean hasVotingSessionOpened(final UUID proposalId) {
+        return openSessionRegistry.activeSession(proposalId).isPresent();
+    }
+
+    /**
+     * Resolves the proposal and its session that is still accepting votes, from memory or with a single query.
+     *
+     * @param proposalId the proposal being voted on
+     * @return the open session
+     * @throws NotFoundException when the proposal does not exist, has no open session or its deadline has passed
+     */
+    public ActiveSession resolveActiveSession(final UUID proposalId) {
+        return openSessionRegistry.activeSession(proposalId)
+                .orElseThrow(() -> new NotFoundException("No active voting session found for this proposal"));
+    }
+
+    /**
+     * Returns a reference to a session that is not loaded from the database, for associating votes with it.
+     */
+    public VotingSession getReference(final UUID sessionId) {
+        return votingSessionRepository.getReferenceById(sessionId);
+    }
+
+    /**
+     * Stores a new session for the proposal.
+     * The dedup index, the live results and the open session registry start tracking it once the caller's
+     * transaction commits, so this node never reports a session other transactions cannot see yet, nor keeps one
+     * whose transaction rolled back.
+     */
     public VotingSession create(final Proposal proposal, final Integer duration) {
         final LocalDateTime now = LocalDateTime.now();
 
@@ -41,25 +89,94 @@ public class VotingSessionService {
                 .status(SessionStatus.OPENED)
                 .build();
 
-        return votingSessionRepository.save(session);
+        final VotingSession saved = votingSessionRepository.save(session);
+        final UUID proposalId = proposal.getId();
+        final UUID sessionId = saved.getId();
+        final LocalDateTime closesAt = saved.getClosesAt();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    trackOpened(proposalId, sessionId, closesAt);
+                }
+            });
+        } else {
+            trackOpened(proposalId, sessionId, closesAt);
+        }
+        proposalInvalidationPublisher.publish(List.of(proposalId));
+        return saved;
+    }
+
+    private void trackOpened(final UUID proposalId, final UUID sessionId, final LocalDateTime closesAt) {
+        voteDedupIndex.open(proposalId);
+        liveResultsService.open(proposalId);
+        openSessionRegistry.open(proposalId, sessionId, closesAt);
     }
 
+    /**
+     * Schedules the closure of a session with the configured {@link SessionClosureScheduler}.
+     *
+     * @param sessionId the session to close
+     * @param duration seconds from now until the session closes
+     */
     public void schedulerSessionClosure(final UUID sessionId, final Long duration) {
-        sessionProducer.schedulerSessionClosure(sessionId, duration * MILISECONDS_SEC);
+        sessionClosureScheduler.schedule(sessionId, LocalDateTime.now().plusSeconds(duration));
     }
 
     @Transactional
     public VotingSession closeSession(final SessionMessage sessionMessage) {
         if (Objects.nonNull(sessionMessage)) {
+            voteIngestionQueue.flush();
             final var session = getSession(sessionMessage.votingSessionId());
             session.setStatus(SessionStatus.CLOSED);
-            return votingSessionRepository.save(session);
+            final VotingSession closed = votingSessionRepository.save(session);
+            openSessionRegistry.close(session.getProposal().getId());
+            proposalInvalidationPublisher.publishClosed(List.of(session.getProposal().getId()));
+            return closed;
         } else {
             log.error("Session is null");
             throw new NotFoundException(SESSION_NOT_FOUND);
         }
     }
 
+    /**
+     * Closes a batch of expired sessions in one transaction, flushing buffered votes once for the whole batch.
+     * Sessions that are missing or already closed are skipped.
+     *
+     * @param sessionIds the sessions to close
+     * @return the sessions that were closed
+     */
+    @Transactional
+    public List<VotingSession> closeSessions(final Collection<UUID> sessionIds) {
+        voteIngestionQueue.flush();
+        final List<VotingSession> opened = votingSessionRepository.findAllById(sessionIds).stream()
+                .filter(session -> session.getStatus() == SessionStatus.OPENED)
+                .toList();
+        opened.forEach(session -> session.setStatus(SessionStatus.CLOSED));
+        final List<VotingSession> closed = votingSessionRepository.saveAll(opened);
+        final List<UUID> proposalIds = closed.stream().map(session -> session.getProposal().getId()).toList();
+        proposalIds.forEach(openSessionRegistry::close);
+        proposalInvalidationPublisher.publishClosed(proposalIds);
+        return closed;
+    }
+
+    /**
+     * Closes up to {@code limit} sessions whose deadline has passed in a single statement,
+     * after flushing buffered votes so none of them is lost to the closure.
+     *
+     * @param limit the maximum number of sessions closed
+     * @return the sessions that were closed
+     */
+    @Transactional
+    public List<ClosedSession> closeExpiredSessions(final int limit) {
+        voteIngestionQueue.flush();
+        final List<ClosedSession> closed = votingSessionRepository.closeExpired(limit);
+        final List<UUID> proposalIds = closed.stream().map(ClosedSession::proposalId).toList();
+        proposalIds.forEach(openSessionRegistry::close);
+        proposalInvalidationPublisher.publishClosed(proposalIds);
+        return closed;
+    }
+
     public VotingSession getSession(final UUID votingSessionId) {
         final var sessionOpt = votingSessionRepository.findById(votingSessionId);
         if (sessionOpt.isEmpty()) {
@@ -0,0 +1,16 @@
+CREATE TABLE IF NOT EXISTS vote_tally(
+    proposal_id UUID NOT NULL REFERENCES proposal(id),
+    shard SMALLINT NOT NULL,
+    yes_count BIGINT NOT NULL DEFAULT 0,
+    no_count BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT pk_vote_tally PRIMARY KEY (proposal_id, shard)
+);
+
+INSERT INTO vote_tally (proposal_id, shard, yes_count, no_count)
+SELECT proposal_id,
+       0,
+       COUNT(*) FILTER (WHERE vote = true),
+       COUNT(*) FILTER (WHERE vote = false)
+FROM vote
+GROUP BY proposal_id
+ON CONFLICT (proposal_id, shard) DO NOTHING;
@@ -0,0 +1,2 @@
+-- Keyset pagination orders by (sort column, id); id alone is covered by the primary key.
+CREATE INDEX IF NOT EXISTS proposal_title_id_idx ON proposal(title, id);
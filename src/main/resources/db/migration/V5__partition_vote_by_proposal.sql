@@ -0,0 +1,41 @@
+-- Rebuilds vote as a table hash-partitioned on proposal_id, so every per-proposal query touches one partition.
+-- Unique constraints on a partitioned table must contain the partition key: the primary key becomes
+-- (id, proposal_id) and uk_vote_proposal_associate is enforced inside each partition.
+LOCK TABLE vote IN ACCESS EXCLUSIVE MODE;
+
+ALTER TABLE vote RENAME TO vote_unpartitioned;
+ALTER TABLE vote_unpartitioned RENAME CONSTRAINT vote_pkey TO vote_unpartitioned_pkey;
+ALTER TABLE vote_unpartitioned RENAME CONSTRAINT uk_vote_proposal_associate TO uk_vote_unpartitioned_proposal_associate;
+DROP INDEX IF EXISTS vote_proposal_idx;
+DROP INDEX IF EXISTS vote_proposal_vote_idx;
+
+CREATE TABLE vote(
+  id UUID NOT NULL,
+  proposal_id UUID NOT NULL REFERENCES proposal(id),
+  associate_id UUID NOT NULL,
+  voting_session_id UUID NOT NULL REFERENCES voting_session(id),
+  vote BOOLEAN NOT NULL,
+  voted_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+  CONSTRAINT vote_pkey PRIMARY KEY (id, proposal_id),
+  CONSTRAINT uk_vote_proposal_associate UNIQUE (proposal_id, associate_id)
+) PARTITION BY HASH (proposal_id);
+
+DO $$
+BEGIN
+  FOR i IN 0..15 LOOP
+    EXECUTE format('CREATE TABLE vote_p%s PARTITION OF vote FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+                   lpad(i::text, 2, '0'), i);
+  END LOOP;
+END $$;
+
+-- The unique constraint already leads with proposal_id, so only the counting index is recreated.
+CREATE INDEX IF NOT EXISTS vote_proposal_vote_idx ON vote(proposal_id, vote);
+
+-- Existing rows are routed to their partitions while the old table is locked, then the old table is dropped.
+INSERT INTO vote (id, proposal_id, associate_id, voting_session_id, vote, voted_at)
+SELECT id, proposal_id, associate_id, voting_session_id, vote, voted_at
+FROM vote_unpartitioned;
+
+DROP TABLE vote_unpartitioned;
+
+ANALYZE vote;
@@ -0,0 +1,31 @@
+-- Votes of closed sessions are moved out of the hot vote table into append-only blocks.
+-- Each block holds up to app.vote-archive.block-size votes, encoded column by column and gzip-compressed
+-- by the application, so the payload is stored as is instead of being compressed again by TOAST.
+CREATE SCHEMA IF NOT EXISTS archive;
+
+CREATE TABLE IF NOT EXISTS archive.vote_block(
+    proposal_id UUID NOT NULL REFERENCES proposal(id),
+    block_no INTEGER NOT NULL,
+    row_count INTEGER NOT NULL,
+    payload BYTEA NOT NULL,
+    archived_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    CONSTRAINT pk_vote_block PRIMARY KEY (proposal_id, block_no)
+);
+
+ALTER TABLE archive.vote_block ALTER COLUMN payload SET STORAGE EXTERNAL;
+
+CREATE OR REPLACE FUNCTION archive.reject_vote_block_change() RETURNS trigger AS $$
+BEGIN
+  RAISE EXCEPTION 'archive.vote_block is append-only';
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER vote_block_append_only
+  BEFORE UPDATE OR DELETE ON archive.vote_block
+  FOR EACH ROW EXECUTE FUNCTION archive.reject_vote_block_change();
+
+ALTER TABLE voting_session ADD COLUMN IF NOT EXISTS archived_at TIMESTAMPTZ;
+
+-- The archival job looks for closed sessions that still have their votes in the hot table.
+CREATE INDEX IF NOT EXISTS voting_session_archivable_idx ON voting_session(closes_at)
+  WHERE status = 'CLOSED' AND archived_at IS NULL;
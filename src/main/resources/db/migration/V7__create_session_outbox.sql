@@ -0,0 +1,11 @@
+-- Session closures are written here in the same transaction that opens the session,
+-- and a relay publishes them to RabbitMQ afterwards, deleting each row once the broker confirms it.
+-- The foreign key is checked at commit, since Hibernate may order the outbox insert before the session insert.
+CREATE TABLE IF NOT EXISTS session_outbox(
+    id UUID PRIMARY KEY,
+    voting_session_id UUID NOT NULL REFERENCES voting_session(id) DEFERRABLE INITIALLY DEFERRED,
+    close_at TIMESTAMPTZ NOT NULL,
+    trace_id VARCHAR(64),
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    attempts INTEGER NOT NULL DEFAULT 0
+);
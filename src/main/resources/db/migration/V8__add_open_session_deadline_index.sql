@@ -0,0 +1,5 @@
+-- Deadlines of the sessions that are still open, read on startup by the in-process closure scheduler
+-- to put pending closures back on its timing wheel. Only OPENED rows are indexed, so it stays small.
+CREATE INDEX IF NOT EXISTS voting_session_open_closes_at_idx
+    ON voting_session(closes_at)
+    WHERE status = 'OPENED';
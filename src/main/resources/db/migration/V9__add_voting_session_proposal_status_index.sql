@@ -0,0 +1,3 @@
+-- Resolves the session of a proposal by status with an index lookup instead of a scan of voting_session.
+CREATE INDEX IF NOT EXISTS voting_session_proposal_status_idx
+    ON voting_session(proposal_id, status);
@@ -0,0 +1,25 @@
+package com.miyazaki.cooperativeproposals;
+
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Base class for tests that run against a real PostgreSQL.
+ * The container is started once per JVM and shared by every subclass, so Spring can reuse cached contexts
+ * across test classes without pointing them at a stopped container; tests must scope their data by id.
+ * The WAL and buffer sizes are raised for the partition load test and are harmless for the smaller suites.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresContainerTest {
+
+    public static final String POSTGRES_IMAGE = "postgres:16-alpine";
+
+    @ServiceConnection
+    protected static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>(POSTGRES_IMAGE)
+            .withCommand("postgres", "-c", "max_wal_size=4GB", "-c", "shared_buffers=512MB");
+
+    static {
+        POSTGRES.start();
+    }
+}
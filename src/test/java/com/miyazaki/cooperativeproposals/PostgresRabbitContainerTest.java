@@ -0,0 +1,23 @@
+package com.miyazaki.cooperativeproposals;
+
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.RabbitMQContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Base class for tests that boot the whole application, adding a RabbitMQ broker with the delayed message
+ * exchange plugin to the shared {@link PostgresContainerTest} database.
+ */
+public abstract class PostgresRabbitContainerTest extends PostgresContainerTest {
+
+    public static final DockerImageName RABBIT_IMAGE =
+            DockerImageName.parse("heidiks/rabbitmq-delayed-message-exchange:3.13.3-management")
+                    .asCompatibleSubstituteFor("rabbitmq");
+
+    @ServiceConnection
+    protected static final RabbitMQContainer RABBIT = new RabbitMQContainer(RABBIT_IMAGE);
+
+    static {
+        RABBIT.start();
+    }
+}
@@ -0,0 +1,102 @@
+package com.miyazaki.cooperativeproposals.archive;
+
+import com.miyazaki.cooperativeproposals.domain.entity.VotingSession;
+import com.miyazaki.cooperativeproposals.domain.enums.SessionStatus;
+import com.miyazaki.cooperativeproposals.domain.repository.VotingSessionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VoteArchivalJobTest {
+
+    @Mock
+    private VotingSessionRepository votingSessionRepository;
+
+    @Mock
+    private VoteArchiveWriter voteArchiveWriter;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void archiveClosedSessions_ShouldArchiveEachSessionAndCountVotes() {
+        final var job = new VoteArchivalJob(votingSessionRepository, voteArchiveWriter, meterRegistry, true, 1000, 5);
+        final VotingSession first = session();
+        final VotingSession second = session();
+        when(votingSessionRepository.findArchivable(eq(SessionStatus.CLOSED), any(), eq(PageRequest.of(0, 5))))
+                .thenReturn(List.of(first, second));
+        when(voteArchiveWriter.archive(first)).thenReturn(OptionalInt.of(10));
+        when(voteArchiveWriter.archive(second)).thenReturn(OptionalInt.of(5));
+
+        assertEquals(2, job.archiveClosedSessions());
+
+        assertEquals(2.0, meterRegistry.get("vote.archive.sessions").counter().count());
+        assertEquals(15.0, meterRegistry.get("vote.archive.votes").counter().count());
+    }
+
+    @Test
+    void archiveClosedSessions_ShouldContinue_WhenOneSessionFails() {
+        final var job = new VoteArchivalJob(votingSessionRepository, voteArchiveWriter, meterRegistry, true, 1000, 5);
+        final VotingSession failing = session();
+        final VotingSession ok = session();
+        when(votingSessionRepository.findArchivable(eq(SessionStatus.CLOSED), any(), any()))
+                .thenReturn(List.of(failing, ok));
+        when(voteArchiveWriter.archive(failing)).thenThrow(new IllegalStateException("count mismatch"));
+        when(voteArchiveWriter.archive(ok)).thenReturn(OptionalInt.of(3));
+
+        assertEquals(1, job.archiveClosedSessions());
+
+        assertEquals(1.0, meterRegistry.get("vote.archive.sessions").counter().count());
+    }
+
+    @Test
+    void archiveClosedSessions_ShouldNotCountSession_WhenAnotherNodeArchivesIt() {
+        final var job = new VoteArchivalJob(votingSessionRepository, voteArchiveWriter, meterRegistry, true, 1000, 5);
+        final VotingSession claimedElsewhere = session();
+        final VotingSession ok = session();
+        when(votingSessionRepository.findArchivable(eq(SessionStatus.CLOSED), any(), any()))
+                .thenReturn(List.of(claimedElsewhere, ok));
+        when(voteArchiveWriter.archive(claimedElsewhere)).thenReturn(OptionalInt.empty());
+        when(voteArchiveWriter.archive(ok)).thenReturn(OptionalInt.of(4));
+
+        assertEquals(1, job.archiveClosedSessions());
+
+        assertEquals(1.0, meterRegistry.get("vote.archive.sessions").counter().count());
+        assertEquals(4.0, meterRegistry.get("vote.archive.votes").counter().count());
+    }
+
+    @Test
+    void archiveClosedSessions_ShouldDoNothing_WhenDisabled() {
+        final var job = new VoteArchivalJob(votingSessionRepository, voteArchiveWriter, meterRegistry, false, 1000, 5);
+
+        assertEquals(0, job.archiveClosedSessions());
+
+        verifyNoInteractions(votingSessionRepository);
+        verify(voteArchiveWriter, never()).archive(any());
+    }
+
+    private static VotingSession session() {
+        return VotingSession.builder().id(UUID.randomUUID()).status(SessionStatus.CLOSED).build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.miyazaki.cooperativeproposals.archive;
+
+import com.miyazaki.cooperativeproposals.domain.entity.UuidV7Generator;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.ArchivedVote;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VoteArchiveCodecTest {
+
+    @Test
+    void decode_ShouldReturnEncodedVotesInOrder() {
+        final Instant start = Instant.parse("2025-09-01T12:00:00.123Z");
+        final List<ArchivedVote> votes = List.of(
+                new ArchivedVote(UUID.randomUUID(), UUID.randomUUID(), true, start),
+                new ArchivedVote(UUID.randomUUID(), UUID.randomUUID(), false, start.plusMillis(15)),
+                new ArchivedVote(UUID.randomUUID(), UUID.randomUUID(), true, start.minusMillis(3)));
+
+        assertEquals(votes, VoteArchiveCodec.decode(VoteArchiveCodec.encode(votes)));
+    }
+
+    @Test
+    void decode_ShouldHandEachVoteToConsumerInOrder_AndReturnCount() {
+        final Instant start = Instant.parse("2025-09-01T12:00:00Z");
+        final List<ArchivedVote> votes = List.of(
+                new ArchivedVote(UUID.randomUUID(), UUID.randomUUID(), false, start),
+                new ArchivedVote(UUID.randomUUID(), UUID.randomUUID(), true, start.plusSeconds(1)));
+        final List<ArchivedVote> received = new ArrayList<>();
+
+        assertEquals(2, VoteArchiveCodec.decode(VoteArchiveCodec.encode(votes), received::add));
+        assertEquals(votes, received);
+    }
+
+    @Test
+    void decode_ShouldReturnEmptyList_WhenBlockIsEmpty() {
+        assertTrue(VoteArchiveCodec.decode(VoteArchiveCodec.encode(List.of())).isEmpty());
+    }
+
+    @Test
+    void encode_ShouldCompressBelowRawRowSize_WhenVotesAreTimeOrdered() {
+        final List<ArchivedVote> votes = new ArrayList<>();
+        final Instant start = Instant.now();
+        for (int i = 0; i < 10_000; i++) {
+            votes.add(new ArchivedVote(UuidV7Generator.next(), UUID.randomUUID(), i % 3 == 0, start.plusMillis(i)));
+        }
+        final int rawRowBytes = 16 + 16 + 1 + 8;
+
+        final byte[] payload = VoteArchiveCodec.encode(votes);
+
+        assertTrue(payload.length < votes.size() * rawRowBytes, "payload has " + payload.length + " bytes");
+        assertEquals(votes, VoteArchiveCodec.decode(payload));
+    }
+
+    @Test
+    void decode_ShouldFail_WhenFormatVersionIsUnknown() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeInt(VoteArchiveCodec.FORMAT_VERSION + 1);
+            out.writeInt(0);
+        }
+
+        assertThrows(IllegalStateException.class, () -> VoteArchiveCodec.decode(bytes.toByteArray()));
+    }
+}
@@ -0,0 +1,129 @@
+package com.miyazaki.cooperativeproposals.archive;
+
+import com.miyazaki.cooperativeproposals.domain.entity.VotingSession;
+import com.miyazaki.cooperativeproposals.domain.repository.VoteArchiveBlockRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.VotingSessionRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.ArchivedVote;
+import com.miyazaki.cooperativeproposals.exception.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VoteArchiveExporterTest {
+
+    @Mock
+    private VoteArchiveBlockRepository voteArchiveBlockRepository;
+
+    @Mock
+    private VotingSessionRepository votingSessionRepository;
+
+    @InjectMocks
+    private VoteArchiveExporter exporter;
+
+    private UUID proposalId;
+
+    @BeforeEach
+    void setUp() {
+        proposalId = UUID.randomUUID();
+    }
+
+    @Test
+    void blocksOf_ShouldReturnBlockNumbers_WhenProposalIsArchived() {
+        when(voteArchiveBlockRepository.findBlockNumbers(proposalId)).thenReturn(List.of(0, 1));
+
+        assertEquals(List.of(0, 1), exporter.blocksOf(proposalId));
+    }
+
+    @Test
+    void blocksOf_ShouldReturnEmpty_WhenArchivedSessionHadNoVotes() {
+        when(voteArchiveBlockRepository.findBlockNumbers(proposalId)).thenReturn(List.of());
+        when(votingSessionRepository.findByProposalId(proposalId)).thenReturn(Optional.of(
+                VotingSession.builder().archivedAt(LocalDateTime.now()).build()));
+
+        assertTrue(exporter.blocksOf(proposalId).isEmpty());
+    }
+
+    @Test
+    void blocksOf_ShouldThrowNotFound_WhenVotesAreNotArchived() {
+        when(voteArchiveBlockRepository.findBlockNumbers(proposalId)).thenReturn(List.of());
+        when(votingSessionRepository.findByProposalId(proposalId)).thenReturn(Optional.of(new VotingSession()));
+
+        assertThrows(NotFoundException.class, () -> exporter.blocksOf(proposalId));
+    }
+
+    @Test
+    void blocksOf_ShouldThrowNotFound_WhenProposalHasNoSession() {
+        when(voteArchiveBlockRepository.findBlockNumbers(proposalId)).thenReturn(List.of());
+        when(votingSessionRepository.findByProposalId(proposalId)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> exporter.blocksOf(proposalId));
+    }
+
+    @Test
+    void writeCsv_ShouldWriteHeaderAndOneLinePerVote() throws IOException {
+        final ArchivedVote vote = new ArchivedVote(UUID.randomUUID(), UUID.randomUUID(), false,
+                Instant.parse("2025-09-01T12:00:00Z"));
+        when(voteArchiveBlockRepository.findPayload(proposalId, 0))
+                .thenReturn(Optional.of(VoteArchiveCodec.encode(List.of(vote))));
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        exporter.writeCsv(proposalId, List.of(0), output);
+
+        assertEquals(VoteArchiveExporter.CSV_HEADER + "\n"
+                        + vote.id() + "," + vote.associateId() + ",false,2025-09-01T12:00:00Z\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void forEachArchived_ShouldHandEveryVoteOfEveryBlockToTheConsumer() {
+        final ArchivedVote first = new ArchivedVote(UUID.randomUUID(), UUID.randomUUID(), true,
+                Instant.parse("2025-09-01T12:00:00Z"));
+        final ArchivedVote second = new ArchivedVote(UUID.randomUUID(), UUID.randomUUID(), false,
+                Instant.parse("2025-09-01T12:00:01Z"));
+        when(voteArchiveBlockRepository.findBlockNumbers(proposalId)).thenReturn(List.of(0, 1));
+        when(voteArchiveBlockRepository.findPayload(proposalId, 0))
+                .thenReturn(Optional.of(VoteArchiveCodec.encode(List.of(first))));
+        when(voteArchiveBlockRepository.findPayload(proposalId, 1))
+                .thenReturn(Optional.of(VoteArchiveCodec.encode(List.of(second))));
+        final List<ArchivedVote> received = new ArrayList<>();
+
+        assertEquals(2, exporter.forEachArchived(proposalId, received::add));
+        assertEquals(List.of(first, second), received);
+    }
+
+    @Test
+    void forEachArchived_ShouldThrow_WhenBlockDisappearsDuringExport() {
+        when(voteArchiveBlockRepository.findBlockNumbers(proposalId)).thenReturn(List.of(0));
+        when(voteArchiveBlockRepository.findPayload(proposalId, 0)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalStateException.class, () -> exporter.forEachArchived(proposalId, vote -> { }));
+    }
+
+    @Test
+    void forEachArchived_ShouldYieldNothing_WhenProposalIsNotArchived() {
+        when(voteArchiveBlockRepository.findBlockNumbers(proposalId)).thenReturn(List.of());
+
+        assertEquals(0, exporter.forEachArchived(proposalId, vote -> {
+            throw new AssertionError("no vote expected");
+        }));
+    }
+}
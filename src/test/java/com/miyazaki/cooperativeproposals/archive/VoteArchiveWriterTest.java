@@ -0,0 +1,149 @@
+package com.miyazaki.cooperativeproposals.archive;
+
+import com.miyazaki.cooperativeproposals.domain.entity.Proposal;
+import com.miyazaki.cooperativeproposals.domain.entity.VoteArchiveBlock;
+import com.miyazaki.cooperativeproposals.domain.entity.VotingSession;
+import com.miyazaki.cooperativeproposals.domain.enums.SessionStatus;
+import com.miyazaki.cooperativeproposals.domain.repository.VoteArchiveBlockRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.VoteRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.VotingSessionRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.ArchivedVote;
+import com.miyazaki.cooperativeproposals.service.VoteTallyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VoteArchiveWriterTest {
+
+    private static final int BLOCK_SIZE = 2;
+
+    @Mock
+    private VoteRepository voteRepository;
+
+    @Mock
+    private VoteArchiveBlockRepository voteArchiveBlockRepository;
+
+    @Mock
+    private VotingSessionRepository votingSessionRepository;
+
+    @Mock
+    private VoteTallyService voteTallyService;
+
+    private VoteArchiveWriter writer;
+    private UUID proposalId;
+    private VotingSession session;
+
+    @BeforeEach
+    void setUp() {
+        writer = new VoteArchiveWriter(voteRepository, voteArchiveBlockRepository, votingSessionRepository,
+                voteTallyService, BLOCK_SIZE);
+        proposalId = UUID.randomUUID();
+        session = VotingSession.builder()
+                .id(UUID.randomUUID())
+                .proposal(Proposal.builder().id(proposalId).build())
+                .status(SessionStatus.CLOSED)
+                .build();
+    }
+
+    @Test
+    void archive_ShouldFreezeTallyWriteBlocksAndDeleteVotes() {
+        final List<ArchivedVote> votes = List.of(vote(), vote(), vote());
+        when(votingSessionRepository.claimForArchive(session.getId())).thenReturn(true);
+        streamVotes(votes);
+        when(voteRepository.deleteByProposal(proposalId)).thenReturn(3);
+
+        assertEquals(OptionalInt.of(3), writer.archive(session));
+
+        final InOrder order = inOrder(voteTallyService, voteRepository, voteArchiveBlockRepository,
+                votingSessionRepository);
+        order.verify(votingSessionRepository).claimForArchive(session.getId());
+        order.verify(voteTallyService).rebuild(proposalId);
+        order.verify(voteRepository).forEachByProposal(eq(proposalId), eq(BLOCK_SIZE), any());
+        order.verify(voteArchiveBlockRepository, times(2)).insert(any(VoteArchiveBlock.class));
+        order.verify(voteRepository).deleteByProposal(proposalId);
+        order.verify(votingSessionRepository).save(session);
+
+        final ArgumentCaptor<VoteArchiveBlock> blocks = ArgumentCaptor.forClass(VoteArchiveBlock.class);
+        verify(voteArchiveBlockRepository, times(2)).insert(blocks.capture());
+        assertEquals(0, blocks.getAllValues().get(0).getBlockNo());
+        assertEquals(2, blocks.getAllValues().get(0).getRowCount());
+        assertEquals(1, blocks.getAllValues().get(1).getBlockNo());
+        assertEquals(1, blocks.getAllValues().get(1).getRowCount());
+        assertEquals(votes.subList(2, 3), VoteArchiveCodec.decode(blocks.getAllValues().get(1).getPayload()));
+        assertNotNull(session.getArchivedAt());
+    }
+
+    @Test
+    void archive_ShouldMarkSessionWithoutBlocks_WhenSessionHasNoVotes() {
+        when(votingSessionRepository.claimForArchive(session.getId())).thenReturn(true);
+        streamVotes(List.of());
+        when(voteRepository.deleteByProposal(proposalId)).thenReturn(0);
+
+        assertEquals(OptionalInt.of(0), writer.archive(session));
+
+        verify(voteArchiveBlockRepository, never()).insert(any());
+        verify(votingSessionRepository).save(session);
+    }
+
+    @Test
+    void archive_ShouldFail_WhenDeletedCountDiffersFromArchived() {
+        when(votingSessionRepository.claimForArchive(session.getId())).thenReturn(true);
+        streamVotes(List.of(vote()));
+        when(voteRepository.deleteByProposal(proposalId)).thenReturn(2);
+
+        assertThrows(IllegalStateException.class, () -> writer.archive(session));
+
+        verify(votingSessionRepository, never()).save(any());
+        assertNull(session.getArchivedAt());
+    }
+
+    @Test
+    void archive_ShouldSkipSession_WhenAnotherNodeHoldsIt() {
+        when(votingSessionRepository.claimForArchive(session.getId())).thenReturn(false);
+
+        assertTrue(writer.archive(session).isEmpty());
+
+        verifyNoInteractions(voteTallyService, voteRepository, voteArchiveBlockRepository);
+        verify(votingSessionRepository, never()).save(any());
+        assertNull(session.getArchivedAt());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streamVotes(final List<ArchivedVote> votes) {
+        when(voteRepository.forEachByProposal(eq(proposalId), anyInt(), any())).thenAnswer(invocation -> {
+            final Consumer<ArchivedVote> consumer = invocation.getArgument(2);
+            votes.forEach(consumer);
+            return votes.size();
+        });
+    }
+
+    private static ArchivedVote vote() {
+        return new ArchivedVote(UUID.randomUUID(), UUID.randomUUID(), true, Instant.now());
+    }
+}
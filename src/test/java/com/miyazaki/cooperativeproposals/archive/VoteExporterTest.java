@@ -0,0 +1,126 @@
+package com.miyazaki.cooperativeproposals.archive;
+
+import com.miyazaki.cooperativeproposals.domain.repository.VoteRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.ArchivedVote;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VoteExporterTest {
+
+    private static final int FETCH_SIZE = 500;
+
+    @Mock
+    private VoteRepository voteRepository;
+
+    @Mock
+    private VoteArchiveExporter voteArchiveExporter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private VoteExporter exporter;
+
+    private UUID proposalId;
+    private ArchivedVote liveVote;
+    private ArchivedVote archivedVote;
+
+    @BeforeEach
+    void setUp() {
+        exporter = new VoteExporter(voteRepository, voteArchiveExporter, transactionManager, FETCH_SIZE);
+        proposalId = UUID.randomUUID();
+        liveVote = new ArchivedVote(UUID.randomUUID(), UUID.randomUUID(), true, Instant.parse("2025-09-01T12:00:00Z"));
+        archivedVote = new ArchivedVote(UUID.randomUUID(), UUID.randomUUID(), false,
+                Instant.parse("2025-09-01T11:00:00Z"));
+    }
+
+    @Test
+    void export_ShouldWriteLiveAndArchivedVotes_InOneReadOnlySnapshot() throws IOException {
+        givenVotes();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        assertEquals(2, exporter.export(proposalId, VoteExportFormat.NDJSON, output));
+
+        assertEquals(ndjson(liveVote) + ndjson(archivedVote), output.toString(StandardCharsets.UTF_8));
+        verify(voteRepository, times(1)).forEachByProposal(eq(proposalId), eq(FETCH_SIZE), any());
+        verify(transactionManager, times(1)).getTransaction(argThat(definition -> definition.isReadOnly()
+                && definition.getIsolationLevel() == TransactionDefinition.ISOLATION_REPEATABLE_READ));
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void export_ShouldWriteHeaderFirst_WhenFormatIsCsv() throws IOException {
+        givenVotes();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        exporter.export(proposalId, VoteExportFormat.CSV, output);
+
+        assertEquals(VoteExportFormat.CSV_HEADER + "\n"
+                        + liveVote.id() + "," + liveVote.associateId() + ",true,2025-09-01T12:00:00Z\n"
+                        + archivedVote.id() + "," + archivedVote.associateId() + ",false,2025-09-01T11:00:00Z\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void export_ShouldPropagateIOException_WhenClientGoesAway() {
+        when(voteRepository.forEachByProposal(eq(proposalId), eq(FETCH_SIZE), any())).thenAnswer(invocation -> {
+            final Consumer<ArchivedVote> consumer = invocation.getArgument(2);
+            for (int i = 0; i < 10_000; i++) {
+                consumer.accept(liveVote);
+            }
+            return 10_000;
+        });
+        final OutputStream closed = new OutputStream() {
+            @Override
+            public void write(final int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        final IOException exception = assertThrows(IOException.class,
+                () -> exporter.export(proposalId, VoteExportFormat.NDJSON, closed));
+
+        assertEquals("Broken pipe", exception.getMessage());
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    private void givenVotes() {
+        when(voteRepository.forEachByProposal(eq(proposalId), eq(FETCH_SIZE), any())).thenAnswer(invocation -> {
+            final Consumer<ArchivedVote> consumer = invocation.getArgument(2);
+            consumer.accept(liveVote);
+            return 1;
+        });
+        when(voteArchiveExporter.forEachArchived(eq(proposalId), any())).thenAnswer(invocation -> {
+            final Consumer<ArchivedVote> consumer = invocation.getArgument(1);
+            consumer.accept(archivedVote);
+            return 1;
+        });
+    }
+
+    private static String ndjson(final ArchivedVote vote) {
+        return "{\"id\":\"" + vote.id() + "\",\"associateId\":\"" + vote.associateId()
+                + "\",\"vote\":" + vote.vote() + ",\"votedAt\":\"" + vote.votedAt() + "\"}\n";
+    }
+}
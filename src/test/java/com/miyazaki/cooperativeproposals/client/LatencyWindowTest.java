@@ -0,0 +1,37 @@
+package com.miyazaki.cooperativeproposals.client;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LatencyWindowTest {
+
+    @Test
+    void percentile_ShouldReturnMinusOne_WhenNoSampleRecorded() {
+        assertEquals(-1L, new LatencyWindow(10).percentile(0.95));
+    }
+
+    @Test
+    void percentile_ShouldReturnNearestRank_WhenSamplesRecorded() {
+        final LatencyWindow window = new LatencyWindow(100);
+        for (long i = 1; i <= 100; i++) {
+            window.record(i);
+        }
+
+        assertEquals(95L, window.percentile(0.95));
+        assertEquals(50L, window.percentile(0.5));
+        assertEquals(100, window.size());
+    }
+
+    @Test
+    void record_ShouldOverwriteOldestSample_WhenWindowIsFull() {
+        final LatencyWindow window = new LatencyWindow(3);
+        window.record(1000);
+        window.record(1);
+        window.record(2);
+        window.record(3);
+
+        assertEquals(3L, window.percentile(1.0));
+        assertEquals(3, window.size());
+    }
+}
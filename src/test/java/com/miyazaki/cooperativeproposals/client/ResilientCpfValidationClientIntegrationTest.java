@@ -0,0 +1,94 @@
+package com.miyazaki.cooperativeproposals.client;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import com.miyazaki.cooperativeproposals.client.dto.CpfValidationResponse;
+import com.miyazaki.cooperativeproposals.exception.CpfValidationUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@AutoConfigureWireMock(port = 0)
+@TestPropertySource(properties = {
+    "feign.cpf-validation.url=http://localhost:${wiremock.server.port}",
+    "app.cpf-validation.attempt-timeout-ms=500",
+    "app.cpf-validation.hedge.max-attempts=2",
+    "app.cpf-validation.hedge.initial-delay-ms=100"
+})
+class ResilientCpfValidationClientIntegrationTest {
+
+    private static final String CPF = "52998224725";
+    private static final String BODY = "{\"status\":\"ABLE_TO_VOTE\"}";
+
+    @Autowired
+    private ResilientCpfValidationClient resilientCpfValidationClient;
+
+    @Autowired
+    private WireMockServer wireMockServer;
+
+    @AfterEach
+    void tearDown() {
+        wireMockServer.resetAll();
+    }
+
+    @Test
+    void validateCpf_ShouldAnswerFromHedgedAttempt_WhenFirstResponseIsDelayed() {
+        stubFor(get(urlEqualTo("/users/" + CPF))
+                .inScenario("hedge")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willSetStateTo("fast")
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(BODY)
+                        .withFixedDelay(2000)));
+        stubFor(get(urlEqualTo("/users/" + CPF))
+                .inScenario("hedge")
+                .whenScenarioStateIs("fast")
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(BODY)));
+
+        final long start = System.nanoTime();
+        final CpfValidationResponse response = resilientCpfValidationClient.validateCpf(CPF);
+        final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals("ABLE_TO_VOTE", response.getStatus());
+        assertTrue(elapsedMs < 500, "hedged attempt should win well before the delayed one, took " + elapsedMs);
+        verify(2, getRequestedFor(urlEqualTo("/users/" + CPF)));
+    }
+
+    @Test
+    void validateCpf_ShouldThrowUnavailable_WhenEveryAttemptExceedsItsTimeout() {
+        stubFor(get(urlEqualTo("/users/" + CPF))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(BODY)
+                        .withFixedDelay(2000)));
+
+        final long start = System.nanoTime();
+        assertThrows(CpfValidationUnavailableException.class,
+                () -> resilientCpfValidationClient.validateCpf(CPF));
+        final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMs < 1500, "call should give up after the per-attempt timeout, took " + elapsedMs);
+    }
+}
@@ -0,0 +1,336 @@
+package com.miyazaki.cooperativeproposals.client;
+
+import com.miyazaki.cooperativeproposals.client.dto.CpfValidationResponse;
+import com.miyazaki.cooperativeproposals.exception.CpfValidationUnavailableException;
+import feign.FeignException;
+import feign.Request;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ResilientCpfValidationClientTest {
+
+    private static final String CPF = "52998224725";
+    private static final CpfValidationResponse ABLE = CpfValidationResponse.builder().status("ABLE_TO_VOTE").build();
+
+    @Mock
+    private CpfValidationClient cpfValidationClient;
+
+    private ExecutorService executor;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void validateCpf_ShouldReturnResponse_WhenFirstAttemptAnswersInTime() {
+        when(cpfValidationClient.validateCpf(CPF)).thenReturn(ABLE);
+
+        final CpfValidationResponse response = client(1, 300, 2, 100).validateCpf(CPF);
+
+        assertEquals("ABLE_TO_VOTE", response.getStatus());
+        verify(cpfValidationClient, times(1)).validateCpf(CPF);
+        assertEquals(0.0, meterRegistry.get("cpf.validation.hedged").counter().count());
+    }
+
+    @Test
+    void validateCpf_ShouldReturnHedgedAnswer_WhenFirstAttemptIsSlowerThanHedgeDelay() {
+        when(cpfValidationClient.validateCpf(CPF))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(1000);
+                    return ABLE;
+                })
+                .thenReturn(ABLE);
+
+        final long start = System.nanoTime();
+        final CpfValidationResponse response = client(2, 2000, 2, 50).validateCpf(CPF);
+        final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals("ABLE_TO_VOTE", response.getStatus());
+        assertTrue(elapsedMs < 1000, "hedged attempt should answer before the slow one, took " + elapsedMs);
+        verify(cpfValidationClient, times(2)).validateCpf(CPF);
+        assertEquals(1.0, meterRegistry.get("cpf.validation.hedged").counter().count());
+    }
+
+    @Test
+    void validateCpf_ShouldRetryImmediately_WhenFirstAttemptFailsFast() {
+        when(cpfValidationClient.validateCpf(CPF))
+                .thenThrow(new IllegalStateException("connection reset"))
+                .thenReturn(ABLE);
+
+        final CpfValidationResponse response = client(1, 300, 2, 10000).validateCpf(CPF);
+
+        assertEquals("ABLE_TO_VOTE", response.getStatus());
+        verify(cpfValidationClient, times(2)).validateCpf(CPF);
+    }
+
+    @Test
+    void validateCpf_ShouldThrowUnavailable_WhenEveryAttemptTimesOut() {
+        when(cpfValidationClient.validateCpf(CPF)).thenAnswer(invocation -> {
+            Thread.sleep(1000);
+            return ABLE;
+        });
+
+        assertThrows(CpfValidationUnavailableException.class, () -> client(2, 100, 2, 20).validateCpf(CPF));
+        verify(cpfValidationClient, times(2)).validateCpf(CPF);
+    }
+
+    @Test
+    void validateCpf_ShouldNotRetry_WhenServiceRejectsRequest() {
+        final FeignException.NotFound notFound = new FeignException.NotFound("not found",
+                Request.create(Request.HttpMethod.GET, "/users/" + CPF, Map.of(), null, StandardCharsets.UTF_8, null),
+                null, Map.of());
+        when(cpfValidationClient.validateCpf(CPF)).thenThrow(notFound);
+
+        final ResilientCpfValidationClient client = client(1, 300, 2, 100);
+
+        assertThrows(FeignException.NotFound.class, () -> client.validateCpf(CPF));
+        verify(cpfValidationClient, times(1)).validateCpf(CPF);
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitState());
+    }
+
+    @Test
+    void validateCpf_ShouldOpenCircuitAndSkipRemote_WhenFailureRateIsExceeded() {
+        when(cpfValidationClient.validateCpf(CPF)).thenThrow(new IllegalStateException("service down"));
+        final ResilientCpfValidationClient client = client(1, 300, 1, 100);
+
+        for (int i = 0; i < 10; i++) {
+            assertThrows(CpfValidationUnavailableException.class, () -> client.validateCpf(CPF));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+
+        final CpfValidationUnavailableException exception = assertThrows(CpfValidationUnavailableException.class,
+                () -> client.validateCpf(CPF));
+
+        assertEquals("CPF validation circuit is open", exception.getMessage());
+        verify(cpfValidationClient, times(10)).validateCpf(CPF);
+    }
+
+    @Test
+    void validateCpf_ShouldRejectCall_WhenBulkheadIsFull() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(cpfValidationClient.validateCpf(CPF)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return ABLE;
+        });
+        final ResilientCpfValidationClient client = client(1, 5000, 1, 5000);
+
+        final CompletableFuture<CpfValidationResponse> first = CompletableFuture.supplyAsync(
+                () -> client.validateCpf(CPF), executor);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        final CpfValidationUnavailableException exception = assertThrows(CpfValidationUnavailableException.class,
+                () -> client.validateCpf(CPF));
+        release.countDown();
+
+        assertEquals("CPF validation is saturated", exception.getMessage());
+        assertEquals("ABLE_TO_VOTE", first.get(5, TimeUnit.SECONDS).getStatus());
+    }
+
+    @Test
+    void validateCpf_ShouldNotHedge_WhenNoPermitIsFreeForASecondAttempt() {
+        when(cpfValidationClient.validateCpf(CPF)).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return ABLE;
+        });
+
+        final CpfValidationResponse response = client(1, 2000, 2, 20).validateCpf(CPF);
+
+        assertEquals("ABLE_TO_VOTE", response.getStatus());
+        verify(cpfValidationClient, times(1)).validateCpf(CPF);
+        assertEquals(0.0, meterRegistry.get("cpf.validation.hedged").counter().count());
+    }
+
+    @Test
+    void validateCpf_ShouldKeepPermitOfTimedOutAttempt_UntilRemoteCallReturns() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        when(cpfValidationClient.validateCpf(CPF))
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return ABLE;
+                })
+                .thenReturn(ABLE);
+        final ResilientCpfValidationClient client = client(1, 100, 1, 5000);
+
+        assertEquals("CPF validation did not answer in time",
+                assertThrows(CpfValidationUnavailableException.class, () -> client.validateCpf(CPF)).getMessage());
+        assertEquals("CPF validation is saturated",
+                assertThrows(CpfValidationUnavailableException.class, () -> client.validateCpf(CPF)).getMessage());
+        assertEquals(0.0, availablePermits());
+
+        release.countDown();
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (availablePermits() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals("ABLE_TO_VOTE", client.validateCpf(CPF).getStatus());
+        verify(cpfValidationClient, times(2)).validateCpf(CPF);
+    }
+
+    @Test
+    void validateCpf_ShouldReleasePermitAndReportSaturation_WhenExecutorRejectsAttempt() {
+        executor.shutdown();
+        final ResilientCpfValidationClient client = client(1, 300, 2, 100);
+
+        final CpfValidationUnavailableException exception = assertThrows(CpfValidationUnavailableException.class,
+                () -> client.validateCpf(CPF));
+
+        assertEquals("CPF validation is saturated", exception.getMessage());
+        assertEquals(1.0, availablePermits());
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitState());
+        verifyNoInteractions(cpfValidationClient);
+    }
+
+    @Test
+    void validateCpf_ShouldWaitForBatchPermit_WhenBatchLaneIsBusy() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        when(cpfValidationClient.validateCpf(CPF))
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    Thread.sleep(200);
+                    return ABLE;
+                })
+                .thenReturn(ABLE);
+        final ResilientCpfValidationClient client = client(1, 5000, 1, 5000);
+
+        final CompletableFuture<CpfValidationResponse> first = CompletableFuture.supplyAsync(
+                () -> client.validateCpf(CPF, CpfValidationLane.BATCH), executor);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertEquals("ABLE_TO_VOTE", client.validateCpf(CPF, CpfValidationLane.BATCH).getStatus());
+        assertEquals("ABLE_TO_VOTE", first.get(5, TimeUnit.SECONDS).getStatus());
+        verify(cpfValidationClient, times(2)).validateCpf(CPF);
+    }
+
+    @Test
+    void validateCpf_ShouldKeepInteractivePermits_WhenBatchLaneIsBusy() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(cpfValidationClient.validateCpf(CPF))
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return ABLE;
+                })
+                .thenReturn(ABLE);
+        final ResilientCpfValidationClient client = client(1, 5000, 1, 5000);
+
+        final CompletableFuture<CpfValidationResponse> batch = CompletableFuture.supplyAsync(
+                () -> client.validateCpf(CPF, CpfValidationLane.BATCH), executor);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertEquals("ABLE_TO_VOTE", client.validateCpf(CPF).getStatus());
+        assertEquals(1.0, availablePermits());
+        release.countDown();
+        assertEquals("ABLE_TO_VOTE", batch.get(5, TimeUnit.SECONDS).getStatus());
+    }
+
+    @Test
+    void validateCpf_ShouldNotWaitForBatchPermitToHedge_WhenBatchLaneIsFull() {
+        when(cpfValidationClient.validateCpf(CPF)).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return ABLE;
+        });
+        final ResilientCpfValidationClient client = client(1, 1, 2000, 2000, 2, 20);
+
+        final long start = System.nanoTime();
+        assertEquals("ABLE_TO_VOTE", client.validateCpf(CPF, CpfValidationLane.BATCH).getStatus());
+        final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMs < 1000, "hedge should not wait for a batch permit, took " + elapsedMs);
+        verify(cpfValidationClient, times(1)).validateCpf(CPF);
+        assertEquals(0.0, meterRegistry.get("cpf.validation.hedged").counter().count());
+    }
+
+    @Test
+    void validateCpf_ShouldReportSaturation_WhenNoBatchPermitIsReleasedWithinMaxWait() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(cpfValidationClient.validateCpf(CPF)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return ABLE;
+        });
+        final ResilientCpfValidationClient client = client(1, 1, 100, 5000, 1, 5000);
+
+        final CompletableFuture<CpfValidationResponse> first = CompletableFuture.supplyAsync(
+                () -> client.validateCpf(CPF, CpfValidationLane.BATCH), executor);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        final CpfValidationUnavailableException exception = assertThrows(CpfValidationUnavailableException.class,
+                () -> client.validateCpf(CPF, CpfValidationLane.BATCH));
+        release.countDown();
+
+        assertEquals("CPF validation is saturated", exception.getMessage());
+        assertEquals("ABLE_TO_VOTE", first.get(5, TimeUnit.SECONDS).getStatus());
+    }
+
+    @Test
+    void hedgeDelayMs_ShouldFollowObservedP95_WhenEnoughSamplesWereRecorded() {
+        when(cpfValidationClient.validateCpf(CPF)).thenReturn(ABLE);
+        final ResilientCpfValidationClient client = client(1, 300, 1, 250);
+
+        assertEquals(250, client.hedgeDelayMs());
+        for (int i = 0; i < 20; i++) {
+            client.validateCpf(CPF);
+        }
+
+        assertTrue(client.hedgeDelayMs() < 250, "hedge delay should drop to the observed p95");
+    }
+
+    private double availablePermits() {
+        return meterRegistry.get("resilience4j.bulkhead.available.concurrent.calls")
+                .tag("name", "cpfValidation").gauge().value();
+    }
+
+    private ResilientCpfValidationClient client(final int maxConcurrentCalls,
+                                                final long attemptTimeoutMs,
+                                                final int maxAttempts,
+                                                final long initialHedgeDelayMs) {
+        return client(maxConcurrentCalls, 1, 2000, attemptTimeoutMs, maxAttempts, initialHedgeDelayMs);
+    }
+
+    private ResilientCpfValidationClient client(final int maxConcurrentCalls,
+                                                final int batchMaxConcurrentCalls,
+                                                final long batchMaxWaitMs,
+                                                final long attemptTimeoutMs,
+                                                final int maxAttempts,
+                                                final long initialHedgeDelayMs) {
+        return new ResilientCpfValidationClient(cpfValidationClient, executor, meterRegistry, maxConcurrentCalls,
+                batchMaxConcurrentCalls, batchMaxWaitMs, 50, 10, 30000, attemptTimeoutMs, maxAttempts,
+                initialHedgeDelayMs);
+    }
+}
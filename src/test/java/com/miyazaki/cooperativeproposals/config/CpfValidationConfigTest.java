@@ -0,0 +1,81 @@
+package com.miyazaki.cooperativeproposals.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CpfValidationConfigTest {
+
+    private final CpfValidationConfig cpfValidationConfig = new CpfValidationConfig();
+
+    @Test
+    void cpfValidationExecutor_ShouldRunOnVirtualThreads_WhenVirtualThreadsAreEnabled() throws Exception {
+        final ExecutorService executor = cpfValidationConfig.cpfValidationExecutor(true, 1, 1);
+        try {
+            final Thread thread = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+
+            assertTrue(thread.isVirtual());
+            assertTrue(thread.getName().startsWith("cpf-validation-"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void cpfValidationExecutor_ShouldRunOnDaemonPlatformThreads_WhenVirtualThreadsAreDisabled() throws Exception {
+        final ExecutorService executor = cpfValidationConfig.cpfValidationExecutor(false, 1, 1);
+        try {
+            final Thread thread = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+
+            assertFalse(thread.isVirtual());
+            assertTrue(thread.isDaemon());
+            assertTrue(thread.getName().startsWith("cpf-validation-"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void cpfValidationExecutor_ShouldRejectAttempts_WhenPoolAndQueueAreFull() throws Exception {
+        final ExecutorService executor = cpfValidationConfig.cpfValidationExecutor(false, 1, 0);
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(() -> awaitQuietly(release));
+            executor.execute(() -> awaitQuietly(release));
+
+            assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> awaitQuietly(release)));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void voteBatchExecutor_ShouldRunOnDaemonPlatformThreads_WhenVirtualThreadsAreDisabled() throws Exception {
+        final ExecutorService executor = cpfValidationConfig.voteBatchExecutor(false, 2);
+        try {
+            final Thread thread = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+
+            assertFalse(thread.isVirtual());
+            assertTrue(thread.isDaemon());
+            assertTrue(thread.getName().startsWith("vote-batch-"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -2,23 +2,28 @@ package com.miyazaki.cooperativeproposals.controller;
 
 import com.miyazaki.cooperativeproposals.controller.dto.response.mobile.FormField;
 import com.miyazaki.cooperativeproposals.controller.dto.response.mobile.MobileFormScreen;
-import com.miyazaki.cooperativeproposals.controller.dto.response.mobile.MobileScreenResponse;
 import com.miyazaki.cooperativeproposals.controller.dto.response.mobile.MobileSelectionScreen;
 import com.miyazaki.cooperativeproposals.domain.entity.Proposal;
 import com.miyazaki.cooperativeproposals.domain.entity.VotingSession;
 import com.miyazaki.cooperativeproposals.exception.NotFoundException;
+import com.miyazaki.cooperativeproposals.service.MobileScreenCache;
 import com.miyazaki.cooperativeproposals.service.MobileScreenService;
 import com.miyazaki.cooperativeproposals.service.ProposalService;
+import com.miyazaki.cooperativeproposals.service.ProposalView;
 import com.miyazaki.cooperativeproposals.service.VotingSessionService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -44,6 +49,12 @@ class MobileControllerTest {
     @Mock
     private VotingSessionService votingSessionService;
 
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private MobileScreenCache mobileScreenCache =
+            new MobileScreenCache(objectMapper, new SimpleMeterRegistry(), 100, 60000);
+
     @InjectMocks
     private MobileController mobileController;
 
@@ -70,44 +81,44 @@ class MobileControllerTest {
     @Test
     void getProposalsList_ShouldReturnOk_WhenDefaultParametersUsed() {
         final List<Proposal> proposals = Arrays.asList(mockProposal);
-        final Page<Proposal> proposalPage = new PageImpl<>(proposals, PageRequest.of(0, 20), 1);
+        final Slice<Proposal> proposalPage = new SliceImpl<>(proposals, PageRequest.of(0, 20), false);
         final MobileSelectionScreen expectedScreen = MobileSelectionScreen.builder()
                 .titulo("Selecione uma Pauta")
                 .descricao("Escolha uma pauta para visualizar ou votar")
                 .build();
 
-        when(proposalService.getAllProposalsPage(any(PageRequest.class))).thenReturn(proposalPage);
+        when(proposalService.getProposalsSlice(any(PageRequest.class))).thenReturn(proposalPage);
         when(mobileScreenService.createProposalList(proposals)).thenReturn(expectedScreen);
 
-        final ResponseEntity<MobileSelectionScreen> response = mobileController.getProposalsList(0, 20);
+        final ResponseEntity<byte[]> response = mobileController.getProposalsList(0, 20, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(expectedScreen, response.getBody());
+        assertArrayEquals(json(expectedScreen), response.getBody());
         
-        verify(proposalService, times(1)).getAllProposalsPage(PageRequest.of(0, 20));
+        verify(proposalService, times(1)).getProposalsSlice(PageRequest.of(0, 20));
         verify(mobileScreenService, times(1)).createProposalList(proposals);
     }
 
     @Test
     void getProposalsList_ShouldReturnOk_WhenCustomParametersProvided() {
         final List<Proposal> proposals = Arrays.asList(mockProposal);
-        final Page<Proposal> proposalPage = new PageImpl<>(proposals, PageRequest.of(1, 10), 1);
+        final Slice<Proposal> proposalPage = new SliceImpl<>(proposals, PageRequest.of(1, 10), false);
         final MobileSelectionScreen expectedScreen = MobileSelectionScreen.builder()
                 .titulo("Selecione uma Pauta")
                 .descricao("Escolha uma pauta para visualizar ou votar")
                 .build();
 
-        when(proposalService.getAllProposalsPage(any(PageRequest.class))).thenReturn(proposalPage);
+        when(proposalService.getProposalsSlice(any(PageRequest.class))).thenReturn(proposalPage);
         when(mobileScreenService.createProposalList(proposals)).thenReturn(expectedScreen);
 
-        final ResponseEntity<MobileSelectionScreen> response = mobileController.getProposalsList(1, 10);
+        final ResponseEntity<byte[]> response = mobileController.getProposalsList(1, 10, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(expectedScreen, response.getBody());
+        assertArrayEquals(json(expectedScreen), response.getBody());
         
-        verify(proposalService, times(1)).getAllProposalsPage(PageRequest.of(1, 10));
+        verify(proposalService, times(1)).getProposalsSlice(PageRequest.of(1, 10));
         verify(mobileScreenService, times(1)).createProposalList(proposals);
     }
 
@@ -118,33 +129,33 @@ class MobileControllerTest {
                 .descricao("Test Description")
                 .build();
 
-        when(proposalService.getProposal(proposalId)).thenReturn(mockProposal);
+        when(proposalService.getProposalView(proposalId)).thenReturn(ProposalView.of(mockProposal));
         when(votingSessionService.hasVotingSessionOpened(proposalId)).thenReturn(true);
         when(mobileScreenService.createVotingOptions(mockProposal)).thenReturn(expectedScreen);
 
-        final ResponseEntity<MobileScreenResponse> response = mobileController.getProposalDetails(proposalId);
+        final ResponseEntity<byte[]> response = mobileController.getProposalDetails(proposalId, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(expectedScreen, response.getBody());
+        assertArrayEquals(json(expectedScreen), response.getBody());
         
-        verify(proposalService, times(1)).getProposal(proposalId);
+        verify(proposalService, times(1)).getProposalView(proposalId);
         verify(votingSessionService, times(1)).hasVotingSessionOpened(proposalId);
         verify(mobileScreenService, times(1)).createVotingOptions(mockProposal);
     }
 
     @Test
     void getProposalDetails_ShouldThrowNotFoundException_WhenNoActiveVotingSession() {
-        when(proposalService.getProposal(proposalId)).thenReturn(mockProposal);
+        when(proposalService.getProposalView(proposalId)).thenReturn(ProposalView.of(mockProposal));
         when(votingSessionService.hasVotingSessionOpened(proposalId)).thenReturn(false);
 
         final NotFoundException exception = assertThrows(NotFoundException.class, () -> {
-            mobileController.getProposalDetails(proposalId);
+            mobileController.getProposalDetails(proposalId, null);
         });
 
         assertEquals("No active voting session for this proposal", exception.getMessage());
         
-        verify(proposalService, times(1)).getProposal(proposalId);
+        verify(proposalService, times(1)).getProposalView(proposalId);
         verify(votingSessionService, times(1)).hasVotingSessionOpened(proposalId);
         verify(votingSessionService, never()).getSessionActiveByProposalId(any());
         verify(mobileScreenService, never()).createVotingOptions(any());
@@ -153,15 +164,15 @@ class MobileControllerTest {
     @Test
     void getProposalDetails_ShouldPropagateNotFoundException_WhenProposalNotFound() {
         final NotFoundException expectedException = new NotFoundException("Proposal not found!");
-        when(proposalService.getProposal(proposalId)).thenThrow(expectedException);
+        when(proposalService.getProposalView(proposalId)).thenThrow(expectedException);
 
         final NotFoundException exception = assertThrows(NotFoundException.class, () -> {
-            mobileController.getProposalDetails(proposalId);
+            mobileController.getProposalDetails(proposalId, null);
         });
 
         assertEquals("Proposal not found!", exception.getMessage());
         
-        verify(proposalService, times(1)).getProposal(proposalId);
+        verify(proposalService, times(1)).getProposalView(proposalId);
         verify(votingSessionService, never()).hasVotingSessionOpened(any());
     }
 
@@ -174,17 +185,18 @@ class MobileControllerTest {
                 .itens(new ArrayList<>())
                 .build();
 
-        when(proposalService.getProposal(proposalId)).thenReturn(mockProposal);
+        when(proposalService.getProposalView(proposalId)).thenReturn(ProposalView.of(mockProposal));
+        when(votingSessionService.hasVotingSessionOpened(proposalId)).thenReturn(true);
         when(votingSessionService.getSessionActiveByProposalId(proposalId)).thenReturn(mockSession);
         when(mobileScreenService.createVotingForm(mockProposal, mockSession)).thenReturn(expectedScreen);
 
-        final ResponseEntity<MobileFormScreen> response = mobileController.getVoteForm(proposalId, voteChoice);
+        final ResponseEntity<byte[]> response = mobileController.getVoteForm(proposalId, voteChoice, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(expectedScreen, response.getBody());
+        assertArrayEquals(json(expectedScreen), response.getBody());
         
-        final List<FormField> formFields = response.getBody().getItens();
+        final List<FormField> formFields = expectedScreen.getItens();
         final FormField voteField = formFields.stream()
                 .filter(field -> "vote".equals(field.getId()))
                 .findFirst()
@@ -194,7 +206,7 @@ class MobileControllerTest {
         assertEquals("HIDDEN", voteField.getTipo());
         assertEquals(true, voteField.getValor());
         
-        verify(proposalService, times(1)).getProposal(proposalId);
+        verify(proposalService, times(1)).getProposalView(proposalId);
         verify(votingSessionService, times(1)).getSessionActiveByProposalId(proposalId);
         verify(mobileScreenService, times(1)).createVotingForm(mockProposal, mockSession);
     }
@@ -208,16 +220,17 @@ class MobileControllerTest {
                 .itens(new ArrayList<>())
                 .build();
 
-        when(proposalService.getProposal(proposalId)).thenReturn(mockProposal);
+        when(proposalService.getProposalView(proposalId)).thenReturn(ProposalView.of(mockProposal));
+        when(votingSessionService.hasVotingSessionOpened(proposalId)).thenReturn(true);
         when(votingSessionService.getSessionActiveByProposalId(proposalId)).thenReturn(mockSession);
         when(mobileScreenService.createVotingForm(mockProposal, mockSession)).thenReturn(expectedScreen);
 
-        final ResponseEntity<MobileFormScreen> response = mobileController.getVoteForm(proposalId, voteChoice);
+        final ResponseEntity<byte[]> response = mobileController.getVoteForm(proposalId, voteChoice, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         
-        final List<FormField> formFields = response.getBody().getItens();
+        final List<FormField> formFields = expectedScreen.getItens();
         final FormField voteField = formFields.stream()
                 .filter(field -> "vote".equals(field.getId()))
                 .findFirst()
@@ -227,7 +240,7 @@ class MobileControllerTest {
         assertEquals("HIDDEN", voteField.getTipo());
         assertEquals(false, voteField.getValor());
         
-        verify(proposalService, times(1)).getProposal(proposalId);
+        verify(proposalService, times(1)).getProposalView(proposalId);
         verify(votingSessionService, times(1)).getSessionActiveByProposalId(proposalId);
         verify(mobileScreenService, times(1)).createVotingForm(mockProposal, mockSession);
     }
@@ -236,15 +249,15 @@ class MobileControllerTest {
     void getVoteForm_ShouldPropagateNotFoundException_WhenProposalNotFound() {
         final Boolean voteChoice = true;
         final NotFoundException expectedException = new NotFoundException("Proposal not found!");
-        when(proposalService.getProposal(proposalId)).thenThrow(expectedException);
+        when(proposalService.getProposalView(proposalId)).thenThrow(expectedException);
 
         final NotFoundException exception = assertThrows(NotFoundException.class, () -> {
-            mobileController.getVoteForm(proposalId, voteChoice);
+            mobileController.getVoteForm(proposalId, voteChoice, null);
         });
 
         assertEquals("Proposal not found!", exception.getMessage());
         
-        verify(proposalService, times(1)).getProposal(proposalId);
+        verify(proposalService, times(1)).getProposalView(proposalId);
         verify(votingSessionService, never()).getSessionActiveByProposalId(any());
         verify(mobileScreenService, never()).createVotingForm(any(), any());
     }
@@ -258,11 +271,11 @@ class MobileControllerTest {
 
         when(mobileScreenService.createProposalForm()).thenReturn(expectedScreen);
 
-        final ResponseEntity<MobileFormScreen> response = mobileController.getNewProposalForm();
+        final ResponseEntity<byte[]> response = mobileController.getNewProposalForm(null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(expectedScreen, response.getBody());
+        assertArrayEquals(json(expectedScreen), response.getBody());
         
         verify(mobileScreenService, times(1)).createProposalForm();
     }
@@ -270,22 +283,22 @@ class MobileControllerTest {
     @Test
     void getProposalsList_ShouldHandleEmptyProposalsList() {
         final List<Proposal> emptyProposals = Arrays.asList();
-        final Page<Proposal> emptyPage = new PageImpl<>(emptyProposals, PageRequest.of(0, 20), 0);
+        final Slice<Proposal> emptyPage = new SliceImpl<>(emptyProposals, PageRequest.of(0, 20), false);
         final MobileSelectionScreen expectedScreen = MobileSelectionScreen.builder()
                 .titulo("Selecione uma Pauta")
                 .descricao("Escolha uma pauta para visualizar ou votar")
                 .build();
 
-        when(proposalService.getAllProposalsPage(any(PageRequest.class))).thenReturn(emptyPage);
+        when(proposalService.getProposalsSlice(any(PageRequest.class))).thenReturn(emptyPage);
         when(mobileScreenService.createProposalList(emptyProposals)).thenReturn(expectedScreen);
 
-        final ResponseEntity<MobileSelectionScreen> response = mobileController.getProposalsList(0, 20);
+        final ResponseEntity<byte[]> response = mobileController.getProposalsList(0, 20, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(expectedScreen, response.getBody());
+        assertArrayEquals(json(expectedScreen), response.getBody());
         
-        verify(proposalService, times(1)).getAllProposalsPage(PageRequest.of(0, 20));
+        verify(proposalService, times(1)).getProposalsSlice(PageRequest.of(0, 20));
         verify(mobileScreenService, times(1)).createProposalList(emptyProposals);
     }
 
@@ -294,17 +307,111 @@ class MobileControllerTest {
         final Boolean voteChoice = true;
         final RuntimeException expectedException = new RuntimeException("Session service error");
         
-        when(proposalService.getProposal(proposalId)).thenReturn(mockProposal);
+        when(proposalService.getProposalView(proposalId)).thenReturn(ProposalView.of(mockProposal));
+        when(votingSessionService.hasVotingSessionOpened(proposalId)).thenReturn(true);
         when(votingSessionService.getSessionActiveByProposalId(proposalId)).thenThrow(expectedException);
 
         final RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-            mobileController.getVoteForm(proposalId, voteChoice);
+            mobileController.getVoteForm(proposalId, voteChoice, null);
         });
 
         assertEquals("Session service error", exception.getMessage());
         
-        verify(proposalService, times(1)).getProposal(proposalId);
+        verify(proposalService, times(1)).getProposalView(proposalId);
         verify(votingSessionService, times(1)).getSessionActiveByProposalId(proposalId);
         verify(mobileScreenService, never()).createVotingForm(any(), any());
     }
+
+    @Test
+    void getProposalDetails_ShouldReturnNotModified_WhenIfNoneMatchHasCurrentEtag() {
+        final MobileSelectionScreen expectedScreen = MobileSelectionScreen.builder()
+                .titulo("Votar em: Test Proposal")
+                .build();
+
+        when(proposalService.getProposalView(proposalId)).thenReturn(ProposalView.of(mockProposal));
+        when(votingSessionService.hasVotingSessionOpened(proposalId)).thenReturn(true);
+        when(mobileScreenService.createVotingOptions(mockProposal)).thenReturn(expectedScreen);
+
+        final ResponseEntity<byte[]> first = mobileController.getProposalDetails(proposalId, null);
+        final String etag = first.getHeaders().getETag();
+        final ResponseEntity<byte[]> second = mobileController.getProposalDetails(proposalId, etag);
+
+        assertNotNull(etag);
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+        assertNull(second.getBody());
+        assertEquals(etag, second.getHeaders().getETag());
+        verify(mobileScreenService, times(1)).createVotingOptions(mockProposal);
+    }
+
+    @Test
+    void getProposalDetails_ShouldReturnBody_WhenIfNoneMatchHasStaleEtag() {
+        final MobileSelectionScreen expectedScreen = MobileSelectionScreen.builder()
+                .titulo("Votar em: Test Proposal")
+                .build();
+
+        when(proposalService.getProposalView(proposalId)).thenReturn(ProposalView.of(mockProposal));
+        when(votingSessionService.hasVotingSessionOpened(proposalId)).thenReturn(true);
+        when(mobileScreenService.createVotingOptions(mockProposal)).thenReturn(expectedScreen);
+
+        final ResponseEntity<byte[]> response = mobileController.getProposalDetails(proposalId, "\"stale\"");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(json(expectedScreen), response.getBody());
+        assertEquals("no-cache", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    void getProposalDetails_ShouldRebuildScreen_WhenSessionChanged() {
+        final MobileSelectionScreen expectedScreen = MobileSelectionScreen.builder()
+                .titulo("Votar em: Test Proposal")
+                .build();
+
+        when(proposalService.getProposalView(proposalId)).thenReturn(ProposalView.of(mockProposal));
+        when(votingSessionService.hasVotingSessionOpened(proposalId)).thenReturn(true);
+        when(mobileScreenService.createVotingOptions(mockProposal)).thenReturn(expectedScreen);
+
+        mobileController.getProposalDetails(proposalId, null);
+        mobileScreenCache.invalidateAll(List.of(proposalId));
+        mobileController.getProposalDetails(proposalId, null);
+
+        verify(mobileScreenService, times(2)).createVotingOptions(mockProposal);
+    }
+
+    @Test
+    void getVoteForm_ShouldThrowNotFoundException_WhenNoActiveVotingSession() {
+        when(proposalService.getProposalView(proposalId)).thenReturn(ProposalView.of(mockProposal));
+        when(votingSessionService.hasVotingSessionOpened(proposalId)).thenReturn(false);
+
+        final NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> mobileController.getVoteForm(proposalId, true, null));
+
+        assertEquals("No active voting session for this proposal", exception.getMessage());
+        verify(votingSessionService, never()).getSessionActiveByProposalId(any());
+        verify(mobileScreenService, never()).createVotingForm(any(), any());
+    }
+
+    @Test
+    void getNewProposalForm_ShouldBuildScreenOnce_WhenPolledRepeatedly() {
+        final MobileFormScreen expectedScreen = MobileFormScreen.builder()
+                .titulo("Nova Pauta")
+                .build();
+
+        when(mobileScreenService.createProposalForm()).thenReturn(expectedScreen);
+
+        final ResponseEntity<byte[]> first = mobileController.getNewProposalForm(null);
+        final ResponseEntity<byte[]> second = mobileController.getNewProposalForm(
+                "W/" + first.getHeaders().getETag());
+
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+        verify(mobileScreenService, times(1)).createProposalForm();
+    }
+
+    private byte[] json(final Object screen) {
+        try {
+            return objectMapper.writeValueAsBytes(screen);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -1,9 +1,16 @@
 package com.miyazaki.cooperativeproposals.controller;
 
 
+import com.miyazaki.cooperativeproposals.archive.VoteArchiveExporter;
+import com.miyazaki.cooperativeproposals.archive.VoteExportFormat;
+import com.miyazaki.cooperativeproposals.archive.VoteExporter;
+import com.miyazaki.cooperativeproposals.controller.dto.request.BatchVoteRequest;
 import com.miyazaki.cooperativeproposals.controller.dto.request.CreateProposalRequest;
 import com.miyazaki.cooperativeproposals.controller.dto.request.OpenSessionRequest;
 import com.miyazaki.cooperativeproposals.controller.dto.request.VoteRequest;
+import com.miyazaki.cooperativeproposals.controller.dto.response.BatchVoteItemResult;
+import com.miyazaki.cooperativeproposals.controller.dto.response.BatchVoteItemStatus;
+import com.miyazaki.cooperativeproposals.controller.dto.response.BatchVoteResponse;
 import com.miyazaki.cooperativeproposals.controller.dto.response.PagedResponse;
 import com.miyazaki.cooperativeproposals.controller.dto.response.ProposalDetailsResponse;
 import com.miyazaki.cooperativeproposals.controller.dto.response.ProposalResultResponse;
@@ -11,7 +18,9 @@ import com.miyazaki.cooperativeproposals.controller.dto.response.ProposalStatusE
 import com.miyazaki.cooperativeproposals.controller.dto.response.ProposalSummary;
 import com.miyazaki.cooperativeproposals.controller.dto.response.SessionResponse;
 import com.miyazaki.cooperativeproposals.controller.dto.response.VoteResponse;
+import com.miyazaki.cooperativeproposals.exception.InvalidExportFormatException;
 import com.miyazaki.cooperativeproposals.exception.NotFoundException;
+import com.miyazaki.cooperativeproposals.service.BatchVoteService;
 import com.miyazaki.cooperativeproposals.service.ProposalService;
 import com.miyazaki.cooperativeproposals.service.VoteService;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,13 +32,18 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 
+import java.io.ByteArrayOutputStream;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -38,6 +52,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -51,6 +66,15 @@ class ProposalControllerTest {
     @Mock
     private VoteService voteService;
 
+    @Mock
+    private BatchVoteService batchVoteService;
+
+    @Mock
+    private VoteArchiveExporter voteArchiveExporter;
+
+    @Mock
+    private VoteExporter voteExporter;
+
     @InjectMocks
     private ProposalController proposalController;
 
@@ -144,7 +168,7 @@ class ProposalControllerTest {
         when(proposalService.getAllProposals(expectedPageable)).thenReturn(pagedResponse);
 
         final ResponseEntity<PagedResponse<ProposalSummary>> response = 
-                proposalController.getAllProposals(0, 10, "title", "asc");
+                proposalController.getAllProposals(0, 10, "title", "asc", "offset", null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -167,7 +191,7 @@ class ProposalControllerTest {
         when(proposalService.getAllProposals(expectedPageable)).thenReturn(pagedResponse);
 
         final ResponseEntity<PagedResponse<ProposalSummary>> response = 
-                proposalController.getAllProposals(1, 5, "createdAt", "desc");
+                proposalController.getAllProposals(1, 5, "createdAt", "desc", "offset", null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -200,6 +224,51 @@ class ProposalControllerTest {
         verify(voteService, times(1)).castVote(proposalId, request);
     }
 
+    @Test
+    void castVote_ShouldReturnAccepted_WhenVoteIsStillBeingWritten() {
+        final VoteRequest request = new VoteRequest(associateId, "Sim", true);
+        final VoteResponse voteResponse = VoteResponse.builder()
+                .voteId(UUID.randomUUID())
+                .proposalId(proposalId)
+                .associateId(associateId)
+                .vote(true)
+                .votedAt(LocalDateTime.now())
+                .pending(true)
+                .build();
+
+        when(voteService.castVote(eq(proposalId), eq(request))).thenReturn(voteResponse);
+
+        final ResponseEntity<VoteResponse> response = proposalController.castVote(proposalId, request);
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals(voteResponse, response.getBody());
+    }
+
+    @Test
+    void castVotes_ShouldReturnOkWithItemStatuses_WhenBatchProvided() {
+        final List<VoteRequest> votes = List.of(new VoteRequest(associateId, "52998224725", true));
+        final BatchVoteResponse batchResponse = BatchVoteResponse.builder()
+                .proposalId(proposalId)
+                .accepted(1)
+                .rejected(0)
+                .items(List.of(BatchVoteItemResult.builder()
+                        .index(0)
+                        .associateId(associateId)
+                        .voteId(UUID.randomUUID())
+                        .status(BatchVoteItemStatus.ACCEPTED)
+                        .build()))
+                .build();
+
+        when(batchVoteService.castVotes(proposalId, votes)).thenReturn(batchResponse);
+
+        final ResponseEntity<BatchVoteResponse> response =
+                proposalController.castVotes(proposalId, new BatchVoteRequest(votes));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(batchResponse, response.getBody());
+        verify(batchVoteService, times(1)).castVotes(proposalId, votes);
+    }
+
     @Test
     void getProposalDetail_ShouldReturnOk_WhenProposalExistsWithoutResult() {
         final ProposalDetailsResponse expectedResponse = ProposalDetailsResponse.builder()
@@ -272,4 +341,112 @@ class ProposalControllerTest {
         verify(proposalService, times(1)).getProposalDetail(nonExistentProposalId);
     }
 
+    @Test
+    void getAllProposals_ShouldUseKeysetMode_WhenRequested() {
+        final PagedResponse<ProposalSummary> pagedResponse = PagedResponse.<ProposalSummary>builder()
+                .content(Collections.emptyList())
+                .page(-1)
+                .size(10)
+                .totalElements(-1L)
+                .totalPages(-1)
+                .nextCursor("next")
+                .build();
+        when(proposalService.getProposalsAfter("title", Sort.Direction.ASC, 10, null)).thenReturn(pagedResponse);
+
+        final ResponseEntity<PagedResponse<ProposalSummary>> response =
+                proposalController.getAllProposals(0, 10, "title", "asc", "keyset", null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("next", response.getBody().getNextCursor());
+        verify(proposalService, never()).getAllProposals(any());
+    }
+
+    @Test
+    void getAllProposals_ShouldUseKeysetMode_WhenCursorProvided() {
+        final PagedResponse<ProposalSummary> pagedResponse = PagedResponse.<ProposalSummary>builder()
+                .content(Collections.emptyList())
+                .size(10)
+                .build();
+        when(proposalService.getProposalsAfter("id", Sort.Direction.DESC, 10, "token")).thenReturn(pagedResponse);
+
+        final ResponseEntity<PagedResponse<ProposalSummary>> response =
+                proposalController.getAllProposals(0, 10, "id", "desc", "offset", "token");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(proposalService, times(1)).getProposalsAfter("id", Sort.Direction.DESC, 10, "token");
+    }
+
+    @Test
+    void streamResults_ShouldReturnEmitterFromService() {
+        final SseEmitter emitter = new SseEmitter();
+        when(proposalService.streamResults(proposalId)).thenReturn(emitter);
+
+        assertEquals(emitter, proposalController.streamResults(proposalId));
+        verify(proposalService, times(1)).streamResults(proposalId);
+    }
+
+    @Test
+    void exportArchivedVotes_ShouldStreamCsv_WhenProposalIsArchived() throws Exception {
+        final List<Integer> blocks = List.of(0, 1);
+        when(voteArchiveExporter.blocksOf(proposalId)).thenReturn(blocks);
+
+        final ResponseEntity<StreamingResponseBody> response = proposalController.exportArchivedVotes(proposalId);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("text/csv", response.getHeaders().getContentType().toString());
+        assertEquals("attachment; filename=\"votes-" + proposalId + ".csv\"",
+                response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+        verify(voteArchiveExporter, times(1)).writeCsv(proposalId, blocks, output);
+    }
+
+    @Test
+    void exportArchivedVotes_ShouldThrowNotFound_WhenVotesAreNotArchived() throws Exception {
+        when(voteArchiveExporter.blocksOf(proposalId)).thenThrow(new NotFoundException("Archived votes not found"));
+
+        assertThrows(NotFoundException.class, () -> proposalController.exportArchivedVotes(proposalId));
+        verify(voteArchiveExporter, never()).writeCsv(any(), any(), any());
+    }
+
+    @Test
+    void exportVotes_ShouldStreamNdjson_WhenFormatIsDefault() throws Exception {
+        final ResponseEntity<StreamingResponseBody> response = proposalController.exportVotes(proposalId, "ndjson");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+        assertEquals("attachment; filename=\"votes-" + proposalId + ".ndjson\"",
+                response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+        verify(proposalService, times(1)).getProposalView(proposalId);
+        verify(voteExporter, times(1)).export(proposalId, VoteExportFormat.NDJSON, output);
+    }
+
+    @Test
+    void exportVotes_ShouldStreamCsv_WhenCsvIsRequested() throws Exception {
+        final ResponseEntity<StreamingResponseBody> response = proposalController.exportVotes(proposalId, "CSV");
+
+        assertEquals("text/csv", response.getHeaders().getContentType().toString());
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+        verify(voteExporter, times(1)).export(proposalId, VoteExportFormat.CSV, output);
+    }
+
+    @Test
+    void exportVotes_ShouldThrowNotFound_BeforeStreaming_WhenProposalDoesNotExist() throws Exception {
+        when(proposalService.getProposalView(proposalId)).thenThrow(new NotFoundException("Proposal not found!"));
+
+        assertThrows(NotFoundException.class, () -> proposalController.exportVotes(proposalId, "ndjson"));
+        verify(voteExporter, never()).export(any(), any(), any());
+    }
+
+    @Test
+    void exportVotes_ShouldThrowInvalidExportFormat_BeforeStreaming_WhenFormatIsUnknown() {
+        final InvalidExportFormatException exception = assertThrows(InvalidExportFormatException.class,
+                () -> proposalController.exportVotes(proposalId, "xml"));
+
+        assertEquals("Export format must be ndjson or csv", exception.getMessage());
+        verify(voteExporter, never()).export(any(), any(), any());
+    }
 }
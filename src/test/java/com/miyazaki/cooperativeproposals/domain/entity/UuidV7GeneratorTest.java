@@ -0,0 +1,64 @@
+package com.miyazaki.cooperativeproposals.domain.entity;
+
+import org.hibernate.generator.EventType;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void next_ShouldSetVersionAndVariant() {
+        final UUID id = UuidV7Generator.next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    void next_ShouldEncodeCurrentTimestamp() {
+        final long before = System.currentTimeMillis();
+        final UUID id = UuidV7Generator.next();
+        final long after = System.currentTimeMillis();
+
+        final long timestamp = UuidV7Generator.timestampOf(id);
+        assertTrue(timestamp >= before && timestamp <= after);
+    }
+
+    @Test
+    void next_ShouldSortByCreationTime_WhenCreatedInDifferentMilliseconds() throws InterruptedException {
+        final UUID first = UuidV7Generator.next();
+        Thread.sleep(2);
+        final UUID second = UuidV7Generator.next();
+
+        assertTrue(first.compareTo(second) < 0);
+        assertTrue(first.toString().compareTo(second.toString()) < 0);
+    }
+
+    @Test
+    void next_ShouldNotRepeat_WhenCreatedInTheSameMillisecond() {
+        final Set<UUID> ids = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(UuidV7Generator.next());
+        }
+
+        assertEquals(10_000, ids.size());
+    }
+
+    @Test
+    void generate_ShouldReturnVersionSevenUuid_OnInsert() {
+        final UuidV7Generator generator = new UuidV7Generator();
+
+        final Object id = generator.generate(null, null, null, EventType.INSERT);
+
+        assertInstanceOf(UUID.class, id);
+        assertEquals(7, ((UUID) id).version());
+        assertEquals(Set.of(EventType.INSERT), generator.getEventTypes());
+    }
+}
@@ -0,0 +1,111 @@
+package com.miyazaki.cooperativeproposals.domain.repository;
+
+import com.miyazaki.cooperativeproposals.PostgresContainerTest;
+import com.miyazaki.cooperativeproposals.domain.entity.Proposal;
+import com.miyazaki.cooperativeproposals.domain.entity.VotingSession;
+import com.miyazaki.cooperativeproposals.domain.enums.ProposalSortKey;
+import com.miyazaki.cooperativeproposals.domain.enums.SessionStatus;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.ProposalSummaryProjection;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ProposalRepositoryTest extends PostgresContainerTest {
+
+    private static final int PROPOSALS = 150;
+    private static final int PAGE_SIZE = 100;
+
+    @Autowired
+    private ProposalRepository proposalRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < PROPOSALS; i++) {
+            final Proposal proposal = entityManager.persist(Proposal.builder()
+                    .title(String.format("Proposal %03d", i))
+                    .description("Description " + i)
+                    .build());
+            if (i % 3 != 0) {
+                entityManager.persist(VotingSession.builder()
+                        .proposal(proposal)
+                        .openedAt(LocalDateTime.now())
+                        .closesAt(LocalDateTime.now().plusMinutes(1))
+                        .status(i % 3 == 1 ? SessionStatus.OPENED : SessionStatus.CLOSED)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAllSummaries_ShouldLoadPageWithStatus_InPageQueryPlusCountQuery() {
+        final Page<ProposalSummaryProjection> page = proposalRepository.findAllSummaries(
+                PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.ASC, "title")));
+
+        final Map<String, Long> statuses = page.getContent().stream()
+                .collect(Collectors.groupingBy(ProposalSummaryProjection::getStatus, Collectors.counting()));
+
+        assertEquals(PAGE_SIZE, page.getContent().size());
+        assertEquals(PROPOSALS, page.getTotalElements());
+        assertEquals("Proposal 000", page.getContent().get(0).getTitle());
+        assertEquals(34L, statuses.get("WAITING"));
+        assertEquals(33L, statuses.get("OPENED"));
+        assertEquals(33L, statuses.get("CLOSED"));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findSummariesAfter_ShouldWalkAllProposalsOnce_WhenFollowingTheLastRow() {
+        final Set<UUID> seen = new HashSet<>();
+        String lastTitle = null;
+        UUID lastId = null;
+        List<ProposalSummaryProjection> rows;
+        do {
+            rows = proposalRepository.findSummariesAfter(ProposalSortKey.TITLE, false, lastTitle, lastId, 40);
+            for (final ProposalSummaryProjection row : rows) {
+                assertTrue(seen.add(row.getId()));
+                if (lastTitle != null) {
+                    assertTrue(row.getTitle().compareTo(lastTitle) <= 0);
+                }
+                lastTitle = row.getTitle();
+                lastId = row.getId();
+            }
+        } while (!rows.isEmpty());
+
+        assertEquals(PROPOSALS, seen.size());
+    }
+}
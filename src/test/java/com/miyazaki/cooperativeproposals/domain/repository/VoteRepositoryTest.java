@@ -0,0 +1,175 @@
+package com.miyazaki.cooperativeproposals.domain.repository;
+
+import com.miyazaki.cooperativeproposals.PostgresContainerTest;
+import com.miyazaki.cooperativeproposals.domain.entity.Proposal;
+import com.miyazaki.cooperativeproposals.domain.entity.UuidV7Generator;
+import com.miyazaki.cooperativeproposals.domain.entity.Vote;
+import com.miyazaki.cooperativeproposals.domain.entity.VotingSession;
+import com.miyazaki.cooperativeproposals.domain.enums.SessionStatus;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.ArchivedVote;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.VoteSummaryProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class VoteRepositoryTest extends PostgresContainerTest {
+
+    private static final Pattern PARTITION = Pattern.compile("\\bvote_p\\d{2}\\b");
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Proposal proposal;
+    private VotingSession session;
+    private Proposal otherProposal;
+    private UUID associateId;
+
+    @BeforeEach
+    void setUp() {
+        proposal = entityManager.persist(Proposal.builder().title("Partitioned").build());
+        session = entityManager.persist(openedSession(proposal));
+        otherProposal = entityManager.persist(Proposal.builder().title("Other").build());
+        final VotingSession otherSession = entityManager.persist(openedSession(otherProposal));
+        entityManager.flush();
+
+        associateId = UUID.randomUUID();
+        voteRepository.insertAll(List.of(
+                vote(proposal, session, associateId, true),
+                vote(proposal, session, UUID.randomUUID(), false),
+                vote(proposal, session, UUID.randomUUID(), true),
+                vote(otherProposal, otherSession, UUID.randomUUID(), true)));
+    }
+
+    @Test
+    void countVoteResults_ShouldCountOnlyTheGivenProposal() {
+        final VoteSummaryProjection summary = voteRepository.countVoteResults(proposal.getId());
+
+        assertEquals(2, summary.getCountYes());
+        assertEquals(1, summary.getCountNo());
+    }
+
+    @Test
+    void insertAll_ShouldSkipAssociateThatAlreadyVoted_InsideThePartition() {
+        final Set<UUID> inserted = voteRepository.insertAll(List.of(vote(proposal, session, associateId, false)));
+
+        assertTrue(inserted.isEmpty());
+        assertTrue(voteRepository.existsByProposalIdAndAssociateId(proposal.getId(), associateId));
+        assertFalse(voteRepository.existsByProposalIdAndAssociateId(otherProposal.getId(), associateId));
+    }
+
+    @Test
+    void insertAll_ShouldSkipVotesOfClosedSession_AndKeepVotesOfOpenOnes() {
+        final Proposal closedProposal = entityManager.persist(Proposal.builder().title("Closed").build());
+        final VotingSession closedSession = entityManager.persist(openedSession(closedProposal));
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE voting_session SET status = 'CLOSED' WHERE id = ?", closedSession.getId());
+        final Vote late = vote(closedProposal, closedSession, UUID.randomUUID(), true);
+        final Vote onTime = vote(proposal, session, UUID.randomUUID(), true);
+
+        final Set<UUID> inserted = voteRepository.insertAll(List.of(late, onTime));
+
+        assertEquals(Set.of(onTime.getId()), inserted);
+    }
+
+    @Test
+    void findVotedAssociateIds_ShouldReturnOnlyAssociatesOfTheProposal() {
+        final List<UUID> voted = voteRepository.findVotedAssociateIds(proposal.getId(),
+                new UUID[] {associateId, UUID.randomUUID()});
+
+        assertEquals(List.of(associateId), voted);
+    }
+
+    @Test
+    void forEachByProposal_ShouldReadVotesOfTheProposalInIdOrder() {
+        final List<ArchivedVote> read = new ArrayList<>();
+
+        final int count = voteRepository.forEachByProposal(proposal.getId(), 2, read::add);
+
+        assertEquals(3, count);
+        assertEquals(3, read.size());
+        assertEquals(read.stream().sorted(Comparator.comparing(ArchivedVote::id)).toList(), read);
+        assertTrue(read.stream().anyMatch(vote -> vote.associateId().equals(associateId) && vote.vote()));
+    }
+
+    @Test
+    void deleteByProposal_ShouldRemoveOnlyVotesOfTheProposal() {
+        assertEquals(3, voteRepository.deleteByProposal(proposal.getId()));
+
+        assertEquals(0, voteRepository.countVoteResults(proposal.getId()).getCountYes());
+        assertEquals(1, voteRepository.countVoteResults(otherProposal.getId()).getCountYes());
+    }
+
+    @Test
+    void proposalQueries_ShouldScanASinglePartition() {
+        final String proposalId = proposal.getId().toString();
+
+        assertEquals(1, partitionsIn("""
+                EXPLAIN SELECT COUNT(*) FILTER (WHERE vote = true), COUNT(*) FILTER (WHERE vote = false)
+                FROM vote WHERE proposal_id = '%s'""".formatted(proposalId)));
+        assertEquals(1, partitionsIn("""
+                EXPLAIN SELECT associate_id FROM vote
+                WHERE proposal_id = '%s' AND associate_id = ANY(ARRAY['%s']::uuid[])"""
+                .formatted(proposalId, associateId)));
+        assertEquals(1, partitionsIn("""
+                EXPLAIN SELECT 1 FROM vote WHERE proposal_id = '%s' AND associate_id = '%s'"""
+                .formatted(proposalId, associateId)));
+    }
+
+    private int partitionsIn(final String explain) {
+        final Set<String> partitions = new HashSet<>();
+        for (final String line : jdbcTemplate.queryForList(explain, String.class)) {
+            final Matcher matcher = PARTITION.matcher(line);
+            while (matcher.find()) {
+                partitions.add(matcher.group());
+            }
+        }
+        return partitions.size();
+    }
+
+    private static VotingSession openedSession(final Proposal proposal) {
+        return VotingSession.builder()
+                .proposal(proposal)
+                .openedAt(LocalDateTime.now())
+                .closesAt(LocalDateTime.now().plusMinutes(1))
+                .status(SessionStatus.OPENED)
+                .build();
+    }
+
+    private static Vote vote(final Proposal proposal, final VotingSession session,
+                             final UUID associateId, final boolean value) {
+        return Vote.builder()
+                .id(UuidV7Generator.next())
+                .proposal(proposal)
+                .votingSession(session)
+                .associateId(associateId)
+                .vote(value)
+                .votedAt(LocalDateTime.now())
+                .build();
+    }
+}
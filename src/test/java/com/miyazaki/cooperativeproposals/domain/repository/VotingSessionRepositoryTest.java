@@ -0,0 +1,140 @@
+package com.miyazaki.cooperativeproposals.domain.repository;
+
+import com.miyazaki.cooperativeproposals.PostgresContainerTest;
+import com.miyazaki.cooperativeproposals.domain.entity.Proposal;
+import com.miyazaki.cooperativeproposals.domain.entity.VotingSession;
+import com.miyazaki.cooperativeproposals.domain.enums.SessionStatus;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.ClosedSession;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.SessionDeadlineProjection;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.SessionResolutionProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class VotingSessionRepositoryTest extends PostgresContainerTest {
+
+    @Autowired
+    private VotingSessionRepository votingSessionRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private VotingSession oldest;
+    private VotingSession older;
+    private VotingSession expired;
+    private VotingSession running;
+
+    @BeforeEach
+    void setUp() {
+        oldest = persist(SessionStatus.OPENED, LocalDateTime.now().minusMinutes(3));
+        older = persist(SessionStatus.OPENED, LocalDateTime.now().minusMinutes(2));
+        expired = persist(SessionStatus.OPENED, LocalDateTime.now().minusMinutes(1));
+        running = persist(SessionStatus.OPENED, LocalDateTime.now().plusMinutes(5));
+        persist(SessionStatus.CLOSED, LocalDateTime.now().minusMinutes(10));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void closeExpired_ShouldCloseOldestExpiredSessions_UpToTheLimit() {
+        final List<ClosedSession> closed = votingSessionRepository.closeExpired(2);
+
+        assertEquals(Set.of(oldest.getId(), older.getId()),
+                closed.stream().map(ClosedSession::sessionId).collect(Collectors.toSet()));
+        assertTrue(closed.stream().anyMatch(session -> session.proposalId().equals(oldest.getProposal().getId())));
+        assertEquals("CLOSED", statusOf(oldest.getId()));
+        assertEquals("OPENED", statusOf(expired.getId()));
+        assertEquals(1L, jdbcTemplate.queryForObject(
+                "SELECT version FROM voting_session WHERE id = ?", Long.class, oldest.getId()));
+    }
+
+    @Test
+    void closeExpired_ShouldLeaveRunningSessionsOpened() {
+        votingSessionRepository.closeExpired(2);
+        final List<ClosedSession> closed = votingSessionRepository.closeExpired(10);
+
+        assertEquals(List.of(expired.getId()), closed.stream().map(ClosedSession::sessionId).toList());
+        assertEquals("OPENED", statusOf(running.getId()));
+        assertTrue(votingSessionRepository.closeExpired(10).isEmpty());
+    }
+
+    @Test
+    void findOpenedDeadlines_ShouldReturnOnlyOpenedSessions() {
+        final List<SessionDeadlineProjection> deadlines = votingSessionRepository.findOpenedDeadlines();
+
+        assertEquals(Set.of(oldest.getId(), older.getId(), expired.getId(), running.getId()),
+                deadlines.stream().map(SessionDeadlineProjection::getId).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void resolveOpenSession_ShouldReturnProposalWithItsOpenSession() {
+        final SessionResolutionProjection resolution =
+                votingSessionRepository.resolveOpenSession(running.getProposal().getId()).orElseThrow();
+
+        assertEquals(running.getProposal().getId(), resolution.getProposalId());
+        assertEquals(running.getId(), resolution.getSessionId());
+        assertEquals(running.getClosesAt().withNano(0), resolution.getClosesAt().withNano(0));
+    }
+
+    @Test
+    void resolveOpenSession_ShouldReturnProposalWithoutSession_WhenItsSessionIsClosed() {
+        votingSessionRepository.closeExpired(10);
+
+        final SessionResolutionProjection resolution =
+                votingSessionRepository.resolveOpenSession(oldest.getProposal().getId()).orElseThrow();
+
+        assertEquals(oldest.getProposal().getId(), resolution.getProposalId());
+        assertNull(resolution.getSessionId());
+    }
+
+    @Test
+    void claimForArchive_ShouldClaimOnlyClosedSessionsThatAreNotArchivedYet() {
+        final VotingSession closed = persist(SessionStatus.CLOSED, LocalDateTime.now().minusMinutes(10));
+        final VotingSession archived = persist(SessionStatus.CLOSED, LocalDateTime.now().minusMinutes(10));
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE voting_session SET archived_at = now() WHERE id = ?", archived.getId());
+
+        assertTrue(votingSessionRepository.claimForArchive(closed.getId()));
+        assertFalse(votingSessionRepository.claimForArchive(archived.getId()));
+        assertFalse(votingSessionRepository.claimForArchive(running.getId()));
+    }
+
+    @Test
+    void resolveOpenSession_ShouldBeEmpty_WhenProposalDoesNotExist() {
+        assertTrue(votingSessionRepository.resolveOpenSession(UUID.randomUUID()).isEmpty());
+    }
+
+    private String statusOf(final UUID sessionId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM voting_session WHERE id = ?", String.class, sessionId);
+    }
+
+    private VotingSession persist(final SessionStatus status, final LocalDateTime closesAt) {
+        final Proposal proposal = entityManager.persist(Proposal.builder().title("Session " + closesAt).build());
+        return entityManager.persist(VotingSession.builder()
+                .proposal(proposal)
+                .openedAt(closesAt.minusMinutes(1))
+                .closesAt(closesAt)
+                .status(status)
+                .build());
+    }
+}
@@ -0,0 +1,31 @@
+package com.miyazaki.cooperativeproposals.exception;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CpfValidationUnavailableExceptionTest {
+
+    @Test
+    void constructor_ShouldCreateExceptionWithMessage_WhenMessageProvided() {
+        final String message = "CPF validation circuit is open";
+
+        final CpfValidationUnavailableException exception = new CpfValidationUnavailableException(message);
+
+        assertEquals(message, exception.getMessage());
+    }
+
+    @Test
+    void constructor_ShouldCreateExceptionWithNullMessage_WhenNullMessageProvided() {
+        final CpfValidationUnavailableException exception = new CpfValidationUnavailableException(null);
+
+        assertNull(exception.getMessage());
+    }
+
+    @Test
+    void exception_ShouldBeInstanceOfRuntimeException_WhenCreated() {
+        assertInstanceOf(RuntimeException.class, new CpfValidationUnavailableException("Test message"));
+    }
+}
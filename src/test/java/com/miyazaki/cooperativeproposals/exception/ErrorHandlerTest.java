@@ -159,5 +159,55 @@ class ErrorHandlerTest {
         assertNull(response.getBody().getDetails());
     }
 
+    @Test
+    void voteIngestionUnavailableHandler_ShouldReturnServiceUnavailable_WhenVoteBufferIsFull() {
+        final String errorMessage = "Vote buffer is full, try again later";
+        final VoteIngestionUnavailableException exception = new VoteIngestionUnavailableException(errorMessage);
+
+        final ResponseEntity<DefaultErrorResponse> response = errorHandler.voteIngestionUnavailableHandler(exception);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(errorMessage, response.getBody().getMessage());
+        assertNull(response.getBody().getDetails());
+    }
+
+    @Test
+    void invalidPaginationHandler_ShouldReturnBadRequest_WhenCursorIsInvalid() {
+        final String errorMessage = "Invalid pagination cursor";
+        final InvalidPaginationException exception = new InvalidPaginationException(errorMessage);
+
+        final ResponseEntity<DefaultErrorResponse> response = errorHandler.invalidPaginationHandler(exception);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(errorMessage, response.getBody().getMessage());
+        assertNull(response.getBody().getDetails());
+    }
 
+    @Test
+    void invalidExportFormatHandler_ShouldReturnBadRequest_WhenFormatIsUnknown() {
+        final String errorMessage = "Export format must be ndjson or csv";
+        final InvalidExportFormatException exception = new InvalidExportFormatException(errorMessage);
+
+        final ResponseEntity<DefaultErrorResponse> response = errorHandler.invalidExportFormatHandler(exception);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(errorMessage, response.getBody().getMessage());
+        assertNull(response.getBody().getDetails());
+    }
+
+    @Test
+    void cpfValidationUnavailableHandler_ShouldReturnServiceUnavailable_WhenCircuitIsOpen() {
+        final String errorMessage = "CPF validation circuit is open";
+        final CpfValidationUnavailableException exception = new CpfValidationUnavailableException(errorMessage);
+
+        final ResponseEntity<DefaultErrorResponse> response = errorHandler.cpfValidationUnavailableHandler(exception);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(errorMessage, response.getBody().getMessage());
+        assertNull(response.getBody().getDetails());
+    }
 }
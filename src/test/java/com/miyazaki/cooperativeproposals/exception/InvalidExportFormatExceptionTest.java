@@ -0,0 +1,31 @@
+package com.miyazaki.cooperativeproposals.exception;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class InvalidExportFormatExceptionTest {
+
+    @Test
+    void constructor_ShouldCreateExceptionWithMessage_WhenMessageProvided() {
+        final String message = "Export format must be ndjson or csv";
+
+        final InvalidExportFormatException exception = new InvalidExportFormatException(message);
+
+        assertEquals(message, exception.getMessage());
+    }
+
+    @Test
+    void constructor_ShouldCreateExceptionWithNullMessage_WhenNullMessageProvided() {
+        final InvalidExportFormatException exception = new InvalidExportFormatException(null);
+
+        assertNull(exception.getMessage());
+    }
+
+    @Test
+    void exception_ShouldBeInstanceOfRuntimeException_WhenCreated() {
+        assertInstanceOf(RuntimeException.class, new InvalidExportFormatException("Test message"));
+    }
+}
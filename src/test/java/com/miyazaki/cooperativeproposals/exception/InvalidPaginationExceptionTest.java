@@ -0,0 +1,31 @@
+package com.miyazaki.cooperativeproposals.exception;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class InvalidPaginationExceptionTest {
+
+    @Test
+    void constructor_ShouldCreateExceptionWithMessage_WhenMessageProvided() {
+        final String message = "Invalid pagination cursor";
+
+        final InvalidPaginationException exception = new InvalidPaginationException(message);
+
+        assertEquals(message, exception.getMessage());
+    }
+
+    @Test
+    void constructor_ShouldCreateExceptionWithNullMessage_WhenNullMessageProvided() {
+        final InvalidPaginationException exception = new InvalidPaginationException(null);
+
+        assertNull(exception.getMessage());
+    }
+
+    @Test
+    void exception_ShouldBeInstanceOfRuntimeException_WhenCreated() {
+        assertInstanceOf(RuntimeException.class, new InvalidPaginationException("Test message"));
+    }
+}
@@ -0,0 +1,31 @@
+package com.miyazaki.cooperativeproposals.exception;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class VoteIngestionUnavailableExceptionTest {
+
+    @Test
+    void constructor_ShouldCreateExceptionWithMessage_WhenMessageProvided() {
+        final String message = "Vote buffer is full, try again later";
+
+        final VoteIngestionUnavailableException exception = new VoteIngestionUnavailableException(message);
+
+        assertEquals(message, exception.getMessage());
+    }
+
+    @Test
+    void constructor_ShouldCreateExceptionWithNullMessage_WhenNullMessageProvided() {
+        final VoteIngestionUnavailableException exception = new VoteIngestionUnavailableException(null);
+
+        assertNull(exception.getMessage());
+    }
+
+    @Test
+    void exception_ShouldBeInstanceOfRuntimeException_WhenCreated() {
+        assertInstanceOf(RuntimeException.class, new VoteIngestionUnavailableException("Test message"));
+    }
+}
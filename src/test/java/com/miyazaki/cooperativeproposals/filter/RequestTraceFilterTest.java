@@ -10,6 +10,7 @@ import org.springframework.mock.web.MockHttpServletResponse;
 
 import jakarta.servlet.ServletException;
 import java.io.IOException;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -62,4 +63,16 @@ class RequestTraceFilterTest {
         assertNotNull(responseTraceId);
         assertNull(MDC.get(RequestTraceFilter.TRACE_KEY)); // Should be cleared after filter
     }
+
+    @Test
+    void resolveTraceId_ShouldKeepHeader_WhenProvided() {
+        assertEquals("test-trace-id-123", RequestTraceFilter.resolveTraceId("test-trace-id-123"));
+    }
+
+    @Test
+    void resolveTraceId_ShouldGenerateUuid_WhenHeaderMissing() {
+        final String traceId = RequestTraceFilter.resolveTraceId(null);
+
+        assertEquals(traceId, UUID.fromString(traceId).toString());
+    }
 }
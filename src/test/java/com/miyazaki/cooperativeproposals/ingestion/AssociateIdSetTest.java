@@ -0,0 +1,101 @@
+package com.miyazaki.cooperativeproposals.ingestion;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AssociateIdSetTest {
+
+    @Test
+    void add_ShouldReturnFalse_WhenIdIsAlreadyPresent() {
+        final AssociateIdSet set = new AssociateIdSet();
+        final UUID id = UUID.randomUUID();
+
+        assertTrue(set.add(id));
+        assertFalse(set.add(id));
+        assertTrue(set.contains(id));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void add_ShouldGrowSegments_WhenManyIdsAreAdded() {
+        final AssociateIdSet set = new AssociateIdSet();
+        final List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            final UUID id = UUID.randomUUID();
+            ids.add(id);
+            assertTrue(set.add(id));
+        }
+
+        assertEquals(10_000, set.size());
+        ids.forEach(id -> assertTrue(set.contains(id)));
+        assertFalse(set.contains(UUID.randomUUID()));
+    }
+
+    @Test
+    void remove_ShouldKeepOtherIdsReachable_WhenProbeRunsAreShifted() {
+        final AssociateIdSet set = new AssociateIdSet();
+        final List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            final UUID id = UUID.randomUUID();
+            ids.add(id);
+            set.add(id);
+        }
+
+        for (int i = 0; i < ids.size(); i += 2) {
+            assertTrue(set.remove(ids.get(i)));
+        }
+
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(i % 2 == 1, set.contains(ids.get(i)));
+        }
+        assertEquals(1_000, set.size());
+        assertFalse(set.remove(ids.get(0)));
+    }
+
+    @Test
+    void add_ShouldTrackNilUuid_WhenNilUuidIsAdded() {
+        final AssociateIdSet set = new AssociateIdSet();
+        final UUID nil = new UUID(0L, 0L);
+
+        assertTrue(set.add(nil));
+        assertFalse(set.add(nil));
+        assertTrue(set.contains(nil));
+        assertTrue(set.remove(nil));
+        assertFalse(set.contains(nil));
+    }
+
+    @Test
+    void add_ShouldAcceptEachIdOnce_WhenCalledConcurrently() throws InterruptedException {
+        final AssociateIdSet set = new AssociateIdSet();
+        final List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        final AtomicInteger accepted = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int thread = 0; thread < 8; thread++) {
+            executor.submit(() -> ids.forEach(id -> {
+                if (set.add(id)) {
+                    accepted.incrementAndGet();
+                }
+            }));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(ids.size(), accepted.get());
+        assertEquals(ids.size(), set.size());
+    }
+}
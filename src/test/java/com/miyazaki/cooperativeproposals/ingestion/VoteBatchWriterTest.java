@@ -0,0 +1,81 @@
+package com.miyazaki.cooperativeproposals.ingestion;
+
+import com.miyazaki.cooperativeproposals.domain.entity.Proposal;
+import com.miyazaki.cooperativeproposals.domain.entity.Vote;
+import com.miyazaki.cooperativeproposals.domain.repository.VoteRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.VoteTallyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyShort;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VoteBatchWriterTest {
+
+    @Mock
+    private VoteRepository voteRepository;
+
+    @Mock
+    private VoteTallyRepository voteTallyRepository;
+
+    private VoteBatchWriter voteBatchWriter;
+
+    @BeforeEach
+    void setUp() {
+        voteBatchWriter = new VoteBatchWriter(voteRepository, voteTallyRepository, 4);
+    }
+
+    @Test
+    void write_ShouldIncrementTallyOncePerProposal_WithInsertedVotesOnly() {
+        final Proposal first = Proposal.builder().id(UUID.randomUUID()).build();
+        final Proposal second = Proposal.builder().id(UUID.randomUUID()).build();
+        final Vote yes = vote(first, true);
+        final Vote no = vote(first, false);
+        final Vote anotherYes = vote(first, true);
+        final Vote rejected = vote(first, true);
+        final Vote secondNo = vote(second, false);
+        final List<Vote> votes = List.of(yes, no, anotherYes, rejected, secondNo);
+        final Set<UUID> inserted = Set.of(yes.getId(), no.getId(), anotherYes.getId(), secondNo.getId());
+        when(voteRepository.insertAll(votes)).thenReturn(inserted);
+
+        final Set<UUID> result = voteBatchWriter.write(votes);
+
+        assertEquals(inserted, result);
+        verify(voteTallyRepository, times(1)).increment(eq(first.getId()), anyShort(), eq(2L), eq(1L));
+        verify(voteTallyRepository, times(1)).increment(eq(second.getId()), anyShort(), eq(0L), eq(1L));
+    }
+
+    @Test
+    void write_ShouldNotTouchTally_WhenNoVoteWasInserted() {
+        final Vote vote = vote(Proposal.builder().id(UUID.randomUUID()).build(), true);
+        when(voteRepository.insertAll(List.of(vote))).thenReturn(Set.of());
+
+        voteBatchWriter.write(List.of(vote));
+
+        verify(voteTallyRepository, never()).increment(any(), anyShort(), anyLong(), anyLong());
+    }
+
+    private Vote vote(final Proposal proposal, final boolean value) {
+        return Vote.builder()
+                .id(UUID.randomUUID())
+                .proposal(proposal)
+                .associateId(UUID.randomUUID())
+                .vote(value)
+                .build();
+    }
+}
@@ -0,0 +1,132 @@
+package com.miyazaki.cooperativeproposals.ingestion;
+
+import com.miyazaki.cooperativeproposals.domain.enums.SessionStatus;
+import com.miyazaki.cooperativeproposals.domain.repository.VoteRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.VotingSessionRepository;
+import com.miyazaki.cooperativeproposals.exception.NotFoundException;
+import com.miyazaki.cooperativeproposals.service.ActiveSession;
+import com.miyazaki.cooperativeproposals.service.OpenSessionRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VoteDedupIndexTest {
+
+    @Mock
+    private VoteRepository voteRepository;
+
+    @Mock
+    private VotingSessionRepository votingSessionRepository;
+
+    @Mock
+    private OpenSessionRegistry openSessionRegistry;
+
+    @InjectMocks
+    private VoteDedupIndex voteDedupIndex;
+
+    @Test
+    void tryRegister_ShouldRejectSecondVote_WithoutQueryingDatabase_WhenSessionWasOpenedOnThisNode() {
+        final UUID proposalId = UUID.randomUUID();
+        final UUID associateId = UUID.randomUUID();
+        voteDedupIndex.open(proposalId);
+
+        assertTrue(voteDedupIndex.tryRegister(proposalId, associateId));
+        assertFalse(voteDedupIndex.tryRegister(proposalId, associateId));
+
+        verify(voteRepository, never()).findAssociateIdsByProposalId(any());
+    }
+
+    @Test
+    void tryRegister_ShouldLoadExistingVoters_WhenProposalIsNotTracked() {
+        final UUID proposalId = UUID.randomUUID();
+        final UUID existingVoter = UUID.randomUUID();
+        when(openSessionRegistry.activeSession(proposalId)).thenReturn(Optional.of(activeSession(proposalId)));
+        when(voteRepository.findAssociateIdsByProposalId(proposalId)).thenReturn(List.of(existingVoter));
+
+        assertFalse(voteDedupIndex.tryRegister(proposalId, existingVoter));
+        assertTrue(voteDedupIndex.tryRegister(proposalId, UUID.randomUUID()));
+
+        verify(voteRepository, times(1)).findAssociateIdsByProposalId(proposalId);
+    }
+
+    @Test
+    void tryRegister_ShouldNotLoadVoters_WhenSessionIsNoLongerOpen() {
+        final UUID proposalId = UUID.randomUUID();
+        when(openSessionRegistry.activeSession(proposalId)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> voteDedupIndex.tryRegister(proposalId, UUID.randomUUID()));
+
+        assertFalse(voteDedupIndex.isTracked(proposalId));
+        verify(voteRepository, never()).findAssociateIdsByProposalId(any());
+    }
+
+    @Test
+    void tryRegister_ShouldDiscardLoadedVoters_WhenSessionClosesWhileLoading() {
+        final UUID proposalId = UUID.randomUUID();
+        when(openSessionRegistry.activeSession(proposalId))
+                .thenReturn(Optional.of(activeSession(proposalId)))
+                .thenReturn(Optional.empty());
+        when(voteRepository.findAssociateIdsByProposalId(proposalId)).thenReturn(List.of(UUID.randomUUID()));
+
+        assertThrows(NotFoundException.class, () -> voteDedupIndex.tryRegister(proposalId, UUID.randomUUID()));
+
+        assertFalse(voteDedupIndex.isTracked(proposalId));
+    }
+
+    @Test
+    void release_ShouldAllowAssociateToVoteAgain_WhenWriteFailed() {
+        final UUID proposalId = UUID.randomUUID();
+        final UUID associateId = UUID.randomUUID();
+        voteDedupIndex.open(proposalId);
+        voteDedupIndex.tryRegister(proposalId, associateId);
+
+        voteDedupIndex.release(proposalId, associateId);
+
+        assertTrue(voteDedupIndex.tryRegister(proposalId, associateId));
+    }
+
+    @Test
+    void drop_ShouldStopTrackingProposal_WhenSessionIsClosed() {
+        final UUID proposalId = UUID.randomUUID();
+        voteDedupIndex.open(proposalId);
+
+        voteDedupIndex.drop(proposalId);
+
+        assertFalse(voteDedupIndex.isTracked(proposalId));
+    }
+
+    @Test
+    void warmOpenSessions_ShouldLoadVotersOfEveryOpenSession_WhenApplicationStarts() {
+        final UUID proposalId = UUID.randomUUID();
+        final UUID voter = UUID.randomUUID();
+        when(votingSessionRepository.findProposalIdsByStatus(SessionStatus.OPENED)).thenReturn(List.of(proposalId));
+        when(voteRepository.findAssociateIdsByProposalId(proposalId)).thenReturn(List.of(voter));
+
+        voteDedupIndex.warmOpenSessions();
+
+        assertTrue(voteDedupIndex.isTracked(proposalId));
+        assertFalse(voteDedupIndex.tryRegister(proposalId, voter));
+        verify(voteRepository, times(1)).findAssociateIdsByProposalId(proposalId);
+    }
+
+    private static ActiveSession activeSession(final UUID proposalId) {
+        return new ActiveSession(proposalId, UUID.randomUUID(), LocalDateTime.now().plusMinutes(5));
+    }
+}
@@ -0,0 +1,203 @@
+package com.miyazaki.cooperativeproposals.ingestion;
+
+import com.miyazaki.cooperativeproposals.domain.entity.Proposal;
+import com.miyazaki.cooperativeproposals.domain.entity.Vote;
+import com.miyazaki.cooperativeproposals.domain.entity.VotingSession;
+import com.miyazaki.cooperativeproposals.domain.repository.VoteRepository;
+import com.miyazaki.cooperativeproposals.exception.DuplicateVoteException;
+import com.miyazaki.cooperativeproposals.exception.NotFoundException;
+import com.miyazaki.cooperativeproposals.exception.VoteIngestionUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VoteIngestionQueueTest {
+
+    @Mock
+    private VoteBatchWriter voteBatchWriter;
+
+    @Mock
+    private VoteRepository voteRepository;
+
+    @Mock
+    private VoteDedupIndex voteDedupIndex;
+
+    private SimpleMeterRegistry meterRegistry;
+    private VoteIngestionQueue voteIngestionQueue;
+    private Vote vote;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        voteIngestionQueue = new VoteIngestionQueue(voteBatchWriter, voteRepository, voteDedupIndex, meterRegistry,
+                1, 10, 200L);
+
+        final Proposal proposal = Proposal.builder().id(UUID.randomUUID()).build();
+        vote = voteOn(proposal);
+    }
+
+    @AfterEach
+    void tearDown() {
+        voteIngestionQueue.stop();
+    }
+
+    @Test
+    void write_ShouldReturn_WhenBatchWriterInsertsVote() {
+        when(voteBatchWriter.write(List.of(vote))).thenReturn(Set.of(vote.getId()));
+        voteIngestionQueue.start();
+
+        assertTrue(voteIngestionQueue.write(vote));
+
+        verify(voteRepository, never()).existsByProposalIdAndAssociateId(vote.getProposal().getId(),
+                vote.getAssociateId());
+    }
+
+    @Test
+    void write_ShouldThrowDuplicateVoteException_WhenRowConflictsWithExistingVote() {
+        when(voteBatchWriter.write(List.of(vote))).thenReturn(Set.of());
+        when(voteRepository.existsByProposalIdAndAssociateId(vote.getProposal().getId(), vote.getAssociateId()))
+                .thenReturn(true);
+        voteIngestionQueue.start();
+
+        final DuplicateVoteException exception = assertThrows(DuplicateVoteException.class,
+                () -> voteIngestionQueue.write(vote));
+
+        assertEquals("Associate has already voted on this proposal", exception.getMessage());
+    }
+
+    @Test
+    void write_ShouldThrowNotFoundException_WhenSessionClosedBeforeWrite() {
+        when(voteBatchWriter.write(List.of(vote))).thenReturn(Set.of());
+        when(voteRepository.existsByProposalIdAndAssociateId(vote.getProposal().getId(), vote.getAssociateId()))
+                .thenReturn(false);
+        voteIngestionQueue.start();
+
+        final NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> voteIngestionQueue.write(vote));
+
+        assertEquals("No active voting session found for this proposal", exception.getMessage());
+    }
+
+    @Test
+    void write_ShouldThrowVoteIngestionUnavailableException_WhenBatchWriterFails() {
+        when(voteBatchWriter.write(anyList())).thenThrow(new RuntimeException("connection refused"));
+        voteIngestionQueue.start();
+
+        final VoteIngestionUnavailableException exception = assertThrows(VoteIngestionUnavailableException.class,
+                () -> voteIngestionQueue.write(vote));
+
+        assertEquals("Vote could not be persisted", exception.getMessage());
+    }
+
+    @Test
+    void write_ShouldThrowVoteIngestionUnavailableException_WhenWriterIsNotRunning() {
+        final VoteIngestionUnavailableException exception = assertThrows(VoteIngestionUnavailableException.class,
+                () -> voteIngestionQueue.write(vote));
+
+        assertEquals("Vote buffer is full, try again later", exception.getMessage());
+        assertEquals(0, voteIngestionQueue.depth());
+        verify(voteBatchWriter, never()).write(anyList());
+    }
+
+    @Test
+    void write_ShouldReturnPendingAndKeepDedupMark_WhenWriterHoldsVotePastAckTimeout() {
+        when(voteBatchWriter.write(List.of(vote))).thenAnswer(invocation -> {
+            Thread.sleep(500);
+            return Set.of(vote.getId());
+        });
+        voteIngestionQueue.start();
+
+        assertFalse(voteIngestionQueue.write(vote));
+
+        verify(voteDedupIndex, after(600).never()).release(vote.getProposal().getId(), vote.getAssociateId());
+    }
+
+    @Test
+    void write_ShouldReleaseDedupMark_WhenPendingVoteFailsAfterAckTimeout() {
+        when(voteBatchWriter.write(List.of(vote))).thenAnswer(invocation -> {
+            Thread.sleep(500);
+            throw new RuntimeException("connection reset");
+        });
+        voteIngestionQueue.start();
+
+        assertFalse(voteIngestionQueue.write(vote));
+
+        verify(voteDedupIndex, timeout(2000)).release(vote.getProposal().getId(), vote.getAssociateId());
+    }
+
+    @Test
+    void write_ShouldDropVoteFromBuffer_WhenItTimesOutBeforeWriterTakesIt() throws Exception {
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Vote queued = voteOn(vote.getProposal());
+        when(voteBatchWriter.write(List.of(vote))).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Set.of(vote.getId());
+        });
+        voteIngestionQueue.start();
+        final CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> voteIngestionQueue.write(vote));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        final VoteIngestionUnavailableException exception = assertThrows(VoteIngestionUnavailableException.class,
+                () -> voteIngestionQueue.write(queued));
+        release.countDown();
+
+        assertEquals("Timed out waiting for vote to be persisted", exception.getMessage());
+        assertEquals(0, voteIngestionQueue.depth());
+        assertFalse(first.get(5, TimeUnit.SECONDS));
+        voteIngestionQueue.flush();
+        verify(voteBatchWriter, never()).write(List.of(queued));
+    }
+
+    @Test
+    void flush_ShouldComplete_WhenBufferIsEmpty() {
+        voteIngestionQueue.start();
+
+        assertDoesNotThrow(() -> voteIngestionQueue.flush());
+
+        verify(voteBatchWriter, never()).write(anyList());
+    }
+
+    @Test
+    void constructor_ShouldRegisterQueueDepthGauge() {
+        assertEquals(0.0, meterRegistry.get("vote.ingestion.queue.depth").gauge().value());
+        assertEquals(1.0, meterRegistry.get("vote.ingestion.queue.remaining").gauge().value());
+    }
+
+    private static Vote voteOn(final Proposal proposal) {
+        return Vote.builder()
+                .id(UUID.randomUUID())
+                .proposal(proposal)
+                .votingSession(VotingSession.builder().id(UUID.randomUUID()).proposal(proposal).build())
+                .associateId(UUID.randomUUID())
+                .vote(true)
+                .votedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.miyazaki.cooperativeproposals.load;
+
+import com.miyazaki.cooperativeproposals.PostgresRabbitContainerTest;
+import com.miyazaki.cooperativeproposals.controller.dto.request.VoteRequest;
+import com.miyazaki.cooperativeproposals.controller.dto.response.BatchVoteResponse;
+import com.miyazaki.cooperativeproposals.domain.entity.Proposal;
+import com.miyazaki.cooperativeproposals.domain.entity.VotingSession;
+import com.miyazaki.cooperativeproposals.domain.enums.SessionStatus;
+import com.miyazaki.cooperativeproposals.domain.repository.ProposalRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.VoteRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.VotingSessionRepository;
+import com.miyazaki.cooperativeproposals.service.BatchVoteService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Writes a 10k-vote batch against a local Postgres and checks that it completes well under a second.
+ * CPFs pass the local check digits and remote validation is disabled, so the time measured is the
+ * in-batch dedupe, the set-based duplicate query and the multi-row insert.
+ * Run with {@code ./gradlew loadTest}.
+ */
+@Tag("load")
+@Slf4j
+@SpringBootTest
+@TestPropertySource(properties = {
+    "app.cpf-validation-enabled=false",
+    "logging.level.com.miyazaki.cooperativeproposals=WARN"
+})
+class BatchVoteLoadTest extends PostgresRabbitContainerTest {
+
+    private static final int VOTES = 10_000;
+    private static final long BUDGET_MS = 1000;
+
+    @Autowired
+    private BatchVoteService batchVoteService;
+
+    @Autowired
+    private ProposalRepository proposalRepository;
+
+    @Autowired
+    private VotingSessionRepository votingSessionRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Test
+    void castVotes_ShouldWriteTenThousandVotesUnderOneSecond_WhenBatchIsUploaded() {
+        final UUID warmUp = openProposal("Warm-up");
+        batchVoteService.castVotes(warmUp, batch(VOTES / 10, 300_000_000));
+
+        final UUID proposalId = openProposal("Batch upload");
+        final List<VoteRequest> votes = batch(VOTES, 400_000_000);
+
+        final long start = System.nanoTime();
+        final BatchVoteResponse response = batchVoteService.castVotes(proposalId, votes);
+        final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        log.warn("Batch of {} votes written in {} ms ({} accepted)", VOTES, elapsedMs, response.getAccepted());
+        assertEquals(VOTES, response.getAccepted());
+        assertEquals(VOTES, voteRepository.countVoteResults(proposalId).getCountYes()
+                + voteRepository.countVoteResults(proposalId).getCountNo());
+        assertTrue(elapsedMs < BUDGET_MS, "10k-vote batch took " + elapsedMs + " ms");
+    }
+
+    private UUID openProposal(final String title) {
+        final Proposal proposal = proposalRepository.save(Proposal.builder().title(title).build());
+        votingSessionRepository.save(VotingSession.builder()
+                .proposal(proposal)
+                .openedAt(LocalDateTime.now())
+                .closesAt(LocalDateTime.now().plusMinutes(10))
+                .status(SessionStatus.OPENED)
+                .build());
+        return proposal.getId();
+    }
+
+    private static List<VoteRequest> batch(final int size, final int cpfBase) {
+        final List<VoteRequest> votes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            votes.add(new VoteRequest(UUID.randomUUID(), LoadTestCpfs.cpf(cpfBase + i), i % 2 == 0));
+        }
+        return votes;
+    }
+}
@@ -0,0 +1,142 @@
+package com.miyazaki.cooperativeproposals.load;
+
+import com.miyazaki.cooperativeproposals.PostgresRabbitContainerTest;
+import com.miyazaki.cooperativeproposals.controller.dto.request.OpenSessionRequest;
+import com.miyazaki.cooperativeproposals.controller.dto.request.VoteRequest;
+import com.miyazaki.cooperativeproposals.controller.dto.response.VoteResponse;
+import com.miyazaki.cooperativeproposals.domain.entity.Proposal;
+import com.miyazaki.cooperativeproposals.domain.repository.ProposalRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Casts votes from many concurrent associates while the CPF service answers slowly and samples the
+ * Hikari pool meanwhile. Votes wait on HTTP outside any transaction, so the pool must never be exhausted
+ * even with several times more voters in flight than pooled connections.
+ * Run with {@code ./gradlew loadTest}.
+ */
+@Tag("load")
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWireMock(port = 0)
+@TestPropertySource(properties = {
+    "feign.cpf-validation.url=http://localhost:${wiremock.server.port}",
+    "app.cpf-validation-enabled=true",
+    "app.cpf-validation.attempt-timeout-ms=5000",
+    "app.cpf-validation.hedge.max-attempts=1",
+    "app.cpf-validation.bulkhead.max-concurrent-calls=200",
+    "spring.datasource.hikari.maximum-pool-size=10"
+})
+class CastVoteConnectionPoolLoadTest extends PostgresRabbitContainerTest {
+
+    private static final int VOTERS = 60;
+    private static final int CPF_DELAY_MS = 1000;
+    private static final int POOL_SIZE = 10;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ProposalRepository proposalRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void castVote_ShouldNotExhaustConnectionPool_WhenCpfServiceIsSlow() throws Exception {
+        stubFor(get(urlPathMatching("/users/.*"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"status\":\"ABLE_TO_VOTE\"}")
+                        .withFixedDelay(CPF_DELAY_MS)));
+
+        final Proposal proposal = proposalRepository.save(Proposal.builder()
+                .title("Load test")
+                .description("Connection pool occupancy under a slow CPF service")
+                .build());
+        final ResponseEntity<String> opened = restTemplate.postForEntity(
+                "/proposal/{id}/open", new OpenSessionRequest(600), String.class, proposal.getId());
+        assertEquals(HttpStatus.OK, opened.getStatusCode());
+
+        final HikariPoolMXBean pool = ((HikariDataSource) dataSource).getHikariPoolMXBean();
+        final AtomicInteger peakActive = new AtomicInteger();
+        final AtomicInteger peakWaiting = new AtomicInteger();
+        final AtomicBoolean sampling = new AtomicBoolean(true);
+        final Thread sampler = new Thread(() -> {
+            while (sampling.get()) {
+                peakActive.accumulateAndGet(pool.getActiveConnections(), Math::max);
+                peakWaiting.accumulateAndGet(pool.getThreadsAwaitingConnection(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }, "pool-sampler");
+        sampler.start();
+
+        final ExecutorService voters = Executors.newFixedThreadPool(VOTERS);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<ResponseEntity<VoteResponse>>> responses = new ArrayList<>(VOTERS);
+        for (int i = 0; i < VOTERS; i++) {
+            final VoteRequest vote = new VoteRequest(UUID.randomUUID(), LoadTestCpfs.cpf(100_000_000 + i), i % 2 == 0);
+            responses.add(voters.submit(() -> {
+                start.await();
+                return restTemplate.postForEntity("/proposal/{id}/vote", vote, VoteResponse.class, proposal.getId());
+            }));
+        }
+
+        final long began = System.nanoTime();
+        start.countDown();
+        int created = 0;
+        for (Future<ResponseEntity<VoteResponse>> response : responses) {
+            if (response.get(30, TimeUnit.SECONDS).getStatusCode() == HttpStatus.CREATED) {
+                created++;
+            }
+        }
+        final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - began);
+        sampling.set(false);
+        sampler.join();
+        voters.shutdown();
+
+        log.info("{} voters, CPF delay {} ms: {} created in {} ms, peak active connections {}/{}, "
+                        + "peak threads awaiting a connection {}",
+                VOTERS, CPF_DELAY_MS, created, elapsedMs, peakActive.get(), POOL_SIZE, peakWaiting.get());
+
+        assertEquals(VOTERS, created);
+        assertTrue(peakActive.get() < POOL_SIZE,
+                "pool should not be exhausted while votes wait on the CPF service, peak " + peakActive.get());
+        assertEquals(0, peakWaiting.get());
+    }
+}
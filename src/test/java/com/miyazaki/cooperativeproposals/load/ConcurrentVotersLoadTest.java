@@ -0,0 +1,151 @@
+package com.miyazaki.cooperativeproposals.load;
+
+import com.miyazaki.cooperativeproposals.PostgresRabbitContainerTest;
+import com.miyazaki.cooperativeproposals.domain.entity.Proposal;
+import com.miyazaki.cooperativeproposals.domain.repository.ProposalRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Casts one vote per associate from 2k concurrent voters against a CPF stub with a fixed latency and
+ * reports throughput and latency percentiles. Subclasses run the same scenario with platform and with
+ * virtual threads; each run appends a line to {@code build/reports/load/concurrent-voters.csv}.
+ * Run with {@code ./gradlew loadTest}.
+ */
+@Tag("load")
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "feign.cpf-validation.url=http://localhost:${wiremock.server.port}",
+    "app.cpf-validation-enabled=true",
+    "app.cpf-validation.attempt-timeout-ms=10000",
+    "app.cpf-validation.hedge.max-attempts=1",
+    "app.cpf-validation.bulkhead.max-concurrent-calls=4000",
+    "app.vote-ingestion.ack-timeout-ms=30000",
+    "logging.level.com.miyazaki.cooperativeproposals=WARN",
+    "logging.level.org.springframework.web=WARN"
+})
+@AutoConfigureWireMock(port = 0)
+abstract class ConcurrentVotersLoadTest extends PostgresRabbitContainerTest {
+
+    private static final int VOTERS = 2000;
+    private static final int CPF_DELAY_MS = 100;
+    private static final Path RESULTS = Path.of("build", "reports", "load", "concurrent-voters.csv");
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Autowired
+    private ProposalRepository proposalRepository;
+
+    @Test
+    void castVote_ShouldReportThroughputAndP99_WhenTwoThousandVotersArriveAtOnce() throws Exception {
+        stubFor(get(urlPathMatching("/users/.*"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"status\":\"ABLE_TO_VOTE\"}")
+                        .withFixedDelay(CPF_DELAY_MS)));
+
+        final UUID proposalId = proposalRepository.save(Proposal.builder()
+                .title("Concurrent voters")
+                .description("Throughput with " + mode() + " threads")
+                .build()).getId();
+
+        try (ExecutorService voters = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(voters)
+                     .build()) {
+            final HttpResponse<String> opened = http.send(post("/proposal/" + proposalId + "/open",
+                    "{\"durationSeconds\":600}"), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, opened.statusCode());
+
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<long[]>> results = new ArrayList<>(VOTERS);
+            for (int i = 0; i < VOTERS; i++) {
+                final String body = String.format("{\"associateId\":\"%s\",\"associateCpf\":\"%s\",\"vote\":%s}",
+                        UUID.randomUUID(), LoadTestCpfs.cpf(200_000_000 + i), i % 2 == 0);
+                final HttpRequest request = post("/proposal/" + proposalId + "/vote", body);
+                results.add(voters.submit(() -> {
+                    start.await();
+                    final long sent = System.nanoTime();
+                    final int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    return new long[] {status, System.nanoTime() - sent};
+                }));
+            }
+
+            final long began = System.nanoTime();
+            start.countDown();
+            final long[] latencies = new long[VOTERS];
+            int created = 0;
+            for (int i = 0; i < VOTERS; i++) {
+                final long[] result = results.get(i).get(2, TimeUnit.MINUTES);
+                created += result[0] == 201 ? 1 : 0;
+                latencies[i] = result[1];
+            }
+            final double elapsedSeconds = (System.nanoTime() - began) / 1e9;
+
+            Arrays.sort(latencies);
+            final double throughput = VOTERS / elapsedSeconds;
+            final long p50 = TimeUnit.NANOSECONDS.toMillis(latencies[VOTERS / 2]);
+            final long p99 = TimeUnit.NANOSECONDS.toMillis(latencies[(int) Math.ceil(VOTERS * 0.99) - 1]);
+            log.warn("{} threads: {} voters, {} created, {} votes/s, p50 {} ms, p99 {} ms",
+                    mode(), VOTERS, created, String.format("%.1f", throughput), p50, p99);
+            record(String.format("%s,%d,%d,%.1f,%d,%d", mode(), VOTERS, created, throughput, p50, p99));
+
+            assertEquals(VOTERS, created);
+        }
+    }
+
+    private String mode() {
+        return virtualThreads ? "virtual" : "platform";
+    }
+
+    private HttpRequest post(final String path, final String body) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1" + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static void record(final String line) throws IOException {
+        Files.createDirectories(RESULTS.getParent());
+        if (Files.notExists(RESULTS)) {
+            Files.writeString(RESULTS, "mode,voters,created,throughput,p50_ms,p99_ms\n");
+        }
+        Files.writeString(RESULTS, line + "\n", StandardOpenOption.APPEND);
+    }
+}
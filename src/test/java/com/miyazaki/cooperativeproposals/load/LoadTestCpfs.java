@@ -0,0 +1,41 @@
+package com.miyazaki.cooperativeproposals.load;
+
+/**
+ * Generates distinct CPFs with valid check digits for load tests.
+ */
+final class LoadTestCpfs {
+
+    private static final int LENGTH = 11;
+
+    private LoadTestCpfs() {
+    }
+
+    /**
+     * @param base the first nine digits, between 100000000 and 999999999
+     * @return the 11-digit CPF built from {@code base}
+     */
+    static String cpf(final int base) {
+        final int[] digits = new int[LENGTH];
+        int remaining = base;
+        for (int i = 8; i >= 0; i--) {
+            digits[i] = remaining % 10;
+            remaining /= 10;
+        }
+        digits[9] = checkDigit(digits, 9);
+        digits[10] = checkDigit(digits, 10);
+        final StringBuilder cpf = new StringBuilder(LENGTH);
+        for (int digit : digits) {
+            cpf.append(digit);
+        }
+        return cpf.toString();
+    }
+
+    private static int checkDigit(final int[] digits, final int length) {
+        int sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += digits[i] * (length + 1 - i);
+        }
+        final int remainder = sum % LENGTH;
+        return remainder < 2 ? 0 : LENGTH - remainder;
+    }
+}
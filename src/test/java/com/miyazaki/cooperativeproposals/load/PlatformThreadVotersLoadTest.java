@@ -0,0 +1,7 @@
+package com.miyazaki.cooperativeproposals.load;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+class PlatformThreadVotersLoadTest extends ConcurrentVotersLoadTest {
+}
@@ -0,0 +1,130 @@
+package com.miyazaki.cooperativeproposals.load;
+
+import com.miyazaki.cooperativeproposals.PostgresRabbitContainerTest;
+import com.miyazaki.cooperativeproposals.domain.entity.Proposal;
+import com.miyazaki.cooperativeproposals.domain.entity.UuidV7Generator;
+import com.miyazaki.cooperativeproposals.domain.entity.Vote;
+import com.miyazaki.cooperativeproposals.domain.entity.VotingSession;
+import com.miyazaki.cooperativeproposals.domain.enums.SessionStatus;
+import com.miyazaki.cooperativeproposals.domain.repository.ProposalRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.VoteRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.VotingSessionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Inserts the same number of votes with random (v4) and time-ordered (v7) ids through the bulk insert
+ * and compares rows per second and the size of the vote indexes afterwards.
+ * Each run appends a line to {@code build/reports/load/vote-id-inserts.csv}.
+ * Run with {@code ./gradlew loadTest}.
+ */
+@Tag("load")
+@Slf4j
+@SpringBootTest
+@TestPropertySource(properties = "logging.level.com.miyazaki.cooperativeproposals=WARN")
+class VoteIdInsertLoadTest extends PostgresRabbitContainerTest {
+
+    private static final int ROWS = 200_000;
+    private static final int CHUNK = 500;
+    private static final Path RESULTS = Path.of("build", "reports", "load", "vote-id-inserts.csv");
+
+    @Autowired
+    private ProposalRepository proposalRepository;
+
+    @Autowired
+    private VotingSessionRepository votingSessionRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void insertAll_ShouldKeepIndexesSmaller_WhenIdsAreTimeOrdered() throws IOException {
+        insert("warm-up", UUID::randomUUID, ROWS / 10);
+
+        final InsertRun random = insert("uuid-v4", UUID::randomUUID, ROWS);
+        final InsertRun timeOrdered = insert("uuid-v7", UuidV7Generator::next, ROWS);
+
+        log.warn("v4: {} rows/s, pkey {} bytes, indexes {} bytes", random.rowsPerSecond(),
+                random.primaryKeyBytes(), random.indexBytes());
+        log.warn("v7: {} rows/s, pkey {} bytes, indexes {} bytes", timeOrdered.rowsPerSecond(),
+                timeOrdered.primaryKeyBytes(), timeOrdered.indexBytes());
+        report(random);
+        report(timeOrdered);
+
+        assertTrue(timeOrdered.primaryKeyBytes() < random.primaryKeyBytes(),
+                "v7 primary key " + timeOrdered.primaryKeyBytes() + " bytes, v4 " + random.primaryKeyBytes());
+    }
+
+    private InsertRun insert(final String mode, final Supplier<UUID> ids, final int rows) {
+        jdbcTemplate.execute("TRUNCATE vote");
+        final Proposal proposal = proposalRepository.save(Proposal.builder().title(mode).build());
+        final VotingSession session = votingSessionRepository.save(VotingSession.builder()
+                .proposal(proposal)
+                .openedAt(LocalDateTime.now())
+                .closesAt(LocalDateTime.now().plusMinutes(10))
+                .status(SessionStatus.OPENED)
+                .build());
+
+        int inserted = 0;
+        final long start = System.nanoTime();
+        for (int offset = 0; offset < rows; offset += CHUNK) {
+            final List<Vote> chunk = new ArrayList<>(CHUNK);
+            for (int i = 0; i < CHUNK && offset + i < rows; i++) {
+                chunk.add(Vote.builder()
+                        .id(ids.get())
+                        .proposal(proposal)
+                        .votingSession(session)
+                        .associateId(UUID.randomUUID())
+                        .vote(i % 2 == 0)
+                        .votedAt(LocalDateTime.now())
+                        .build());
+            }
+            inserted += voteRepository.insertAll(chunk).size();
+        }
+        final long elapsedNanos = System.nanoTime() - start;
+        assertEquals(rows, inserted);
+
+        jdbcTemplate.execute("ANALYZE vote");
+        final long primaryKeyBytes = jdbcTemplate.queryForObject(
+                "SELECT sum(pg_relation_size(relid)) FROM pg_partition_tree('vote_pkey')", Long.class);
+        final long indexBytes = jdbcTemplate.queryForObject(
+                "SELECT sum(pg_indexes_size(relid)) FROM pg_partition_tree('vote')", Long.class);
+        return new InsertRun(mode, rows, rows * TimeUnit.SECONDS.toNanos(1) / elapsedNanos,
+                primaryKeyBytes, indexBytes);
+    }
+
+    private static void report(final InsertRun run) throws IOException {
+        Files.createDirectories(RESULTS.getParent());
+        if (Files.notExists(RESULTS)) {
+            Files.writeString(RESULTS, "mode,rows,rows_per_second,pkey_bytes,index_bytes\n");
+        }
+        Files.writeString(RESULTS, String.join(",", run.mode(), String.valueOf(run.rows()),
+                String.valueOf(run.rowsPerSecond()), String.valueOf(run.primaryKeyBytes()),
+                String.valueOf(run.indexBytes())) + "\n", StandardOpenOption.APPEND);
+    }
+
+    private record InsertRun(String mode, int rows, long rowsPerSecond, long primaryKeyBytes, long indexBytes) {
+    }
+}
@@ -0,0 +1,139 @@
+package com.miyazaki.cooperativeproposals.load;
+
+import com.miyazaki.cooperativeproposals.PostgresRabbitContainerTest;
+import com.miyazaki.cooperativeproposals.domain.repository.VoteRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fills the partitioned vote table with {@code load.vote-partition.rows} votes (50M by default) spread over
+ * {@code load.vote-partition.proposals} proposals, then times countVoteResults and the batch duplicate check
+ * and confirms both are pruned to one partition.
+ * The test empties the shared database before and after the run, since every query assumes it owns the tables.
+ * Each run appends a line to {@code build/reports/load/vote-partitions.csv}.
+ * Run with {@code ./gradlew loadTest}.
+ */
+@Tag("load")
+@Slf4j
+@SpringBootTest
+@TestPropertySource(properties = "logging.level.com.miyazaki.cooperativeproposals=WARN")
+class VotePartitionLoadTest extends PostgresRabbitContainerTest {
+
+    private static final long ROWS = Long.getLong("load.vote-partition.rows", 50_000_000L);
+    private static final int PROPOSALS = Integer.getInteger("load.vote-partition.proposals", 5_000);
+    private static final int SAMPLES = 200;
+    private static final int ASSOCIATES_PER_CHECK = 1_000;
+    private static final Path RESULTS = Path.of("build", "reports", "load", "vote-partitions.csv");
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("TRUNCATE proposal CASCADE");
+    }
+
+    @Test
+    void proposalQueries_ShouldStayFast_WhenVoteTableHoldsFiftyMillionRows() throws IOException {
+        fill();
+        final List<UUID> proposalIds = jdbcTemplate.queryForList(
+                "SELECT id FROM proposal ORDER BY random() LIMIT " + SAMPLES, UUID.class);
+
+        final long[] countNanos = new long[SAMPLES];
+        final long[] duplicateCheckNanos = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            final UUID proposalId = proposalIds.get(i % proposalIds.size());
+            final UUID[] associateIds = jdbcTemplate.queryForList(
+                    "SELECT associate_id FROM vote WHERE proposal_id = ? LIMIT " + ASSOCIATES_PER_CHECK / 2,
+                    UUID.class, proposalId).toArray(UUID[]::new);
+            final UUID[] candidates = Arrays.copyOf(associateIds, ASSOCIATES_PER_CHECK);
+            for (int j = associateIds.length; j < candidates.length; j++) {
+                candidates[j] = UUID.randomUUID();
+            }
+
+            long start = System.nanoTime();
+            voteRepository.countVoteResults(proposalId);
+            countNanos[i] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            final List<UUID> voted = voteRepository.findVotedAssociateIds(proposalId, candidates);
+            duplicateCheckNanos[i] = System.nanoTime() - start;
+            assertEquals(associateIds.length, voted.size());
+        }
+
+        final String plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN SELECT count(*) FROM vote WHERE proposal_id = ?", String.class, proposalIds.get(0)));
+        assertEquals(1, plan.split("\\bvote_p\\d{2}\\b", -1).length - 1, plan);
+
+        final Percentiles count = Percentiles.of(countNanos);
+        final Percentiles duplicateCheck = Percentiles.of(duplicateCheckNanos);
+        log.warn("{} rows: countVoteResults p50={}ms p99={}ms, duplicate check p50={}ms p99={}ms",
+                ROWS, count.p50Ms(), count.p99Ms(), duplicateCheck.p50Ms(), duplicateCheck.p99Ms());
+        report(count, duplicateCheck);
+
+        assertTrue(duplicateCheck.p99Ms() < 100, "duplicate check p99 " + duplicateCheck.p99Ms() + " ms");
+    }
+
+    private void fill() {
+        final long start = System.nanoTime();
+        jdbcTemplate.execute("TRUNCATE proposal CASCADE");
+        jdbcTemplate.execute("""
+                INSERT INTO proposal (id, title)
+                SELECT gen_random_uuid(), 'Proposal ' || n FROM generate_series(1, %d) n
+                """.formatted(PROPOSALS));
+        jdbcTemplate.execute("""
+                INSERT INTO voting_session (id, proposal_id, opened_at, closes_at, status)
+                SELECT gen_random_uuid(), id, now(), now() + interval '1 hour', 'CLOSED' FROM proposal
+                """);
+        jdbcTemplate.execute("""
+                INSERT INTO vote (id, proposal_id, associate_id, voting_session_id, vote, voted_at)
+                SELECT gen_random_uuid(), s.proposal_id, gen_random_uuid(), s.id, random() < 0.5, now()
+                FROM voting_session s CROSS JOIN generate_series(1, %d)
+                """.formatted(ROWS / PROPOSALS));
+        jdbcTemplate.execute("ANALYZE vote");
+        log.warn("Loaded {} votes in {} s", ROWS, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+    }
+
+    private static void report(final Percentiles count, final Percentiles duplicateCheck) throws IOException {
+        Files.createDirectories(RESULTS.getParent());
+        if (Files.notExists(RESULTS)) {
+            Files.writeString(RESULTS, "rows,proposals,count_p50_ms,count_p99_ms,dup_check_p50_ms,dup_check_p99_ms\n");
+        }
+        Files.writeString(RESULTS, String.join(",", String.valueOf(ROWS), String.valueOf(PROPOSALS),
+                String.valueOf(count.p50Ms()), String.valueOf(count.p99Ms()),
+                String.valueOf(duplicateCheck.p50Ms()), String.valueOf(duplicateCheck.p99Ms())) + "\n",
+                StandardOpenOption.APPEND);
+    }
+
+    private record Percentiles(long p50Ms, long p99Ms) {
+
+        static Percentiles of(final long[] nanos) {
+            final long[] sorted = nanos.clone();
+            Arrays.sort(sorted);
+            return new Percentiles(
+                    TimeUnit.NANOSECONDS.toMillis(sorted[sorted.length / 2]),
+                    TimeUnit.NANOSECONDS.toMillis(sorted[(int) Math.ceil(sorted.length * 0.99) - 1]));
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.miyazaki.cooperativeproposals.controller.dto.response.ProposalDetails
 import com.miyazaki.cooperativeproposals.controller.dto.response.ProposalStatusEnum;
 import com.miyazaki.cooperativeproposals.domain.entity.Proposal;
 import com.miyazaki.cooperativeproposals.domain.mapper.ProposalMapper;
+import com.miyazaki.cooperativeproposals.service.ProposalView;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -49,4 +50,19 @@ class ProposalMapperTest {
         assertEquals(ProposalStatusEnum.WAITING, result.getStatus());
         assertNull(result.getResult()); // Should be null as per mapping configuration
     }
+
+    @Test
+    void toProposalDetailsResponse_ShouldMapAllFields_WhenProposalViewProvided() {
+        final UUID proposalId = UUID.randomUUID();
+        final ProposalView proposal = new ProposalView(proposalId, "Test Proposal Title",
+                "Test Proposal Description", ProposalStatusEnum.OPENED);
+
+        final ProposalDetailsResponse result = proposalMapper.toProposalDetailsResponse(proposal);
+
+        assertEquals(proposalId, result.getProposalId());
+        assertEquals("Test Proposal Title", result.getTitle());
+        assertEquals("Test Proposal Description", result.getDescription());
+        assertEquals(ProposalStatusEnum.OPENED, result.getStatus());
+        assertNull(result.getResult());
+    }
 }
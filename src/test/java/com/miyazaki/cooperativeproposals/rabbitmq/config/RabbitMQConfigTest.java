@@ -9,15 +9,20 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.CustomExchange;
 import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,9 +31,19 @@ class RabbitMQConfigTest {
     @Mock
     private ConnectionFactory connectionFactory;
 
+    @Mock
+    private MessageRecoverer retryRecoverer;
+
     @InjectMocks
     private RabbitMQConfig rabbitMQConfig;
 
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(rabbitMQConfig, "concurrency", 4);
+        ReflectionTestUtils.setField(rabbitMQConfig, "maxConcurrency", 8);
+        ReflectionTestUtils.setField(rabbitMQConfig, "prefetch", 50);
+    }
+
     @Test
     void delayedExchange_ShouldReturnCorrectlyConfiguredExchange() {
         // Act
@@ -111,6 +126,31 @@ class RabbitMQConfigTest {
         assertEquals(RabbitMQConfig.ROUTE_KEY_CLOSE, result.getRoutingKey());
     }
 
+    @Test
+    void proposalInvalidationBinding_ShouldBindNodeQueueToFanoutExchange() {
+        FanoutExchange exchange = rabbitMQConfig.proposalInvalidationExchange();
+        Queue queue = rabbitMQConfig.proposalInvalidationQueue();
+
+        Binding result = rabbitMQConfig.proposalInvalidationBinding(queue, exchange);
+
+        assertEquals(RabbitMQConfig.EXCHANGE_PROPOSAL_INVALIDATION, exchange.getName());
+        assertTrue(queue.isExclusive());
+        assertTrue(queue.isAutoDelete());
+        assertFalse(queue.isDurable());
+        assertEquals(queue.getName(), result.getDestination());
+        assertEquals(exchange.getName(), result.getExchange());
+    }
+
+    @Test
+    void invalidationListenerFactory_ShouldUseSingleConsumer() {
+        SimpleRabbitListenerContainerFactory result =
+                rabbitMQConfig.invalidationListenerFactory(connectionFactory, new Jackson2JsonMessageConverter());
+
+        assertEquals(1, ReflectionTestUtils.getField(result, "concurrentConsumers"));
+        assertEquals(1, ReflectionTestUtils.getField(result, "maxConcurrentConsumers"));
+        assertNull(result.getAdviceChain());
+    }
+
     @Test
     void listenerFactory_ShouldReturnCorrectlyConfiguredFactory() {
         // Arrange
@@ -118,13 +158,53 @@ class RabbitMQConfigTest {
 
         // Act
         SimpleRabbitListenerContainerFactory result = 
-                rabbitMQConfig.listenerFactory(connectionFactory, converter);
+                rabbitMQConfig.listenerFactory(connectionFactory, converter, retryRecoverer);
 
         // Assert
         assertNotNull(result);
         // Note: Some getter methods may not be available in all Spring AMQP versions
     }
 
+    @Test
+    void listenerFactory_ShouldApplyConfiguredConcurrencyAndPrefetch_AndAckEachDeliveryOnItsOwn() {
+        SimpleRabbitListenerContainerFactory result =
+                rabbitMQConfig.listenerFactory(connectionFactory, new Jackson2JsonMessageConverter(), retryRecoverer);
+
+        assertEquals(4, ReflectionTestUtils.getField(result, "concurrentConsumers"));
+        assertEquals(8, ReflectionTestUtils.getField(result, "maxConcurrentConsumers"));
+        assertEquals(50, ReflectionTestUtils.getField(result, "prefetchCount"));
+        assertNull(ReflectionTestUtils.getField(result, "batchSize"));
+        assertNotNull(result.getAdviceChain());
+    }
+
+    @Test
+    void listenerFactory_ShouldNotLetMaxConcurrencyFallBelowConcurrency() {
+        ReflectionTestUtils.setField(rabbitMQConfig, "maxConcurrency", 2);
+
+        SimpleRabbitListenerContainerFactory result =
+                rabbitMQConfig.listenerFactory(connectionFactory, new Jackson2JsonMessageConverter(), retryRecoverer);
+
+        assertEquals(4, ReflectionTestUtils.getField(result, "maxConcurrentConsumers"));
+    }
+
+    @Test
+    void listenerFactory_ShouldUseVirtualThreadExecutor_WhenVirtualThreadsAreEnabled() {
+        ReflectionTestUtils.setField(rabbitMQConfig, "virtualThreads", true);
+
+        SimpleRabbitListenerContainerFactory result =
+                rabbitMQConfig.listenerFactory(connectionFactory, new Jackson2JsonMessageConverter(), retryRecoverer);
+
+        assertTrue(ReflectionTestUtils.getField(result, "taskExecutor") instanceof VirtualThreadTaskExecutor);
+    }
+
+    @Test
+    void listenerFactory_ShouldKeepDefaultExecutor_WhenVirtualThreadsAreDisabled() {
+        SimpleRabbitListenerContainerFactory result =
+                rabbitMQConfig.listenerFactory(connectionFactory, new Jackson2JsonMessageConverter(), retryRecoverer);
+
+        assertNull(ReflectionTestUtils.getField(result, "taskExecutor"));
+    }
+
     @Test
     void jackson2JsonMessageConverter_ShouldReturnNotNullConverter() {
         // Act
@@ -155,5 +235,6 @@ class RabbitMQConfigTest {
         assertEquals("session.close.q", RabbitMQConfig.QUEUE_CLOSE);
         assertEquals("session.dlx", RabbitMQConfig.EXCHANGE_DLX);
         assertEquals("session.close.dlq", RabbitMQConfig.QUEUE_CLOSE_DLQ);
+        assertEquals("proposal.invalidation", RabbitMQConfig.EXCHANGE_PROPOSAL_INVALIDATION);
     }
 }
@@ -0,0 +1,102 @@
+package com.miyazaki.cooperativeproposals.rabbitmq.config;
+
+import com.miyazaki.cooperativeproposals.PostgresRabbitContainerTest;
+import com.miyazaki.cooperativeproposals.rabbitmq.consumer.SessionRetryRecoverer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the session close listener factory against a real broker to check how deliveries are acknowledged
+ * when one of several prefetched closures fails for good.
+ */
+class SessionListenerAckTest extends PostgresRabbitContainerTest {
+
+    private static final List<String> CLOSURES = List.of("first", "fails", "third", "fourth");
+
+    private CachingConnectionFactory connectionFactory;
+    private RabbitTemplate rabbitTemplate;
+    private SimpleMessageListenerContainer container;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new CachingConnectionFactory(RABBIT.getHost(), RABBIT.getAmqpPort());
+        connectionFactory.setUsername(RABBIT.getAdminUsername());
+        connectionFactory.setPassword(RABBIT.getAdminPassword());
+        rabbitTemplate = new RabbitTemplate(connectionFactory);
+
+        final RabbitMQConfig config = new RabbitMQConfig();
+        ReflectionTestUtils.setField(config, "concurrency", 1);
+        ReflectionTestUtils.setField(config, "maxConcurrency", 1);
+        ReflectionTestUtils.setField(config, "prefetch", 50);
+
+        final RabbitAdmin admin = new RabbitAdmin(connectionFactory);
+        admin.declareExchange(config.delayedExchange());
+        admin.declareExchange(config.dlx());
+        admin.declareQueue(config.closeQueue());
+        admin.declareQueue(config.closeDlq());
+        admin.declareBinding(config.closeBinding(config.closeQueue(), config.delayedExchange()));
+        admin.declareBinding(config.closeDlqBinding(config.closeDlq(), config.dlx()));
+        admin.purgeQueue(RabbitMQConfig.QUEUE_CLOSE);
+        admin.purgeQueue(RabbitMQConfig.QUEUE_CLOSE_DLQ);
+
+        final SessionRetryRecoverer recoverer = new SessionRetryRecoverer(rabbitTemplate, 1, 1000, 2.0, 10000);
+        container = config.listenerFactory(connectionFactory, new Jackson2JsonMessageConverter(), recoverer)
+                .createListenerContainer();
+        container.setQueueNames(RabbitMQConfig.QUEUE_CLOSE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        container.stop();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void listenerFactory_ShouldDeadLetterOnlyTheFailedClosure_WhenItFailsAmongPrefetchedSiblings()
+            throws InterruptedException {
+        final List<String> handled = new CopyOnWriteArrayList<>();
+        final CountDownLatch done = new CountDownLatch(CLOSURES.size());
+        container.setMessageListener((Message message) -> {
+            final String closure = new String(message.getBody(), StandardCharsets.UTF_8);
+            handled.add(closure);
+            done.countDown();
+            if ("fails".equals(closure)) {
+                throw new IllegalStateException("closure failed");
+            }
+        });
+        CLOSURES.forEach(closure -> rabbitTemplate.send("", RabbitMQConfig.QUEUE_CLOSE,
+                MessageBuilder.withBody(closure.getBytes(StandardCharsets.UTF_8)).build()));
+
+        container.start();
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        final Message deadLettered = rabbitTemplate.receive(RabbitMQConfig.QUEUE_CLOSE_DLQ, 5000);
+        assertNotNull(deadLettered);
+        assertEquals("fails", new String(deadLettered.getBody(), StandardCharsets.UTF_8));
+        assertNull(rabbitTemplate.receive(RabbitMQConfig.QUEUE_CLOSE_DLQ, 1000));
+
+        container.stop();
+        assertNull(rabbitTemplate.receive(RabbitMQConfig.QUEUE_CLOSE, 1000));
+        assertEquals(CLOSURES, handled);
+    }
+}
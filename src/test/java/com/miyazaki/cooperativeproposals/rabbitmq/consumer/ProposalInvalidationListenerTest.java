@@ -0,0 +1,75 @@
+package com.miyazaki.cooperativeproposals.rabbitmq.consumer;
+
+import com.miyazaki.cooperativeproposals.ingestion.VoteDedupIndex;
+import com.miyazaki.cooperativeproposals.rabbitmq.message.ProposalInvalidationMessage;
+import com.miyazaki.cooperativeproposals.service.LiveResultsService;
+import com.miyazaki.cooperativeproposals.service.MobileScreenCache;
+import com.miyazaki.cooperativeproposals.service.OpenSessionRegistry;
+import com.miyazaki.cooperativeproposals.service.ProposalViewCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ProposalInvalidationListenerTest {
+
+    @Mock
+    private ProposalViewCache proposalViewCache;
+
+    @Mock
+    private MobileScreenCache mobileScreenCache;
+
+    @Mock
+    private VoteDedupIndex voteDedupIndex;
+
+    @Mock
+    private LiveResultsService liveResultsService;
+
+    @Mock
+    private OpenSessionRegistry openSessionRegistry;
+
+    @InjectMocks
+    private ProposalInvalidationListener listener;
+
+    @Test
+    void onMessage_ShouldEvictEveryProposalInTheMessage() {
+        final List<UUID> proposalIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+        listener.onMessage(new ProposalInvalidationMessage(proposalIds, false));
+
+        verify(proposalViewCache, times(1)).invalidateAll(proposalIds);
+        verify(mobileScreenCache, times(1)).invalidateAll(proposalIds);
+        verify(openSessionRegistry, times(1)).forgetMissingSession(proposalIds.get(0));
+        verify(openSessionRegistry, times(1)).forgetMissingSession(proposalIds.get(1));
+        verify(openSessionRegistry, never()).close(any());
+        verifyNoInteractions(voteDedupIndex, liveResultsService);
+    }
+
+    @Test
+    void onMessage_ShouldReleaseSessionStateOfEveryProposal_WhenSessionsClosed() {
+        final List<UUID> proposalIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+        listener.onMessage(new ProposalInvalidationMessage(proposalIds, true));
+
+        verify(proposalViewCache, times(1)).invalidateAll(proposalIds);
+        verify(mobileScreenCache, times(1)).invalidateAll(proposalIds);
+        verify(voteDedupIndex, times(1)).drop(proposalIds.get(0));
+        verify(voteDedupIndex, times(1)).drop(proposalIds.get(1));
+        verify(liveResultsService, times(1)).close(proposalIds.get(0));
+        verify(liveResultsService, times(1)).close(proposalIds.get(1));
+        verify(openSessionRegistry, times(1)).close(proposalIds.get(0));
+        verify(openSessionRegistry, times(1)).close(proposalIds.get(1));
+        verify(openSessionRegistry, never()).forgetMissingSession(any());
+    }
+}
@@ -1,9 +1,12 @@
 package com.miyazaki.cooperativeproposals.rabbitmq.consumer;
 
+import com.miyazaki.cooperativeproposals.domain.entity.Proposal;
 import com.miyazaki.cooperativeproposals.domain.entity.VotingSession;
 import com.miyazaki.cooperativeproposals.exception.NotFoundException;
 import com.miyazaki.cooperativeproposals.filter.RequestTraceFilter;
+import com.miyazaki.cooperativeproposals.ingestion.VoteDedupIndex;
 import com.miyazaki.cooperativeproposals.rabbitmq.message.SessionMessage;
+import com.miyazaki.cooperativeproposals.service.LiveResultsService;
 import com.miyazaki.cooperativeproposals.service.VotingSessionService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,6 +25,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -32,6 +36,12 @@ class SessionConsumerTest {
     @Mock
     private VotingSessionService votingSessionService;
 
+    @Mock
+    private VoteDedupIndex voteDedupIndex;
+
+    @Mock
+    private LiveResultsService liveResultsService;
+
     @InjectMocks
     private SessionConsumer sessionConsumer;
 
@@ -54,6 +64,7 @@ class SessionConsumerTest {
         final String traceId = "test-trace-123";
         final VotingSession mockSession = VotingSession.builder()
                 .id(sessionId)
+                .proposal(Proposal.builder().id(UUID.randomUUID()).build())
                 .build();
 
         when(votingSessionService.closeSession(sessionMessage)).thenReturn(mockSession);
@@ -61,6 +72,8 @@ class SessionConsumerTest {
         sessionConsumer.onMessage(sessionMessage, traceId, null);
 
         verify(votingSessionService, times(1)).closeSession(sessionMessage);
+        verify(voteDedupIndex, times(1)).drop(mockSession.getProposal().getId());
+        verify(liveResultsService, times(1)).close(mockSession.getProposal().getId());
         mdcMockedStatic.verify(() -> MDC.put(RequestTraceFilter.TRACE_KEY, traceId), times(1));
         mdcMockedStatic.verify(() -> MDC.remove(RequestTraceFilter.TRACE_KEY), times(1));
     }
@@ -71,6 +84,7 @@ class SessionConsumerTest {
         final SessionMessage sessionMessage = new SessionMessage(sessionId);
         final VotingSession mockSession = VotingSession.builder()
                 .id(sessionId)
+                .proposal(Proposal.builder().id(UUID.randomUUID()).build())
                 .build();
 
         when(votingSessionService.closeSession(sessionMessage)).thenReturn(mockSession);
@@ -96,6 +110,8 @@ class SessionConsumerTest {
             sessionConsumer.onMessage(sessionMessage, traceId, null));
 
         verify(votingSessionService, times(1)).closeSession(sessionMessage);
+        verify(voteDedupIndex, never()).drop(any());
+        verify(liveResultsService, never()).close(any());
         mdcMockedStatic.verify(() -> MDC.put(RequestTraceFilter.TRACE_KEY, traceId), times(1));
         mdcMockedStatic.verify(() -> MDC.remove(RequestTraceFilter.TRACE_KEY), times(1));
     }
@@ -127,6 +143,7 @@ class SessionConsumerTest {
         final Object xDeathHeader = "retry-info";
         final VotingSession mockSession = VotingSession.builder()
                 .id(sessionId)
+                .proposal(Proposal.builder().id(UUID.randomUUID()).build())
                 .build();
 
         when(votingSessionService.closeSession(sessionMessage)).thenReturn(mockSession);
@@ -147,8 +164,10 @@ class SessionConsumerTest {
         final String traceId1 = "trace-1";
         final String traceId2 = "trace-2";
         
-        final VotingSession mockSession1 = VotingSession.builder().id(sessionId1).build();
-        final VotingSession mockSession2 = VotingSession.builder().id(sessionId2).build();
+        final VotingSession mockSession1 = VotingSession.builder().id(sessionId1)
+                .proposal(Proposal.builder().id(UUID.randomUUID()).build()).build();
+        final VotingSession mockSession2 = VotingSession.builder().id(sessionId2)
+                .proposal(Proposal.builder().id(UUID.randomUUID()).build()).build();
 
         when(votingSessionService.closeSession(sessionMessage1)).thenReturn(mockSession1);
         when(votingSessionService.closeSession(sessionMessage2)).thenReturn(mockSession2);
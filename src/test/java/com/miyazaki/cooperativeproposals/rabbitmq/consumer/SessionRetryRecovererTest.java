@@ -0,0 +1,78 @@
+package com.miyazaki.cooperativeproposals.rabbitmq.consumer;
+
+import com.miyazaki.cooperativeproposals.rabbitmq.config.RabbitMQConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SessionRetryRecovererTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private SessionRetryRecoverer recoverer;
+
+    @BeforeEach
+    void setUp() {
+        recoverer = new SessionRetryRecoverer(rabbitTemplate, 4, 1000, 2.0, 3000);
+    }
+
+    @Test
+    void recover_ShouldRepublishWithDelayAndRetryCount_OnFirstFailure() {
+        final Message message = message(null);
+
+        recoverer.recover(message, new IllegalStateException("boom"));
+
+        final ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate).send(eq(RabbitMQConfig.EXCHANGE_DELAYED), eq(RabbitMQConfig.ROUTE_KEY_CLOSE),
+                captor.capture());
+        final MessageProperties properties = captor.getValue().getMessageProperties();
+        assertEquals(1, (int) properties.getHeader(SessionRetryRecoverer.RETRY_COUNT_HEADER));
+        assertEquals(1000L, (long) properties.getHeader("x-delay"));
+    }
+
+    @Test
+    void recover_ShouldBackOffExponentially_UpToTheMaxInterval() {
+        recoverer.recover(message(2L), new IllegalStateException("boom"));
+
+        final ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate).send(anyString(), anyString(), captor.capture());
+        assertEquals(3, (int) captor.getValue().getMessageProperties().getHeader(SessionRetryRecoverer.RETRY_COUNT_HEADER));
+        assertEquals(3000L, (long) captor.getValue().getMessageProperties().getHeader("x-delay"));
+        assertEquals(2000L, recoverer.delayMs(1));
+    }
+
+    @Test
+    void recover_ShouldRejectToDlq_WhenAttemptsAreExhausted() {
+        final Message message = message(3);
+
+        assertThrows(ListenerExecutionFailedException.class,
+                () -> recoverer.recover(message, new IllegalStateException("boom")));
+
+        verify(rabbitTemplate, never()).send(anyString(), anyString(), any(Message.class));
+    }
+
+    private static Message message(final Object retryCount) {
+        final MessageProperties properties = new MessageProperties();
+        if (retryCount != null) {
+            properties.setHeader(SessionRetryRecoverer.RETRY_COUNT_HEADER, retryCount);
+        }
+        return new Message("{}".getBytes(), properties);
+    }
+}
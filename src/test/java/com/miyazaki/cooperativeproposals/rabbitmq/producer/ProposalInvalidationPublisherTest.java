@@ -0,0 +1,107 @@
+package com.miyazaki.cooperativeproposals.rabbitmq.producer;
+
+import com.miyazaki.cooperativeproposals.rabbitmq.config.RabbitMQConfig;
+import com.miyazaki.cooperativeproposals.rabbitmq.message.ProposalInvalidationMessage;
+import com.miyazaki.cooperativeproposals.service.MobileScreenCache;
+import com.miyazaki.cooperativeproposals.service.ProposalViewCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.net.ConnectException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ProposalInvalidationPublisherTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private ProposalViewCache proposalViewCache;
+
+    @Mock
+    private MobileScreenCache mobileScreenCache;
+
+    @InjectMocks
+    private ProposalInvalidationPublisher publisher;
+
+    @Test
+    void publish_ShouldEvictLocallyAndBroadcast_WhenNoTransactionIsActive() {
+        final List<UUID> proposalIds = List.of(UUID.randomUUID());
+
+        publisher.publish(proposalIds);
+
+        verify(proposalViewCache, times(1)).invalidateAll(proposalIds);
+        verify(mobileScreenCache, times(1)).invalidateAll(proposalIds);
+        verify(rabbitTemplate, times(1)).convertAndSend(RabbitMQConfig.EXCHANGE_PROPOSAL_INVALIDATION, "",
+                new ProposalInvalidationMessage(proposalIds, false));
+    }
+
+    @Test
+    void publish_ShouldWaitForCommit_WhenTransactionIsActive() {
+        final List<UUID> proposalIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            publisher.publish(proposalIds);
+
+            verifyNoInteractions(proposalViewCache, mobileScreenCache, rabbitTemplate);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(proposalViewCache, times(1)).invalidateAll(proposalIds);
+        verify(mobileScreenCache, times(1)).invalidateAll(proposalIds);
+        verify(rabbitTemplate, times(1)).convertAndSend(RabbitMQConfig.EXCHANGE_PROPOSAL_INVALIDATION, "",
+                new ProposalInvalidationMessage(proposalIds, false));
+    }
+
+    @Test
+    void publishClosed_ShouldFlagTheBroadcastAsClosure() {
+        final List<UUID> proposalIds = List.of(UUID.randomUUID());
+
+        publisher.publishClosed(proposalIds);
+
+        verify(proposalViewCache, times(1)).invalidateAll(proposalIds);
+        verify(mobileScreenCache, times(1)).invalidateAll(proposalIds);
+        verify(rabbitTemplate, times(1)).convertAndSend(RabbitMQConfig.EXCHANGE_PROPOSAL_INVALIDATION, "",
+                new ProposalInvalidationMessage(proposalIds, true));
+    }
+
+    @Test
+    void publish_ShouldStillEvictLocally_WhenBrokerIsUnavailable() {
+        final List<UUID> proposalIds = List.of(UUID.randomUUID());
+        doThrow(new AmqpConnectException(new ConnectException("refused")))
+                .when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class));
+
+        publisher.publish(proposalIds);
+
+        verify(proposalViewCache, times(1)).invalidateAll(proposalIds);
+        verify(mobileScreenCache, times(1)).invalidateAll(proposalIds);
+    }
+
+    @Test
+    void publish_ShouldDoNothing_WhenNoProposalIsGiven() {
+        publisher.publish(List.of());
+
+        verify(proposalViewCache, never()).invalidateAll(any());
+        verify(rabbitTemplate, never()).convertAndSend(anyString(), anyString(), any(Object.class));
+    }
+}
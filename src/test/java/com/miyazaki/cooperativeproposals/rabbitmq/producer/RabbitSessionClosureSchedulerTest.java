@@ -0,0 +1,59 @@
+package com.miyazaki.cooperativeproposals.rabbitmq.producer;
+
+import com.miyazaki.cooperativeproposals.domain.entity.SessionOutbox;
+import com.miyazaki.cooperativeproposals.domain.repository.SessionOutboxRepository;
+import com.miyazaki.cooperativeproposals.filter.RequestTraceFilter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.MDC;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RabbitSessionClosureSchedulerTest {
+
+    @Mock
+    private SessionOutboxRepository sessionOutboxRepository;
+
+    @InjectMocks
+    private RabbitSessionClosureScheduler scheduler;
+
+    @Test
+    void schedule_ShouldWriteOutboxRow() {
+        final UUID sessionId = UUID.randomUUID();
+        final LocalDateTime closeAt = LocalDateTime.now().plusSeconds(60);
+
+        scheduler.schedule(sessionId, closeAt);
+
+        final ArgumentCaptor<SessionOutbox> captor = ArgumentCaptor.forClass(SessionOutbox.class);
+        verify(sessionOutboxRepository, times(1)).save(captor.capture());
+        final SessionOutbox closure = captor.getValue();
+        assertEquals(sessionId, closure.getVotingSessionId());
+        assertEquals(closeAt, closure.getCloseAt());
+        assertNull(closure.getTraceId());
+    }
+
+    @Test
+    void schedule_ShouldKeepRequestTraceId_WhenTraceIsPresent() {
+        MDC.put(RequestTraceFilter.TRACE_KEY, "trace-123");
+        try {
+            scheduler.schedule(UUID.randomUUID(), LocalDateTime.now().plusSeconds(30));
+        } finally {
+            MDC.remove(RequestTraceFilter.TRACE_KEY);
+        }
+
+        final ArgumentCaptor<SessionOutbox> captor = ArgumentCaptor.forClass(SessionOutbox.class);
+        verify(sessionOutboxRepository).save(captor.capture());
+        assertEquals("trace-123", captor.getValue().getTraceId());
+    }
+}
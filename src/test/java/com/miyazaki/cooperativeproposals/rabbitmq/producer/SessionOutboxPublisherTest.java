@@ -0,0 +1,91 @@
+package com.miyazaki.cooperativeproposals.rabbitmq.producer;
+
+import com.miyazaki.cooperativeproposals.domain.entity.SessionOutbox;
+import com.miyazaki.cooperativeproposals.domain.repository.SessionOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SessionOutboxPublisherTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final long CONFIRM_TIMEOUT_MS = 1000L;
+
+    @Mock
+    private SessionOutboxRepository sessionOutboxRepository;
+
+    @Mock
+    private SessionProducer sessionProducer;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SessionOutboxPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        publisher = new SessionOutboxPublisher(sessionOutboxRepository, sessionProducer, meterRegistry,
+                BATCH_SIZE, CONFIRM_TIMEOUT_MS);
+    }
+
+    @Test
+    void publishNextBatch_ShouldDeleteRows_WhenBrokerConfirmsBatch() {
+        final List<SessionOutbox> batch = List.of(closure(), closure());
+        when(sessionOutboxRepository.lockNextBatch(BATCH_SIZE)).thenReturn(batch);
+
+        assertEquals(2, publisher.publishNextBatch());
+
+        final InOrder order = inOrder(sessionProducer, sessionOutboxRepository);
+        order.verify(sessionProducer).publishClosures(batch, CONFIRM_TIMEOUT_MS);
+        order.verify(sessionOutboxRepository).deleteByIds(List.of(batch.get(0).getId(), batch.get(1).getId()));
+        assertEquals(2.0, meterRegistry.get("session.outbox.published").counter().count());
+    }
+
+    @Test
+    void publishNextBatch_ShouldKeepRowsAndCountAttempt_WhenBrokerDoesNotConfirm() {
+        final List<SessionOutbox> batch = List.of(closure());
+        when(sessionOutboxRepository.lockNextBatch(BATCH_SIZE)).thenReturn(batch);
+        doThrow(new AmqpException("confirm timeout")).when(sessionProducer).publishClosures(batch, CONFIRM_TIMEOUT_MS);
+
+        assertEquals(0, publisher.publishNextBatch());
+
+        verify(sessionOutboxRepository).incrementAttempts(List.of(batch.get(0).getId()));
+        verify(sessionOutboxRepository, never()).deleteByIds(any());
+        assertEquals(1.0, meterRegistry.get("session.outbox.failed").counter().count());
+    }
+
+    @Test
+    void publishNextBatch_ShouldDoNothing_WhenOutboxIsEmpty() {
+        when(sessionOutboxRepository.lockNextBatch(BATCH_SIZE)).thenReturn(List.of());
+
+        assertEquals(0, publisher.publishNextBatch());
+
+        verifyNoInteractions(sessionProducer);
+    }
+
+    private static SessionOutbox closure() {
+        return SessionOutbox.builder()
+                .id(UUID.randomUUID())
+                .votingSessionId(UUID.randomUUID())
+                .closeAt(LocalDateTime.now().plusSeconds(60))
+                .build();
+    }
+}
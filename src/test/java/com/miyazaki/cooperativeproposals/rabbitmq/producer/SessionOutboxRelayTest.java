@@ -0,0 +1,42 @@
+package com.miyazaki.cooperativeproposals.rabbitmq.producer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SessionOutboxRelayTest {
+
+    @Mock
+    private SessionOutboxPublisher sessionOutboxPublisher;
+
+    @InjectMocks
+    private SessionOutboxRelay relay;
+
+    @Test
+    void relay_ShouldKeepPublishing_WhileBatchesAreFull() {
+        when(sessionOutboxPublisher.getBatchSize()).thenReturn(100);
+        when(sessionOutboxPublisher.publishNextBatch()).thenReturn(100, 100, 7);
+
+        assertEquals(207, relay.relay());
+
+        verify(sessionOutboxPublisher, times(3)).publishNextBatch();
+    }
+
+    @Test
+    void relay_ShouldStop_WhenBatchFails() {
+        when(sessionOutboxPublisher.getBatchSize()).thenReturn(100);
+        when(sessionOutboxPublisher.publishNextBatch()).thenReturn(0);
+
+        assertEquals(0, relay.relay());
+
+        verify(sessionOutboxPublisher, times(1)).publishNextBatch();
+    }
+}
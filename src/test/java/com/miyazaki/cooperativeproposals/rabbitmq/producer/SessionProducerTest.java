@@ -1,25 +1,35 @@
 package com.miyazaki.cooperativeproposals.rabbitmq.producer;
 
+import com.miyazaki.cooperativeproposals.domain.entity.SessionOutbox;
+import com.miyazaki.cooperativeproposals.filter.RequestTraceFilter;
 import com.miyazaki.cooperativeproposals.rabbitmq.config.RabbitMQConfig;
 import com.miyazaki.cooperativeproposals.rabbitmq.message.SessionMessage;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.core.MessagePostProcessor;
 import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -27,136 +37,89 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class SessionProducerTest {
 
+    private static final long CONFIRM_TIMEOUT_MS = 5000L;
+
     @Mock
     private RabbitTemplate rabbitTemplate;
 
+    @Mock
+    private RabbitOperations operations;
+
     @InjectMocks
     private SessionProducer sessionProducer;
 
-    @Test
-    void schedulerSessionClosure_ShouldSendMessageWithCorrectParameters_WhenValidInputProvided() {
-        final UUID sessionId = UUID.randomUUID();
-        final long delayMs = 5000L;
-
-        sessionProducer.schedulerSessionClosure(sessionId, delayMs);
-
-        verify(rabbitTemplate, times(1)).convertAndSend(
-                eq(RabbitMQConfig.EXCHANGE_DELAYED),
-                eq(RabbitMQConfig.ROUTE_KEY_CLOSE),
-                any(SessionMessage.class),
-                any(MessagePostProcessor.class)
-        );
+    @BeforeEach
+    void setUp() {
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(operations));
     }
 
     @Test
-    void schedulerSessionClosure_ShouldCreateCorrectSessionMessage_WhenValidSessionIdProvided() {
-        final UUID sessionId = UUID.randomUUID();
-        final long delayMs = 10000L;
-
-        final ArgumentCaptor<SessionMessage> messageCaptor = ArgumentCaptor.forClass(SessionMessage.class);
+    void publishClosures_ShouldSendEveryClosureThenWaitForConfirms() {
+        final SessionOutbox first = closure(LocalDateTime.now().plusSeconds(60), "trace-1");
+        final SessionOutbox second = closure(LocalDateTime.now().plusSeconds(30), "trace-2");
 
-        sessionProducer.schedulerSessionClosure(sessionId, delayMs);
+        sessionProducer.publishClosures(List.of(first, second), CONFIRM_TIMEOUT_MS);
 
-        verify(rabbitTemplate).convertAndSend(
+        final ArgumentCaptor<SessionMessage> messages = ArgumentCaptor.forClass(SessionMessage.class);
+        final InOrder order = inOrder(operations);
+        order.verify(operations, times(2)).convertAndSend(
                 eq(RabbitMQConfig.EXCHANGE_DELAYED),
                 eq(RabbitMQConfig.ROUTE_KEY_CLOSE),
-                messageCaptor.capture(),
-                any(MessagePostProcessor.class)
-        );
-
-        final SessionMessage capturedMessage = messageCaptor.getValue();
-        assertNotNull(capturedMessage);
-        assertEquals(sessionId, capturedMessage.votingSessionId());
+                messages.capture(),
+                any(MessagePostProcessor.class));
+        order.verify(operations).waitForConfirmsOrDie(CONFIRM_TIMEOUT_MS);
+        assertEquals(first.getVotingSessionId(), messages.getAllValues().get(0).votingSessionId());
+        assertEquals(second.getVotingSessionId(), messages.getAllValues().get(1).votingSessionId());
     }
 
     @Test
-    void schedulerSessionClosure_ShouldSetCorrectDelayHeader_WhenDelayMsProvided() {
-        final UUID sessionId = UUID.randomUUID();
-        final long delayMs = 15000L;
-
-        final ArgumentCaptor<MessagePostProcessor> processorCaptor = ArgumentCaptor.forClass(MessagePostProcessor.class);
-
-        final Message mockMessage = mock(Message.class);
-        final MessageProperties mockProperties = mock(MessageProperties.class);
-        when(mockMessage.getMessageProperties()).thenReturn(mockProperties);
-
-        sessionProducer.schedulerSessionClosure(sessionId, delayMs);
-
-        verify(rabbitTemplate).convertAndSend(
-                eq(RabbitMQConfig.EXCHANGE_DELAYED),
-                eq(RabbitMQConfig.ROUTE_KEY_CLOSE),
-                any(SessionMessage.class),
-                processorCaptor.capture()
-        );
+    void publishClosures_ShouldDelayUntilCloseAtAndKeepTraceId() {
+        final SessionOutbox closure = closure(LocalDateTime.now().plusSeconds(60), "trace-1");
 
-        final MessagePostProcessor capturedProcessor = processorCaptor.getValue();
-        final Message processedMessage = capturedProcessor.postProcessMessage(mockMessage);
+        final MessageProperties properties = publishAndProcess(closure);
 
-        assertEquals(mockMessage, processedMessage);
-        verify(mockProperties, times(1)).setHeader("x-delay", delayMs);
+        final long delay = properties.getHeader("x-delay");
+        assertTrue(delay > 59_000L && delay <= 60_000L, "delay was " + delay);
+        assertEquals("trace-1", properties.getHeader(RequestTraceFilter.TRACE_KEY));
     }
 
     @Test
-    void schedulerSessionClosure_ShouldHandleLargeDelay_WhenDelayMsIsVeryLarge() {
-        final UUID sessionId = UUID.randomUUID();
-        final long delayMs = Long.MAX_VALUE;
-
-        final ArgumentCaptor<MessagePostProcessor> processorCaptor = ArgumentCaptor.forClass(MessagePostProcessor.class);
-
-        final Message mockMessage = mock(Message.class);
-        final MessageProperties mockProperties = mock(MessageProperties.class);
-        when(mockMessage.getMessageProperties()).thenReturn(mockProperties);
-
-        sessionProducer.schedulerSessionClosure(sessionId, delayMs);
-
-        verify(rabbitTemplate).convertAndSend(
-                eq(RabbitMQConfig.EXCHANGE_DELAYED),
-                eq(RabbitMQConfig.ROUTE_KEY_CLOSE),
-                any(SessionMessage.class),
-                processorCaptor.capture()
-        );
+    void publishClosures_ShouldPublishWithoutDelay_WhenCloseAtHasPassed() {
+        final SessionOutbox closure = closure(LocalDateTime.now().minusSeconds(5), null);
 
-        final MessagePostProcessor capturedProcessor = processorCaptor.getValue();
-        capturedProcessor.postProcessMessage(mockMessage);
+        final MessageProperties properties = publishAndProcess(closure);
 
-        verify(mockProperties, times(1)).setHeader("x-delay", Long.MAX_VALUE);
+        assertEquals(0L, (long) properties.getHeader("x-delay"));
     }
 
     @Test
-    void schedulerSessionClosure_ShouldUseCorrectExchangeAndRoutingKey_WhenCalled() {
-        UUID sessionId = UUID.randomUUID();
-        long delayMs = 30000L;
-
-        sessionProducer.schedulerSessionClosure(sessionId, delayMs);
+    void publishClosures_ShouldPropagateFailure_WhenBrokerDoesNotConfirm() {
+        doThrow(new AmqpException("nack")).when(operations).waitForConfirmsOrDie(CONFIRM_TIMEOUT_MS);
 
-        verify(rabbitTemplate, times(1)).convertAndSend(
-                eq("session.delayed"),  // Verify exact exchange name
-                eq("session.close"),    // Verify exact routing key
-                any(SessionMessage.class),
-                any(MessagePostProcessor.class)
-        );
+        assertThrows(AmqpException.class, () -> sessionProducer.publishClosures(
+                List.of(closure(LocalDateTime.now(), null)), CONFIRM_TIMEOUT_MS));
     }
 
-    @Test
-    void schedulerSessionClosure_ShouldCreateUniqueMessages_WhenCalledMultipleTimes() {
-        final UUID sessionId1 = UUID.randomUUID();
-        final UUID sessionId2 = UUID.randomUUID();
-        final long delayMs1 = 5000L;
-        final long delayMs2 = 10000L;
-
-        final ArgumentCaptor<SessionMessage> messageCaptor = ArgumentCaptor.forClass(SessionMessage.class);
-
-        sessionProducer.schedulerSessionClosure(sessionId1, delayMs1);
-        sessionProducer.schedulerSessionClosure(sessionId2, delayMs2);
+    private MessageProperties publishAndProcess(final SessionOutbox closure) {
+        sessionProducer.publishClosures(List.of(closure), CONFIRM_TIMEOUT_MS);
 
-        verify(rabbitTemplate, times(2)).convertAndSend(
+        final ArgumentCaptor<MessagePostProcessor> processor = ArgumentCaptor.forClass(MessagePostProcessor.class);
+        verify(operations).convertAndSend(
                 eq(RabbitMQConfig.EXCHANGE_DELAYED),
                 eq(RabbitMQConfig.ROUTE_KEY_CLOSE),
-                messageCaptor.capture(),
-                any(MessagePostProcessor.class)
-        );
+                any(SessionMessage.class),
+                processor.capture());
+        final Message message = new Message(new byte[0], new MessageProperties());
+        return processor.getValue().postProcessMessage(message).getMessageProperties();
+    }
 
-        assertEquals(sessionId1, messageCaptor.getAllValues().get(0).votingSessionId());
-        assertEquals(sessionId2, messageCaptor.getAllValues().get(1).votingSessionId());
+    private static SessionOutbox closure(final LocalDateTime closeAt, final String traceId) {
+        return SessionOutbox.builder()
+                .id(UUID.randomUUID())
+                .votingSessionId(UUID.randomUUID())
+                .closeAt(closeAt)
+                .traceId(traceId)
+                .build();
     }
 }
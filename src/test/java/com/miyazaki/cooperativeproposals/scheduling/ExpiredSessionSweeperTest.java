@@ -0,0 +1,79 @@
+package com.miyazaki.cooperativeproposals.scheduling;
+
+import com.miyazaki.cooperativeproposals.domain.repository.projection.ClosedSession;
+import com.miyazaki.cooperativeproposals.ingestion.VoteDedupIndex;
+import com.miyazaki.cooperativeproposals.service.LiveResultsService;
+import com.miyazaki.cooperativeproposals.service.VotingSessionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExpiredSessionSweeperTest {
+
+    @Mock
+    private VotingSessionService votingSessionService;
+
+    @Mock
+    private VoteDedupIndex voteDedupIndex;
+
+    @Mock
+    private LiveResultsService liveResultsService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void sweep_ShouldKeepClosing_WhileBatchesAreFull() {
+        final ClosedSession first = closedSession();
+        final ClosedSession second = closedSession();
+        final ClosedSession third = closedSession();
+        when(votingSessionService.closeExpiredSessions(2))
+                .thenReturn(List.of(first, second), List.of(third));
+
+        assertEquals(3, sweeper(true).sweep());
+
+        verify(votingSessionService, times(2)).closeExpiredSessions(2);
+        verify(voteDedupIndex).drop(first.proposalId());
+        verify(voteDedupIndex).drop(third.proposalId());
+        verify(liveResultsService).close(second.proposalId());
+        assertEquals(3.0, meterRegistry.get("session.sweeper.closed").counter().count());
+    }
+
+    @Test
+    void sweep_ShouldStop_WhenNothingExpired() {
+        when(votingSessionService.closeExpiredSessions(2)).thenReturn(List.of());
+
+        assertEquals(0, sweeper(true).sweep());
+
+        verifyNoInteractions(voteDedupIndex, liveResultsService);
+    }
+
+    @Test
+    void sweep_ShouldDoNothing_WhenDisabled() {
+        assertEquals(0, sweeper(false).sweep());
+
+        verify(votingSessionService, never()).closeExpiredSessions(anyInt());
+    }
+
+    private ExpiredSessionSweeper sweeper(final boolean enabled) {
+        return new ExpiredSessionSweeper(votingSessionService, voteDedupIndex, liveResultsService,
+                meterRegistry, enabled, 2);
+    }
+
+    private static ClosedSession closedSession() {
+        return new ClosedSession(UUID.randomUUID(), UUID.randomUUID());
+    }
+}
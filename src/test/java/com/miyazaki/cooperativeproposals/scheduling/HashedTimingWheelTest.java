@@ -0,0 +1,63 @@
+package com.miyazaki.cooperativeproposals.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedTimingWheelTest {
+
+    private static final long TICK = 10;
+
+    @Test
+    void advance_ShouldExpireItem_OnlyOnceDeadlineHasPassed() {
+        final HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 8, 0);
+        wheel.schedule("a", 35);
+
+        assertTrue(wheel.advance(30).isEmpty());
+        assertTrue(wheel.advance(39).isEmpty());
+        assertEquals(List.of("a"), wheel.advance(40));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_ShouldExpireItem_ScheduledSeveralRevolutionsAhead() {
+        final HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 4, 0);
+        wheel.schedule("far", 250);
+        wheel.schedule("near", 20);
+
+        assertEquals(List.of("near"), wheel.advance(100));
+        assertTrue(wheel.advance(240).isEmpty());
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("far"), wheel.advance(250));
+    }
+
+    @Test
+    void advance_ShouldExpireOverdueItems_OnNextAdvance() {
+        final HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 8, 0);
+        wheel.advance(500);
+        wheel.schedule("late", 100);
+
+        assertEquals(List.of("late"), wheel.advance(500));
+    }
+
+    @Test
+    void advance_ShouldReturnAllItems_WhenManyDeadlinesElapseTogether() {
+        final HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>(TICK, 16, 0);
+        for (int i = 0; i < 1000; i++) {
+            wheel.schedule(i, i * 3L);
+        }
+
+        assertEquals(1000, wheel.size());
+        assertEquals(1000, wheel.advance(3000).size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void constructor_ShouldRejectWheelSize_ThatIsNotAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new HashedTimingWheel<>(TICK, 10, 0));
+    }
+}
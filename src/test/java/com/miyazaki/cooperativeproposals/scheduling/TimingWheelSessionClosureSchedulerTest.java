@@ -0,0 +1,162 @@
+package com.miyazaki.cooperativeproposals.scheduling;
+
+import com.miyazaki.cooperativeproposals.domain.entity.Proposal;
+import com.miyazaki.cooperativeproposals.domain.entity.VotingSession;
+import com.miyazaki.cooperativeproposals.domain.enums.SessionStatus;
+import com.miyazaki.cooperativeproposals.domain.repository.VotingSessionRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.SessionDeadlineProjection;
+import com.miyazaki.cooperativeproposals.ingestion.VoteDedupIndex;
+import com.miyazaki.cooperativeproposals.service.LiveResultsService;
+import com.miyazaki.cooperativeproposals.service.VotingSessionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TimingWheelSessionClosureSchedulerTest {
+
+    @Mock
+    private VotingSessionRepository votingSessionRepository;
+
+    @Mock
+    private VotingSessionService votingSessionService;
+
+    @Mock
+    private VoteDedupIndex voteDedupIndex;
+
+    @Mock
+    private LiveResultsService liveResultsService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TimingWheelSessionClosureScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new TimingWheelSessionClosureScheduler(votingSessionRepository, votingSessionService,
+                voteDedupIndex, liveResultsService, meterRegistry, 10, 64, 2, 60000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.stop();
+    }
+
+    @Test
+    void tick_ShouldCloseExpiredSessions_InBatches() {
+        final VotingSession first = session();
+        final VotingSession second = session();
+        final VotingSession third = session();
+        scheduler.schedule(first.getId(), LocalDateTime.now().minusSeconds(1));
+        scheduler.schedule(second.getId(), LocalDateTime.now().minusSeconds(1));
+        scheduler.schedule(third.getId(), LocalDateTime.now().minusSeconds(1));
+
+        when(votingSessionService.closeSessions(List.of(first.getId(), second.getId())))
+                .thenReturn(List.of(first, second));
+        when(votingSessionService.closeSessions(List.of(third.getId()))).thenReturn(List.of(third));
+
+        assertEquals(3, scheduler.tick(nextTick()));
+
+        verify(voteDedupIndex).drop(first.getProposal().getId());
+        verify(liveResultsService).close(third.getProposal().getId());
+        assertEquals(0.0, pending());
+    }
+
+    @Test
+    void tick_ShouldKeepSessionsOnTheWheel_UntilTheyExpire() {
+        scheduler.schedule(UUID.randomUUID(), LocalDateTime.now().plusHours(1));
+
+        assertEquals(0, scheduler.tick(nextTick()));
+
+        verify(votingSessionService, never()).closeSessions(anyCollection());
+        assertEquals(1.0, pending());
+    }
+
+    @Test
+    void tick_ShouldRescheduleBatch_WhenClosingFails() {
+        final UUID sessionId = UUID.randomUUID();
+        scheduler.schedule(sessionId, LocalDateTime.now().minusSeconds(1));
+        when(votingSessionService.closeSessions(List.of(sessionId))).thenThrow(new IllegalStateException("db down"));
+
+        assertEquals(0, scheduler.tick(nextTick()));
+
+        verify(voteDedupIndex, never()).drop(any());
+        assertEquals(1.0, pending());
+    }
+
+    @Test
+    void schedule_ShouldWaitForCommit_WhenTransactionIsActive() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            scheduler.schedule(UUID.randomUUID(), LocalDateTime.now().plusMinutes(1));
+            assertEquals(0.0, pending());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1.0, pending());
+    }
+
+    @Test
+    void start_ShouldRecoverOpenedSessions() {
+        final SessionDeadlineProjection deadline = new SessionDeadlineProjection() {
+            @Override
+            public UUID getId() {
+                return UUID.randomUUID();
+            }
+
+            @Override
+            public UUID getProposalId() {
+                return UUID.randomUUID();
+            }
+
+            @Override
+            public LocalDateTime getClosesAt() {
+                return LocalDateTime.now().plusMinutes(5);
+            }
+        };
+        when(votingSessionRepository.findOpenedDeadlines()).thenReturn(List.of(deadline, deadline));
+
+        scheduler.start();
+
+        verify(votingSessionRepository, times(1)).findOpenedDeadlines();
+        assertEquals(2.0, pending());
+    }
+
+    private static long nextTick() {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(20);
+    }
+
+    private double pending() {
+        return meterRegistry.get("session.closure.pending").gauge().value();
+    }
+
+    private static VotingSession session() {
+        return VotingSession.builder()
+                .id(UUID.randomUUID())
+                .proposal(Proposal.builder().id(UUID.randomUUID()).build())
+                .status(SessionStatus.CLOSED)
+                .build();
+    }
+}
@@ -1,16 +1,20 @@
 package com.miyazaki.cooperativeproposals.service;
 
-import com.miyazaki.cooperativeproposals.client.CpfValidationClient;
+import com.miyazaki.cooperativeproposals.client.CpfValidationLane;
+import com.miyazaki.cooperativeproposals.client.ResilientCpfValidationClient;
 import com.miyazaki.cooperativeproposals.client.dto.CpfValidationResponse;
+import com.miyazaki.cooperativeproposals.domain.enums.CpfFallbackPolicy;
+import com.miyazaki.cooperativeproposals.exception.CpfValidationUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -18,19 +22,21 @@ import static org.mockito.Mockito.*;
 class AssociateValidationServiceTest {
 
     @Mock
-    private CpfValidationClient cpfValidationClient;
+    private ResilientCpfValidationClient cpfValidationClient;
 
-    @InjectMocks
     private AssociateValidationService associateValidationService;
 
     private static final String VALID_CPF_STATUS = "ABLE_TO_VOTE";
     private static final String INVALID_CPF_STATUS = "UNABLE_TO_VOTE";
-    private static final String VALID_CPF = "12345678901";
-    private static final String FORMATTED_CPF = "123.456.789-01";
+    private static final String VALID_CPF = "12345678909";
+    private static final String FORMATTED_CPF = "123.456.789-09";
 
     @BeforeEach
     void setUp() {
+        associateValidationService = new AssociateValidationService(cpfValidationClient,
+                new CpfEligibilityCache(new SimpleMeterRegistry(), 1000, 600000, 60000));
         ReflectionTestUtils.setField(associateValidationService, "isCpfValidationEnabled", true);
+        ReflectionTestUtils.setField(associateValidationService, "fallbackPolicy", CpfFallbackPolicy.ERROR);
     }
 
     @Test
@@ -39,12 +45,24 @@ class AssociateValidationServiceTest {
                 .status(VALID_CPF_STATUS)
                 .build();
         
-        when(cpfValidationClient.validateCpf(VALID_CPF)).thenReturn(response);
+        when(cpfValidationClient.validateCpf(VALID_CPF, CpfValidationLane.INTERACTIVE)).thenReturn(response);
 
         final boolean result = associateValidationService.isValidCpf(VALID_CPF);
 
         assertTrue(result);
-        verify(cpfValidationClient, times(1)).validateCpf(VALID_CPF);
+        verify(cpfValidationClient, times(1)).validateCpf(VALID_CPF, CpfValidationLane.INTERACTIVE);
+    }
+
+    @Test
+    void isValidCpf_ShouldValidateOnBatchLane_WhenBatchLaneIsRequested() {
+        final CpfValidationResponse response = CpfValidationResponse.builder()
+                .status(VALID_CPF_STATUS)
+                .build();
+        when(cpfValidationClient.validateCpf(VALID_CPF, CpfValidationLane.BATCH)).thenReturn(response);
+
+        assertTrue(associateValidationService.isValidCpf(VALID_CPF, CpfValidationLane.BATCH));
+
+        verify(cpfValidationClient, times(1)).validateCpf(VALID_CPF, CpfValidationLane.BATCH);
     }
 
     @Test
@@ -53,12 +71,12 @@ class AssociateValidationServiceTest {
                 .status(VALID_CPF_STATUS)
                 .build();
         
-        when(cpfValidationClient.validateCpf(VALID_CPF)).thenReturn(response);
+        when(cpfValidationClient.validateCpf(VALID_CPF, CpfValidationLane.INTERACTIVE)).thenReturn(response);
 
         final boolean result = associateValidationService.isValidCpf(FORMATTED_CPF);
 
         assertTrue(result);
-        verify(cpfValidationClient, times(1)).validateCpf(VALID_CPF);
+        verify(cpfValidationClient, times(1)).validateCpf(VALID_CPF, CpfValidationLane.INTERACTIVE);
     }
 
     @Test
@@ -67,12 +85,12 @@ class AssociateValidationServiceTest {
                 .status(INVALID_CPF_STATUS)
                 .build();
         
-        when(cpfValidationClient.validateCpf(VALID_CPF)).thenReturn(response);
+        when(cpfValidationClient.validateCpf(VALID_CPF, CpfValidationLane.INTERACTIVE)).thenReturn(response);
 
         final boolean result = associateValidationService.isValidCpf(VALID_CPF);
 
         assertFalse(result);
-        verify(cpfValidationClient, times(1)).validateCpf(VALID_CPF);
+        verify(cpfValidationClient, times(1)).validateCpf(VALID_CPF, CpfValidationLane.INTERACTIVE);
     }
 
     @Test
@@ -81,11 +99,11 @@ class AssociateValidationServiceTest {
                 .status(null)
                 .build();
         
-        when(cpfValidationClient.validateCpf(VALID_CPF)).thenReturn(response);
+        when(cpfValidationClient.validateCpf(VALID_CPF, CpfValidationLane.INTERACTIVE)).thenReturn(response);
         final boolean result = associateValidationService.isValidCpf(VALID_CPF);
 
         assertFalse(result);
-        verify(cpfValidationClient, times(1)).validateCpf(VALID_CPF);
+        verify(cpfValidationClient, times(1)).validateCpf(VALID_CPF, CpfValidationLane.INTERACTIVE);
     }
 
     @Test
@@ -94,24 +112,105 @@ class AssociateValidationServiceTest {
                 .status("")
                 .build();
         
-        when(cpfValidationClient.validateCpf(VALID_CPF)).thenReturn(response);
+        when(cpfValidationClient.validateCpf(VALID_CPF, CpfValidationLane.INTERACTIVE)).thenReturn(response);
 
         final boolean result = associateValidationService.isValidCpf(VALID_CPF);
 
         assertFalse(result);
-        verify(cpfValidationClient, times(1)).validateCpf(VALID_CPF);
+        verify(cpfValidationClient, times(1)).validateCpf(VALID_CPF, CpfValidationLane.INTERACTIVE);
     }
 
     @Test
     void isValidCpf_ShouldThrowRuntimeException_WhenClientThrowsException() {
-        when(cpfValidationClient.validateCpf(anyString()))
+        when(cpfValidationClient.validateCpf(anyString(), any()))
                 .thenThrow(new RuntimeException("Client connection error"));
 
         final RuntimeException exception = assertThrows(RuntimeException.class, 
                 () -> associateValidationService.isValidCpf(VALID_CPF));
 
         assertEquals("Erro ao validar cpf", exception.getMessage());
-        verify(cpfValidationClient, times(1)).validateCpf(VALID_CPF);
+        verify(cpfValidationClient, times(1)).validateCpf(VALID_CPF, CpfValidationLane.INTERACTIVE);
+    }
+
+    @Test
+    void isValidCpf_ShouldCallClientOnce_WhenSameCpfIsValidatedTwice() {
+        final CpfValidationResponse response = CpfValidationResponse.builder()
+                .status(VALID_CPF_STATUS)
+                .build();
+
+        when(cpfValidationClient.validateCpf(VALID_CPF, CpfValidationLane.INTERACTIVE)).thenReturn(response);
+
+        assertTrue(associateValidationService.isValidCpf(VALID_CPF));
+        assertTrue(associateValidationService.isValidCpf(FORMATTED_CPF));
+
+        verify(cpfValidationClient, times(1)).validateCpf(VALID_CPF, CpfValidationLane.INTERACTIVE);
+    }
+
+    @Test
+    void isValidCpf_ShouldCallClientAgain_WhenPreviousCallFailed() {
+        final CpfValidationResponse response = CpfValidationResponse.builder()
+                .status(VALID_CPF_STATUS)
+                .build();
+
+        when(cpfValidationClient.validateCpf(VALID_CPF, CpfValidationLane.INTERACTIVE))
+                .thenThrow(new RuntimeException("Client connection error"))
+                .thenReturn(response);
+
+        assertThrows(RuntimeException.class, () -> associateValidationService.isValidCpf(VALID_CPF));
+        assertTrue(associateValidationService.isValidCpf(VALID_CPF));
+
+        verify(cpfValidationClient, times(2)).validateCpf(VALID_CPF, CpfValidationLane.INTERACTIVE);
+    }
+
+    @Test
+    void isValidCpf_ShouldReturnFalseWithoutCallingClient_WhenCheckDigitsDoNotMatch() {
+        final boolean result = associateValidationService.isValidCpf("123.456.789-01");
+
+        assertFalse(result);
+        verify(cpfValidationClient, never()).validateCpf(anyString(), any());
+    }
+
+    @Test
+    void isValidCpf_ShouldReturnFalseWithoutCallingClient_WhenCpfIsMalformed() {
+        assertFalse(associateValidationService.isValidCpf("1234567890"));
+        assertFalse(associateValidationService.isValidCpf("abc.def.ghi-jk"));
+        assertFalse(associateValidationService.isValidCpf("111.111.111-11"));
+
+        verify(cpfValidationClient, never()).validateCpf(anyString(), any());
+    }
+
+    @Test
+    void isValidCpf_ShouldRethrowUnavailable_WhenFallbackPolicyIsError() {
+        when(cpfValidationClient.validateCpf(VALID_CPF, CpfValidationLane.INTERACTIVE))
+                .thenThrow(new CpfValidationUnavailableException("CPF validation circuit is open"));
+
+        assertThrows(CpfValidationUnavailableException.class,
+                () -> associateValidationService.isValidCpf(VALID_CPF));
+    }
+
+    @Test
+    void isValidCpf_ShouldReturnTrue_WhenUnavailableAndFallbackPolicyIsAllow() {
+        ReflectionTestUtils.setField(associateValidationService, "fallbackPolicy", CpfFallbackPolicy.ALLOW);
+        when(cpfValidationClient.validateCpf(VALID_CPF, CpfValidationLane.INTERACTIVE))
+                .thenThrow(new CpfValidationUnavailableException("CPF validation is saturated"));
+
+        assertTrue(associateValidationService.isValidCpf(VALID_CPF));
+    }
+
+    @Test
+    void isValidCpf_ShouldNotCacheFallback_WhenUnavailableAndFallbackPolicyIsDeny() {
+        ReflectionTestUtils.setField(associateValidationService, "fallbackPolicy", CpfFallbackPolicy.DENY);
+        final CpfValidationResponse response = CpfValidationResponse.builder()
+                .status(VALID_CPF_STATUS)
+                .build();
+        when(cpfValidationClient.validateCpf(VALID_CPF, CpfValidationLane.INTERACTIVE))
+                .thenThrow(new CpfValidationUnavailableException("CPF validation did not answer in time"))
+                .thenReturn(response);
+
+        assertFalse(associateValidationService.isValidCpf(VALID_CPF));
+        assertTrue(associateValidationService.isValidCpf(VALID_CPF));
+
+        verify(cpfValidationClient, times(2)).validateCpf(VALID_CPF, CpfValidationLane.INTERACTIVE);
     }
 
     @Test
@@ -121,7 +220,7 @@ class AssociateValidationServiceTest {
         final boolean result = associateValidationService.isValidCpf(VALID_CPF);
 
         assertTrue(result);
-        verify(cpfValidationClient, never()).validateCpf(anyString());
+        verify(cpfValidationClient, never()).validateCpf(anyString(), any());
     }
 
 }
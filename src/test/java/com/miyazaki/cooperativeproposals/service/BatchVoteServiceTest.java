@@ -0,0 +1,257 @@
+package com.miyazaki.cooperativeproposals.service;
+
+import com.miyazaki.cooperativeproposals.client.CpfValidationLane;
+import com.miyazaki.cooperativeproposals.controller.dto.request.VoteRequest;
+import com.miyazaki.cooperativeproposals.controller.dto.response.BatchVoteItemStatus;
+import com.miyazaki.cooperativeproposals.controller.dto.response.BatchVoteResponse;
+import com.miyazaki.cooperativeproposals.domain.entity.Proposal;
+import com.miyazaki.cooperativeproposals.domain.entity.Vote;
+import com.miyazaki.cooperativeproposals.domain.entity.VotingSession;
+import com.miyazaki.cooperativeproposals.domain.enums.SessionStatus;
+import com.miyazaki.cooperativeproposals.domain.repository.ProposalRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.VoteRepository;
+import com.miyazaki.cooperativeproposals.exception.NotFoundException;
+import com.miyazaki.cooperativeproposals.exception.VoteIngestionUnavailableException;
+import com.miyazaki.cooperativeproposals.ingestion.VoteBatchWriter;
+import com.miyazaki.cooperativeproposals.ingestion.VoteDedupIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BatchVoteServiceTest {
+
+    @Mock
+    private ProposalRepository proposalRepository;
+
+    @Mock
+    private VoteRepository voteRepository;
+
+    @Mock
+    private VotingSessionService votingSessionService;
+
+    @Mock
+    private AssociateValidationService associateValidationService;
+
+    @Mock
+    private VoteDedupIndex voteDedupIndex;
+
+    @Mock
+    private VoteBatchWriter voteBatchWriter;
+
+    @Mock
+    private LiveResultsService liveResultsService;
+
+    private ExecutorService executor;
+    private BatchVoteService batchVoteService;
+    private UUID proposalId;
+    private Proposal proposal;
+    private VotingSession votingSession;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+        batchVoteService = new BatchVoteService(proposalRepository, voteRepository, votingSessionService,
+                associateValidationService, voteDedupIndex, voteBatchWriter, liveResultsService, executor, 4);
+        proposalId = UUID.randomUUID();
+        proposal = Proposal.builder().id(proposalId).title("Test Proposal").build();
+        votingSession = VotingSession.builder()
+                .id(UUID.randomUUID())
+                .proposal(proposal)
+                .status(SessionStatus.OPENED)
+                .openedAt(LocalDateTime.now())
+                .closesAt(LocalDateTime.now().plusMinutes(1))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void castVotes_ShouldAcceptEveryVote_WhenAllAssociatesAreEligibleAndNew() {
+        final List<VoteRequest> requests = List.of(
+                new VoteRequest(UUID.randomUUID(), "52998224725", true),
+                new VoteRequest(UUID.randomUUID(), "12345678909", false),
+                new VoteRequest(UUID.randomUUID(), "19839091069", true));
+        givenOpenSession();
+        when(associateValidationService.isValidCpf(any(), eq(CpfValidationLane.BATCH))).thenReturn(true);
+        when(voteRepository.findVotedAssociateIds(eq(proposalId), any())).thenReturn(List.of());
+        when(voteDedupIndex.tryRegister(eq(proposalId), any())).thenReturn(true);
+        when(voteBatchWriter.write(anyList())).thenAnswer(invocation -> idsOf(invocation.getArgument(0)));
+
+        final BatchVoteResponse response = batchVoteService.castVotes(proposalId, requests);
+
+        assertEquals(proposalId, response.getProposalId());
+        assertEquals(3, response.getAccepted());
+        assertEquals(0, response.getRejected());
+        for (int i = 0; i < requests.size(); i++) {
+            assertEquals(i, response.getItems().get(i).getIndex());
+            assertEquals(requests.get(i).associateId(), response.getItems().get(i).getAssociateId());
+            assertEquals(BatchVoteItemStatus.ACCEPTED, response.getItems().get(i).getStatus());
+            assertNotNull(response.getItems().get(i).getVoteId());
+        }
+        verify(voteBatchWriter, times(1)).write(anyList());
+        verify(voteRepository, times(1)).findVotedAssociateIds(eq(proposalId), any());
+        verify(liveResultsService, times(2)).record(proposalId, true);
+        verify(liveResultsService, times(1)).record(proposalId, false);
+    }
+
+    @Test
+    void castVotes_ShouldReportEachRejection_WhenBatchMixesInvalidVotes() {
+        final UUID repeated = UUID.randomUUID();
+        final UUID votedInDatabase = UUID.randomUUID();
+        final UUID votedOnThisNode = UUID.randomUUID();
+        final UUID lostToSessionClose = UUID.randomUUID();
+        final List<VoteRequest> requests = List.of(
+                new VoteRequest(repeated, "52998224725", true),
+                new VoteRequest(repeated, "52998224725", false),
+                new VoteRequest(UUID.randomUUID(), "11111111111", true),
+                new VoteRequest(UUID.randomUUID(), "unavailable", true),
+                new VoteRequest(votedInDatabase, "12345678909", true),
+                new VoteRequest(votedOnThisNode, "19839091069", true),
+                new VoteRequest(lostToSessionClose, "00000000191", false));
+        givenOpenSession();
+        when(associateValidationService.isValidCpf(any(), eq(CpfValidationLane.BATCH))).thenReturn(true);
+        when(associateValidationService.isValidCpf("11111111111", CpfValidationLane.BATCH)).thenReturn(false);
+        when(associateValidationService.isValidCpf("unavailable", CpfValidationLane.BATCH))
+                .thenThrow(new RuntimeException("Erro ao validar cpf"));
+        when(voteRepository.findVotedAssociateIds(eq(proposalId), any()))
+                .thenReturn(List.of(votedInDatabase))
+                .thenReturn(List.of());
+        when(voteDedupIndex.tryRegister(proposalId, repeated)).thenReturn(true);
+        when(voteDedupIndex.tryRegister(proposalId, votedOnThisNode)).thenReturn(false);
+        when(voteDedupIndex.tryRegister(proposalId, lostToSessionClose)).thenReturn(true);
+        when(voteBatchWriter.write(anyList())).thenAnswer(invocation -> {
+            final List<Vote> votes = invocation.getArgument(0);
+            return votes.stream()
+                    .filter(vote -> !vote.getAssociateId().equals(lostToSessionClose))
+                    .map(Vote::getId)
+                    .collect(Collectors.toSet());
+        });
+
+        final BatchVoteResponse response = batchVoteService.castVotes(proposalId, requests);
+
+        assertEquals(1, response.getAccepted());
+        assertEquals(6, response.getRejected());
+        assertEquals(List.of(
+                BatchVoteItemStatus.ACCEPTED,
+                BatchVoteItemStatus.DUPLICATE_IN_BATCH,
+                BatchVoteItemStatus.NOT_ELIGIBLE,
+                BatchVoteItemStatus.CPF_VALIDATION_UNAVAILABLE,
+                BatchVoteItemStatus.ALREADY_VOTED,
+                BatchVoteItemStatus.ALREADY_VOTED,
+                BatchVoteItemStatus.SESSION_CLOSED),
+                response.getItems().stream().map(item -> item.getStatus()).toList());
+        assertNull(response.getItems().get(6).getVoteId());
+        verify(associateValidationService, times(6)).isValidCpf(any(), eq(CpfValidationLane.BATCH));
+        verify(voteDedupIndex, times(1)).release(proposalId, lostToSessionClose);
+        verify(liveResultsService, times(1)).record(proposalId, true);
+    }
+
+    @Test
+    void castVotes_ShouldReleaseDedupMarks_WhenWriteFails() {
+        final UUID associateId = UUID.randomUUID();
+        givenOpenSession();
+        when(associateValidationService.isValidCpf(any(), eq(CpfValidationLane.BATCH))).thenReturn(true);
+        when(voteRepository.findVotedAssociateIds(eq(proposalId), any())).thenReturn(List.of());
+        when(voteDedupIndex.tryRegister(proposalId, associateId)).thenReturn(true);
+        when(voteBatchWriter.write(anyList())).thenThrow(new VoteIngestionUnavailableException("Vote could not be persisted"));
+
+        assertThrows(VoteIngestionUnavailableException.class, () -> batchVoteService.castVotes(proposalId,
+                List.of(new VoteRequest(associateId, "52998224725", true))));
+
+        verify(voteDedupIndex, times(1)).release(proposalId, associateId);
+        verify(liveResultsService, never()).record(any(), anyBoolean());
+    }
+
+    @Test
+    void castVotes_ShouldReportSessionClosed_WhenSessionClosesDuringCpfValidation() {
+        final UUID associateId = UUID.randomUUID();
+        givenOpenSession();
+        when(associateValidationService.isValidCpf(any(), eq(CpfValidationLane.BATCH))).thenReturn(true);
+        when(voteRepository.findVotedAssociateIds(eq(proposalId), any())).thenReturn(List.of());
+        when(voteDedupIndex.tryRegister(proposalId, associateId))
+                .thenThrow(new NotFoundException("No active voting session found for this proposal"));
+
+        final BatchVoteResponse response = batchVoteService.castVotes(proposalId,
+                List.of(new VoteRequest(associateId, "52998224725", true)));
+
+        assertEquals(0, response.getAccepted());
+        assertEquals(BatchVoteItemStatus.SESSION_CLOSED, response.getItems().get(0).getStatus());
+        verify(voteBatchWriter, never()).write(anyList());
+        verify(voteDedupIndex, never()).release(any(), any());
+    }
+
+    @Test
+    void castVotes_ShouldSkipWrite_WhenNoVoteIsLeftAfterValidation() {
+        givenOpenSession();
+        when(associateValidationService.isValidCpf(any(), eq(CpfValidationLane.BATCH))).thenReturn(false);
+
+        final BatchVoteResponse response = batchVoteService.castVotes(proposalId,
+                List.of(new VoteRequest(UUID.randomUUID(), "52998224725", true)));
+
+        assertEquals(0, response.getAccepted());
+        assertEquals(BatchVoteItemStatus.NOT_ELIGIBLE, response.getItems().get(0).getStatus());
+        verify(voteRepository, never()).findVotedAssociateIds(any(), any());
+        verify(voteBatchWriter, never()).write(anyList());
+    }
+
+    @Test
+    void castVotes_ShouldThrowNotFoundException_WhenProposalDoesNotExist() {
+        when(votingSessionService.resolveActiveSession(proposalId))
+                .thenThrow(new NotFoundException("Proposal not found!"));
+
+        assertThrows(NotFoundException.class, () -> batchVoteService.castVotes(proposalId,
+                List.of(new VoteRequest(UUID.randomUUID(), "52998224725", true))));
+
+        verify(associateValidationService, never()).isValidCpf(any(), eq(CpfValidationLane.BATCH));
+    }
+
+    @Test
+    void castVotes_ShouldThrowNotFoundException_WhenSessionIsNotOpen() {
+        when(votingSessionService.resolveActiveSession(proposalId))
+                .thenThrow(new NotFoundException("No active voting session found for this proposal"));
+
+        assertThrows(NotFoundException.class, () -> batchVoteService.castVotes(proposalId,
+                List.of(new VoteRequest(UUID.randomUUID(), "52998224725", true))));
+
+        verify(voteBatchWriter, never()).write(anyList());
+    }
+
+    private void givenOpenSession() {
+        when(votingSessionService.resolveActiveSession(proposalId)).thenReturn(
+                new ActiveSession(proposalId, votingSession.getId(), votingSession.getClosesAt()));
+        when(proposalRepository.getReferenceById(proposalId)).thenReturn(proposal);
+        when(votingSessionService.getReference(votingSession.getId())).thenReturn(votingSession);
+    }
+
+    private static Set<UUID> idsOf(final List<Vote> votes) {
+        return votes.stream().map(Vote::getId).collect(Collectors.toSet());
+    }
+}
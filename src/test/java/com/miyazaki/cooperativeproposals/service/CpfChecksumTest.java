@@ -0,0 +1,41 @@
+package com.miyazaki.cooperativeproposals.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CpfChecksumTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"12345678909", "123.456.789-09", "529.982.247-25", "00000000191", " 529 982 247 25 "})
+    void isValid_ShouldAcceptCpf_WhenCheckDigitsMatch(final String cpf) {
+        assertTrue(CpfChecksum.isValid(cpf));
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"12345678901", "123.456.789-00", "1234567890", "123456789090",
+            "111.111.111-11", "00000000000", "529.982.247/25", "52998224a25"})
+    void isValid_ShouldRejectCpf_WhenMalformedOrCheckDigitsDoNotMatch(final String cpf) {
+        assertFalse(CpfChecksum.isValid(cpf));
+    }
+
+    @Test
+    void format_ShouldRenderElevenDigits_WhenParsedCpfHasLeadingZeros() {
+        final long digits = CpfChecksum.parse("000.000.001-91");
+
+        assertEquals("00000000191", CpfChecksum.format(digits));
+    }
+
+    @Test
+    void format_ShouldMatchRegexNormalization_WhenCpfIsFormatted() {
+        final String formatted = "529.982.247-25";
+
+        assertEquals(formatted.replaceAll("[^0-9]", ""), CpfChecksum.format(CpfChecksum.parse(formatted)));
+    }
+}
@@ -0,0 +1,89 @@
+package com.miyazaki.cooperativeproposals.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CpfEligibilityCacheTest {
+
+    private static final String CPF = "52998224725";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void get_ShouldCallLoaderOnce_WhenAnswerIsCached() {
+        final CpfEligibilityCache cache = new CpfEligibilityCache(meterRegistry, 100, 60000, 60000);
+        final AtomicInteger calls = new AtomicInteger();
+
+        assertTrue(cache.get(CPF, cpf -> calls.incrementAndGet() > 0));
+        assertTrue(cache.get(CPF, cpf -> calls.incrementAndGet() > 0));
+
+        assertEquals(1, calls.get());
+        assertEquals(0.5, meterRegistry.get("cpf.eligibility.hit.ratio").gauge().value());
+    }
+
+    @Test
+    void get_ShouldApplyNegativeTtl_WhenCpfIsNotEligible() {
+        final CpfEligibilityCache cache = new CpfEligibilityCache(meterRegistry, 100, 60000, 0);
+        final AtomicInteger calls = new AtomicInteger();
+
+        assertFalse(cache.get(CPF, cpf -> calls.incrementAndGet() < 0));
+        assertFalse(cache.get(CPF, cpf -> calls.incrementAndGet() < 0));
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void get_ShouldNotCacheFailure_WhenLoaderThrows() {
+        final CpfEligibilityCache cache = new CpfEligibilityCache(meterRegistry, 100, 60000, 60000);
+
+        assertThrows(IllegalStateException.class, () -> cache.get(CPF, cpf -> {
+            throw new IllegalStateException("remote down");
+        }));
+
+        assertTrue(cache.get(CPF, cpf -> true));
+    }
+
+    @Test
+    void get_ShouldShareInFlightCall_WhenSameCpfIsRequestedConcurrently() throws Exception {
+        final CpfEligibilityCache cache = new CpfEligibilityCache(meterRegistry, 100, 60000, 60000);
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> cache.get(CPF, cpf -> {
+            calls.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return true;
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        final CompletableFuture<Boolean> second = CompletableFuture.supplyAsync(() -> cache.get(CPF, cpf -> {
+            calls.incrementAndGet();
+            return false;
+        }));
+        release.countDown();
+
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertTrue(second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
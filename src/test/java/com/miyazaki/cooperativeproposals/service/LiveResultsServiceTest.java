@@ -0,0 +1,163 @@
+package com.miyazaki.cooperativeproposals.service;
+
+import com.miyazaki.cooperativeproposals.controller.dto.response.ProposalStatusEnum;
+import com.miyazaki.cooperativeproposals.domain.repository.VoteTallyRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.VoteSummaryProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LiveResultsServiceTest {
+
+    @Mock
+    private VoteTallyRepository voteTallyRepository;
+
+    @Mock
+    private VoteSummaryProjection voteSummaryProjection;
+
+    private LiveResultsService liveResultsService;
+
+    @BeforeEach
+    void setUp() {
+        liveResultsService = new LiveResultsService(voteTallyRepository, 60000L);
+    }
+
+    @Test
+    void record_ShouldCountVotes_WhenSessionWasOpened() {
+        final UUID proposalId = UUID.randomUUID();
+        liveResultsService.open(proposalId);
+
+        liveResultsService.record(proposalId, true);
+        liveResultsService.record(proposalId, true);
+        liveResultsService.record(proposalId, false);
+
+        final var snapshot = liveResultsService.snapshot(proposalId).orElseThrow();
+        assertEquals(2L, snapshot.getCountYes());
+        assertEquals(1L, snapshot.getCountNo());
+        assertEquals(3L, snapshot.getTotalVotes());
+        assertEquals(ProposalStatusEnum.OPENED, snapshot.getStatus());
+    }
+
+    @Test
+    void record_ShouldIgnoreVote_WhenProposalIsNotTracked() {
+        final UUID proposalId = UUID.randomUUID();
+
+        liveResultsService.record(proposalId, true);
+
+        assertTrue(liveResultsService.snapshot(proposalId).isEmpty());
+    }
+
+    @Test
+    void publish_ShouldOnlySendChangedSnapshots_WhenObserversAreSubscribed() {
+        final UUID proposalId = UUID.randomUUID();
+        liveResultsService.open(proposalId);
+        assertNotNull(liveResultsService.subscribe(proposalId, ProposalStatusEnum.OPENED));
+
+        liveResultsService.record(proposalId, true);
+        assertEquals(1, liveResultsService.publish());
+        assertEquals(0, liveResultsService.publish());
+
+        liveResultsService.record(proposalId, false);
+        liveResultsService.record(proposalId, false);
+        assertEquals(1, liveResultsService.publish());
+        verify(voteTallyRepository, never()).sumByProposalId(any());
+    }
+
+    @Test
+    void publish_ShouldSkipProposals_WhenNobodyIsObserving() {
+        final UUID proposalId = UUID.randomUUID();
+        liveResultsService.open(proposalId);
+        liveResultsService.record(proposalId, true);
+
+        assertEquals(0, liveResultsService.publish());
+        assertTrue(liveResultsService.snapshot(proposalId).isPresent());
+    }
+
+    @Test
+    void subscribe_ShouldSeedCountersFromTally_WhenSessionWasOpenedElsewhere() {
+        final UUID proposalId = UUID.randomUUID();
+        when(voteTallyRepository.sumByProposalId(proposalId)).thenReturn(voteSummaryProjection);
+        when(voteSummaryProjection.getCountYes()).thenReturn(4);
+        when(voteSummaryProjection.getCountNo()).thenReturn(6);
+
+        liveResultsService.subscribe(proposalId, ProposalStatusEnum.OPENED);
+        liveResultsService.record(proposalId, true);
+
+        final var snapshot = liveResultsService.snapshot(proposalId).orElseThrow();
+        assertEquals(5L, snapshot.getCountYes());
+        assertEquals(6L, snapshot.getCountNo());
+    }
+
+    @Test
+    void subscribe_ShouldSendFinalResultWithoutTracking_WhenProposalIsClosed() {
+        final UUID proposalId = UUID.randomUUID();
+        when(voteTallyRepository.sumByProposalId(proposalId)).thenReturn(voteSummaryProjection);
+        when(voteSummaryProjection.getCountYes()).thenReturn(1);
+        when(voteSummaryProjection.getCountNo()).thenReturn(2);
+
+        assertNotNull(liveResultsService.subscribe(proposalId, ProposalStatusEnum.CLOSED));
+
+        assertTrue(liveResultsService.snapshot(proposalId).isEmpty());
+        verify(voteTallyRepository, times(1)).sumByProposalId(proposalId);
+    }
+
+    @Test
+    void close_ShouldStopCountingAndReadFinalTally_WhenObserversAreSubscribed() {
+        final UUID proposalId = UUID.randomUUID();
+        liveResultsService.open(proposalId);
+        liveResultsService.subscribe(proposalId, ProposalStatusEnum.OPENED);
+        when(voteTallyRepository.sumByProposalId(proposalId)).thenReturn(voteSummaryProjection);
+        when(voteSummaryProjection.getCountYes()).thenReturn(0);
+        when(voteSummaryProjection.getCountNo()).thenReturn(0);
+
+        liveResultsService.close(proposalId);
+        liveResultsService.record(proposalId, true);
+
+        assertTrue(liveResultsService.snapshot(proposalId).isEmpty());
+        verify(voteTallyRepository, times(1)).sumByProposalId(proposalId);
+    }
+
+    @Test
+    void refresh_ShouldReseedObservedCountersFromTally_WhenOtherNodesTookVotes() {
+        final UUID proposalId = UUID.randomUUID();
+        liveResultsService.open(proposalId);
+        liveResultsService.subscribe(proposalId, ProposalStatusEnum.OPENED);
+        liveResultsService.record(proposalId, true);
+        when(voteTallyRepository.sumByProposalId(proposalId)).thenReturn(voteSummaryProjection);
+        when(voteSummaryProjection.getCountYes()).thenReturn(7);
+        when(voteSummaryProjection.getCountNo()).thenReturn(3);
+
+        assertEquals(1, liveResultsService.refresh());
+
+        final var snapshot = liveResultsService.snapshot(proposalId).orElseThrow();
+        assertEquals(7L, snapshot.getCountYes());
+        assertEquals(3L, snapshot.getCountNo());
+        assertEquals(1, liveResultsService.publish());
+    }
+
+    @Test
+    void refresh_ShouldSkipProposals_WhenNobodyIsObserving() {
+        final UUID proposalId = UUID.randomUUID();
+        liveResultsService.open(proposalId);
+        liveResultsService.record(proposalId, true);
+
+        assertEquals(0, liveResultsService.refresh());
+
+        assertEquals(1L, liveResultsService.snapshot(proposalId).orElseThrow().getCountYes());
+        verify(voteTallyRepository, never()).sumByProposalId(any());
+    }
+}
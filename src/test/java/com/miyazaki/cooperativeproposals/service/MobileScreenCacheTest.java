@@ -0,0 +1,95 @@
+package com.miyazaki.cooperativeproposals.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.miyazaki.cooperativeproposals.controller.dto.response.mobile.MobileSelectionScreen;
+import com.miyazaki.cooperativeproposals.service.MobileScreenCache.ScreenKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MobileScreenCacheTest {
+
+    private static final UUID PROPOSAL_ID = UUID.randomUUID();
+
+    private final MobileScreenCache cache =
+            new MobileScreenCache(new ObjectMapper(), new SimpleMeterRegistry(), 100, 60000);
+
+    @Test
+    void get_ShouldBuildAndSerializeOnce_WhenScreenIsCached() {
+        final AtomicInteger builds = new AtomicInteger();
+
+        final SerializedScreen first = cache.get(ScreenKey.votingOptions(PROPOSAL_ID), () -> screen("A", builds));
+        final SerializedScreen second = cache.get(ScreenKey.votingOptions(PROPOSAL_ID), () -> screen("A", builds));
+
+        assertSame(first, second);
+        assertEquals(1, builds.get());
+    }
+
+    @Test
+    void get_ShouldKeepScreensApart_WhenVoteChoiceDiffers() {
+        final AtomicInteger builds = new AtomicInteger();
+
+        cache.get(ScreenKey.voteForm(PROPOSAL_ID, true), () -> screen("A", builds));
+        cache.get(ScreenKey.voteForm(PROPOSAL_ID, false), () -> screen("A", builds));
+
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    void invalidateAll_ShouldEvictOnlyScreensOfTheGivenProposals() {
+        final AtomicInteger builds = new AtomicInteger();
+        final UUID otherProposalId = UUID.randomUUID();
+        cache.get(ScreenKey.votingOptions(PROPOSAL_ID), () -> screen("A", builds));
+        cache.get(ScreenKey.votingOptions(otherProposalId), () -> screen("B", builds));
+        cache.get(ScreenKey.NEW_PROPOSAL, () -> screen("C", builds));
+
+        cache.invalidateAll(List.of(PROPOSAL_ID));
+
+        cache.get(ScreenKey.votingOptions(PROPOSAL_ID), () -> screen("A", builds));
+        cache.get(ScreenKey.votingOptions(otherProposalId), () -> screen("B", builds));
+        cache.get(ScreenKey.NEW_PROPOSAL, () -> screen("C", builds));
+        assertEquals(4, builds.get());
+    }
+
+    @Test
+    void get_ShouldNotCacheScreen_WhenBuilderThrows() {
+        final AtomicInteger builds = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> cache.get(ScreenKey.votingOptions(PROPOSAL_ID), () -> {
+            throw new IllegalStateException("session closed");
+        }));
+
+        cache.get(ScreenKey.votingOptions(PROPOSAL_ID), () -> screen("A", builds));
+        assertEquals(1, builds.get());
+    }
+
+    @Test
+    void serialize_ShouldDeriveStrongEtagFromBody() {
+        final SerializedScreen a = cache.serialize(screen("A", new AtomicInteger()));
+        final SerializedScreen sameAsA = cache.serialize(screen("A", new AtomicInteger()));
+        final SerializedScreen b = cache.serialize(screen("B", new AtomicInteger()));
+
+        assertTrue(new String(a.body(), StandardCharsets.UTF_8).contains("\"titulo\":\"A\""));
+        assertTrue(a.etag().startsWith("\"") && a.etag().endsWith("\""));
+        assertEquals(a.etag(), sameAsA.etag());
+        assertNotEquals(a.etag(), b.etag());
+    }
+
+    private static MobileSelectionScreen screen(final String title, final AtomicInteger builds) {
+        builds.incrementAndGet();
+        return MobileSelectionScreen.builder()
+                .tipo("SELECAO")
+                .titulo(title)
+                .build();
+    }
+}
@@ -0,0 +1,209 @@
+package com.miyazaki.cooperativeproposals.service;
+
+import com.miyazaki.cooperativeproposals.domain.repository.VotingSessionRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.SessionDeadlineProjection;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.SessionResolutionProjection;
+import com.miyazaki.cooperativeproposals.exception.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OpenSessionRegistryTest {
+
+    @Mock
+    private VotingSessionRepository votingSessionRepository;
+
+    private static final long NEGATIVE_TTL_MS = 1000L;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private OpenSessionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new OpenSessionRegistry(votingSessionRepository, NEGATIVE_TTL_MS, 100, clock::get);
+    }
+
+    @Test
+    void activeSession_ShouldReturnSession_UntilItsDeadlinePasses() {
+        final UUID proposalId = UUID.randomUUID();
+        final UUID sessionId = UUID.randomUUID();
+        final LocalDateTime closesAt = LocalDateTime.now().plusSeconds(60);
+        registry.open(proposalId, sessionId, closesAt);
+
+        assertEquals(Optional.of(new ActiveSession(proposalId, sessionId, closesAt)),
+                registry.activeSession(proposalId));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(61));
+
+        assertTrue(registry.activeSession(proposalId).isEmpty());
+        verify(votingSessionRepository, never()).resolveOpenSession(any());
+    }
+
+    @Test
+    void activeSession_ShouldResolveUnknownProposalOnce_AndCacheIt() {
+        final UUID proposalId = UUID.randomUUID();
+        final UUID sessionId = UUID.randomUUID();
+        when(votingSessionRepository.resolveOpenSession(proposalId))
+                .thenReturn(Optional.of(resolution(proposalId, sessionId, LocalDateTime.now().plusMinutes(5))));
+
+        assertEquals(sessionId, registry.activeSession(proposalId).orElseThrow().sessionId());
+        assertEquals(sessionId, registry.activeSession(proposalId).orElseThrow().sessionId());
+
+        verify(votingSessionRepository, times(1)).resolveOpenSession(proposalId);
+    }
+
+    @Test
+    void activeSession_ShouldReturnEmpty_WhenStoredSessionIsOpenedButExpired() {
+        final UUID proposalId = UUID.randomUUID();
+        when(votingSessionRepository.resolveOpenSession(proposalId)).thenReturn(
+                Optional.of(resolution(proposalId, UUID.randomUUID(), LocalDateTime.now().minusSeconds(1))));
+
+        assertTrue(registry.activeSession(proposalId).isEmpty());
+    }
+
+    @Test
+    void activeSession_ShouldReturnEmpty_WhenProposalHasNoOpenSession() {
+        final UUID proposalId = UUID.randomUUID();
+        registry.open(proposalId, UUID.randomUUID(), LocalDateTime.now().plusMinutes(5));
+        registry.close(proposalId);
+        when(votingSessionRepository.resolveOpenSession(proposalId))
+                .thenReturn(Optional.of(resolution(proposalId, null, null)));
+
+        assertTrue(registry.activeSession(proposalId).isEmpty());
+    }
+
+    @Test
+    void activeSession_ShouldNotQueryAgain_WhileMissingSessionIsCached() {
+        final UUID proposalId = UUID.randomUUID();
+        when(votingSessionRepository.resolveOpenSession(proposalId))
+                .thenReturn(Optional.of(resolution(proposalId, null, null)));
+
+        assertTrue(registry.activeSession(proposalId).isEmpty());
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(NEGATIVE_TTL_MS - 1));
+        assertTrue(registry.activeSession(proposalId).isEmpty());
+
+        verify(votingSessionRepository, times(1)).resolveOpenSession(proposalId);
+    }
+
+    @Test
+    void activeSession_ShouldResolveAgain_WhenMissingSessionExpires() {
+        final UUID proposalId = UUID.randomUUID();
+        final UUID sessionId = UUID.randomUUID();
+        when(votingSessionRepository.resolveOpenSession(proposalId))
+                .thenReturn(Optional.of(resolution(proposalId, null, null)))
+                .thenReturn(Optional.of(resolution(proposalId, sessionId, LocalDateTime.now().plusMinutes(5))));
+
+        assertTrue(registry.activeSession(proposalId).isEmpty());
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(NEGATIVE_TTL_MS));
+
+        assertEquals(sessionId, registry.activeSession(proposalId).orElseThrow().sessionId());
+        verify(votingSessionRepository, times(2)).resolveOpenSession(proposalId);
+    }
+
+    @Test
+    void activeSession_ShouldResolveAgain_WhenMissingSessionIsForgotten() {
+        final UUID proposalId = UUID.randomUUID();
+        final UUID sessionId = UUID.randomUUID();
+        when(votingSessionRepository.resolveOpenSession(proposalId))
+                .thenReturn(Optional.of(resolution(proposalId, null, null)))
+                .thenReturn(Optional.of(resolution(proposalId, sessionId, LocalDateTime.now().plusMinutes(5))));
+
+        assertTrue(registry.activeSession(proposalId).isEmpty());
+        registry.forgetMissingSession(proposalId);
+
+        assertEquals(sessionId, registry.activeSession(proposalId).orElseThrow().sessionId());
+        verify(votingSessionRepository, times(2)).resolveOpenSession(proposalId);
+    }
+
+    @Test
+    void activeSession_ShouldReturnOpenedSession_WhenMissingSessionWasCached() {
+        final UUID proposalId = UUID.randomUUID();
+        final UUID sessionId = UUID.randomUUID();
+        when(votingSessionRepository.resolveOpenSession(proposalId))
+                .thenReturn(Optional.of(resolution(proposalId, null, null)));
+
+        assertTrue(registry.activeSession(proposalId).isEmpty());
+        registry.open(proposalId, sessionId, LocalDateTime.now().plusMinutes(5));
+
+        assertEquals(sessionId, registry.activeSession(proposalId).orElseThrow().sessionId());
+        verify(votingSessionRepository, times(1)).resolveOpenSession(proposalId);
+    }
+
+    @Test
+    void activeSession_ShouldThrowNotFoundException_WhenProposalDoesNotExist() {
+        final UUID proposalId = UUID.randomUUID();
+        when(votingSessionRepository.resolveOpenSession(proposalId)).thenReturn(Optional.empty());
+
+        final NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> registry.activeSession(proposalId));
+
+        assertEquals("Proposal not found!", exception.getMessage());
+    }
+
+    @Test
+    void warmOpenSessions_ShouldTrackEveryOpenedSession() {
+        final UUID proposalId = UUID.randomUUID();
+        final UUID sessionId = UUID.randomUUID();
+        final SessionDeadlineProjection deadline = new SessionDeadlineProjection() {
+            @Override
+            public UUID getId() {
+                return sessionId;
+            }
+
+            @Override
+            public UUID getProposalId() {
+                return proposalId;
+            }
+
+            @Override
+            public LocalDateTime getClosesAt() {
+                return LocalDateTime.now().plusMinutes(5);
+            }
+        };
+        when(votingSessionRepository.findOpenedDeadlines()).thenReturn(List.of(deadline));
+
+        registry.warmOpenSessions();
+
+        assertEquals(sessionId, registry.activeSession(proposalId).orElseThrow().sessionId());
+        verify(votingSessionRepository, never()).resolveOpenSession(any());
+    }
+
+    private static SessionResolutionProjection resolution(final UUID proposalId, final UUID sessionId,
+                                                          final LocalDateTime closesAt) {
+        return new SessionResolutionProjection() {
+            @Override
+            public UUID getProposalId() {
+                return proposalId;
+            }
+
+            @Override
+            public UUID getSessionId() {
+                return sessionId;
+            }
+
+            @Override
+            public LocalDateTime getClosesAt() {
+                return closesAt;
+            }
+        };
+    }
+}
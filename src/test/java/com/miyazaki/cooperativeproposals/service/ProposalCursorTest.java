@@ -0,0 +1,34 @@
+package com.miyazaki.cooperativeproposals.service;
+
+import com.miyazaki.cooperativeproposals.domain.enums.ProposalSortKey;
+import com.miyazaki.cooperativeproposals.exception.InvalidPaginationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProposalCursorTest {
+
+    @Test
+    void decode_ShouldRestoreCursor_WhenTokenWasEncoded() {
+        final ProposalCursor cursor = new ProposalCursor(ProposalSortKey.TITLE, false, "Título | com ; separadores", UUID.randomUUID());
+
+        assertEquals(cursor, ProposalCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void decode_ShouldThrowInvalidPaginationException_WhenTokenIsNotBase64() {
+        assertThrows(InvalidPaginationException.class, () -> ProposalCursor.decode("***"));
+    }
+
+    @Test
+    void decode_ShouldThrowInvalidPaginationException_WhenSortKeyIsUnknown() {
+        final String token = Base64.getUrlEncoder().encodeToString(
+                ("DESCRIPTION\u0000A\u0000x\u0000" + UUID.randomUUID()).getBytes());
+
+        assertThrows(InvalidPaginationException.class, () -> ProposalCursor.decode(token));
+    }
+}
@@ -10,24 +10,30 @@ import com.miyazaki.cooperativeproposals.controller.dto.response.ProposalSummary
 import com.miyazaki.cooperativeproposals.controller.dto.response.SessionResponse;
 import com.miyazaki.cooperativeproposals.domain.entity.Proposal;
 import com.miyazaki.cooperativeproposals.domain.entity.VotingSession;
+import com.miyazaki.cooperativeproposals.domain.enums.ProposalSortKey;
 import com.miyazaki.cooperativeproposals.domain.enums.SessionStatus;
+import com.miyazaki.cooperativeproposals.exception.InvalidPaginationException;
 import com.miyazaki.cooperativeproposals.exception.NotFoundException;
 import com.miyazaki.cooperativeproposals.exception.SessionOpenedException;
 import com.miyazaki.cooperativeproposals.domain.mapper.ProposalMapper;
 import com.miyazaki.cooperativeproposals.domain.mapper.VotingSessionMapper;
 import com.miyazaki.cooperativeproposals.domain.repository.ProposalRepository;
 import com.miyazaki.cooperativeproposals.domain.repository.VoteRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.ProposalSummaryProjection;
 import com.miyazaki.cooperativeproposals.domain.repository.projection.VoteSummaryProjection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -41,6 +47,8 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -61,6 +69,12 @@ class ProposalServiceTest {
     @Mock
     private VoteService voteService;
 
+    @Mock
+    private LiveResultsService liveResultsService;
+
+    @Spy
+    private ProposalViewCache proposalViewCache = new ProposalViewCache(new SimpleMeterRegistry(), 100, 60000);
+
     @InjectMocks
     private ProposalService proposalService;
 
@@ -122,7 +136,7 @@ class ProposalServiceTest {
                 .build();
 
         when(proposalRepository.findById(proposalId)).thenReturn(Optional.of(proposal));
-        when(votingSessionService.hasVotingSessionOpened(proposalId)).thenReturn(false);
+        when(votingSessionService.hasVotingSession(proposalId)).thenReturn(false);
         when(votingSessionService.create(proposal, 120)).thenReturn(session);
         when(votingSessionMapper.toSessionResponse(session)).thenReturn(expectedResponse);
 
@@ -162,7 +176,7 @@ class ProposalServiceTest {
                 .build();
 
         when(proposalRepository.findById(proposalId)).thenReturn(Optional.of(proposal));
-        when(votingSessionService.hasVotingSessionOpened(proposalId)).thenReturn(false);
+        when(votingSessionService.hasVotingSession(proposalId)).thenReturn(false);
         when(votingSessionService.create(proposal, 60)).thenReturn(session);
         when(votingSessionMapper.toSessionResponse(session)).thenReturn(expectedResponse);
 
@@ -193,7 +207,7 @@ class ProposalServiceTest {
                 .build();
 
         when(proposalRepository.findById(proposalId)).thenReturn(Optional.of(proposal));
-        when(votingSessionService.hasVotingSessionOpened(proposalId)).thenReturn(false);
+        when(votingSessionService.hasVotingSession(proposalId)).thenReturn(false);
         when(votingSessionService.create(proposal, 60)).thenReturn(session);
         when(votingSessionMapper.toSessionResponse(session)).thenReturn(expectedResponse);
 
@@ -230,7 +244,7 @@ class ProposalServiceTest {
                 .build();
 
         when(proposalRepository.findById(proposalId)).thenReturn(Optional.of(proposal));
-        when(votingSessionService.hasVotingSessionOpened(proposalId)).thenReturn(true);
+        when(votingSessionService.hasVotingSession(proposalId)).thenReturn(true);
 
         final SessionOpenedException exception = assertThrows(SessionOpenedException.class, () -> {
             proposalService.openVotingSession(proposalId, request);
@@ -293,14 +307,14 @@ class ProposalServiceTest {
     @Test
     void getAllProposals_ShouldReturnPagedResponse_WhenProposalsExist() {
         final Pageable pageable = PageRequest.of(0, 10, Sort.by("title"));
-        final List<Proposal> proposals = Arrays.asList(
-                createProposalWithoutSession(UUID.randomUUID(), "Proposal 1", "Description 1"),
-                createProposalWithOpenSession(UUID.randomUUID(), "Proposal 2", "Description 2"),
-                createProposalWithClosedSession(UUID.randomUUID(), "Proposal 3", "Description 3")
+        final List<ProposalSummaryProjection> proposals = Arrays.asList(
+                createSummary("Proposal 1", "Description 1", "WAITING"),
+                createSummary("Proposal 2", "Description 2", "OPENED"),
+                createSummary("Proposal 3", "Description 3", "CLOSED")
         );
-        final Page<Proposal> proposalPage = new PageImpl<>(proposals, pageable, 3);
+        final Page<ProposalSummaryProjection> proposalPage = new PageImpl<>(proposals, pageable, 3);
 
-        when(proposalRepository.findAll(pageable)).thenReturn(proposalPage);
+        when(proposalRepository.findAllSummaries(pageable)).thenReturn(proposalPage);
 
         final PagedResponse<ProposalSummary> result = proposalService.getAllProposals(pageable);
 
@@ -323,15 +337,15 @@ class ProposalServiceTest {
         assertEquals("Proposal 3", summary3.getTitle());
         assertEquals(ProposalStatusEnum.CLOSED, summary3.getStatus());
 
-        verify(proposalRepository, times(1)).findAll(pageable);
+        verify(proposalRepository, times(1)).findAllSummaries(pageable);
     }
 
     @Test
     void getAllProposals_ShouldReturnEmptyPagedResponse_WhenNoProposalsExist() {
         final Pageable pageable = PageRequest.of(0, 10);
-        final Page<Proposal> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
+        final Page<ProposalSummaryProjection> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
 
-        when(proposalRepository.findAll(pageable)).thenReturn(emptyPage);
+        when(proposalRepository.findAllSummaries(pageable)).thenReturn(emptyPage);
 
         final PagedResponse<ProposalSummary> result = proposalService.getAllProposals(pageable);
 
@@ -342,19 +356,19 @@ class ProposalServiceTest {
         assertEquals(0, result.getTotalElements());
         assertEquals(0, result.getTotalPages());
 
-        verify(proposalRepository, times(1)).findAll(pageable);
+        verify(proposalRepository, times(1)).findAllSummaries(pageable);
     }
 
     @Test
     void getAllProposals_ShouldReturnCorrectPageInfo_WhenRequestingSecondPage() {
         final Pageable pageable = PageRequest.of(1, 2);
-        final List<Proposal> proposals = Arrays.asList(
-                createProposalWithoutSession(UUID.randomUUID(), "Proposal 3", "Description 3"),
-                createProposalWithoutSession(UUID.randomUUID(), "Proposal 4", "Description 4")
+        final List<ProposalSummaryProjection> proposals = Arrays.asList(
+                createSummary("Proposal 3", "Description 3", "WAITING"),
+                createSummary("Proposal 4", "Description 4", "WAITING")
         );
-        final Page<Proposal> proposalPage = new PageImpl<>(proposals, pageable, 5);
+        final Page<ProposalSummaryProjection> proposalPage = new PageImpl<>(proposals, pageable, 5);
 
-        when(proposalRepository.findAll(pageable)).thenReturn(proposalPage);
+        when(proposalRepository.findAllSummaries(pageable)).thenReturn(proposalPage);
 
         final PagedResponse<ProposalSummary> result = proposalService.getAllProposals(pageable);
 
@@ -365,7 +379,88 @@ class ProposalServiceTest {
         assertEquals(5, result.getTotalElements());
         assertEquals(3, result.getTotalPages());
 
-        verify(proposalRepository, times(1)).findAll(pageable);
+        verify(proposalRepository, times(1)).findAllSummaries(pageable);
+    }
+
+    @Test
+    void getProposalsAfter_ShouldReturnNextCursor_WhenMoreProposalsFollow() {
+        final List<ProposalSummaryProjection> rows = Arrays.asList(
+                createSummary("A", "Description A", "WAITING"),
+                createSummary("B", "Description B", "OPENED"),
+                createSummary("C", "Description C", "CLOSED")
+        );
+        when(proposalRepository.findSummariesAfter(ProposalSortKey.TITLE, true, null, null, 3)).thenReturn(rows);
+
+        final PagedResponse<ProposalSummary> result = proposalService.getProposalsAfter("title", Sort.Direction.ASC, 2, null);
+
+        assertEquals(2, result.getContent().size());
+        assertEquals("B", result.getContent().get(1).getTitle());
+        assertEquals(-1, result.getTotalElements());
+        final ProposalCursor next = ProposalCursor.decode(result.getNextCursor());
+        assertEquals(ProposalSortKey.TITLE, next.sortKey());
+        assertTrue(next.ascending());
+        assertEquals("B", next.value());
+        assertEquals(rows.get(1).getId(), next.id());
+    }
+
+    @Test
+    void getProposalsAfter_ShouldSeekFromCursor_WhenCursorProvided() {
+        final UUID lastId = UUID.randomUUID();
+        final String cursor = new ProposalCursor(ProposalSortKey.TITLE, false, "M", lastId).encode();
+        final List<ProposalSummaryProjection> rows = List.of(createSummary("L", "Description L", "WAITING"));
+        when(proposalRepository.findSummariesAfter(ProposalSortKey.TITLE, false, "M", lastId, 11)).thenReturn(rows);
+
+        final PagedResponse<ProposalSummary> result = proposalService.getProposalsAfter("title", Sort.Direction.DESC, 10, cursor);
+
+        assertEquals(1, result.getContent().size());
+        assertEquals(null, result.getNextCursor());
+    }
+
+    @Test
+    void getProposalsAfter_ShouldThrowInvalidPaginationException_WhenCursorWasIssuedForAnotherSort() {
+        final String cursor = new ProposalCursor(ProposalSortKey.ID, true, "x", UUID.randomUUID()).encode();
+
+        assertThrows(InvalidPaginationException.class,
+                () -> proposalService.getProposalsAfter("title", Sort.Direction.ASC, 10, cursor));
+
+        verify(proposalRepository, never()).findSummariesAfter(any(), anyBoolean(), any(), any(), anyInt());
+    }
+
+    @Test
+    void getProposalsAfter_ShouldThrowInvalidPaginationException_WhenSortIsNotSupported() {
+        assertThrows(InvalidPaginationException.class,
+                () -> proposalService.getProposalsAfter("description", Sort.Direction.ASC, 10, null));
+    }
+
+    @Test
+    void getProposalsAfter_ShouldThrowInvalidPaginationException_WhenCursorIsMalformed() {
+        assertThrows(InvalidPaginationException.class,
+                () -> proposalService.getProposalsAfter("title", Sort.Direction.ASC, 10, "not-a-cursor"));
+    }
+
+    private ProposalSummaryProjection createSummary(final String title, final String description, final String status) {
+        final UUID id = UUID.randomUUID();
+        return new ProposalSummaryProjection() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+
+            @Override
+            public String getDescription() {
+                return description;
+            }
+
+            @Override
+            public String getStatus() {
+                return status;
+            }
+        };
     }
 
     private Proposal createProposalWithoutSession(UUID id, String title, String description) {
@@ -409,6 +504,28 @@ class ProposalServiceTest {
                 .build();
     }
 
+    @Test
+    void streamResults_ShouldSubscribeWithCurrentStatus_WhenProposalExists() {
+        final UUID proposalId = UUID.randomUUID();
+        final Proposal proposal = createProposalWithoutSession(proposalId, "Test Proposal", "Test Description");
+        final SseEmitter emitter = new SseEmitter();
+
+        when(proposalRepository.findById(proposalId)).thenReturn(Optional.of(proposal));
+        when(liveResultsService.subscribe(proposalId, ProposalStatusEnum.WAITING)).thenReturn(emitter);
+
+        assertEquals(emitter, proposalService.streamResults(proposalId));
+    }
+
+    @Test
+    void streamResults_ShouldThrowNotFoundException_WhenProposalDoesNotExist() {
+        final UUID proposalId = UUID.randomUUID();
+        when(proposalRepository.findById(proposalId)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> proposalService.streamResults(proposalId));
+
+        verify(liveResultsService, never()).subscribe(any(), any());
+    }
+
     @Test
     void getProposalDetail_ShouldReturnDetailsWithoutResult_WhenProposalStatusIsWaiting() {
         final UUID proposalId = UUID.randomUUID();
@@ -422,7 +539,7 @@ class ProposalServiceTest {
                 .build();
 
         when(proposalRepository.findById(proposalId)).thenReturn(Optional.of(proposal));
-        when(proposalMapper.toProposalDetailsResponse(proposal, ProposalStatusEnum.WAITING)).thenReturn(expectedResponse);
+        when(proposalMapper.toProposalDetailsResponse(ProposalView.of(proposal))).thenReturn(expectedResponse);
 
         final ProposalDetailsResponse result = proposalService.getProposalDetail(proposalId);
 
@@ -434,7 +551,7 @@ class ProposalServiceTest {
         assertEquals(null, result.getResult());
 
         verify(proposalRepository, times(1)).findById(proposalId);
-        verify(proposalMapper, times(1)).toProposalDetailsResponse(proposal, ProposalStatusEnum.WAITING);
+        verify(proposalMapper, times(1)).toProposalDetailsResponse(ProposalView.of(proposal));
     }
 
     @Test
@@ -450,7 +567,7 @@ class ProposalServiceTest {
                 .build();
 
         when(proposalRepository.findById(proposalId)).thenReturn(Optional.of(proposal));
-        when(proposalMapper.toProposalDetailsResponse(proposal, ProposalStatusEnum.OPENED)).thenReturn(expectedResponse);
+        when(proposalMapper.toProposalDetailsResponse(ProposalView.of(proposal))).thenReturn(expectedResponse);
 
         final ProposalDetailsResponse result = proposalService.getProposalDetail(proposalId);
 
@@ -462,7 +579,7 @@ class ProposalServiceTest {
         assertEquals(null, result.getResult());
 
         verify(proposalRepository, times(1)).findById(proposalId);
-        verify(proposalMapper, times(1)).toProposalDetailsResponse(proposal, ProposalStatusEnum.OPENED);
+        verify(proposalMapper, times(1)).toProposalDetailsResponse(ProposalView.of(proposal));
     }
 
     @Test
@@ -485,7 +602,7 @@ class ProposalServiceTest {
                 .build();
 
         when(proposalRepository.findById(proposalId)).thenReturn(Optional.of(proposal));
-        when(proposalMapper.toProposalDetailsResponse(proposal, ProposalStatusEnum.CLOSED)).thenReturn(expectedResponse);
+        when(proposalMapper.toProposalDetailsResponse(ProposalView.of(proposal))).thenReturn(expectedResponse);
         when(voteService.getVoteResult(proposalId)).thenReturn(result);
 
         final ProposalDetailsResponse details  = proposalService.getProposalDetail(proposalId);
@@ -516,4 +633,35 @@ class ProposalServiceTest {
         assertEquals("Proposal not found!", exception.getMessage());
     }
 
+    @Test
+    void getProposalDetail_ShouldLoadProposalOnce_WhenViewIsCached() {
+        final UUID proposalId = UUID.randomUUID();
+        final Proposal proposal = createProposalWithoutSession(proposalId, "Test Proposal", "Test Description");
+        final ProposalDetailsResponse expectedResponse = ProposalDetailsResponse.builder()
+                .proposalId(proposalId)
+                .status(ProposalStatusEnum.WAITING)
+                .build();
+
+        when(proposalRepository.findById(proposalId)).thenReturn(Optional.of(proposal));
+        when(proposalMapper.toProposalDetailsResponse(ProposalView.of(proposal))).thenReturn(expectedResponse);
+
+        proposalService.getProposalDetail(proposalId);
+        proposalService.getProposalDetail(proposalId);
+
+        verify(proposalRepository, times(1)).findById(proposalId);
+    }
+
+    @Test
+    void getProposalView_ShouldReloadProposal_WhenEntryWasInvalidated() {
+        final UUID proposalId = UUID.randomUUID();
+        final Proposal waiting = createProposalWithoutSession(proposalId, "Test Proposal", "Test Description");
+        final Proposal opened = createProposalWithOpenSession(proposalId, "Test Proposal", "Test Description");
+
+        when(proposalRepository.findById(proposalId)).thenReturn(Optional.of(waiting), Optional.of(opened));
+
+        assertEquals(ProposalStatusEnum.WAITING, proposalService.getProposalView(proposalId).status());
+        proposalViewCache.invalidate(proposalId);
+
+        assertEquals(ProposalStatusEnum.OPENED, proposalService.getProposalView(proposalId).status());
+    }
 }
@@ -0,0 +1,73 @@
+package com.miyazaki.cooperativeproposals.service;
+
+import com.miyazaki.cooperativeproposals.controller.dto.response.ProposalStatusEnum;
+import com.miyazaki.cooperativeproposals.exception.NotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProposalViewCacheTest {
+
+    private static final UUID PROPOSAL_ID = UUID.randomUUID();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void get_ShouldCallLoaderOnce_WhenViewIsCached() {
+        final ProposalViewCache cache = new ProposalViewCache(meterRegistry, 100, 60000);
+        final AtomicInteger calls = new AtomicInteger();
+
+        cache.get(PROPOSAL_ID, id -> load(id, calls));
+        cache.get(PROPOSAL_ID, id -> load(id, calls));
+
+        assertEquals(1, calls.get());
+        assertEquals(0.5, meterRegistry.get("proposal.view.hit.ratio").gauge().value());
+    }
+
+    @Test
+    void get_ShouldReload_WhenEntryWasInvalidated() {
+        final ProposalViewCache cache = new ProposalViewCache(meterRegistry, 100, 60000);
+        final AtomicInteger calls = new AtomicInteger();
+
+        cache.get(PROPOSAL_ID, id -> load(id, calls));
+        cache.invalidateAll(List.of(PROPOSAL_ID));
+        cache.get(PROPOSAL_ID, id -> load(id, calls));
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void get_ShouldReload_WhenTtlExpired() {
+        final ProposalViewCache cache = new ProposalViewCache(meterRegistry, 100, 0);
+        final AtomicInteger calls = new AtomicInteger();
+
+        cache.get(PROPOSAL_ID, id -> load(id, calls));
+        cache.get(PROPOSAL_ID, id -> load(id, calls));
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void get_ShouldNotCacheMissingProposal_WhenLoaderThrows() {
+        final ProposalViewCache cache = new ProposalViewCache(meterRegistry, 100, 60000);
+        final AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(NotFoundException.class, () -> cache.get(PROPOSAL_ID, id -> {
+            throw new NotFoundException("Proposal not found!");
+        }));
+
+        assertEquals(PROPOSAL_ID, cache.get(PROPOSAL_ID, id -> load(id, calls)).id());
+        assertEquals(1, calls.get());
+    }
+
+    private static ProposalView load(final UUID id, final AtomicInteger calls) {
+        calls.incrementAndGet();
+        return new ProposalView(id, "Title", "Description", ProposalStatusEnum.WAITING);
+    }
+}
@@ -0,0 +1,39 @@
+package com.miyazaki.cooperativeproposals.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SerializedScreenTest {
+
+    private final SerializedScreen screen = new SerializedScreen(new byte[0], "\"abc\"");
+
+    @Test
+    void matches_ShouldReturnFalse_WhenHeaderIsAbsent() {
+        assertFalse(screen.matches(null));
+        assertFalse(screen.matches(" "));
+    }
+
+    @Test
+    void matches_ShouldReturnTrue_WhenHeaderNamesTheEtag() {
+        assertTrue(screen.matches("\"abc\""));
+        assertTrue(screen.matches("\"old\", \"abc\""));
+    }
+
+    @Test
+    void matches_ShouldCompareWeakly_WhenHeaderHasWeakEtag() {
+        assertTrue(screen.matches("W/\"abc\""));
+    }
+
+    @Test
+    void matches_ShouldReturnTrue_WhenHeaderIsWildcard() {
+        assertTrue(screen.matches("*"));
+    }
+
+    @Test
+    void matches_ShouldReturnFalse_WhenEtagDiffers() {
+        assertFalse(screen.matches("\"abd\""));
+        assertFalse(screen.matches("abc"));
+    }
+}
@@ -9,26 +9,31 @@ import com.miyazaki.cooperativeproposals.domain.entity.VotingSession;
 import com.miyazaki.cooperativeproposals.domain.enums.SessionStatus;
 import com.miyazaki.cooperativeproposals.domain.mapper.VoteMapper;
 import com.miyazaki.cooperativeproposals.domain.repository.ProposalRepository;
-import com.miyazaki.cooperativeproposals.domain.repository.VoteRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.VoteTallyRepository;
 import com.miyazaki.cooperativeproposals.domain.repository.projection.VoteSummaryProjection;
 import com.miyazaki.cooperativeproposals.exception.AssociatePermissionVoteException;
 import com.miyazaki.cooperativeproposals.exception.DuplicateVoteException;
 import com.miyazaki.cooperativeproposals.exception.NotFoundException;
+import com.miyazaki.cooperativeproposals.ingestion.VoteDedupIndex;
+import com.miyazaki.cooperativeproposals.ingestion.VoteIngestionQueue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -38,7 +43,7 @@ import static org.mockito.Mockito.when;
 class VoteServiceTest {
 
     @Mock
-    private VoteRepository voteRepository;
+    private VoteTallyRepository voteTallyRepository;
 
     @Mock
     private ProposalRepository proposalRepository;
@@ -52,6 +57,15 @@ class VoteServiceTest {
     @Mock
     private AssociateValidationService associateValidationService;
 
+    @Mock
+    private VoteIngestionQueue voteIngestionQueue;
+
+    @Mock
+    private VoteDedupIndex voteDedupIndex;
+
+    @Mock
+    private LiveResultsService liveResultsService;
+
     @Mock
     private VoteSummaryProjection voteSummaryProjection;
 
@@ -110,30 +124,85 @@ class VoteServiceTest {
 
     @Test
     void castVote_ShouldReturnVoteResponse_WhenValidVoteProvided() {
-        when(proposalRepository.findById(proposalId)).thenReturn(Optional.of(proposal));
-        when(votingSessionService.hasVotingSessionOpened(proposalId)).thenReturn(true);
-        when(votingSessionService.getSessionActiveByProposalId(proposalId)).thenReturn(votingSession);
-        when(voteRepository.existsByProposalIdAndAssociateId(proposalId, associateId)).thenReturn(false);
-        when(voteRepository.save(any(Vote.class))).thenReturn(vote);
-        when(voteMapper.toVoteResponse(vote)).thenReturn(voteResponse);
+        when(votingSessionService.resolveActiveSession(proposalId)).thenReturn(activeSession());
+        when(proposalRepository.getReferenceById(proposalId)).thenReturn(proposal);
+        when(votingSessionService.getReference(votingSession.getId())).thenReturn(votingSession);
+        when(voteDedupIndex.tryRegister(proposalId, associateId)).thenReturn(true);
+        when(voteMapper.toVoteResponse(any(Vote.class))).thenReturn(voteResponse);
         when(associateValidationService.isValidCpf(voteRequest.associateCpf())).thenReturn(true);
+        when(voteIngestionQueue.write(any(Vote.class))).thenReturn(true);
 
         final VoteResponse result = voteService.castVote(proposalId, voteRequest);
 
         assertNotNull(result);
+        assertFalse(result.isPending());
         assertEquals(voteId, result.getVoteId());
         assertEquals(proposalId, result.getProposalId());
         assertEquals(associateId, result.getAssociateId());
         assertEquals(true, result.getVote());
 
-        verify(voteRepository, times(1)).save(any(Vote.class));
-        verify(voteMapper, times(1)).toVoteResponse(vote);
+        final ArgumentCaptor<Vote> voteCaptor = ArgumentCaptor.forClass(Vote.class);
+        verify(voteIngestionQueue, times(1)).write(voteCaptor.capture());
+        assertNotNull(voteCaptor.getValue().getId());
+        assertEquals(proposal, voteCaptor.getValue().getProposal());
+        assertEquals(votingSession, voteCaptor.getValue().getVotingSession());
+        assertEquals(associateId, voteCaptor.getValue().getAssociateId());
+        verify(voteMapper, times(1)).toVoteResponse(voteCaptor.getValue());
+        verify(liveResultsService, times(1)).record(proposalId, true);
+    }
+
+    @Test
+    void castVote_ShouldReturnPendingAndKeepDedupMark_WhenWriteOutlivesAckTimeout() {
+        when(votingSessionService.resolveActiveSession(proposalId)).thenReturn(activeSession());
+        when(proposalRepository.getReferenceById(proposalId)).thenReturn(proposal);
+        when(votingSessionService.getReference(votingSession.getId())).thenReturn(votingSession);
+        when(voteDedupIndex.tryRegister(proposalId, associateId)).thenReturn(true);
+        when(voteMapper.toVoteResponse(any(Vote.class))).thenReturn(voteResponse);
+        when(associateValidationService.isValidCpf(voteRequest.associateCpf())).thenReturn(true);
+        when(voteIngestionQueue.write(any(Vote.class))).thenReturn(false);
+
+        final VoteResponse result = voteService.castVote(proposalId, voteRequest);
+
+        assertTrue(result.isPending());
+        verify(voteDedupIndex, never()).release(any(), any());
+        verify(liveResultsService, times(1)).record(proposalId, true);
+    }
+
+    @Test
+    void castVote_ShouldPropagateDuplicateVoteException_WhenWriterRejectsVote() {
+        when(votingSessionService.resolveActiveSession(proposalId)).thenReturn(activeSession());
+        when(proposalRepository.getReferenceById(proposalId)).thenReturn(proposal);
+        when(votingSessionService.getReference(votingSession.getId())).thenReturn(votingSession);
+        when(voteDedupIndex.tryRegister(proposalId, associateId)).thenReturn(true);
+        when(associateValidationService.isValidCpf(voteRequest.associateCpf())).thenReturn(true);
+        doThrow(new DuplicateVoteException("Associate has already voted on this proposal"))
+                .when(voteIngestionQueue).write(any(Vote.class));
+
+        assertThrows(DuplicateVoteException.class, () -> voteService.castVote(proposalId, voteRequest));
+
+        verify(voteMapper, never()).toVoteResponse(any());
+        verify(voteDedupIndex, never()).release(any(), any());
+    }
+
+    @Test
+    void castVote_ShouldReleaseDedupMark_WhenSessionClosesBeforeVoteIsWritten() {
+        when(votingSessionService.resolveActiveSession(proposalId)).thenReturn(activeSession());
+        when(proposalRepository.getReferenceById(proposalId)).thenReturn(proposal);
+        when(votingSessionService.getReference(votingSession.getId())).thenReturn(votingSession);
+        when(voteDedupIndex.tryRegister(proposalId, associateId)).thenReturn(true);
+        when(associateValidationService.isValidCpf(voteRequest.associateCpf())).thenReturn(true);
+        doThrow(new NotFoundException("No active voting session found for this proposal"))
+                .when(voteIngestionQueue).write(any(Vote.class));
+
+        assertThrows(NotFoundException.class, () -> voteService.castVote(proposalId, voteRequest));
+
+        verify(voteDedupIndex, times(1)).release(proposalId, associateId);
     }
 
     @Test
     void castVote_ShouldThrowNotFoundException_WhenNoActiveVotingSession() {
-        when(proposalRepository.findById(proposalId)).thenReturn(Optional.of(proposal));
-        when(votingSessionService.hasVotingSessionOpened(proposalId)).thenReturn(false);
+        when(votingSessionService.resolveActiveSession(proposalId))
+                .thenThrow(new NotFoundException("No active voting session found for this proposal"));
         when(associateValidationService.isValidCpf(voteRequest.associateCpf())).thenReturn(true);
 
         NotFoundException exception = assertThrows(NotFoundException.class,
@@ -141,28 +210,27 @@ class VoteServiceTest {
 
         assertEquals("No active voting session found for this proposal", exception.getMessage());
 
-        verify(voteRepository, never()).save(any());
+        verify(voteIngestionQueue, never()).write(any());
     }
 
     @Test
     void castVote_ShouldThrowNotFoundException_WhenProposalNotFound() {
         when(associateValidationService.isValidCpf(voteRequest.associateCpf())).thenReturn(true);
-        when(proposalRepository.findById(proposalId)).thenReturn(Optional.empty());
+        when(votingSessionService.resolveActiveSession(proposalId))
+                .thenThrow(new NotFoundException("Proposal not found!"));
 
         NotFoundException exception = assertThrows(NotFoundException.class,
                 () -> voteService.castVote(proposalId, voteRequest));
 
         assertEquals("Proposal not found!", exception.getMessage());
 
-        verify(voteRepository, never()).save(any());
+        verify(voteIngestionQueue, never()).write(any());
     }
 
     @Test
     void castVote_ShouldThrowDuplicateVoteException_WhenAssociateAlreadyVoted() {
-        when(proposalRepository.findById(proposalId)).thenReturn(Optional.of(proposal));
-        when(votingSessionService.hasVotingSessionOpened(proposalId)).thenReturn(true);
-        when(votingSessionService.getSessionActiveByProposalId(proposalId)).thenReturn(votingSession);
-        when(voteRepository.existsByProposalIdAndAssociateId(proposalId, associateId)).thenReturn(true);
+        when(votingSessionService.resolveActiveSession(proposalId)).thenReturn(activeSession());
+        when(voteDedupIndex.tryRegister(proposalId, associateId)).thenReturn(false);
         when(associateValidationService.isValidCpf(voteRequest.associateCpf())).thenReturn(true);
 
         final DuplicateVoteException exception = assertThrows(DuplicateVoteException.class,
@@ -170,7 +238,7 @@ class VoteServiceTest {
 
         assertEquals("Associate has already voted on this proposal", exception.getMessage());
 
-        verify(voteRepository, never()).save(any());
+        verify(voteIngestionQueue, never()).write(any());
     }
 
     @Test
@@ -182,7 +250,7 @@ class VoteServiceTest {
 
         assertEquals("Associado sem permissão para voltar", exception.getMessage());
 
-        verify(voteRepository, never()).save(any());
+        verify(voteIngestionQueue, never()).write(any());
     }
 
     @Test
@@ -193,7 +261,7 @@ class VoteServiceTest {
         
         when(voteSummaryProjection.getCountYes()).thenReturn(countYes);
         when(voteSummaryProjection.getCountNo()).thenReturn(countNo);
-        when(voteRepository.countVoteResults(proposalId)).thenReturn(voteSummaryProjection);
+        when(voteTallyRepository.sumByProposalId(proposalId)).thenReturn(voteSummaryProjection);
 
         final ProposalResultResponse result = voteService.getVoteResult(proposalId);
 
@@ -202,7 +270,7 @@ class VoteServiceTest {
         assertEquals(countNo, result.getCountNo());
         assertEquals(totalVotes, result.getTotalVotes());
         
-        verify(voteRepository, times(1)).countVoteResults(proposalId);
+        verify(voteTallyRepository, times(1)).sumByProposalId(proposalId);
     }
 
     @Test
@@ -213,7 +281,7 @@ class VoteServiceTest {
         
         when(voteSummaryProjection.getCountYes()).thenReturn(countYes);
         when(voteSummaryProjection.getCountNo()).thenReturn(countNo);
-        when(voteRepository.countVoteResults(proposalId)).thenReturn(voteSummaryProjection);
+        when(voteTallyRepository.sumByProposalId(proposalId)).thenReturn(voteSummaryProjection);
 
         final ProposalResultResponse result = voteService.getVoteResult(proposalId);
 
@@ -222,7 +290,10 @@ class VoteServiceTest {
         assertEquals(countNo, result.getCountNo());
         assertEquals(totalVotes, result.getTotalVotes());
         
-        verify(voteRepository, times(1)).countVoteResults(proposalId);
+        verify(voteTallyRepository, times(1)).sumByProposalId(proposalId);
     }
 
+    private ActiveSession activeSession() {
+        return new ActiveSession(proposalId, votingSession.getId(), votingSession.getClosesAt());
+    }
 }
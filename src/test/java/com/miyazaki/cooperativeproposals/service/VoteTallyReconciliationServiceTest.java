@@ -0,0 +1,77 @@
+package com.miyazaki.cooperativeproposals.service;
+
+import com.miyazaki.cooperativeproposals.domain.repository.VoteTallyRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.TallyDriftProjection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VoteTallyReconciliationServiceTest {
+
+    @Mock
+    private VoteTallyRepository voteTallyRepository;
+
+    @Mock
+    private VoteTallyService voteTallyService;
+
+    @Mock
+    private TallyDriftProjection drift;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void reconcile_ShouldReportNothing_WhenTalliesMatchVotes() {
+        final var service = new VoteTallyReconciliationService(voteTallyRepository, voteTallyService, meterRegistry, true);
+        when(voteTallyRepository.findDrift()).thenReturn(List.of());
+
+        assertTrue(service.reconcile().isEmpty());
+
+        assertEquals(0.0, meterRegistry.get("vote.tally.drift.proposals").gauge().value());
+        verify(voteTallyService, never()).rebuild(any());
+    }
+
+    @Test
+    void reconcile_ShouldReportDriftWithoutRepairing_WhenRepairIsDisabled() {
+        final var service = new VoteTallyReconciliationService(voteTallyRepository, voteTallyService, meterRegistry, false);
+        when(drift.getProposalId()).thenReturn(UUID.randomUUID());
+        when(voteTallyRepository.findDrift()).thenReturn(List.of(drift));
+
+        assertEquals(1, service.reconcile().size());
+
+        assertEquals(1.0, meterRegistry.get("vote.tally.drift.proposals").gauge().value());
+        verify(voteTallyService, never()).rebuild(any());
+    }
+
+    @Test
+    void reconcile_ShouldRebuildDriftedTally_WhenRepairIsEnabled() {
+        final var service = new VoteTallyReconciliationService(voteTallyRepository, voteTallyService, meterRegistry, true);
+        final UUID proposalId = UUID.randomUUID();
+        when(drift.getProposalId()).thenReturn(proposalId);
+        when(voteTallyRepository.findDrift()).thenReturn(List.of(drift));
+
+        service.reconcile();
+
+        verify(voteTallyService, times(1)).rebuild(proposalId);
+        assertEquals(1.0, meterRegistry.get("vote.tally.repaired").counter().count());
+    }
+}
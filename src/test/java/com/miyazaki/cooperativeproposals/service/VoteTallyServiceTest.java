@@ -0,0 +1,48 @@
+package com.miyazaki.cooperativeproposals.service;
+
+import com.miyazaki.cooperativeproposals.domain.repository.VoteRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.VoteTallyRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.VoteSummaryProjection;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VoteTallyServiceTest {
+
+    @Mock
+    private VoteRepository voteRepository;
+
+    @Mock
+    private VoteTallyRepository voteTallyRepository;
+
+    @Mock
+    private VoteSummaryProjection voteSummaryProjection;
+
+    @InjectMocks
+    private VoteTallyService voteTallyService;
+
+    @Test
+    void rebuild_ShouldLockCountAndReplaceShards_InThatOrder() {
+        final UUID proposalId = UUID.randomUUID();
+        when(voteRepository.countVoteResults(proposalId)).thenReturn(voteSummaryProjection);
+        when(voteSummaryProjection.getCountYes()).thenReturn(7);
+        when(voteSummaryProjection.getCountNo()).thenReturn(3);
+
+        voteTallyService.rebuild(proposalId);
+
+        final InOrder order = inOrder(voteTallyRepository, voteRepository);
+        order.verify(voteTallyRepository).lockShards(proposalId);
+        order.verify(voteRepository).countVoteResults(proposalId);
+        order.verify(voteTallyRepository).deleteByProposal(proposalId);
+        order.verify(voteTallyRepository).increment(proposalId, (short) 0, 7L, 3L);
+    }
+}
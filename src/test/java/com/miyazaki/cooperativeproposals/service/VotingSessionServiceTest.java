@@ -4,17 +4,25 @@ import com.miyazaki.cooperativeproposals.domain.entity.Proposal;
 import com.miyazaki.cooperativeproposals.domain.entity.VotingSession;
 import com.miyazaki.cooperativeproposals.domain.enums.SessionStatus;
 import com.miyazaki.cooperativeproposals.exception.NotFoundException;
+import com.miyazaki.cooperativeproposals.ingestion.VoteDedupIndex;
+import com.miyazaki.cooperativeproposals.ingestion.VoteIngestionQueue;
 import com.miyazaki.cooperativeproposals.rabbitmq.message.SessionMessage;
-import com.miyazaki.cooperativeproposals.rabbitmq.producer.SessionProducer;
+import com.miyazaki.cooperativeproposals.rabbitmq.producer.ProposalInvalidationPublisher;
 import com.miyazaki.cooperativeproposals.domain.repository.VotingSessionRepository;
+import com.miyazaki.cooperativeproposals.domain.repository.projection.ClosedSession;
+import com.miyazaki.cooperativeproposals.scheduling.SessionClosureScheduler;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -25,6 +33,8 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -36,7 +46,22 @@ class VotingSessionServiceTest {
     private VotingSessionRepository votingSessionRepository;
 
     @Mock
-    private SessionProducer sessionProducer;
+    private SessionClosureScheduler sessionClosureScheduler;
+
+    @Mock
+    private VoteIngestionQueue voteIngestionQueue;
+
+    @Mock
+    private VoteDedupIndex voteDedupIndex;
+
+    @Mock
+    private LiveResultsService liveResultsService;
+
+    @Mock
+    private OpenSessionRegistry openSessionRegistry;
+
+    @Mock
+    private ProposalInvalidationPublisher proposalInvalidationPublisher;
 
     @InjectMocks
     private VotingSessionService votingSessionService;
@@ -44,35 +69,85 @@ class VotingSessionServiceTest {
     private static final String SESSION_NOT_FOUND_ERROR_MSG = "Sessão de voto nao encontrada";
 
     @Test
-    void hasVotingSessionOpened_ShouldReturnTrue_WhenSessionExistsAndIsOpened() {
+    void hasVotingSession_ShouldReturnTrue_WhenSessionExists() {
         final UUID proposalId = UUID.randomUUID();
-        final VotingSession openedSession = VotingSession.builder()
+        final VotingSession closedSession = VotingSession.builder()
                 .id(UUID.randomUUID())
-                .status(SessionStatus.OPENED)
+                .status(SessionStatus.CLOSED)
                 .build();
 
         when(votingSessionRepository.findByProposalId(proposalId))
-                .thenReturn(Optional.of(openedSession));
+                .thenReturn(Optional.of(closedSession));
 
-        final boolean result = votingSessionService.hasVotingSessionOpened(proposalId);
+        final boolean result = votingSessionService.hasVotingSession(proposalId);
 
         assertTrue(result);
         verify(votingSessionRepository, times(1)).findByProposalId(proposalId);
     }
 
     @Test
-    void hasVotingSessionOpened_ShouldReturnFalse_WhenNoSessionExists() {
+    void hasVotingSession_ShouldReturnFalse_WhenNoSessionExists() {
         final UUID proposalId = UUID.randomUUID();
 
         when(votingSessionRepository.findByProposalId(proposalId))
                 .thenReturn(Optional.empty());
 
-        final boolean result = votingSessionService.hasVotingSessionOpened(proposalId);
+        final boolean result = votingSessionService.hasVotingSession(proposalId);
 
         assertFalse(result);
         verify(votingSessionRepository, times(1)).findByProposalId(proposalId);
     }
 
+    @Test
+    void hasVotingSessionOpened_ShouldReturnTrue_WhenDeadlineHasNotPassed() {
+        final UUID proposalId = UUID.randomUUID();
+        when(openSessionRegistry.activeSession(proposalId)).thenReturn(Optional.of(
+                new ActiveSession(proposalId, UUID.randomUUID(), LocalDateTime.now().plusMinutes(1))));
+
+        assertTrue(votingSessionService.hasVotingSessionOpened(proposalId));
+        verify(votingSessionRepository, never()).findByProposalId(any());
+    }
+
+    @Test
+    void hasVotingSessionOpened_ShouldReturnFalse_WhenSessionExpiredOrMissing() {
+        final UUID proposalId = UUID.randomUUID();
+        when(openSessionRegistry.activeSession(proposalId)).thenReturn(Optional.empty());
+
+        assertFalse(votingSessionService.hasVotingSessionOpened(proposalId));
+    }
+
+    @Test
+    void resolveActiveSession_ShouldReturnSession_WhenSessionIsOpen() {
+        final UUID proposalId = UUID.randomUUID();
+        final ActiveSession active =
+                new ActiveSession(proposalId, UUID.randomUUID(), LocalDateTime.now().plusMinutes(1));
+        when(openSessionRegistry.activeSession(proposalId)).thenReturn(Optional.of(active));
+
+        assertEquals(active, votingSessionService.resolveActiveSession(proposalId));
+        verify(votingSessionRepository, never()).findByProposalIdAndStatus(any(), any());
+    }
+
+    @Test
+    void resolveActiveSession_ShouldThrowNotFoundException_WhenSessionExpired() {
+        final UUID proposalId = UUID.randomUUID();
+        when(openSessionRegistry.activeSession(proposalId)).thenReturn(Optional.empty());
+
+        final NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> votingSessionService.resolveActiveSession(proposalId));
+
+        assertEquals("No active voting session found for this proposal", exception.getMessage());
+    }
+
+    @Test
+    void getReference_ShouldNotLoadTheSession() {
+        final UUID sessionId = UUID.randomUUID();
+        final VotingSession reference = VotingSession.builder().id(sessionId).build();
+        when(votingSessionRepository.getReferenceById(sessionId)).thenReturn(reference);
+
+        assertEquals(reference, votingSessionService.getReference(sessionId));
+        verify(votingSessionRepository, never()).findById(any());
+    }
+
     @Test
     void create_ShouldCreateVotingSessionWithCorrectFields_WhenValidProposalAndDurationProvided() {
         final Proposal proposal = Proposal.builder()
@@ -108,6 +183,65 @@ class VotingSessionServiceTest {
         assertNotNull(capturedSession.getOpenedAt());
         assertNotNull(capturedSession.getClosesAt());
         assertEquals(capturedSession.getOpenedAt().plusSeconds(duration), capturedSession.getClosesAt());
+        verify(voteDedupIndex, times(1)).open(proposal.getId());
+        verify(liveResultsService, times(1)).open(proposal.getId());
+        verify(openSessionRegistry, times(1)).open(proposal.getId(), savedSession.getId(), savedSession.getClosesAt());
+        verify(proposalInvalidationPublisher, times(1)).publish(List.of(proposal.getId()));
+    }
+
+    @Test
+    void create_ShouldTrackSessionOnlyAfterCommit_WhenTransactionIsActive() {
+        final Proposal proposal = Proposal.builder().id(UUID.randomUUID()).title("Test Proposal").build();
+        final VotingSession savedSession = VotingSession.builder()
+                .id(UUID.randomUUID())
+                .proposal(proposal)
+                .closesAt(LocalDateTime.now().plusSeconds(60))
+                .status(SessionStatus.OPENED)
+                .build();
+        when(votingSessionRepository.save(any(VotingSession.class))).thenReturn(savedSession);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            votingSessionService.create(proposal, 60);
+
+            verify(voteDedupIndex, never()).open(any());
+            verify(liveResultsService, never()).open(any());
+            verify(openSessionRegistry, never()).open(any(), any(), any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(voteDedupIndex, times(1)).open(proposal.getId());
+        verify(liveResultsService, times(1)).open(proposal.getId());
+        verify(openSessionRegistry, times(1)).open(proposal.getId(), savedSession.getId(), savedSession.getClosesAt());
+    }
+
+    @Test
+    void create_ShouldNotTrackSession_WhenTransactionRollsBack() {
+        final Proposal proposal = Proposal.builder().id(UUID.randomUUID()).title("Test Proposal").build();
+        final VotingSession savedSession = VotingSession.builder()
+                .id(UUID.randomUUID())
+                .proposal(proposal)
+                .closesAt(LocalDateTime.now().plusSeconds(60))
+                .status(SessionStatus.OPENED)
+                .build();
+        when(votingSessionRepository.save(any(VotingSession.class))).thenReturn(savedSession);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            votingSessionService.create(proposal, 60);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(voteDedupIndex, never()).open(any());
+        verify(liveResultsService, never()).open(any());
+        verify(openSessionRegistry, never()).open(any(), any(), any());
     }
 
     @Test
@@ -168,45 +302,49 @@ class VotingSessionServiceTest {
     }
 
     @Test
-    void schedulerSessionClosure_ShouldCallSessionProducer_WhenValidParametersProvided() {
+    void schedulerSessionClosure_ShouldDelegateToScheduler_WhenValidParametersProvided() {
         final UUID sessionId = UUID.randomUUID();
         final Long duration = 60L;
-        final long expectedDelayMs = duration * 1000L;
+        final LocalDateTime before = LocalDateTime.now();
 
         votingSessionService.schedulerSessionClosure(sessionId, duration);
 
-        verify(sessionProducer, times(1)).schedulerSessionClosure(sessionId, expectedDelayMs);
+        final ArgumentCaptor<LocalDateTime> captor = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(sessionClosureScheduler, times(1)).schedule(eq(sessionId), captor.capture());
+        assertFalse(captor.getValue().isBefore(before.plusSeconds(duration)));
+        assertTrue(captor.getValue().isBefore(LocalDateTime.now().plusSeconds(duration + 1)));
     }
 
     @Test
-    void schedulerSessionClosure_ShouldConvertSecondsToMilliseconds_WhenCalled() {
-        final UUID sessionId = UUID.randomUUID();
-        final Long durationInSeconds = 30L;
-        final long expectedDelayMs = 30000L; // 30 seconds = 30000 milliseconds
-
-        votingSessionService.schedulerSessionClosure(sessionId, durationInSeconds);
-
-        verify(sessionProducer, times(1)).schedulerSessionClosure(eq(sessionId), eq(expectedDelayMs));
-    }
+    void closeSession_ShouldSetStatusToClosed_WhenSessionIsFound(){
+        final var sessionId = UUID.randomUUID();
+        final var message = new SessionMessage(sessionId);
+        final VotingSession savedSession = VotingSession.builder()
+                .id(sessionId)
+                .proposal(Proposal.builder().id(UUID.randomUUID()).build())
+                .status(SessionStatus.OPENED)
+                .build();
 
+        when(votingSessionRepository.findById(eq(sessionId))).thenReturn(Optional.of(savedSession));
 
-    @Test
-    void schedulerSessionClosure_ShouldHandleMaxLongValue_WhenMaxDurationProvided() {
-        final UUID sessionId = UUID.randomUUID();
-        final Long duration = Long.MAX_VALUE / 1000L; // Max safe value to avoid overflow
-        final long expectedDelayMs = duration * 1000L;
+        votingSessionService.closeSession(message);
 
-        votingSessionService.schedulerSessionClosure(sessionId, duration);
+        final ArgumentCaptor<VotingSession> sessionCaptor = ArgumentCaptor.forClass(VotingSession.class);
+        verify(votingSessionRepository, times(1)).save(sessionCaptor.capture());
 
-        verify(sessionProducer, times(1)).schedulerSessionClosure(eq(sessionId), eq(expectedDelayMs));
+        final VotingSession capturedSession = sessionCaptor.getValue();
+        assertEquals(SessionStatus.CLOSED, capturedSession.getStatus());
+        verify(openSessionRegistry, times(1)).close(savedSession.getProposal().getId());
+        verify(proposalInvalidationPublisher, times(1)).publishClosed(List.of(savedSession.getProposal().getId()));
     }
 
     @Test
-    void closeSession_ShouldSetStatusToClosed_WhenSessionIsFound(){
+    void closeSession_ShouldFlushPendingVotes_BeforeClosingSession() {
         final var sessionId = UUID.randomUUID();
         final var message = new SessionMessage(sessionId);
         final VotingSession savedSession = VotingSession.builder()
                 .id(sessionId)
+                .proposal(Proposal.builder().id(UUID.randomUUID()).build())
                 .status(SessionStatus.OPENED)
                 .build();
 
@@ -214,11 +352,16 @@ class VotingSessionServiceTest {
 
         votingSessionService.closeSession(message);
 
-        final ArgumentCaptor<VotingSession> sessionCaptor = ArgumentCaptor.forClass(VotingSession.class);
-        verify(votingSessionRepository, times(1)).save(sessionCaptor.capture());
+        final InOrder order = inOrder(voteIngestionQueue, votingSessionRepository);
+        order.verify(voteIngestionQueue).flush();
+        order.verify(votingSessionRepository).save(savedSession);
+    }
 
-        final VotingSession capturedSession = sessionCaptor.getValue();
-        assertEquals(SessionStatus.CLOSED, capturedSession.getStatus());
+    @Test
+    void closeSession_ShouldNotFlush_WhenMessageIsNull() {
+        assertThrows(NotFoundException.class, () -> votingSessionService.closeSession(null));
+
+        verify(voteIngestionQueue, never()).flush();
     }
 
     @Test
@@ -235,6 +378,48 @@ class VotingSessionServiceTest {
         assertEquals(SESSION_NOT_FOUND_ERROR_MSG, exception.getMessage());
     }
 
+    @Test
+    void closeSessions_ShouldCloseOnlyOpenedSessions_AfterFlushingOnce() {
+        final VotingSession opened = VotingSession.builder()
+                .id(UUID.randomUUID())
+                .proposal(Proposal.builder().id(UUID.randomUUID()).build())
+                .status(SessionStatus.OPENED)
+                .build();
+        final VotingSession alreadyClosed = VotingSession.builder()
+                .id(UUID.randomUUID())
+                .status(SessionStatus.CLOSED)
+                .build();
+        final List<UUID> ids = List.of(opened.getId(), alreadyClosed.getId());
+
+        when(votingSessionRepository.findAllById(ids)).thenReturn(List.of(opened, alreadyClosed));
+        when(votingSessionRepository.saveAll(List.of(opened))).thenReturn(List.of(opened));
+
+        final List<VotingSession> closed = votingSessionService.closeSessions(ids);
+
+        assertEquals(List.of(opened), closed);
+        assertEquals(SessionStatus.CLOSED, opened.getStatus());
+        final InOrder order = inOrder(voteIngestionQueue, votingSessionRepository);
+        order.verify(voteIngestionQueue, times(1)).flush();
+        order.verify(votingSessionRepository).findAllById(ids);
+        order.verify(votingSessionRepository).saveAll(List.of(opened));
+        verify(openSessionRegistry, times(1)).close(opened.getProposal().getId());
+        verify(proposalInvalidationPublisher, times(1)).publishClosed(List.of(opened.getProposal().getId()));
+    }
+
+    @Test
+    void closeExpiredSessions_ShouldFlushPendingVotes_BeforeClosing() {
+        final List<ClosedSession> expired = List.of(new ClosedSession(UUID.randomUUID(), UUID.randomUUID()));
+        when(votingSessionRepository.closeExpired(100)).thenReturn(expired);
+
+        assertEquals(expired, votingSessionService.closeExpiredSessions(100));
+
+        final InOrder order = inOrder(voteIngestionQueue, votingSessionRepository);
+        order.verify(voteIngestionQueue).flush();
+        order.verify(votingSessionRepository).closeExpired(100);
+        verify(openSessionRegistry).close(expired.get(0).proposalId());
+        verify(proposalInvalidationPublisher).publishClosed(List.of(expired.get(0).proposalId()));
+    }
+
     @Test
     void getSessionActiveByProposalId_ShouldReturnSessionActive_WhenSessionIsFound(){
         final var proposalId = UUID.randomUUID();